@@ -0,0 +1,125 @@
+// =============================================================================
+// Checkout load test (k6) - compares platform vs virtual thread mode
+// =============================================================================
+// Each iteration is one full checkout: register customer -> add to cart ->
+// checkout -> pay with a new card. 2000 VUs = 2000 concurrent checkouts.
+//
+// Run once per mode against a fresh stack and compare the summaries:
+//
+//   VIRTUAL_THREADS_ENABLED=false docker compose up -d --build
+//   k6 run -e MODE=platform resources/load-test/checkout-load-test.js
+//
+//   VIRTUAL_THREADS_ENABLED=true docker compose up -d --build
+//   k6 run -e MODE=virtual resources/load-test/checkout-load-test.js
+//
+// Results: summary-<MODE>.json (p95/p99 of checkout_duration, throughput,
+// error rate). Payment is SYNC with simulated rejections and retries, so each
+// checkout holds a request thread during retry backoff - the case virtual
+// threads are meant for.
+//
+// Env: BASE_URL (default http://localhost:8080), API_KEY, VUS (default 2000),
+//      DURATION (default 2m), MODE (label only).
+// =============================================================================
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API_KEY = __ENV.API_KEY || 'default-dev-key-change-in-production';
+const MODE = __ENV.MODE || 'unknown';
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+
+const checkoutDuration = new Trend('checkout_duration', true);
+const checkoutsCompleted = new Counter('checkouts_completed');
+const checkoutsFailed = new Counter('checkouts_failed');
+
+export const options = {
+    scenarios: {
+        checkouts: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: __ENV.DURATION || '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.05'],
+        checkout_duration: ['p(95)<10000'],
+    },
+    tags: { mode: MODE },
+};
+
+const headers = { 'Content-Type': 'application/json', 'X-API-KEY': API_KEY };
+
+export function setup() {
+    const res = http.get(`${BASE_URL}/api/v1/products/all`, { headers });
+    check(res, { 'products loaded': (r) => r.status === 200 });
+    const products = res.json().filter((p) => p.stock >= 100).map((p) => p.id);
+    if (products.length === 0) {
+        throw new Error('No products with stock >= 100; seed the database first');
+    }
+    return { products };
+}
+
+export default function (data) {
+    const started = Date.now();
+    const unique = `${__VU}-${__ITER}-${Date.now()}`;
+
+    const customer = http.post(`${BASE_URL}/api/v1/customers`, JSON.stringify({
+        name: `Load Test ${unique}`,
+        email: `load-${unique}@example.com`,
+        phone: `300${String(__VU).padStart(4, '0')}${String(__ITER % 1000).padStart(3, '0')}`,
+        address: 'Calle 123 #45-67, Bogotá',
+    }), { headers, tags: { step: 'customer' } });
+    if (!check(customer, { 'customer created': (r) => r.status === 201 })) {
+        checkoutsFailed.add(1);
+        return;
+    }
+    const customerId = customer.json('id');
+
+    const productId = data.products[Math.floor(Math.random() * data.products.length)];
+    const cart = http.post(`${BASE_URL}/api/v1/cart/items`, JSON.stringify({
+        customerId, productId, quantity: 1,
+    }), { headers, tags: { step: 'cart' } });
+    if (!check(cart, { 'item added': (r) => r.status === 200 || r.status === 201 })) {
+        checkoutsFailed.add(1);
+        return;
+    }
+
+    const checkout = http.post(`${BASE_URL}/api/v1/cart/checkout/${customerId}`, null,
+        { headers, tags: { step: 'checkout' } });
+    if (!check(checkout, { 'order created': (r) => r.status === 201 })) {
+        checkoutsFailed.add(1);
+        return;
+    }
+    const orderId = checkout.json('orderId');
+
+    const payment = http.post(`${BASE_URL}/api/v1/payments/orders/${orderId}`, JSON.stringify({
+        creditCard: {
+            customerId,
+            cardNumber: '4111111111111111',
+            cvv: '123',
+            expirationDate: '12/30',
+            cardholderName: 'LOAD TEST',
+        },
+    }), { headers, tags: { step: 'payment' } });
+    // Simulated gateway/tokenization rejections are expected outcomes, not errors
+    check(payment, { 'payment answered': (r) => r.status < 500 });
+
+    checkoutDuration.add(Date.now() - started);
+    checkoutsCompleted.add(1);
+}
+
+export function handleSummary(data) {
+    return {
+        [`summary-${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\nmode=${MODE} checkouts=${data.metrics.checkouts_completed?.values.count ?? 0} ` +
+            `failed=${data.metrics.checkouts_failed?.values.count ?? 0} ` +
+            `p95=${data.metrics.checkout_duration?.values['p(95)']?.toFixed(0)}ms ` +
+            `p99=${data.metrics.checkout_duration?.values['p(99)']?.toFixed(0)}ms\n`,
+    };
+}
@@ -1,12 +1,24 @@
 package com.farmatodo.reto_tecnico.application.config;
 
 import com.farmatodo.reto_tecnico.infrastructure.config.MdcTaskDecorator;
+import com.farmatodo.reto_tecnico.infrastructure.config.TaskMetricsDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -18,14 +30,54 @@ import java.util.concurrent.ThreadPoolExecutor;
  *
  * CRITICAL FIX 2: MdcTaskDecorator propagates MDC (trace IDs) to async threads.
  * Without this, trace IDs would be NULL in @Async methods.
+ *
+ * With spring.threads.virtual.enabled=true the executors below run tasks on virtual threads.
+ *
+ * Search analytics and notifications have their own bounded executors (farmatodo.async.search.*,
+ * farmatodo.async.notifications.*); audit logs use AuditLogBatchWriter.
+ *
+ * Metrics per workload (tag workload=search|notifications): async.queue.size, async.active,
+ * async.pool.size, async.rejected, async.task.wait, async.task.duration.
  */
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
 
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Search analytics executor (SearchLogService).
+     * Default policy DISCARD: a saturated analytics pool never slows down searches.
+     *
+     * @return bounded, instrumented executor
+     */
+    @Bean(name = "searchLogExecutor")
+    public ThreadPoolTaskExecutor searchLogExecutor(Environment environment,
+                                                    FarmatodoProperties properties,
+                                                    MeterRegistry meterRegistry) {
+        return workloadExecutor("search", properties.getAsync().getSearch(),
+                Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+
+    /**
+     * Customer notification executor (AsyncEmailService).
+     * Default policy CALLER_RUNS: emails are not dropped; a slow SMTP server only pushes back
+     * on the payment requests that send emails, not on unrelated traffic.
+     *
+     * @return bounded, instrumented executor
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor(Environment environment,
+                                                       FarmatodoProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return workloadExecutor("notifications", properties.getAsync().getNotifications(),
+                Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+
     /**
      * Configures a bounded thread pool for async task execution.
-     * Used by @Async methods (e.g., SearchLogService.logSearchAsync, AsyncEmailService).
+     * Default executor for @Async methods that do not name a workload executor.
      *
      * Configuration:
      * - Core pool size: 5 threads (always alive)
@@ -34,10 +86,29 @@ public class AsyncConfig {
      * - Rejection policy: CallerRunsPolicy (executes in caller thread if queue full)
      * - Task decorator: MdcTaskDecorator (propagates trace IDs to async threads)
      *
+     * Virtual-thread mode: one virtual thread per task, at most
+     * farmatodo.async.virtual-concurrency-limit running at once (callers wait beyond that,
+     * the same back-pressure CallerRunsPolicy gives in platform mode).
+     *
+     * @param environment used to detect spring.threads.virtual.enabled
+     * @param properties application properties (farmatodo.async.*)
      * @return configured task executor
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(Environment environment, FarmatodoProperties properties) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            int limit = properties.getAsync().getVirtualConcurrencyLimit();
+            log.info("Async executor using virtual threads (concurrency limit {})", limit);
+
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-vt-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(limit);
+            // CRITICAL: Propagate MDC (trace IDs) to async threads
+            executor.setTaskDecorator(new MdcTaskDecorator());
+            executor.setTaskTerminationTimeout(SHUTDOWN_TIMEOUT_MILLIS);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // Core pool size - threads that are always alive
@@ -68,4 +139,107 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Scheduler for asynchronous payment attempts (AsyncPaymentService).
+     * Each attempt is a scheduled task, so no thread is held between retries.
+     *
+     * Virtual-thread mode: a single timer thread triggers attempts and each attempt runs on
+     * its own virtual thread, so slow gateway calls do not queue behind each other.
+     *
+     * MDC (trace IDs) is propagated by AsyncPaymentService, which decorates every task it
+     * schedules, in both modes: ThreadPoolTaskScheduler has no task decorator hook.
+     *
+     * @param environment used to detect spring.threads.virtual.enabled
+     * @param properties application properties (farmatodo.payment.scheduler-pool-size)
+     * @return configured task scheduler
+     */
+    @Bean(name = "paymentRetryScheduler")
+    public TaskScheduler paymentRetryScheduler(Environment environment, FarmatodoProperties properties) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setThreadNamePrefix("payment-retry-vt-");
+            scheduler.setVirtualThreads(true);
+            scheduler.setTaskTerminationTimeout(SHUTDOWN_TIMEOUT_MILLIS);
+            return scheduler;
+        }
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getPayment().getSchedulerPoolSize());
+        scheduler.setThreadNamePrefix("payment-retry-");
+
+        // Drop cancelled retries immediately instead of keeping them until their delay expires
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Builds a bounded executor for one workload with MDC propagation and metrics.
+     * In virtual-thread mode the pool threads are virtual; sizes, queue and policy still apply.
+     */
+    static ThreadPoolTaskExecutor workloadExecutor(String workload,
+                                                   FarmatodoProperties.Async.Pool pool,
+                                                   boolean virtualThreads,
+                                                   MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(Math.max(pool.getCoreSize(), pool.getMaxSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix(workload + "-exec-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(workload + "-vt-", 0).factory());
+        }
+
+        // CRITICAL: Propagate MDC (trace IDs); timing wraps it so wait/duration cover the whole task
+        MdcTaskDecorator mdcDecorator = new MdcTaskDecorator();
+        TaskMetricsDecorator metricsDecorator = new TaskMetricsDecorator(meterRegistry, workload);
+        executor.setTaskDecorator(runnable -> metricsDecorator.decorate(mdcDecorator.decorate(runnable)));
+
+        Counter rejected = Counter.builder("async.rejected")
+                .description("Async tasks rejected by a saturated executor (then handled by its policy)")
+                .tag("workload", workload)
+                .tag("policy", pool.getRejectionPolicy().name())
+                .register(meterRegistry);
+        RejectedExecutionHandler policy = rejectionHandler(pool.getRejectionPolicy());
+        executor.setRejectedExecutionHandler((task, threadPool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, threadPool);
+        });
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("async.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Async tasks waiting in the queue")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("async.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Async tasks currently running")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("async.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Current number of executor threads")
+                .tag("workload", workload)
+                .register(meterRegistry);
+
+        log.info("Async executor '{}': core {}, max {}, queue {}, policy {}{}", workload,
+                pool.getCoreSize(), pool.getMaxSize(), pool.getQueueCapacity(), pool.getRejectionPolicy(),
+                virtualThreads ? ", virtual threads" : "");
+        return executor;
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(FarmatodoProperties.Async.RejectionPolicy policy) {
+        return switch (policy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
 }
@@ -1,12 +1,24 @@
 package com.farmatodo.reto_tecnico.application.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Configuration properties for Farmatodo business rules.
  * Maps properties from application.properties with prefix "farmatodo".
@@ -22,7 +34,19 @@ public class FarmatodoProperties {
     private Payment payment = new Payment();
     private Product product = new Product();
     private Encryption encryption = new Encryption();
+    @Valid
     private Email email = new Email();
+    private Audit audit = new Audit();
+    @Valid
+    private SearchAnalytics searchAnalytics = new SearchAnalytics();
+    @Valid
+    private Async async = new Async();
+    @Valid
+    private Idempotency idempotency = new Idempotency();
+    @Valid
+    private HotSku hotSku = new HotSku();
+    @Valid
+    private Cart cart = new Cart();
 
     /**
      * Tokenization configuration properties.
@@ -62,6 +86,50 @@ public class FarmatodoProperties {
         @Min(100)
         @Max(10000)
         private long retryDelayMillis = 1000;
+
+        /**
+         * Default processing mode for POST /api/v1/payments/orders/{orderId}.
+         * SYNC blocks until the outcome (200/402); ASYNC returns 202 and retries in the background.
+         * Clients can request ASYNC per call with the header "Prefer: respond-async".
+         */
+        private Mode mode = Mode.SYNC;
+
+        /**
+         * Upper bound in milliseconds for the exponential backoff between async retries.
+         */
+        @Min(100)
+        private long retryMaxDelayMillis = 30000;
+
+        /**
+         * Threads of the scheduler that runs async payment attempts.
+         */
+        @Min(1)
+        private int schedulerPoolSize = 2;
+
+        /**
+         * How long a finished async payment status stays in memory before it is
+         * served from the persisted order status instead.
+         */
+        @Min(1)
+        private long statusRetentionSeconds = 600;
+
+        /**
+         * At startup, orders left in PAYMENT_PROCESSING for longer than this many seconds are
+         * marked PAYMENT_FAILED so they can be paid again: their scheduled attempts died with
+         * the previous process. Must exceed the longest retry schedule of a running payment
+         * (roughly max-retries x retry-max-delay-millis), or payments still running on another
+         * instance would be failed.
+         */
+        @Min(60)
+        private long stalledPaymentSeconds = 900;
+
+        /**
+         * Payment processing modes.
+         */
+        public enum Mode {
+            SYNC,
+            ASYNC
+        }
     }
 
     /**
@@ -74,6 +142,49 @@ public class FarmatodoProperties {
          */
         @Min(0)
         private int minStockThreshold = 1;
+
+        /**
+         * Serve name searches from the in-memory trigram index instead of LIKE queries.
+         */
+        private boolean searchIndexEnabled = true;
+
+        /**
+         * Cache findById lookups in memory (CachingProductRepositoryAdapter).
+         */
+        private boolean cacheEnabled = true;
+
+        /**
+         * Maximum number of products kept in the cache.
+         */
+        @Min(1)
+        private int cacheMaxSize = 10000;
+
+        /**
+         * Time to live in seconds for cached products (bounds staleness of name, price and description).
+         * Stock changes invalidate entries immediately.
+         */
+        @Min(1)
+        private long cacheTtlSeconds = 300;
+
+        /**
+         * Rows fetched per round trip by the catalog export cursor (GET /api/v1/products/export).
+         */
+        @Min(1)
+        private int exportFetchSize = 500;
+
+        /**
+         * Lifetime in seconds of a catalog ETag (CatalogResponseCache). Product writes and cart
+         * hold changes on this instance change the ETag immediately; this bounds staleness for
+         * writes made on other instances, which do not change it.
+         */
+        @Min(1)
+        private long catalogEtagTtlSeconds = 30;
+
+        /**
+         * Maximum number of serialized catalog responses kept for the current ETag.
+         */
+        @Min(1)
+        private int catalogResponseCacheMaxEntries = 1000;
     }
 
     /**
@@ -90,6 +201,12 @@ public class FarmatodoProperties {
          * Encryption key (should be provided via environment variable in production).
          */
         private String key;
+
+        /**
+         * HMAC key for blind indexes of encrypted columns (e.g. credit_cards.token_hash).
+         * Optional: derived from the encryption key when empty.
+         */
+        private String blindIndexKey;
     }
 
     /**
@@ -106,5 +223,282 @@ public class FarmatodoProperties {
          * Enable or disable email sending (useful for testing).
          */
         private boolean enabled = true;
+
+        /**
+         * Email outbox dispatcher settings.
+         */
+        @Valid
+        private Outbox outbox = new Outbox();
+
+        /**
+         * Email outbox dispatcher configuration properties.
+         */
+        @Data
+        public static class Outbox {
+            /**
+             * Messages sent per SMTP connection.
+             */
+            @Min(1)
+            private int batchSize = 50;
+
+            /**
+             * How often (milliseconds) the outbox is polled for due messages.
+             */
+            @Min(50)
+            private long pollIntervalMillis = 1000;
+
+            /**
+             * Delivery attempts before a message is marked FAILED.
+             */
+            @Min(1)
+            private int maxAttempts = 8;
+
+            /**
+             * Delay before the first retry (milliseconds); doubled for every further attempt.
+             */
+            @Min(100)
+            private long retryDelayMillis = 2000;
+
+            /**
+             * Maximum delay between retries (milliseconds).
+             */
+            @Min(100)
+            private long retryMaxDelayMillis = 600000;
+
+            /**
+             * How long (seconds) claimed messages are hidden from other dispatchers.
+             * Messages of a dispatcher that dies mid-batch are retried after this.
+             */
+            @Min(1)
+            private long leaseSeconds = 60;
+        }
+    }
+
+    /**
+     * Audit log writer configuration properties.
+     */
+    @Data
+    public static class Audit {
+        /**
+         * Flush as soon as this many audit events are queued.
+         */
+        @Min(1)
+        private int batchSize = 100;
+
+        /**
+         * Flush at least this often (milliseconds) while events are queued.
+         */
+        @Min(10)
+        private long flushIntervalMillis = 200;
+
+        /**
+         * Maximum queued audit events; further events are dropped (and counted).
+         */
+        @Min(1)
+        private int queueCapacity = 10000;
+    }
+
+    /**
+     * Search analytics aggregation properties.
+     */
+    @Data
+    public static class SearchAnalytics {
+        /**
+         * Distinct queries tracked per minute; beyond this only the most searched are kept.
+         */
+        @Min(1)
+        private int topK = 1000;
+
+        /**
+         * How often (seconds) closed minutes are written to search_query_stats.
+         */
+        @Min(1)
+        private long flushIntervalSeconds = 10;
+
+        /**
+         * Fraction of searches (0.0-1.0) also written as raw search_logs rows; 0 disables them.
+         */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double rawSampleRate = 0.0;
+    }
+
+    /**
+     * Idempotency-Key handling for order creation and payment processing.
+     */
+    @Data
+    public static class Idempotency {
+        /**
+         * Whether the Idempotency-Key header is honoured.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long (seconds) a completed response is replayed for the same key.
+         */
+        @Min(1)
+        private long ttlSeconds = 86400;
+
+        /**
+         * Maximum stored keys; expired and then oldest completed keys are dropped beyond this.
+         */
+        @Min(1)
+        private int maxEntries = 10000;
+
+        /**
+         * How long (seconds) a duplicate waits for the in-flight request before getting 409.
+         */
+        @Min(1)
+        private long waitTimeoutSeconds = 60;
+    }
+
+    /**
+     * Hot SKU mode: stock of flagged products is reserved in memory (HotSkuStockManager).
+     * Intended for a single application instance owning the flagged products.
+     */
+    @Data
+    public static class HotSku {
+        /**
+         * Whether flagged products are served from the in-memory ledger.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Products whose stock is held in the ledger while enabled.
+         */
+        private List<UUID> productIds = new ArrayList<>();
+
+        /**
+         * Stripes (independent counters) per product; more stripes, fewer CAS collisions.
+         */
+        @Min(1)
+        private int stripes = 16;
+
+        /**
+         * How often (milliseconds) committed decrements are written to the products table.
+         */
+        @Min(10)
+        private long flushIntervalMillis = 500;
+
+        /**
+         * Append-only journal of committed reservations, replayed on startup.
+         */
+        @NotBlank
+        private String journalPath = "data/hot-sku-stock.journal";
+
+        /**
+         * Journal size (bytes) above which it is compacted after a flush.
+         */
+        @Min(1)
+        private long journalCompactBytes = 1024 * 1024;
+    }
+
+    /**
+     * Shopping cart stock holds: units added to a cart are soft-reserved for a limited time.
+     */
+    @Data
+    public static class Cart {
+        /**
+         * Whether adding to the cart places a stock hold.
+         */
+        private boolean holdsEnabled = true;
+
+        /**
+         * How long (seconds) a hold lasts after the product was last added to the cart.
+         */
+        @Min(1)
+        private long holdTtlSeconds = 900;
+
+        /**
+         * How often (milliseconds) expired holds are released.
+         */
+        @Min(100)
+        private long holdSweepIntervalMillis = 5000;
+
+        /**
+         * Expired holds released per statement.
+         */
+        @Min(1)
+        private int holdSweepBatchSize = 500;
+    }
+
+    /**
+     * Async executor configuration properties.
+     * The thread mode itself is Spring Boot's spring.threads.virtual.enabled.
+     */
+    @Data
+    public static class Async {
+        /**
+         * Maximum concurrently running @Async tasks in virtual-thread mode; callers block
+         * when it is reached (-1 = unbounded, otherwise at least 1). Keeps SMTP and the
+         * connection pool from being flooded, since virtual threads themselves are practically free.
+         * 0 is rejected: SimpleAsyncTaskExecutor treats it as "no concurrency" and every task would block.
+         */
+        @Min(-1)
+        private int virtualConcurrencyLimit = 200;
+
+        /**
+         * Search analytics pool. Dropping analytics is preferable to slowing down searches.
+         */
+        @Valid
+        private Pool search = new Pool(1, 2, 1000, RejectionPolicy.DISCARD);
+
+        /**
+         * Customer notification (email) pool. Emails are not dropped; when saturated the
+         * payment request that produced the email sends it itself.
+         */
+        @Valid
+        private Pool notifications = new Pool(2, 4, 200, RejectionPolicy.CALLER_RUNS);
+
+        @AssertTrue(message = "virtualConcurrencyLimit must be -1 (unbounded) or at least 1")
+        boolean isVirtualConcurrencyLimitValid() {
+            return virtualConcurrencyLimit != 0;
+        }
+
+        /**
+         * Bounded pool settings for one workload.
+         */
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Pool {
+            /**
+             * Threads always kept alive.
+             */
+            @Min(1)
+            private int coreSize;
+
+            /**
+             * Maximum threads (only reached when the queue is full).
+             */
+            @Min(1)
+            private int maxSize;
+
+            /**
+             * Tasks queued while all core threads are busy.
+             */
+            @Min(0)
+            private int queueCapacity;
+
+            /**
+             * What to do with a task when the queue and pool are full.
+             */
+            @NotNull
+            private RejectionPolicy rejectionPolicy;
+        }
+
+        /**
+         * Handling of tasks rejected by a saturated pool.
+         */
+        public enum RejectionPolicy {
+            /** Run on the submitting thread (back-pressure on the caller). */
+            CALLER_RUNS,
+            /** Drop the task. */
+            DISCARD,
+            /** Drop the oldest queued task and queue this one. */
+            DISCARD_OLDEST,
+            /** Throw TaskRejectedException to the caller. */
+            ABORT
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.farmatodo.reto_tecnico.application.config;
+
+import com.farmatodo.reto_tecnico.domain.id.Ids;
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Id generation. Provides the IdGenerator bean (UUID version 7 unless another bean is defined)
+ * and installs it into Ids so domain factories mint ids from the same generator.
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
+    }
+
+    @Bean
+    public InitializingBean idGeneratorInstaller(IdGenerator idGenerator) {
+        return () -> {
+            Ids.install(idGenerator);
+            log.info("Id generator installed: {}", idGenerator.getClass().getSimpleName());
+        };
+    }
+}
@@ -16,14 +16,18 @@ import org.springframework.stereotype.Service;
  *
  * This service wraps EmailPort calls with @Async to execute in a separate thread pool.
  *
+ * NOTE: payment notifications no longer go through here. PaymentTransactionService writes them
+ * to the email outbox (EmailOutboxService) so they survive SMTP outages and restarts.
+ *
  * Design:
  * - Fire-and-forget pattern (void methods)
  * - Does NOT affect payment transaction commit
  * - Failures are logged but do not throw exceptions back to caller
- * - Uses "taskExecutor" bean configured in AsyncConfig (5-10 thread pool)
+ * - Uses the dedicated "notificationExecutor" configured in AsyncConfig, so a slow SMTP
+ *   server cannot delay other async work (farmatodo.async.notifications.*)
  *
  * Thread Safety:
- * - Each method executes in a separate thread from the taskExecutor pool
+ * - Each method executes in a separate thread from the notificationExecutor pool
  * - EmailPort implementation (JavaMailEmailAdapter) is thread-safe
  *
  * Error Handling:
@@ -42,12 +46,12 @@ public class AsyncEmailService {
      * Sends payment success email asynchronously.
      *
      * This method returns immediately (Fire-and-Forget).
-     * The actual email sending happens in a separate thread from taskExecutor pool.
+     * The actual email sending happens in a separate thread from notificationExecutor pool.
      *
      * @param order the order that was successfully paid
      * @param transactionId the payment gateway transaction ID
      */
-    @Async("taskExecutor")
+    @Async("notificationExecutor")
     public void sendPaymentSuccessEmailAsync(Order order, String transactionId) {
         try {
             String customerEmail = order.getCustomer().getEmail().value();
@@ -81,12 +85,12 @@ public class AsyncEmailService {
      * Sends payment failure email asynchronously.
      *
      * This method returns immediately (Fire-and-Forget).
-     * The actual email sending happens in a separate thread from taskExecutor pool.
+     * The actual email sending happens in a separate thread from notificationExecutor pool.
      *
      * @param order the order that failed payment
      * @param attempts number of payment attempts made
      */
-    @Async("taskExecutor")
+    @Async("notificationExecutor")
     public void sendPaymentFailureEmailAsync(Order order, int attempts) {
         try {
             String customerEmail = order.getCustomer().getEmail().value();
@@ -120,13 +124,13 @@ public class AsyncEmailService {
      * Sends a generic email asynchronously.
      *
      * This method returns immediately (Fire-and-Forget).
-     * The actual email sending happens in a separate thread from taskExecutor pool.
+     * The actual email sending happens in a separate thread from notificationExecutor pool.
      *
      * @param to recipient email address
      * @param subject email subject
      * @param body email body (HTML or plain text)
      */
-    @Async("taskExecutor")
+    @Async("notificationExecutor")
     public void sendEmailAsync(String to, String subject, String body) {
         try {
             log.debug("[ASYNC] Sending email to: {} with subject: {}", to, subject);
@@ -0,0 +1,244 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
+import com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException;
+import com.farmatodo.reto_tecnico.domain.model.CreditCard;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.port.in.ProcessPaymentUseCase.PaymentResult;
+import com.farmatodo.reto_tecnico.domain.port.in.SubmitPaymentUseCase;
+import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
+import com.farmatodo.reto_tecnico.infrastructure.config.MdcTaskDecorator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for asynchronous payment processing.
+ * Every attempt runs as a task on the paymentRetryScheduler; no thread waits between retries.
+ *
+ * Retry delay: exponential backoff with "equal jitter" -
+ * base = min(retryMaxDelay, retryDelay x 2^(attempt-1)), delay = base/2 + random(0, base/2).
+ * Jitter spreads retries of a burst of declined payments instead of hitting the gateway in lockstep.
+ *
+ * Status is kept in memory per order while the payment runs and for status-retention-seconds
+ * after it finishes; afterwards (or after a restart) it is derived from the persisted order.
+ *
+ * Whether a payment may start is decided by the persisted order status, not by that in-memory
+ * status: only PENDING and PAYMENT_FAILED orders are accepted, and the token UPDATE is conditional
+ * on it, so another instance or a restart cannot start a second charge. Scheduled attempts do not
+ * survive a restart; at startup, orders stuck in PAYMENT_PROCESSING for stalled-payment-seconds
+ * are marked PAYMENT_FAILED so the customer can pay again.
+ *
+ * Every scheduled task is wrapped in MdcTaskDecorator so attempts log with the trace ID of the
+ * request that submitted the payment.
+ */
+@Service
+@Slf4j
+public class AsyncPaymentService implements SubmitPaymentUseCase {
+
+    private final PaymentService paymentService;
+    private final OrderRepositoryPort orderRepository;
+    private final FarmatodoProperties properties;
+    private final TaskScheduler scheduler;
+    private final Clock clock;
+    private final DoubleSupplier random;
+    private final TaskDecorator mdcDecorator = new MdcTaskDecorator();
+
+    private final Map<UUID, PaymentStatus> statuses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AsyncPaymentService(PaymentService paymentService,
+                               OrderRepositoryPort orderRepository,
+                               FarmatodoProperties properties,
+                               @Qualifier("paymentRetryScheduler") TaskScheduler scheduler) {
+        this(paymentService, orderRepository, properties, scheduler,
+                Clock.systemUTC(), () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AsyncPaymentService(PaymentService paymentService,
+                        OrderRepositoryPort orderRepository,
+                        FarmatodoProperties properties,
+                        TaskScheduler scheduler,
+                        Clock clock,
+                        DoubleSupplier random) {
+        this.paymentService = paymentService;
+        this.orderRepository = orderRepository;
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public PaymentStatus submitPayment(Order order, CreditCard creditCard) {
+        log.info("Submitting async payment for order: {} with total: {} (with credit card tokenization)",
+                order.getId(), order.getTotalAmount());
+        return submit(order, () -> paymentService.assignToken(order, creditCard));
+    }
+
+    @Override
+    public PaymentStatus submitPaymentWithToken(Order order, String paymentToken) {
+        log.info("Submitting async payment for order: {} with total: {} (using existing token)",
+                order.getId(), order.getTotalAmount());
+        return submit(order, () -> {
+            paymentService.assignToken(order, paymentToken);
+            return paymentToken;
+        });
+    }
+
+    @Override
+    public Optional<PaymentStatus> getPaymentStatus(UUID orderId) {
+        PaymentStatus status = statuses.get(orderId);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        return orderRepository.findById(orderId).map(PaymentStatus::fromOrder);
+    }
+
+    /**
+     * Marks orders whose payment stalled in PAYMENT_PROCESSING as PAYMENT_FAILED.
+     * Their attempts were scheduled by a process that no longer runs, so nothing would finish them.
+     * @return number of orders marked failed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int failStalledPayments() {
+        LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+        LocalDateTime stalledBefore = now.minusSeconds(properties.getPayment().getStalledPaymentSeconds());
+        int failed = orderRepository.updateStatusIfUpdatedBefore(Order.OrderStatus.PAYMENT_PROCESSING,
+                Order.OrderStatus.PAYMENT_FAILED, stalledBefore, now);
+        if (failed > 0) {
+            log.warn("Marked {} orders stuck in PAYMENT_PROCESSING since before {} as PAYMENT_FAILED",
+                    failed, stalledBefore);
+        }
+        return failed;
+    }
+
+    /**
+     * Registers the payment, assigns the token on the caller thread and schedules attempt 1.
+     * A second submit while this instance runs the payment returns the running status; otherwise
+     * the persisted order must be PENDING or PAYMENT_FAILED (no duplicate charge).
+     * @throws OrderStatusConflictException if the order is not payable
+     */
+    private PaymentStatus submit(Order order, Supplier<String> tokenAssignment) {
+        UUID orderId = order.getId();
+        int maxRetries = properties.getPayment().getMaxRetries();
+
+        PaymentStatus running = statuses.get(orderId);
+        if (running != null && running.state() == PaymentStatus.State.PROCESSING) {
+            log.info("Payment already in progress for order: {}", orderId);
+            return running;
+        }
+        order.requirePayable();
+
+        PaymentStatus accepted = PaymentStatus.processing(orderId, 0, maxRetries, clock.instant());
+        PaymentStatus current = statuses.compute(orderId, (id, existing) ->
+                existing != null && existing.state() == PaymentStatus.State.PROCESSING ? existing : accepted);
+        if (current != accepted) {
+            log.info("Payment already in progress for order: {}", orderId);
+            return current;
+        }
+
+        String paymentToken;
+        try {
+            paymentToken = tokenAssignment.get();
+        } catch (OrderStatusConflictException e) {
+            // Another request changed the order: it owns the state now, do not mark it failed
+            log.warn("Order {} changed concurrently, async payment not started", orderId);
+            statuses.remove(orderId, accepted);
+            throw e;
+        } catch (Exception e) {
+            log.error("Unable to start async payment for order: {}", orderId, e);
+            statuses.remove(orderId, accepted);
+            paymentService.failBeforeAttempt(order);
+            throw new PaymentFailedException("Unable to process payment: " + e.getMessage(), e);
+        }
+
+        schedule(() -> runAttempt(order, paymentToken, 1), accepted.nextAttemptAt());
+        return accepted;
+    }
+
+    /**
+     * Runs one attempt on the scheduler and either finishes the payment or schedules the next attempt.
+     */
+    private void runAttempt(Order order, String paymentToken, int attempt) {
+        UUID orderId = order.getId();
+        int maxRetries = properties.getPayment().getMaxRetries();
+
+        try {
+            Optional<PaymentResult> result = paymentService.attemptOnce(order, paymentToken, attempt, maxRetries);
+            if (result.isPresent()) {
+                finish(PaymentStatus.succeeded(orderId, attempt, maxRetries, result.get().transactionId()));
+                return;
+            }
+
+            if (attempt >= maxRetries) {
+                String errorMessage = paymentService.recordRetriesExhausted(order, maxRetries);
+                finish(PaymentStatus.failed(orderId, attempt, maxRetries, errorMessage));
+                return;
+            }
+
+            Instant nextAttemptAt = clock.instant().plus(retryDelay(attempt));
+            statuses.put(orderId, PaymentStatus.processing(orderId, attempt, maxRetries, nextAttemptAt));
+            log.debug("Scheduling payment attempt {}/{} for order: {} at {}",
+                    attempt + 1, maxRetries, orderId, nextAttemptAt);
+            schedule(() -> runAttempt(order, paymentToken, attempt + 1), nextAttemptAt);
+
+        } catch (Exception e) {
+            // Scheduler threads must not die silently: surface the failure in the status resource
+            log.error("Unexpected error in async payment attempt {}/{} for order: {}",
+                    attempt, maxRetries, orderId, e);
+            finish(PaymentStatus.failed(orderId, attempt, maxRetries,
+                    "Unexpected error processing payment: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Publishes a final status and schedules its removal after the retention period.
+     */
+    private void finish(PaymentStatus status) {
+        statuses.put(status.orderId(), status);
+        Duration retention = Duration.ofSeconds(properties.getPayment().getStatusRetentionSeconds());
+        schedule(() -> statuses.remove(status.orderId(), status), clock.instant().plus(retention));
+    }
+
+    /**
+     * Schedules a task with the caller's MDC (trace IDs) propagated to the scheduler thread.
+     */
+    private void schedule(Runnable task, Instant startTime) {
+        scheduler.schedule(mdcDecorator.decorate(task), startTime);
+    }
+
+    /**
+     * Exponential backoff with equal jitter for the wait after a failed attempt.
+     * @param failedAttempt the attempt that just failed (1-based)
+     * @return delay before the next attempt
+     */
+    Duration retryDelay(int failedAttempt) {
+        long baseDelay = properties.getPayment().getRetryDelayMillis();
+        long maxDelay = properties.getPayment().getRetryMaxDelayMillis();
+
+        long exponential = baseDelay << Math.min(failedAttempt - 1, 20);
+        long capped = Math.min(exponential, maxDelay);
+        long half = capped / 2;
+        return Duration.ofMillis(half + (long) (random.getAsDouble() * (capped - half)));
+    }
+}
@@ -0,0 +1,208 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.AuditLog;
+import com.farmatodo.reto_tecnico.domain.port.out.AuditLogRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Batching writer for audit logs.
+ *
+ * Events are appended to a bounded lock-free queue and a single drainer thread writes them with
+ * AuditLogRepositoryPort.saveAll when farmatodo.audit.batch-size events are queued or
+ * farmatodo.audit.flush-interval-millis passes.
+ *
+ * Back-pressure: enqueue never blocks the business flow. When farmatodo.audit.queue-capacity is
+ * reached the event is dropped and counted.
+ *
+ * Failure handling: if a batch insert fails, its events are retried one by one so a single bad
+ * row (e.g. missing trace ID) does not lose the whole batch.
+ *
+ * Shutdown: the drainer is stopped and the queue flushed; events enqueued after that are
+ * written synchronously.
+ *
+ * Metrics: audit.events{result=enqueued|dropped|written|failed}, audit.queue.size.
+ */
+@Service
+@Slf4j
+public class AuditLogBatchWriter {
+
+    private final AuditLogRepositoryPort auditLogRepository;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long flushIntervalNanos;
+
+    private final Queue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile Thread drainer;
+    private volatile boolean running;
+
+    public AuditLogBatchWriter(AuditLogRepositoryPort auditLogRepository,
+                               FarmatodoProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.batchSize = properties.getAudit().getBatchSize();
+        this.queueCapacity = properties.getAudit().getQueueCapacity();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getAudit().getFlushIntervalMillis());
+
+        this.enqueued = counter(meterRegistry, "enqueued", "Audit events accepted into the write queue");
+        this.dropped = counter(meterRegistry, "dropped", "Audit events dropped because the write queue was full");
+        this.written = counter(meterRegistry, "written", "Audit events written to the database");
+        this.failed = counter(meterRegistry, "failed", "Audit events that could not be written");
+        Gauge.builder("audit.queue.size", queued, AtomicInteger::get)
+                .description("Audit events waiting to be written").register(meterRegistry);
+    }
+
+    /**
+     * Starts the drainer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-writer");
+        thread.setDaemon(true);
+        drainer = thread;
+        thread.start();
+        log.info("Audit log writer started: batch size {}, flush interval {}ms, queue capacity {}",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), queueCapacity);
+    }
+
+    /**
+     * Stops the drainer thread and writes everything still queued.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int flushed = flush();
+        log.info("Audit log writer stopped, {} queued events flushed", flushed);
+    }
+
+    /**
+     * Queues an audit log for writing. Never blocks.
+     *
+     * @param auditLog the audit log (ID assigned by the caller)
+     * @return true if queued (or written, after shutdown), false if dropped
+     */
+    public boolean enqueue(AuditLog auditLog) {
+        // Stamp now, not at flush time
+        if (auditLog.getEventTimestamp() == null) {
+            auditLog.setEventTimestamp(LocalDateTime.now());
+        }
+
+        if (!running) {
+            // Not started yet or already stopped: write directly so nothing is lost
+            writeBatch(List.of(auditLog));
+            return true;
+        }
+
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            log.warn("[AUDIT] Write queue full ({} events), dropping event: type={}, entity={}:{}",
+                    queueCapacity, auditLog.getEventType(), auditLog.getEntityType(), auditLog.getEntityId());
+            return false;
+        }
+
+        queue.offer(auditLog);
+        enqueued.increment();
+
+        if (queued.get() >= batchSize) {
+            LockSupport.unpark(drainer);
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything currently queued, in batches of at most batch-size.
+     *
+     * @return number of events taken from the queue
+     */
+    int flush() {
+        int total = 0;
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        AuditLog next;
+        while ((next = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == batchSize) {
+                total += batch.size();
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            total += batch.size();
+            writeBatch(batch);
+        }
+        return total;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (queued.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (Exception e) {
+                // Never let the drainer die
+                log.error("[AUDIT] Unexpected error flushing audit logs", e);
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            auditLogRepository.saveAll(batch);
+            written.increment(batch.size());
+            log.debug("[AUDIT] Wrote {} audit logs", batch.size());
+        } catch (Exception batchError) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.error("[AUDIT] Failed to write audit log: type={}, entity={}:{}",
+                        batch.get(0).getEventType(), batch.get(0).getEntityType(),
+                        batch.get(0).getEntityId(), batchError);
+                return;
+            }
+            log.warn("[AUDIT] Batch insert of {} audit logs failed, retrying one by one", batch.size(), batchError);
+            for (AuditLog auditLog : batch) {
+                writeBatch(List.of(auditLog));
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("audit.events").tag("result", result)
+                .description(description).register(meterRegistry);
+    }
+}
@@ -2,11 +2,10 @@ package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.domain.model.AuditLog;
 import com.farmatodo.reto_tecnico.domain.model.EventType;
-import com.farmatodo.reto_tecnico.domain.port.out.AuditLogRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -15,8 +14,9 @@ import java.util.UUID;
  * Service for asynchronous audit logging.
  * Records business events and transactions to database for compliance and debugging.
  *
- * CRITICAL: All methods are @Async to avoid blocking main business flow.
- * Uses MdcTaskDecorator to propagate trace IDs to async threads.
+ * CRITICAL: Methods never block the main business flow. They build the AuditLog on the caller
+ * thread (so the trace ID is read straight from MDC) and hand it to AuditLogBatchWriter,
+ * which inserts queued events in batches.
  *
  * Purpose (RF8 - Centralized Logging):
  * - Track all payment attempts and results
@@ -26,15 +26,15 @@ import java.util.UUID;
  *
  * Architecture:
  * - Application layer (coordinates async logging)
- * - Depends on domain port (AuditLogRepositoryPort)
- * - Uses @Async("taskExecutor") with MdcTaskDecorator for trace ID propagation
+ * - Writes through AuditLogBatchWriter (bounded queue + batched inserts via AuditLogRepositoryPort)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogService {
 
-    private final AuditLogRepositoryPort auditLogRepository;
+    private final AuditLogBatchWriter auditLogWriter;
+    private final IdGenerator idGenerator;
 
     /**
      * Logs a payment attempt event.
@@ -44,7 +44,6 @@ public class AuditLogService {
      * @param attemptNumber current attempt number (1, 2, 3...)
      * @param maxRetries maximum retries allowed
      */
-    @Async("taskExecutor")
     public void logPaymentAttempt(UUID orderId, int attemptNumber, int maxRetries) {
         try {
             String traceId = MDC.get("traceId");
@@ -53,7 +52,7 @@ public class AuditLogService {
                     attemptNumber, maxRetries, orderId, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(EventType.PAYMENT_ATTEMPT.name())
                     .entityType("Order")
@@ -63,7 +62,7 @@ public class AuditLogService {
                             attemptNumber, maxRetries))
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Payment attempt logged: order={}, attempt={}/{}, traceId={}",
                     orderId, attemptNumber, maxRetries, traceId);
@@ -82,7 +81,6 @@ public class AuditLogService {
      * @param transactionId payment gateway transaction ID
      * @param attemptNumber attempt number that succeeded
      */
-    @Async("taskExecutor")
     public void logPaymentSuccess(UUID orderId, String transactionId, int attemptNumber) {
         try {
             String traceId = MDC.get("traceId");
@@ -91,7 +89,7 @@ public class AuditLogService {
                     orderId, transactionId, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(EventType.PAYMENT_SUCCESS.name())
                     .entityType("Order")
@@ -101,7 +99,7 @@ public class AuditLogService {
                             transactionId, attemptNumber))
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Payment success logged: order={}, txId={}, attempt={}, traceId={}",
                     orderId, transactionId, attemptNumber, traceId);
@@ -119,7 +117,6 @@ public class AuditLogService {
      * @param errorMessage reason for payment failure
      * @param totalAttempts total attempts made
      */
-    @Async("taskExecutor")
     public void logPaymentFailure(UUID orderId, String errorMessage, int totalAttempts) {
         try {
             String traceId = MDC.get("traceId");
@@ -128,7 +125,7 @@ public class AuditLogService {
                     orderId, errorMessage, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(EventType.PAYMENT_FAILED.name())
                     .entityType("Order")
@@ -138,7 +135,7 @@ public class AuditLogService {
                     .eventData(String.format("{\"totalAttempts\":%d}", totalAttempts))
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Payment failure logged: order={}, attempts={}, traceId={}",
                     orderId, totalAttempts, traceId);
@@ -158,7 +155,6 @@ public class AuditLogService {
      * @param status status of the event (e.g., "SUCCESS", "FAILURE")
      * @param eventData JSON metadata (null if not needed)
      */
-    @Async("taskExecutor")
     public void logEvent(
             EventType eventType,
             String entityType,
@@ -173,7 +169,7 @@ public class AuditLogService {
                     eventType, entityType, entityId, status, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(eventType.name())
                     .entityType(entityType)
@@ -182,7 +178,7 @@ public class AuditLogService {
                     .eventData(eventData)
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Event logged: type={}, entity={}:{}, traceId={}",
                     eventType, entityType, entityId, traceId);
@@ -203,7 +199,6 @@ public class AuditLogService {
      * @param status status of the event (e.g., "SUCCESS", "FAILURE")
      * @param errorMessage error message (null if successful)
      */
-    @Async("taskExecutor")
     public void logEventWithError(
             EventType eventType,
             String entityType,
@@ -218,7 +213,7 @@ public class AuditLogService {
                     eventType, entityType, entityId, status, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(eventType.name())
                     .entityType(entityType)
@@ -227,7 +222,7 @@ public class AuditLogService {
                     .errorMessage(errorMessage)
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Event with error logged: type={}, entity={}:{}, traceId={}",
                     eventType, entityType, entityId, traceId);
@@ -249,7 +244,6 @@ public class AuditLogService {
      * @param errorMessage error message (null if successful)
      */
     @Deprecated
-    @Async("taskExecutor")
     public void logEvent(
             String eventType,
             String entityType,
@@ -264,7 +258,7 @@ public class AuditLogService {
                     eventType, entityType, entityId, status, traceId);
 
             AuditLog auditLog = AuditLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .traceId(traceId)
                     .eventType(eventType)
                     .entityType(entityType)
@@ -273,7 +267,7 @@ public class AuditLogService {
                     .errorMessage(errorMessage)
                     .build();
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
 
             log.info("[AUDIT] Event logged: type={}, entity={}:{}, traceId={}",
                     eventType, entityType, entityId, traceId);
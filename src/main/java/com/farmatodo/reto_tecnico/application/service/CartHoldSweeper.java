@@ -0,0 +1,125 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.port.out.StockHoldRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases expired cart stock holds.
+ *
+ * A single background thread runs every farmatodo.cart.hold-sweep-interval-millis and releases
+ * expired holds oldest first, farmatodo.cart.hold-sweep-batch-size per statement, until none are
+ * left. Each batch is read from the expires_at index, so a sweep costs the expired holds, not
+ * the active ones.
+ *
+ * Several instances can run: holds locked by another sweeper or transaction are skipped and
+ * released by a later sweep.
+ *
+ * Metrics: cart.holds.expired.
+ */
+@Service
+@Slf4j
+public class CartHoldSweeper {
+
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final FarmatodoProperties.Cart config;
+    private final Clock clock;
+    private final Counter expired;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public CartHoldSweeper(StockHoldRepositoryPort stockHoldRepository,
+                           FarmatodoProperties properties,
+                           MeterRegistry meterRegistry) {
+        this(stockHoldRepository, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    CartHoldSweeper(StockHoldRepositoryPort stockHoldRepository,
+                    FarmatodoProperties properties,
+                    MeterRegistry meterRegistry,
+                    Clock clock) {
+        this.stockHoldRepository = stockHoldRepository;
+        this.config = properties.getCart();
+        this.clock = clock;
+        this.expired = Counter.builder("cart.holds.expired")
+                .description("Cart stock holds released because they expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts sweeping expired holds.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-hold-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepSafely,
+                config.getHoldSweepIntervalMillis(), config.getHoldSweepIntervalMillis(), TimeUnit.MILLISECONDS);
+        log.info("Cart hold sweeper started: batch size {}, sweep every {}ms",
+                config.getHoldSweepBatchSize(), config.getHoldSweepIntervalMillis());
+    }
+
+    /**
+     * Stops sweeping. Expired holds left behind are released after the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Cart hold sweeper stopped");
+    }
+
+    /**
+     * Releases every hold expired at the start of the sweep, one batch at a time.
+     *
+     * @return number of holds released
+     */
+    int sweep() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int total = 0;
+        while (true) {
+            int released = stockHoldRepository.releaseExpired(now, config.getHoldSweepBatchSize());
+            total += released;
+            expired.increment(released);
+            // A short batch means the expired holds are drained (or the rest are locked: next sweep)
+            if (released < config.getHoldSweepBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Released {} expired cart stock holds", total);
+        }
+        return total;
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            // Never let the sweeper die; expired holds are retried on the next sweep
+            log.error("Error releasing expired cart stock holds", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
 import com.farmatodo.reto_tecnico.domain.exception.CartNotFoundException;
 import com.farmatodo.reto_tecnico.domain.exception.EmptyCartException;
 import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
@@ -14,7 +15,9 @@ import com.farmatodo.reto_tecnico.domain.port.in.CheckoutCartUseCase;
 import com.farmatodo.reto_tecnico.domain.port.in.CreateOrderUseCase;
 import com.farmatodo.reto_tecnico.domain.port.in.GetCartUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.CartRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.StockHoldRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,6 +30,9 @@ import java.util.UUID;
 /**
  * Service implementation for shopping cart operations.
  * Handles adding items to cart, retrieving cart, and checkout process.
+ *
+ * Each line holds its units for farmatodo.cart.hold-ttl-seconds (StockHoldRepositoryPort);
+ * checkout converts the holds into a reservation, CartHoldSweeper releases abandoned ones.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,6 +42,9 @@ public class CartService implements AddToCartUseCase, GetCartUseCase, CheckoutCa
     private final CartRepositoryPort cartRepository;
     private final ProductRepositoryPort productRepository;
     private final CreateOrderUseCase orderService;
+    private final IdGenerator idGenerator;
+    private final StockHoldRepositoryPort stockHoldRepository;
+    private final FarmatodoProperties properties;
 
     @Override
     @Transactional
@@ -64,27 +73,41 @@ public class CartService implements AddToCartUseCase, GetCartUseCase, CheckoutCa
 
         int finalQuantity = existingQuantity + quantity;
 
-        if (!product.hasSufficientStock(finalQuantity)) {
+        // heldStock already counts this cart's own hold on the line, so those units are available to it
+        // (same rule as StockHoldPersistenceAdapter.HOLD_SQL)
+        FarmatodoProperties.Cart cartConfig = properties.getCart();
+        int availableToCart = product.getAvailableStock() + (cartConfig.isHoldsEnabled() ? existingQuantity : 0);
+        if (availableToCart < finalQuantity) {
             log.warn("Insufficient stock for product: {}. Requested: {}, Available: {}",
-                    productId, finalQuantity, product.getStock());
+                    productId, finalQuantity, availableToCart);
             throw new InsufficientStockException(
                     product.getId(),
                     product.getName(),
-                    product.getStock(),
+                    availableToCart,
                     finalQuantity
             );
         }
 
+        // Hold the line's units; the check above may use a cached product, this one is authoritative
+        if (cartConfig.isHoldsEnabled()) {
+            stockHoldRepository.hold(cart.getId(), productId, finalQuantity,
+                    LocalDateTime.now().plusSeconds(cartConfig.getHoldTtlSeconds()));
+        }
+
         // Add product to cart
         cart.addProduct(product, quantity);
 
-        // Save cart
-        Cart savedCart = cartRepository.save(cart);
+        // Persist only the changed line
+        CartItem line = cart.getItems().stream()
+                .filter(item -> item.getProduct().getId().equals(productId))
+                .findFirst()
+                .orElseThrow();
+        cartRepository.upsertItem(cart.getId(), line);
 
         log.info("Product {} added to cart for customer: {}. Total items: {}",
-                productId, customerId, savedCart.getTotalItemCount());
+                productId, customerId, cart.getTotalItemCount());
 
-        return savedCart;
+        return cart;
     }
 
     @Override
@@ -118,6 +141,10 @@ public class CartService implements AddToCartUseCase, GetCartUseCase, CheckoutCa
 
         log.info("Creating order with {} items for customer: {}", orderItems.size(), customerId);
 
+        // Release the cart's holds so its units can be reserved; a failed order rolls this back
+        int released = stockHoldRepository.releaseCart(cart.getId());
+        log.debug("Released {} stock holds of cart {}", released, cart.getId());
+
         // Create order using OrderService
         Order order = orderService.createOrder(customerId, orderItems);
 
@@ -139,7 +166,7 @@ public class CartService implements AddToCartUseCase, GetCartUseCase, CheckoutCa
         log.info("Creating new cart for customer: {}", customerId);
 
         Cart newCart = Cart.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.newId())
                 .customerId(customerId)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -156,7 +183,7 @@ public class CartService implements AddToCartUseCase, GetCartUseCase, CheckoutCa
      */
     private OrderItem convertToOrderItem(CartItem cartItem) {
         return OrderItem.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.newId())
                 .product(cartItem.getProduct())
                 .quantity(cartItem.getQuantity())
                 .unitPrice(cartItem.getUnitPrice())
@@ -0,0 +1,65 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the product catalog.
+ *
+ * Bumped by every ProductChangedEvent (save, stock change, delete) and StockHoldsChangedEvent
+ * (cart holds change held units, and with them inStock) after the publishing transaction
+ * commits, so a reader that sees a version also sees the writes made before it.
+ * Readers must read the version BEFORE querying: data read afterwards is at least that fresh.
+ *
+ * Starts at the boot time in milliseconds, so versions keep increasing across restarts and a
+ * version issued before a restart is never reused for different data.
+ *
+ * Only tracks writes made by this instance; see CatalogResponseCache for the staleness bound.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version;
+
+    public CatalogVersion() {
+        this(System.currentTimeMillis());
+    }
+
+    CatalogVersion(long initialVersion) {
+        this.version = new AtomicLong(initialVersion);
+    }
+
+    /**
+     * Current catalog version.
+     * @return the version, never decreasing
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Bumps the version after a product change commits
+     * (or immediately when published outside a transaction).
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Bumps the version after cart holds change available stock
+     * (or immediately when published outside a transaction).
+     *
+     * @param event the hold change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockHoldsChanged(StockHoldsChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,204 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailOutboxRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the email outbox.
+ *
+ * A single background thread claims due messages in batches of farmatodo.email.outbox.batch-size
+ * and sends each batch over one SMTP connection (EmailPort.sendAll).
+ *
+ * Retries: a failed message is retried with exponential backoff (retry-delay-millis doubled per
+ * attempt, capped at retry-max-delay-millis). After max-attempts, or when the server rejects the
+ * recipient, it is marked FAILED and kept for inspection.
+ *
+ * Several instances can run: claims skip rows locked by another dispatcher and hide the claimed
+ * rows for lease-seconds.
+ *
+ * Metrics: email.outbox{result=sent|retried|failed}.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepositoryPort outboxRepository;
+    private final EmailPort emailPort;
+    private final FarmatodoProperties.Email.Outbox config;
+    private final Clock clock;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepositoryPort outboxRepository,
+                                 EmailPort emailPort,
+                                 FarmatodoProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this(outboxRepository, emailPort, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxDispatcher(EmailOutboxRepositoryPort outboxRepository,
+                          EmailPort emailPort,
+                          FarmatodoProperties properties,
+                          MeterRegistry meterRegistry,
+                          Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.emailPort = emailPort;
+        this.config = properties.getEmail().getOutbox();
+        this.clock = clock;
+
+        this.sent = counter(meterRegistry, "sent", "Outbox emails delivered");
+        this.retried = counter(meterRegistry, "retried", "Outbox email deliveries that failed and will be retried");
+        this.failed = counter(meterRegistry, "failed", "Outbox emails given up on");
+    }
+
+    /**
+     * Starts polling the outbox.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::dispatchSafely,
+                config.getPollIntervalMillis(), config.getPollIntervalMillis(), TimeUnit.MILLISECONDS);
+        log.info("Email outbox dispatcher started: batch size {}, poll every {}ms, max attempts {}",
+                config.getBatchSize(), config.getPollIntervalMillis(), config.getMaxAttempts());
+    }
+
+    /**
+     * Stops polling. Undelivered messages stay in the outbox for the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Email outbox dispatcher stopped");
+    }
+
+    /**
+     * Sends every due message, one batch (one SMTP connection) at a time.
+     *
+     * @return number of messages delivered
+     */
+    int dispatch() {
+        int delivered = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<EmailOutboxMessage> batch =
+                    outboxRepository.claimDue(now, now.plusSeconds(config.getLeaseSeconds()), config.getBatchSize());
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+            int batchDelivered = deliver(batch, now);
+            delivered += batchDelivered;
+            // Stop when drained, or when nothing got through (SMTP down: wait for the next poll)
+            if (batch.size() < config.getBatchSize() || batchDelivered == 0) {
+                return delivered;
+            }
+        }
+    }
+
+    private int deliver(List<EmailOutboxMessage> batch, LocalDateTime now) {
+        List<EmailPort.DeliveryFailure> failures;
+        try {
+            failures = emailPort.sendAll(batch);
+        } catch (Exception e) {
+            // Nothing is known to be delivered: retry the whole batch
+            log.warn("Sending {} outbox emails failed", batch.size(), e);
+            failures = batch.stream()
+                    .map(message -> new EmailPort.DeliveryFailure(message.getId(), e.getMessage(), false))
+                    .toList();
+        }
+
+        Map<UUID, EmailPort.DeliveryFailure> failuresById = new HashMap<>();
+        failures.forEach(failure -> failuresById.put(failure.messageId(), failure));
+
+        List<UUID> deliveredIds = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            EmailPort.DeliveryFailure failure = failuresById.get(message.getId());
+            if (failure == null) {
+                deliveredIds.add(message.getId());
+            } else {
+                recordFailure(message, failure, now);
+            }
+        }
+
+        outboxRepository.deleteAll(deliveredIds);
+        sent.increment(deliveredIds.size());
+        log.debug("Delivered {} of {} outbox emails", deliveredIds.size(), batch.size());
+        return deliveredIds.size();
+    }
+
+    private void recordFailure(EmailOutboxMessage message, EmailPort.DeliveryFailure failure, LocalDateTime now) {
+        int attempts = message.getDeliveryAttempts() + 1;
+        if (failure.permanent() || attempts >= config.getMaxAttempts()) {
+            outboxRepository.markFailed(message.getId(), attempts, failure.reason());
+            failed.increment();
+            log.error("Giving up on {} email for order {} after {} attempts: {}",
+                    message.getType(), message.getOrderId(), attempts, failure.reason());
+            return;
+        }
+        Duration delay = retryDelay(attempts);
+        outboxRepository.scheduleRetry(message.getId(), attempts, now.plus(delay), failure.reason());
+        retried.increment();
+        log.warn("{} email for order {} failed (attempt {}/{}), retrying in {}ms: {}",
+                message.getType(), message.getOrderId(), attempts, config.getMaxAttempts(),
+                delay.toMillis(), failure.reason());
+    }
+
+    /**
+     * Exponential backoff: retry-delay-millis * 2^(attempts - 1), capped at retry-max-delay-millis.
+     */
+    Duration retryDelay(int attempts) {
+        long delay = config.getRetryDelayMillis() << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(delay, config.getRetryMaxDelayMillis()));
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            // Never let the dispatcher die; claimed messages become due again after the lease
+            log.error("Error dispatching email outbox", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("email.outbox").tag("result", result)
+                .description(description).register(meterRegistry);
+    }
+}
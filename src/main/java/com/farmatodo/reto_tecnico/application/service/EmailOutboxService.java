@@ -0,0 +1,76 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailOutboxRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes customer emails to the transactional outbox.
+ *
+ * CRITICAL: must be called inside the transaction that changes the order, so the email is
+ * stored if and only if the change commits. EmailOutboxDispatcher delivers it afterwards;
+ * a crash or SMTP outage only delays the email instead of losing it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepositoryPort outboxRepository;
+    private final IdGenerator idGenerator;
+
+    /**
+     * Queues the payment success email for an order.
+     *
+     * @param order the paid order
+     * @param transactionId the payment gateway transaction ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePaymentSuccess(Order order, String transactionId) {
+        enqueue(order, EmailOutboxMessage.builder()
+                .type(EmailOutboxMessage.Type.PAYMENT_SUCCESS)
+                .transactionId(transactionId));
+    }
+
+    /**
+     * Queues the payment failure email for an order.
+     *
+     * @param order the order whose payment failed
+     * @param attempts number of payment attempts made
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePaymentFailure(Order order, int attempts) {
+        enqueue(order, EmailOutboxMessage.builder()
+                .type(EmailOutboxMessage.Type.PAYMENT_FAILURE)
+                .paymentAttempts(attempts));
+    }
+
+    private void enqueue(Order order, EmailOutboxMessage.EmailOutboxMessageBuilder builder) {
+        if (order.getCustomer() == null || order.getCustomer().getEmail() == null) {
+            log.warn("Order {} has no customer email, no notification queued", order.getId());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = builder
+                .id(idGenerator.newId())
+                .recipient(order.getCustomer().getEmail().value())
+                .customerName(order.getCustomer().getName())
+                .orderId(order.getId())
+                .totalAmount(order.getTotalAmount().toString())
+                .deliveryAttempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        outboxRepository.save(message);
+        log.debug("Queued {} email for order: {}", message.getType(), order.getId());
+    }
+}
@@ -8,8 +8,11 @@ import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.EventType;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 import com.farmatodo.reto_tecnico.domain.port.in.CreateOrderUseCase;
+import com.farmatodo.reto_tecnico.domain.port.in.GetCustomerOrdersUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.CustomerRepositoryPort;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
@@ -18,17 +21,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Service implementation for order creation and management.
  * Coordinates order creation with stock validation and persistence.
+ * Stock for the whole basket is reserved with a single ProductRepositoryPort.reserveStock call.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class OrderServiceImpl implements CreateOrderUseCase {
+public class OrderServiceImpl implements CreateOrderUseCase, GetCustomerOrdersUseCase {
 
     private final OrderRepositoryPort orderRepository;
     private final CustomerRepositoryPort customerRepository;
@@ -54,15 +60,12 @@ public class OrderServiceImpl implements CreateOrderUseCase {
             log.info("Customer created: {}", customer.getId());
         }
 
-        // Validate stock availability for all items
-        validateStockAvailability(items);
+        // Validate and reserve stock for all items at once (all-or-nothing)
+        reserveStockForItems(items);
 
         // Create order with explicit delivery address (or fallback to customer's address)
         Order order = Order.create(customer, items, explicitDeliveryAddress);
 
-        // Reduce stock for all items
-        reduceStockForItems(items);
-
         // Save order
         Order savedOrder = orderRepository.save(order);
 
@@ -113,6 +116,20 @@ public class OrderServiceImpl implements CreateOrderUseCase {
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
+    /**
+     * Returns one page of the customer's order history as summaries.
+     * Fetches size + 1 rows so the next cursor is only returned when another page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSummaryPage getOrderHistory(UUID customerId, OrderCursor after, int size) {
+        log.debug("Retrieving order history for customer {} after {} (size {})", customerId, after, size);
+        if (customerRepository.findById(customerId).isEmpty()) {
+            throw new CustomerNotFoundException(customerId);
+        }
+        return OrderSummaryPage.of(orderRepository.findSummariesByCustomerId(customerId, after, size + 1), size);
+    }
+
     @Override
     @Transactional
     public Order cancelOrder(UUID orderId) {
@@ -144,40 +161,24 @@ public class OrderServiceImpl implements CreateOrderUseCase {
     }
 
     /**
-     * Validates stock availability for all order items.
+     * Reserves stock for all order items in one all-or-nothing operation.
+     * Quantities for repeated products are summed into a single line.
      * @param items list of order items
-     * @throws InsufficientStockException if any item has insufficient stock
+     * @throws InsufficientStockException listing every item with insufficient stock
+     * @throws ProductNotFoundException if any product does not exist
      */
-    private void validateStockAvailability(List<OrderItem> items) {
+    private void reserveStockForItems(List<OrderItem> items) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
         for (OrderItem item : items) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(item.getProductId()));
-
-            if (!product.hasSufficientStock(item.getQuantity())) {
-                log.warn("Insufficient stock for product: {} (available: {}, requested: {})",
-                        product.getName(), product.getStock(), item.getQuantity());
-                throw new InsufficientStockException(
-                        product.getId(),
-                        product.getName(),
-                        product.getStock(),
-                        item.getQuantity()
-                );
-            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
         }
-    }
 
-    /**
-     * Reduces stock for all order items.
-     * @param items list of order items
-     */
-    private void reduceStockForItems(List<OrderItem> items) {
-        for (OrderItem item : items) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(item.getProductId()));
+        List<Product> reserved = productRepository.reserveStock(quantities);
 
-            int oldStock = product.getStock();
-            int newStock = oldStock - item.getQuantity();
-            productRepository.updateStock(product.getId(), newStock);
+        for (Product product : reserved) {
+            int quantity = quantities.get(product.getId());
+            int newStock = product.getStock();
+            int oldStock = newStock + quantity;
 
             log.debug("Reduced stock for product {} from {} to {}",
                     product.getName(), oldStock, newStock);
@@ -186,7 +187,7 @@ public class OrderServiceImpl implements CreateOrderUseCase {
             String eventData = String.format(
                     "{\"productName\":\"%s\",\"quantityReduced\":%d,\"oldStock\":%d,\"newStock\":%d}",
                     product.getName(),
-                    item.getQuantity(),
+                    quantity,
                     oldStock,
                     newStock
             );
@@ -202,18 +203,15 @@ public class OrderServiceImpl implements CreateOrderUseCase {
 
     /**
      * Restores stock for all order items (used when cancelling an order).
+     * Relative increments: a concurrent reservation between read and write cannot be overwritten.
      * @param items list of order items
      */
     private void restoreStockForItems(List<OrderItem> items) {
         for (OrderItem item : items) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(item.getProductId()));
-
-            int newStock = product.getStock() + item.getQuantity();
-            productRepository.updateStock(product.getId(), newStock);
+            Product product = productRepository.increaseStock(item.getProductId(), item.getQuantity());
 
-            log.debug("Restored stock for product {} from {} to {}",
-                    product.getName(), product.getStock(), newStock);
+            log.debug("Restored {} units of product {}, stock now {}",
+                    item.getQuantity(), product.getName(), product.getStock());
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
 import com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException;
 import com.farmatodo.reto_tecnico.domain.exception.TokenizationFailedException;
 import com.farmatodo.reto_tecnico.domain.model.CreditCard;
@@ -12,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -23,6 +25,9 @@ import java.util.concurrent.ThreadLocalRandom;
  * REFACTORED: Removed @Transactional from main method to avoid holding DB connections
  * during Thread.sleep(). Individual transactions are managed by PaymentTransactionService.
  *
+ * This is the SYNC mode: retries sleep on the caller thread. AsyncPaymentService reuses the
+ * single-attempt steps (attemptOnce, recordRetriesExhausted) and schedules retries instead.
+ *
  * NOTE: Payment gateway simulation is done internally (attemptPayment method) rather than
  * delegating to an external PaymentGatewayPort adapter. This keeps the simulation logic
  * centralized and avoids unnecessary abstraction layers for a simulated system.
@@ -35,7 +40,6 @@ public class PaymentService implements ProcessPaymentUseCase {
     private final TokenizeCardUseCase tokenizationService;
     private final PaymentTransactionService transactionService;
     private final FarmatodoProperties properties;
-    private final AsyncEmailService asyncEmailService;
     private final AuditLogService auditLogService;
 
     @Override
@@ -43,13 +47,12 @@ public class PaymentService implements ProcessPaymentUseCase {
         log.info("Processing payment for order: {} with total: {} (with credit card tokenization)",
                 order.getId(), order.getTotalAmount());
 
-        try {
-            // Step 1: Tokenize credit card
-            CreditCard tokenizedCard = tokenizeCard(creditCard);
-            String paymentToken = tokenizedCard.getToken();
+        // A confirmed, completed or cancelled order is rejected before tokenizing or charging
+        order.requirePayable();
 
-            // Assign token to order in separate transaction
-            transactionService.assignTokenAndSave(order, paymentToken);
+        try {
+            // Step 1: Tokenize credit card and assign token to order in separate transaction
+            String paymentToken = assignToken(order, creditCard);
 
             // Step 2: Process payment with retry logic (NO @Transactional here)
             return processPaymentWithRetry(order, paymentToken);
@@ -60,6 +63,10 @@ public class PaymentService implements ProcessPaymentUseCase {
             throw new PaymentFailedException(
                     "Unable to process payment: tokenization failed - " + e.getMessage(), e
             );
+        } catch (OrderStatusConflictException e) {
+            // Another request changed the order: it owns the state now, do not mark it failed
+            log.warn("Order {} changed concurrently during payment: {}", order.getId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error processing payment for order: {}", order.getId(), e);
             transactionService.failPaymentAndSave(order);
@@ -74,18 +81,18 @@ public class PaymentService implements ProcessPaymentUseCase {
         log.info("Processing payment for order: {} with total: {} (using existing token)",
                 order.getId(), order.getTotalAmount());
 
-        try {
-            // Validate token is provided
-            if (paymentToken == null || paymentToken.isBlank()) {
-                throw new IllegalArgumentException("Payment token cannot be null or blank");
-            }
+        order.requirePayable();
 
-            // Assign token to order in separate transaction
-            transactionService.assignTokenAndSave(order, paymentToken);
+        try {
+            // Validate token and assign it to order in separate transaction
+            assignToken(order, paymentToken);
 
             // Process payment with retry logic (NO @Transactional here)
             return processPaymentWithRetry(order, paymentToken);
 
+        } catch (OrderStatusConflictException e) {
+            log.warn("Order {} changed concurrently during payment: {}", order.getId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error processing payment with token for order: {}", order.getId(), e);
             transactionService.failPaymentAndSave(order);
@@ -95,6 +102,42 @@ public class PaymentService implements ProcessPaymentUseCase {
         }
     }
 
+    /**
+     * Tokenizes the credit card and assigns the token to the order (own transaction).
+     * Shared with AsyncPaymentService.
+     * @param order the order
+     * @param creditCard the credit card to tokenize
+     * @return the payment token
+     * @throws TokenizationFailedException if tokenization fails
+     */
+    String assignToken(Order order, CreditCard creditCard) {
+        String paymentToken = tokenizeCard(creditCard).getToken();
+        transactionService.assignTokenAndSave(order, paymentToken);
+        return paymentToken;
+    }
+
+    /**
+     * Validates an existing token and assigns it to the order (own transaction).
+     * Shared with AsyncPaymentService.
+     * @param order the order
+     * @param paymentToken the existing payment token
+     * @throws IllegalArgumentException if the token is null or blank
+     */
+    void assignToken(Order order, String paymentToken) {
+        if (paymentToken == null || paymentToken.isBlank()) {
+            throw new IllegalArgumentException("Payment token cannot be null or blank");
+        }
+        transactionService.assignTokenAndSave(order, paymentToken);
+    }
+
+    /**
+     * Marks the order payment as failed before any attempt was made (own transaction).
+     * @param order the order
+     */
+    void failBeforeAttempt(Order order) {
+        transactionService.failPaymentAndSave(order);
+    }
+
     /**
      * Tokenizes the credit card before payment processing.
      * @param creditCard the credit card to tokenize
@@ -126,68 +169,97 @@ public class PaymentService implements ProcessPaymentUseCase {
 
         while (attempt < maxRetries) {
             attempt++;
-            log.info("Payment attempt {}/{} for order: {}", attempt, maxRetries, order.getId());
 
-            // RF8: Log payment attempt to audit trail
-            auditLogService.logPaymentAttempt(order.getId(), attempt, maxRetries);
+            Optional<PaymentResult> result = attemptOnce(order, paymentToken, attempt, maxRetries);
+            if (result.isPresent()) {
+                return result.get();
+            }
 
-            try {
-                // Attempt payment
-                PaymentGatewayPort.PaymentResult gatewayResult =
-                        attemptPayment(order, paymentToken, attempt);
+            // Wait before retry (except on last attempt) - DB connection released during sleep
+            if (attempt < maxRetries) {
+                waitBeforeRetry(retryDelay);
+            }
+        }
 
-                if (gatewayResult.success()) {
-                    // Payment successful - save in separate transaction
-                    transactionService.confirmPaymentAndSave(order);
+        // All retries exhausted
+        String errorMessage = recordRetriesExhausted(order, maxRetries);
 
-                    log.info("Payment successful for order: {} on attempt {}/{}",
-                            order.getId(), attempt, maxRetries);
+        throw new PaymentFailedException(
+                order.getId(),
+                errorMessage,
+                maxRetries
+        );
+    }
 
-                    // RF8: Log payment success to audit trail
-                    auditLogService.logPaymentSuccess(order.getId(), gatewayResult.transactionId(), attempt);
+    /**
+     * Runs a single payment attempt, including confirmation, audit and notification on success.
+     * Never throws: gateway or persistence errors count as a failed attempt.
+     * Shared with AsyncPaymentService.
+     *
+     * @param order the order to process payment for
+     * @param paymentToken the tokenized payment information
+     * @param attempt the attempt number (1-based)
+     * @param maxRetries maximum number of attempts
+     * @return the successful result, or empty if the attempt failed
+     */
+    Optional<PaymentResult> attemptOnce(Order order, String paymentToken, int attempt, int maxRetries) {
+        log.info("Payment attempt {}/{} for order: {}", attempt, maxRetries, order.getId());
 
-                    // Send payment success email asynchronously (Fire-and-Forget)
-                    asyncEmailService.sendPaymentSuccessEmailAsync(order, gatewayResult.transactionId());
+        // RF8: Log payment attempt to audit trail
+        auditLogService.logPaymentAttempt(order.getId(), attempt, maxRetries);
 
-                    return PaymentResult.success(gatewayResult.transactionId(), attempt);
-                }
+        try {
+            // Attempt payment
+            PaymentGatewayPort.PaymentResult gatewayResult =
+                    attemptPayment(order, paymentToken, attempt);
 
-                // Payment failed, but we have more retries
-                log.warn("Payment attempt {}/{} failed for order: {}. Reason: {}",
-                        attempt, maxRetries, order.getId(), gatewayResult.message());
+            if (gatewayResult.success()) {
+                // Payment successful - save in separate transaction (queues the success email)
+                transactionService.confirmPaymentAndSave(order, gatewayResult.transactionId());
 
-                // Wait before retry (except on last attempt) - DB connection released during sleep
-                if (attempt < maxRetries) {
-                    waitBeforeRetry(retryDelay);
-                }
+                log.info("Payment successful for order: {} on attempt {}/{}",
+                        order.getId(), attempt, maxRetries);
 
-            } catch (Exception e) {
-                log.error("Exception during payment attempt {}/{} for order: {}",
-                        attempt, maxRetries, order.getId(), e);
+                // RF8: Log payment success to audit trail
+                auditLogService.logPaymentSuccess(order.getId(), gatewayResult.transactionId(), attempt);
 
-                // Wait before retry (except on last attempt)
-                if (attempt < maxRetries) {
-                    waitBeforeRetry(retryDelay);
-                }
+                return Optional.of(PaymentResult.success(gatewayResult.transactionId(), attempt));
             }
+
+            log.warn("Payment attempt {}/{} failed for order: {}. Reason: {}",
+                    attempt, maxRetries, order.getId(), gatewayResult.message());
+
+        } catch (OrderStatusConflictException e) {
+            // Never retry: the gateway may already have charged this order
+            log.error("Order {} changed concurrently during payment attempt {}/{}, not retrying",
+                    order.getId(), attempt, maxRetries, e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Exception during payment attempt {}/{} for order: {}",
+                    attempt, maxRetries, order.getId(), e);
         }
 
-        // All retries exhausted - save failure in separate transaction
+        return Optional.empty();
+    }
+
+    /**
+     * Records a payment whose attempts are exhausted: order failure and failure email
+     * (own transaction) and audit trail.
+     * Shared with AsyncPaymentService.
+     *
+     * @param order the order
+     * @param maxRetries number of attempts made
+     * @return failure message
+     */
+    String recordRetriesExhausted(Order order, int maxRetries) {
         log.error("Payment failed for order: {} after {} attempts", order.getId(), maxRetries);
-        transactionService.failPaymentAndSave(order);
+        transactionService.failPaymentAndSave(order, maxRetries);
 
         // RF8: Log payment failure to audit trail
         String errorMessage = "Payment rejected after " + maxRetries + " attempts";
         auditLogService.logPaymentFailure(order.getId(), errorMessage, maxRetries);
 
-        // Send payment failure email asynchronously (Fire-and-Forget)
-        asyncEmailService.sendPaymentFailureEmailAsync(order, maxRetries);
-
-        throw new PaymentFailedException(
-                order.getId(),
-                errorMessage,
-                maxRetries
-        );
+        return errorMessage;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
 import com.farmatodo.reto_tecnico.domain.model.EventType;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
@@ -15,6 +16,12 @@ import org.springframework.transaction.annotation.Transactional;
  * database connections during retry delays.
  *
  * This fixes the critical issue of Thread.sleep() within @Transactional.
+ *
+ * Payment emails are written to the email outbox inside the same transaction as the status
+ * change, so an email exists if and only if the change committed.
+ *
+ * Transitions are conditional UPDATEs on the persisted status; zero rows updated means another
+ * request moved the order first (OrderStatusConflictException, 409).
  */
 @Service
 @RequiredArgsConstructor
@@ -23,6 +30,7 @@ public class PaymentTransactionService {
 
     private final OrderRepositoryPort orderRepository;
     private final AuditLogService auditLogService;
+    private final EmailOutboxService emailOutboxService;
 
     /**
      * Saves order state within a new transaction.
@@ -38,32 +46,41 @@ public class PaymentTransactionService {
 
     /**
      * Updates order to PAYMENT_PROCESSING state with token.
-     * Runs in its own transaction.
+     * Runs in its own transaction. The row is only updated while it is still PENDING or
+     * PAYMENT_FAILED, so a payment is never started for a confirmed, completed or cancelled order.
      *
      * @param order the order
      * @param token the payment token
      * @return updated order
+     * @throws OrderStatusConflictException if the order is not (or no longer) payable
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Order assignTokenAndSave(Order order, String token) {
         order.assignPaymentToken(token);
-        return orderRepository.save(order);
+        if (!orderRepository.updateStatusAndPaymentToken(order.getId(), Order.PAYABLE_STATUSES,
+                order.getStatus(), order.getPaymentToken(), order.getUpdatedAt())) {
+            throw new OrderStatusConflictException(order.getId(), "PENDING or PAYMENT_FAILED");
+        }
+        return order;
     }
 
     /**
-     * Confirms payment and saves order.
+     * Confirms payment, saves order and queues the payment success email.
      * Runs in its own transaction.
      *
      * @param order the order
+     * @param transactionId the payment gateway transaction ID
      * @return updated order
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public Order confirmPaymentAndSave(Order order) {
-        String oldStatus = order.getStatus().name();
+    public Order confirmPaymentAndSave(Order order, String transactionId) {
+        Order.OrderStatus oldStatus = order.getStatus();
         order.confirmPayment();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = updateStatus(order, oldStatus);
         String newStatus = savedOrder.getStatus().name();
 
+        emailOutboxService.enqueuePaymentSuccess(savedOrder, transactionId);
+
         // RF8: Log order status change to audit trail
         String eventData = String.format(
                 "{\"orderId\":\"%s\",\"oldStatus\":\"%s\",\"newStatus\":\"%s\"}",
@@ -91,9 +108,28 @@ public class PaymentTransactionService {
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Order failPaymentAndSave(Order order) {
-        String oldStatus = order.getStatus().name();
+        return failPayment(order);
+    }
+
+    /**
+     * Marks payment as failed after all attempts, saves order and queues the payment failure email.
+     * Runs in its own transaction.
+     *
+     * @param order the order
+     * @param attempts number of payment attempts made
+     * @return updated order
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Order failPaymentAndSave(Order order, int attempts) {
+        Order savedOrder = failPayment(order);
+        emailOutboxService.enqueuePaymentFailure(savedOrder, attempts);
+        return savedOrder;
+    }
+
+    private Order failPayment(Order order) {
+        Order.OrderStatus oldStatus = order.getStatus();
         order.failPayment();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = updateStatus(order, oldStatus);
         String newStatus = savedOrder.getStatus().name();
 
         // RF8: Log order status change to audit trail
@@ -113,4 +149,15 @@ public class PaymentTransactionService {
 
         return savedOrder;
     }
+
+    /**
+     * Writes the order's new status if the row still has expectedStatus.
+     * @throws OrderStatusConflictException if the order was changed concurrently
+     */
+    private Order updateStatus(Order order, Order.OrderStatus expectedStatus) {
+        if (!orderRepository.updateStatus(order.getId(), expectedStatus, order.getStatus(), order.getUpdatedAt())) {
+            throw new OrderStatusConflictException(order.getId(), expectedStatus.name());
+        }
+        return order;
+    }
 }
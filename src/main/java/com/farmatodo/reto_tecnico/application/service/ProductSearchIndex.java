@@ -0,0 +1,469 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
+import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index for product name search.
+ *
+ * Answers case-insensitive substring matches with a min stock filter without scanning products.
+ *
+ * How it works:
+ * 1. Names are folded (accents stripped, lower-cased): "Acetaminofén" -> "acetaminofen"
+ * 2. Every 3-character window of the folded name is a trigram key pointing to a sorted posting list
+ * 3. A query is answered by intersecting the posting lists of its trigrams (shortest first),
+ *    then verifying each candidate with a real substring check and the stock threshold
+ * 4. Queries shorter than 3 characters fall back to a linear scan of folded names
+ *
+ * Lifecycle:
+ * - Built at startup (ApplicationReadyEvent) from ProductRepositoryPort.findAll()
+ * - Kept current through ProductChangedEvent, applied after the publishing transaction commits
+ * - Changes that commit before the build finishes (including while the snapshot is read) are
+ *   buffered and replayed on top of the snapshot, so none is lost; replaying a change the
+ *   snapshot already contains is harmless
+ * - Until built (or if the build fails), isReady() returns false and callers use the database
+ *
+ * Thread safety: reads are lock-free; writes are serialized on this instance.
+ * Posting lists are copy-on-write arrays, so readers never observe a partially updated list.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ProductRepositoryPort productRepository;
+    private final FarmatodoProperties properties;
+
+    private volatile IndexState state = new IndexState(new ConcurrentHashMap<>(), new IndexedProduct[INITIAL_CAPACITY], 0);
+    private volatile boolean ready;
+
+    /**
+     * Changes received before the index was built, replayed by rebuild(); null once built or
+     * when the index will not be built (disabled or build failed). Guarded by this.
+     */
+    private List<ProductChangedEvent> pendingChanges = new ArrayList<>();
+
+    /**
+     * Builds the index once the application is ready to serve requests.
+     * Failures are logged and leave the index disabled (search falls back to the database).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.getProduct().isSearchIndexEnabled()) {
+            log.info("Product search index disabled by configuration");
+            discardPendingChanges();
+            return;
+        }
+        try {
+            rebuild(productRepository.findAll());
+        } catch (Exception e) {
+            log.error("Failed to build product search index, falling back to database search", e);
+            discardPendingChanges();
+        }
+    }
+
+    /**
+     * Applies a product change after its transaction commits
+     * (or immediately when published outside a transaction).
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!ready && bufferUntilBuilt(event)) {
+            return;
+        }
+        apply(event);
+    }
+
+    /**
+     * Keeps a change that arrived before the index was built, so rebuild() can replay it.
+     * @return false if the index was built in the meantime and the change must be applied now
+     */
+    private synchronized boolean bufferUntilBuilt(ProductChangedEvent event) {
+        if (ready) {
+            return false;
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        return true;
+    }
+
+    private synchronized void discardPendingChanges() {
+        pendingChanges = null;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.changeType() == ProductChangedEvent.ChangeType.DELETED) {
+            remove(event.productId());
+        } else {
+            upsert(event.product());
+        }
+    }
+
+    /**
+     * Indicates whether the index has been built and can answer searches.
+     * @return true if searches can be served from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the whole index with the given products, then replays changes received
+     * before the first build.
+     * @param products full product catalog
+     */
+    public synchronized void rebuild(Collection<Product> products) {
+        long start = System.nanoTime();
+
+        Map<Long, IntList> builder = new HashMap<>();
+        Map<UUID, Integer> docIds = new HashMap<>(products.size() * 2);
+        IndexedProduct[] documents = new IndexedProduct[Math.max(INITIAL_CAPACITY, products.size())];
+        int size = 0;
+
+        for (Product product : products) {
+            String folded = fold(product.getName());
+            int docId = size++;
+            documents[docId] = new IndexedProduct(folded, copyOf(product));
+            docIds.put(product.getId(), docId);
+            for (long gram : distinctGrams(folded)) {
+                builder.computeIfAbsent(gram, k -> new IntList()).add(docId);
+            }
+        }
+
+        Map<Long, int[]> postings = new ConcurrentHashMap<>(builder.size() * 2);
+        builder.forEach((gram, list) -> postings.put(gram, list.toArray()));
+
+        this.state = new IndexState(postings, documents, size, new ConcurrentHashMap<>(docIds));
+        this.ready = true;
+
+        // Changes that committed while the snapshot was read may be missing from it
+        List<ProductChangedEvent> missed = pendingChanges;
+        pendingChanges = null;
+        if (missed != null) {
+            missed.forEach(this::apply);
+        }
+
+        log.info("Product search index built: {} products, {} trigrams in {} ms",
+                size, postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a product or refreshes its indexed state (name, price, stock).
+     * A renamed product gets a new document; the old one is tombstoned.
+     *
+     * @param product the product to index
+     */
+    public synchronized void upsert(Product product) {
+        IndexState current = state;
+        String folded = fold(product.getName());
+
+        Integer existingId = current.docIds.get(product.getId());
+        if (existingId != null) {
+            IndexedProduct existing = current.documents[existingId];
+            if (existing.foldedName.equals(folded)) {
+                existing.product = copyOf(product);
+                return;
+            }
+            existing.product = null;
+        }
+
+        int docId = current.size;
+        IndexedProduct[] documents = current.documents;
+        if (docId == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[docId] = new IndexedProduct(folded, copyOf(product));
+        current.documents = documents;
+        current.size = docId + 1;
+        current.docIds.put(product.getId(), docId);
+
+        // Posting lists are published after the document so readers always resolve new IDs
+        for (long gram : distinctGrams(folded)) {
+            current.postings.merge(gram, new int[]{docId}, ProductSearchIndex::append);
+        }
+    }
+
+    /**
+     * Removes a product from search results.
+     * @param productId the product ID
+     */
+    public synchronized void remove(UUID productId) {
+        IndexState current = state;
+        Integer docId = current.docIds.remove(productId);
+        if (docId != null) {
+            current.documents[docId].product = null;
+        }
+    }
+
+    /**
+     * Searches products whose folded name contains the folded query,
+     * keeping only products with stock above the configured minimum threshold.
+     * Same semantics as ProductRepositoryPort.findByNameContaining.
+     *
+     * @param query the search query
+     * @return matching products (copies, safe to mutate)
+     */
+    public List<Product> search(String query) {
+        List<Product> results = new ArrayList<>();
+        forEachMatch(query, product -> results.add(copyOf(product)));
+        return results;
+    }
+
+    /**
+     * Keyset page of matching products in (name, id) order.
+     * Keeps only the best {@code limit} candidates in a bounded heap, so memory per call
+     * does not depend on how many products match; only the returned page is copied.
+     *
+     * @param query the search query
+     * @param after position of the previous page's last product, or null for the first page
+     * @param limit maximum number of products to return
+     * @return up to limit matching products after the cursor (copies, safe to mutate)
+     */
+    public List<Product> search(String query, ProductCursor after, int limit) {
+        PriorityQueue<Product> page = new PriorityQueue<>(limit + 1, ProductCursor.ORDER.reversed());
+        forEachMatch(query, product -> {
+            if (after == null || after.isBefore(product)) {
+                page.offer(product);
+                if (page.size() > limit) {
+                    page.poll();
+                }
+            }
+        });
+
+        Product[] ordered = new Product[page.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = copyOf(page.poll());
+        }
+        return Arrays.asList(ordered);
+    }
+
+    /**
+     * Passes every indexed product matching the query (and the stock threshold) to the consumer.
+     * Products are the indexed instances; callers must copy before exposing them.
+     */
+    private void forEachMatch(String query, Consumer<Product> consumer) {
+        String folded = fold(query);
+        int minStock = properties.getProduct().getMinStockThreshold();
+        IndexState current = state;
+
+        if (folded.length() < GRAM_SIZE) {
+            scan(current, folded, minStock, consumer);
+            return;
+        }
+
+        long[] grams = distinctGrams(folded);
+        int[][] lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            int[] list = current.postings.get(grams[i]);
+            if (list == null) {
+                return;
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists[0];
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            int[] next = new int[count];
+            count = intersect(candidates, count, lists[i], next);
+            candidates = next;
+        }
+
+        // Read documents after postings: any ID found in a posting list is already published
+        IndexedProduct[] documents = current.documents;
+        for (int i = 0; i < count; i++) {
+            acceptIfMatches(documents[candidates[i]], folded, minStock, consumer);
+        }
+    }
+
+    /**
+     * Linear scan used for queries too short to produce a trigram.
+     */
+    private void scan(IndexState current, String folded, int minStock, Consumer<Product> consumer) {
+        int size = current.size;
+        IndexedProduct[] documents = current.documents;
+        for (int i = 0; i < size; i++) {
+            acceptIfMatches(documents[i], folded, minStock, consumer);
+        }
+    }
+
+    private void acceptIfMatches(IndexedProduct document, String folded, int minStock, Consumer<Product> consumer) {
+        Product product = document.product;
+        if (product != null
+                && product.getStock() > minStock
+                && document.foldedName.contains(folded)) {
+            consumer.accept(product);
+        }
+    }
+
+    /**
+     * Intersects two sorted posting lists.
+     * Uses binary search on the longer list, which is cheap when list sizes are skewed
+     * (the common case: one rare trigram against one very common trigram).
+     *
+     * @return number of elements written to out
+     */
+    private static int intersect(int[] shorter, int shorterCount, int[] longer, int[] out) {
+        int written = 0;
+        int from = 0;
+        for (int i = 0; i < shorterCount && from < longer.length; i++) {
+            int position = Arrays.binarySearch(longer, from, longer.length, shorter[i]);
+            if (position >= 0) {
+                out[written++] = shorter[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return written;
+    }
+
+    private static int[] append(int[] existing, int[] single) {
+        int[] merged = Arrays.copyOf(existing, existing.length + 1);
+        merged[existing.length] = single[0];
+        return merged;
+    }
+
+    /**
+     * Folds text for accent and case insensitive matching.
+     * "Acetaminofén 500MG" -> "acetaminofen 500mg"
+     *
+     * @param text the text to fold
+     * @return folded text (empty string for null)
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String trimmed = text.trim();
+        if (!isAscii(trimmed)) {
+            trimmed = COMBINING_MARKS.matcher(Normalizer.normalize(trimmed, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Extracts the distinct trigrams of a folded string, each packed into a long
+     * (three 16-bit chars) to avoid String allocation per gram.
+     */
+    private static long[] distinctGrams(String folded) {
+        int count = folded.length() - GRAM_SIZE + 1;
+        if (count <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) folded.charAt(i) << 32)
+                    | ((long) folded.charAt(i + 1) << 16)
+                    | folded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static Product copyOf(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .heldStock(product.getHeldStock())
+                .build();
+    }
+
+    /**
+     * Indexed document. The product reference is swapped on stock/price updates
+     * and set to null when the product is deleted or renamed (tombstone).
+     */
+    private static final class IndexedProduct {
+        private final String foldedName;
+        private volatile Product product;
+
+        private IndexedProduct(String foldedName, Product product) {
+            this.foldedName = foldedName;
+            this.product = product;
+        }
+    }
+
+    /**
+     * Mutable index state. Replaced wholesale on rebuild, mutated in place (under lock) on upsert.
+     */
+    private static final class IndexState {
+        private final Map<Long, int[]> postings;
+        private final Map<UUID, Integer> docIds;
+        private volatile IndexedProduct[] documents;
+        private volatile int size;
+
+        private IndexState(Map<Long, int[]> postings, IndexedProduct[] documents, int size) {
+            this(postings, documents, size, new ConcurrentHashMap<>());
+        }
+
+        private IndexState(Map<Long, int[]> postings, IndexedProduct[] documents, int size,
+                           Map<UUID, Integer> docIds) {
+            this.postings = postings;
+            this.documents = documents;
+            this.size = size;
+            this.docIds = docIds;
+        }
+    }
+
+    /**
+     * Minimal growable int list used while building posting lists.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -2,19 +2,30 @@ package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.domain.port.in.SearchProductUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for product search operations.
- * Implements asynchronous logging of search queries as per business requirements.
+ * Every search is recorded in SearchAnalyticsService (in-memory per-minute aggregates).
+ *
+ * Name searches are served from ProductSearchIndex (in-memory trigram index) once it is built;
+ * until then they fall back to the repository LIKE query.
+ *
+ * Paged variants use keyset pagination on (name, id): each page fetches size + 1 rows
+ * after the cursor, so cost per request does not depend on catalog size or page depth.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,7 +33,8 @@ import java.util.UUID;
 public class ProductServiceImpl implements SearchProductUseCase {
 
     private final ProductRepositoryPort productRepository;
-    private final SearchLogService searchLogService;
+    private final SearchAnalyticsService searchAnalyticsService;
+    private final ProductSearchIndex searchIndex;
 
     @Override
     public List<Product> searchByName(String query) {
@@ -34,34 +46,93 @@ public class ProductServiceImpl implements SearchProductUseCase {
             return List.of();
         }
 
-        // Perform search
-        List<Product> results = productRepository.findByNameContaining(query.trim());
+        // Perform search (in-memory index when available, database otherwise)
+        String trimmedQuery = query.trim();
+        List<Product> results = searchIndex.isReady()
+                ? searchIndex.search(trimmedQuery)
+                : productRepository.findByNameContaining(trimmedQuery);
 
-        // Log search asynchronously (non-blocking) via separate service to fix AOP self-invocation
-        searchLogService.logSearchAsync(query, results.size());
+        // Count the search in memory; aggregates are written in the background
+        searchAnalyticsService.recordSearch(query, results.size());
 
         log.info("Found {} products matching query: '{}'", results.size(), query);
         return results;
     }
 
+    @Override
+    public ProductPage searchByName(String query, ProductCursor after, int size) {
+        log.info("Searching products by name: '{}' (page after {}, size {})", query, after, size);
+
+        if (query == null || query.isBlank()) {
+            log.warn("Empty search query provided");
+            return new ProductPage(List.of(), null);
+        }
+
+        // A cursor continues in the ordering that issued it; the index and the database
+        // sort names and ids differently, so mixing them would skip or repeat rows
+        boolean useIndex = after == null
+                ? searchIndex.isReady()
+                : after.source() == ProductCursor.Source.SEARCH_INDEX;
+        if (useIndex && !searchIndex.isReady()) {
+            throw new IllegalArgumentException("Search cursor is no longer valid, request the first page again");
+        }
+
+        // Fetch one extra row to know whether another page exists
+        String trimmedQuery = query.trim();
+        ProductPage page = useIndex
+                ? ProductPage.of(searchIndex.search(trimmedQuery, after, size + 1), size,
+                        ProductCursor.Source.SEARCH_INDEX)
+                : ProductPage.of(productRepository.findByNameContaining(trimmedQuery, after, size + 1), size);
+
+        // Following pages belong to the same search, log it only once
+        if (after == null) {
+            searchAnalyticsService.recordSearch(query, page.items().size());
+        }
+
+        log.info("Returning {} products matching query: '{}' (hasNext: {})",
+                page.items().size(), query, page.hasNext());
+        return page;
+    }
+
     @Override
     public Optional<Product> findById(UUID productId) {
         log.debug("Finding product by ID: {}", productId);
         return productRepository.findById(productId);
     }
 
+    @Override
+    public Map<UUID, Product> findAllByIds(Collection<UUID> productIds) {
+        log.debug("Finding {} products by ID", productIds.size());
+        return productRepository.findAllByIds(productIds);
+    }
+
     @Override
     public List<Product> findAllInStock() {
         log.debug("Finding all products in stock");
         return productRepository.findAllInStock();
     }
 
+    @Override
+    public ProductPage findAllInStock(ProductCursor after, int size) {
+        log.debug("Finding products in stock (page after {}, size {})", after, size);
+        if (after != null && after.source() != ProductCursor.Source.DATABASE) {
+            throw new IllegalArgumentException("Search cursors cannot page the in-stock listing");
+        }
+        return ProductPage.of(productRepository.findAllInStock(after, size + 1), size);
+    }
+
     @Override
     public List<Product> findAll() {
         log.debug("Finding all products");
         return productRepository.findAll();
     }
 
+    @Override
+    public long exportAll(Consumer<Product> action) {
+        log.debug("Exporting all products");
+        return productRepository.forEachProduct(action);
+    }
+
     @Override
     public boolean hasStock(UUID productId, int quantity) {
         log.debug("Checking stock for product {} with quantity {}", productId, quantity);
@@ -0,0 +1,206 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.domain.port.in.GetTopSearchQueriesUseCase;
+import com.farmatodo.reto_tecnico.domain.port.out.SearchQueryStatsRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Search analytics: aggregates searches in memory and stores compact per-minute counts.
+ *
+ * Searches are counted in memory per minute
+ * and per normalized query (lower case, no accents, single spaces), including how many returned
+ * nothing. Each minute is bounded by a Space-Saving heavy-hitters sketch
+ * (farmatodo.search-analytics.top-k distinct queries), so a long tail of unique queries cannot
+ * grow memory. A background thread adds closed minutes to search_query_stats every
+ * farmatodo.search-analytics.flush-interval-seconds: one row per popular query per minute
+ * instead of one row per search.
+ *
+ * Raw rows: farmatodo.search-analytics.raw-sample-rate (0.0-1.0, default 0) still writes that
+ * fraction of searches to search_logs through SearchLogService, for debugging.
+ *
+ * Shutdown: all buckets, including the current minute, are flushed.
+ */
+@Service
+@Slf4j
+public class SearchAnalyticsService implements GetTopSearchQueriesUseCase {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    static final int MAX_QUERY_LENGTH = 200;
+
+    /**
+     * A minute is flushed only after this grace period, so searches counted just before the
+     * minute ended are not lost to the flush.
+     */
+    private static final Duration FLUSH_GRACE = Duration.ofSeconds(5);
+
+    private final SearchQueryStatsRepositoryPort statsRepository;
+    private final SearchLogService searchLogService;
+    private final int topK;
+    private final double rawSampleRate;
+    private final long flushIntervalSeconds;
+    private final Clock clock;
+    private final DoubleSupplier random;
+
+    private final ConcurrentSkipListMap<LocalDateTime, SearchQuerySketch> buckets = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public SearchAnalyticsService(SearchQueryStatsRepositoryPort statsRepository,
+                                  SearchLogService searchLogService,
+                                  FarmatodoProperties properties) {
+        this(statsRepository, searchLogService, properties, Clock.systemDefaultZone(),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    SearchAnalyticsService(SearchQueryStatsRepositoryPort statsRepository,
+                           SearchLogService searchLogService,
+                           FarmatodoProperties properties,
+                           Clock clock,
+                           DoubleSupplier random) {
+        this.statsRepository = statsRepository;
+        this.searchLogService = searchLogService;
+        this.topK = properties.getSearchAnalytics().getTopK();
+        this.rawSampleRate = properties.getSearchAnalytics().getRawSampleRate();
+        this.flushIntervalSeconds = properties.getSearchAnalytics().getFlushIntervalSeconds();
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Starts the background flush thread.
+     */
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-analytics-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        log.info("Search analytics started: top-k {}, flush every {}s, raw sample rate {}",
+                topK, flushIntervalSeconds, rawSampleRate);
+    }
+
+    /**
+     * Stops the flush thread and writes every bucket, including the current minute.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int written = flush(LocalDateTime.MAX);
+        log.info("Search analytics stopped, {} aggregates flushed", written);
+    }
+
+    /**
+     * Records a search. Cheap and non-blocking apart from a short per-minute lock;
+     * safe to call on the request thread.
+     *
+     * @param query the raw search query
+     * @param resultsCount number of results returned
+     */
+    public void recordSearch(String query, int resultsCount) {
+        try {
+            LocalDateTime bucketStart = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+            buckets.computeIfAbsent(bucketStart, start -> new SearchQuerySketch(topK))
+                    .add(normalize(query), resultsCount == 0);
+
+            if (rawSampleRate > 0 && random.getAsDouble() < rawSampleRate) {
+                searchLogService.logSearchAsync(query, resultsCount);
+            }
+        } catch (Exception e) {
+            // Never let analytics affect the search itself
+            log.error("Error recording search analytics for query: {}", query, e);
+        }
+    }
+
+    @Override
+    public List<TopSearchQuery> getTopQueries(Duration window, int limit) {
+        LocalDateTime since = LocalDateTime.now(clock).minus(window).truncatedTo(ChronoUnit.MINUTES);
+        log.debug("Finding top {} search queries since {}", limit, since);
+        return statsRepository.findTopQueries(since, limit);
+    }
+
+    /**
+     * Writes and removes every bucket closed before {@code now - grace}.
+     *
+     * @return number of aggregates written
+     */
+    int flush() {
+        LocalDateTime closedBefore = LocalDateTime.now(clock).minus(FLUSH_GRACE).truncatedTo(ChronoUnit.MINUTES);
+        return flush(closedBefore);
+    }
+
+    private int flush(LocalDateTime closedBefore) {
+        List<SearchQueryStat> stats = new ArrayList<>();
+        Map<LocalDateTime, SearchQuerySketch> closed = buckets.headMap(closedBefore);
+        for (Map.Entry<LocalDateTime, SearchQuerySketch> bucket : new ArrayList<>(closed.entrySet())) {
+            buckets.remove(bucket.getKey());
+            SearchQuerySketch sketch = bucket.getValue();
+            if (sketch.evictions() > 0) {
+                log.debug("Search analytics bucket {}: {} queries evicted, counts are estimates",
+                        bucket.getKey(), sketch.evictions());
+            }
+            stats.addAll(sketch.toStats(bucket.getKey()));
+        }
+        if (stats.isEmpty()) {
+            return 0;
+        }
+        statsRepository.addAll(stats);
+        log.debug("Flushed {} search aggregates", stats.size());
+        return stats.size();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // Never let the flusher die; the failed minutes are lost, later ones still flush
+            log.error("Error flushing search analytics", e);
+        }
+    }
+
+    /**
+     * Normalizes a query so variants count together: "  Acetaminofén  500 " -> "acetaminofen 500".
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFD);
+        normalized = DIACRITICS.matcher(normalized).replaceAll("");
+        normalized = WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+}
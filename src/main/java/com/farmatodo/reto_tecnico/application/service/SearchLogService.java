@@ -1,6 +1,7 @@
 package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.domain.model.SearchLog;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import com.farmatodo.reto_tecnico.domain.port.out.SearchLogRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,14 +10,15 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Service for asynchronous search logging.
  * Separated from ProductServiceImpl to fix AOP self-invocation issue.
  * Spring AOP proxies don't intercept internal method calls within the same bean.
  *
- * Persists search queries to database for analytics and tracking purposes.
+ * Persists raw search queries to search_logs. Only the fraction of searches sampled by
+ * SearchAnalyticsService (farmatodo.search-analytics.raw-sample-rate) reaches this service;
+ * analytics come from the per-minute aggregates in search_query_stats.
  * Follows hexagonal architecture: depends only on domain port, not infrastructure.
  */
 @Service
@@ -25,16 +27,18 @@ import java.util.UUID;
 public class SearchLogService {
 
     private final SearchLogRepositoryPort searchLogRepository;
+    private final IdGenerator idGenerator;
 
     /**
      * Logs search query asynchronously to database.
      * This method runs in a separate thread and does not block the main execution.
+     * Runs on the dedicated search analytics executor; dropped (and counted) when it is saturated.
      * As per business requirement: "Almacenar las búsquedas realizadas de manera asíncrona"
      *
      * @param query the search query
      * @param resultsCount number of results found
      */
-    @Async("taskExecutor")
+    @Async("searchLogExecutor")
     public void logSearchAsync(String query, int resultsCount) {
         try {
             // Capture traceId from MDC for correlation logging
@@ -45,7 +49,7 @@ public class SearchLogService {
 
             // Build domain model for search log
             SearchLog searchLog = SearchLog.builder()
-                    .id(UUID.randomUUID())
+                    .id(idGenerator.newId())
                     .query(query)
                     .resultsCount(resultsCount)
                     .customerId(null) // Customer tracking not implemented yet
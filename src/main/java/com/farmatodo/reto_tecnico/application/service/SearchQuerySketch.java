@@ -0,0 +1,105 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Bounded heavy-hitters counter for the searches of one minute (Space-Saving algorithm).
+ *
+ * Tracks at most {@code capacity} distinct queries. While there is room every query is counted
+ * exactly. Once full, a new query replaces the least-searched one and inherits its count + 1,
+ * so frequent queries are never lost and their counts are at most that inherited amount too high.
+ * Memory per minute is therefore bounded no matter how long the tail of unique queries is.
+ *
+ * Thread-safe: all operations are synchronized, each costs O(log capacity).
+ */
+final class SearchQuerySketch {
+
+    private static final Comparator<Entry> BY_COUNT =
+            Comparator.comparingLong((Entry entry) -> entry.searches).thenComparing(entry -> entry.query);
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCount = new TreeSet<>(BY_COUNT);
+    private long evictions;
+
+    SearchQuerySketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts one search.
+     *
+     * @param query normalized query
+     * @param zeroResults whether the search returned nothing
+     */
+    synchronized void add(String query, boolean zeroResults) {
+        Entry entry = entries.get(query);
+        if (entry != null) {
+            // Re-position in the ordered set: remove before changing the sort key
+            byCount.remove(entry);
+            entry.searches++;
+        } else if (entries.size() < capacity) {
+            entry = new Entry(query, 1);
+            entries.put(query, entry);
+        } else {
+            Entry evicted = byCount.pollFirst();
+            entries.remove(evicted.query);
+            evictions++;
+            entry = new Entry(query, evicted.searches + 1);
+            entries.put(query, entry);
+        }
+        if (zeroResults) {
+            entry.zeroResults++;
+        }
+        byCount.add(entry);
+    }
+
+    /**
+     * @return the tracked queries as aggregates for the given bucket
+     */
+    synchronized List<SearchQueryStat> toStats(LocalDateTime bucketStart) {
+        List<SearchQueryStat> stats = new ArrayList<>(entries.size());
+        for (Entry entry : byCount.descendingSet()) {
+            stats.add(SearchQueryStat.builder()
+                    .bucketStart(bucketStart)
+                    .query(entry.query)
+                    .searchCount(entry.searches)
+                    .zeroResultCount(entry.zeroResults)
+                    .build());
+        }
+        return stats;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of queries dropped to make room (0 = counts are exact)
+     */
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    private static final class Entry {
+        private final String query;
+        private long searches;
+        private long zeroResults;
+
+        private Entry(String query, long searches) {
+            this.query = query;
+            this.searches = searches;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.farmatodo.reto_tecnico.domain.event;
+
+import com.farmatodo.reto_tecnico.domain.model.Product;
+
+import java.util.UUID;
+
+/**
+ * Domain event published whenever a product is persisted, its stock changes or it is deleted.
+ * Lets in-memory read models (e.g., the product search index) stay consistent with the
+ * database without coupling them to the persistence adapter.
+ *
+ * @param productId the affected product ID
+ * @param product the product state after the change (null when deleted)
+ * @param changeType what kind of change happened
+ */
+public record ProductChangedEvent(UUID productId, Product product, ChangeType changeType) {
+
+    /**
+     * Kind of product change.
+     */
+    public enum ChangeType {
+        SAVED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    /**
+     * Creates an event for a saved (created or updated) product.
+     * @param product the saved product
+     * @return new event
+     */
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product, ChangeType.SAVED);
+    }
+
+    /**
+     * Creates an event for a stock change.
+     * @param product the product with its updated stock
+     * @return new event
+     */
+    public static ProductChangedEvent stockChanged(Product product) {
+        return new ProductChangedEvent(product.getId(), product, ChangeType.STOCK_CHANGED);
+    }
+
+    /**
+     * Creates an event for a deleted product.
+     * @param productId the deleted product ID
+     * @return new event
+     */
+    public static ProductChangedEvent deleted(UUID productId) {
+        return new ProductChangedEvent(productId, null, ChangeType.DELETED);
+    }
+}
@@ -0,0 +1,18 @@
+package com.farmatodo.reto_tecnico.domain.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Domain event published when cart stock holds are placed, changed or released.
+ * The held units of these products (and therefore their available stock) changed,
+ * so in-memory copies of them must be refreshed.
+ *
+ * @param productIds the products whose held units changed
+ */
+public record StockHoldsChangedEvent(Set<UUID> productIds) {
+
+    public StockHoldsChangedEvent {
+        productIds = Set.copyOf(productIds);
+    }
+}
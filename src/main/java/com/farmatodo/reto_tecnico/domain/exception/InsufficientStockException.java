@@ -1,17 +1,36 @@
 package com.farmatodo.reto_tecnico.domain.exception;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Exception thrown when a product does not have sufficient stock
  * to fulfill an order.
+ *
+ * Batched reservations report every short line through getShortages();
+ * the single-product accessors describe the first one.
  */
 public class InsufficientStockException extends DomainException {
 
+    private static final String SHORTAGE_FORMAT =
+            "Insufficient stock for product '%s' (ID: %s). Available: %d, Requested: %d";
+
     private final UUID productId;
     private final String productName;
     private final int availableStock;
     private final int requestedQuantity;
+    private final List<Shortage> shortages;
+
+    /**
+     * One order line that could not be served.
+     * @param productId the product ID
+     * @param productName the product name
+     * @param availableStock the available stock
+     * @param requestedQuantity the requested quantity
+     */
+    public record Shortage(UUID productId, String productName, int availableStock, int requestedQuantity) {
+    }
 
     /**
      * Creates a new InsufficientStockException.
@@ -21,14 +40,24 @@ public class InsufficientStockException extends DomainException {
      * @param requestedQuantity the requested quantity
      */
     public InsufficientStockException(UUID productId, String productName, int availableStock, int requestedQuantity) {
-        super(String.format(
-                "Insufficient stock for product '%s' (ID: %s). Available: %d, Requested: %d",
-                productName, productId, availableStock, requestedQuantity
-        ));
-        this.productId = productId;
-        this.productName = productName;
-        this.availableStock = availableStock;
-        this.requestedQuantity = requestedQuantity;
+        this(List.of(new Shortage(productId, productName, availableStock, requestedQuantity)));
+    }
+
+    /**
+     * Creates a new InsufficientStockException reporting several lines at once.
+     * @param shortages every line that lacked stock (must not be empty)
+     */
+    public InsufficientStockException(List<Shortage> shortages) {
+        super(shortages.stream()
+                .map(s -> String.format(SHORTAGE_FORMAT,
+                        s.productName(), s.productId(), s.availableStock(), s.requestedQuantity()))
+                .collect(Collectors.joining("; ")));
+        Shortage first = shortages.get(0);
+        this.productId = first.productId();
+        this.productName = first.productName();
+        this.availableStock = first.availableStock();
+        this.requestedQuantity = first.requestedQuantity();
+        this.shortages = List.copyOf(shortages);
     }
 
     /**
@@ -41,6 +70,7 @@ public class InsufficientStockException extends DomainException {
         this.productName = null;
         this.availableStock = 0;
         this.requestedQuantity = 0;
+        this.shortages = List.of();
     }
 
     public UUID getProductId() {
@@ -58,4 +88,8 @@ public class InsufficientStockException extends DomainException {
     public int getRequestedQuantity() {
         return requestedQuantity;
     }
+
+    public List<Shortage> getShortages() {
+        return shortages;
+    }
 }
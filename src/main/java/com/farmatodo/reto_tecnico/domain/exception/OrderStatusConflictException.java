@@ -0,0 +1,29 @@
+package com.farmatodo.reto_tecnico.domain.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a conditional order status transition finds the order
+ * in a different status than expected (changed concurrently, or deleted).
+ *
+ * Extends IllegalStateException like the other invalid-transition errors of Order,
+ * so it is reported as 409 Conflict.
+ */
+public class OrderStatusConflictException extends IllegalStateException {
+
+    private final UUID orderId;
+
+    /**
+     * Creates a new OrderStatusConflictException.
+     * @param orderId the order ID
+     * @param expectedStatus the status the order was expected to be in
+     */
+    public OrderStatusConflictException(UUID orderId, String expectedStatus) {
+        super(String.format("Order %s is no longer in status %s", orderId, expectedStatus));
+        this.orderId = orderId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.farmatodo.reto_tecnico.domain.id;
+
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Static access to the IdGenerator for code that cannot receive it by injection:
+ * domain factories (Order.create, OrderItem.create, Cart.addProduct...), MapStruct
+ * expressions and JPA @PrePersist fallbacks.
+ *
+ * Defaults to UuidV7Generator. IdGeneratorConfig installs the application's IdGenerator bean
+ * at startup, so injected services and static callers always share the same generator.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = new UuidV7Generator();
+
+    private Ids() {
+    }
+
+    /**
+     * @return a new id from the installed generator
+     */
+    public static UUID newId() {
+        return generator.newId();
+    }
+
+    /**
+     * Replaces the generator used by {@link #newId()}.
+     * @param idGenerator the generator to use
+     */
+    public static void install(IdGenerator idGenerator) {
+        generator = Objects.requireNonNull(idGenerator, "idGenerator");
+    }
+
+    /**
+     * @return the installed generator
+     */
+    public static IdGenerator generator() {
+        return generator;
+    }
+}
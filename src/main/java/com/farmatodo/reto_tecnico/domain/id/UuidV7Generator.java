@@ -0,0 +1,84 @@
+package com.farmatodo.reto_tecnico.domain.id;
+
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered UUID version 7 generator (RFC 9562).
+ *
+ * Ids start with the Unix time in milliseconds, so new rows append to the right edge of B-tree indexes.
+ *
+ * Layout: 48-bit timestamp | version 7 | 12-bit counter | variant | 62 random bits.
+ * The counter starts at a random value below 2048 every millisecond and is incremented for each
+ * id in the same millisecond, so ids from one thread are strictly increasing. If the counter
+ * overflows, or the clock goes backwards, the timestamp is advanced by one millisecond instead.
+ *
+ * Thread-safe without locks: each thread keeps its own timestamp and counter, and the random
+ * bits come from ThreadLocalRandom. The random bits only need to make ids unique, not
+ * unpredictable; SecureRandom (NativePRNG on Linux) reads through one JVM-wide lock even with
+ * an instance per thread. Ids are identifiers, never secrets or access tokens.
+ * Ids from different threads in the same millisecond are unique but not ordered between
+ * themselves, which is enough for index locality.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    /** Initial counter is below this, leaving at least 2048 ids per millisecond before overflow. */
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    private final LongSupplier clock;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID newId() {
+        State s = state.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = clock.getAsLong();
+        if (now > s.lastMillis) {
+            s.lastMillis = now;
+            s.counter = random.nextInt(COUNTER_SEED_BOUND);
+        } else if (s.counter < MAX_COUNTER) {
+            s.counter++;
+        } else {
+            // Counter exhausted (or clock went backwards and caught up): borrow the next millisecond
+            s.lastMillis++;
+            s.counter = 0;
+        }
+
+        long mostSigBits = (s.lastMillis << 16) | VERSION_7 | s.counter;
+        long leastSigBits = (random.nextLong() >>> 2) | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the creation time of a version 7 id.
+     * @param id a version 7 UUID
+     * @return Unix time in milliseconds
+     * @throws IllegalArgumentException if the id is not version 7
+     */
+    public static long timestampMillis(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class State {
+        private long lastMillis = Long.MIN_VALUE;
+        private int counter;
+    }
+}
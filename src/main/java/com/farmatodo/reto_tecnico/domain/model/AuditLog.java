@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -89,7 +90,7 @@ public class AuditLog {
             UUID entityId
     ) {
         return AuditLog.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .traceId(traceId)
                 .eventType(eventType)
                 .entityType(entityType)
@@ -110,7 +111,7 @@ public class AuditLog {
             String errorMessage
     ) {
         return AuditLog.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .traceId(traceId)
                 .eventType(eventType)
                 .entityType(entityType)
@@ -132,7 +133,7 @@ public class AuditLog {
             String status
     ) {
         return AuditLog.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .traceId(traceId)
                 .eventType(eventType)
                 .entityType(entityType)
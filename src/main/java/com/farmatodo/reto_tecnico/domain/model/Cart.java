@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -77,7 +78,7 @@ public class Cart {
         } else {
             // New product, add as new item
             CartItem newItem = CartItem.builder()
-                    .id(UUID.randomUUID())
+                    .id(Ids.newId())
                     .product(product)
                     .quantity(quantity)
                     .unitPrice(product.getPrice())
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.CardNumber;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -81,7 +82,7 @@ public class CreditCard {
      */
     public static CreditCard create(UUID customerId, CardNumber cardNumber, String cvv, String expirationDate, String cardholderName) {
         return CreditCard.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .customerId(customerId)
                 .cardNumber(cardNumber)
                 .cvv(cvv)
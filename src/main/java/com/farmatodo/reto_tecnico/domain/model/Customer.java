@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
 import jakarta.validation.constraints.NotBlank;
@@ -61,7 +62,7 @@ public class Customer {
      */
     public static Customer create(String name, Email email, Phone phone, String address) {
         return Customer.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .name(name)
                 .email(email)
                 .phone(phone)
@@ -0,0 +1,39 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain model for a customer email waiting in the outbox.
+ * Stores the notification data, not the rendered email: the template is applied when it is sent.
+ */
+@Value
+@Builder(toBuilder = true)
+public class EmailOutboxMessage {
+    UUID id;
+    Type type;
+    String recipient;
+    String customerName;
+    UUID orderId;
+    String totalAmount;
+    /** Gateway transaction ID (PAYMENT_SUCCESS only). */
+    String transactionId;
+    /** Payment attempts made (PAYMENT_FAILURE only). */
+    Integer paymentAttempts;
+    /** Delivery attempts made so far. */
+    int deliveryAttempts;
+    LocalDateTime nextAttemptAt;
+    LocalDateTime createdAt;
+    String lastError;
+
+    /**
+     * Kind of notification, selects the email template.
+     */
+    public enum Type {
+        PAYMENT_SUCCESS,
+        PAYMENT_FAILURE
+    }
+}
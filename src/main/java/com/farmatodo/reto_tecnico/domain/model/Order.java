@@ -1,5 +1,7 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -11,7 +13,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -93,6 +98,12 @@ public class Order {
         CANCELLED
     }
 
+    /**
+     * Statuses a payment can be started from: a new order, or one whose last payment failed.
+     */
+    public static final Set<OrderStatus> PAYABLE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(OrderStatus.PENDING, OrderStatus.PAYMENT_FAILED));
+
     /**
      * Creates a new order from a customer and items.
      * Automatically calculates total and sets timestamps.
@@ -130,7 +141,7 @@ public class Order {
                 : customer.getAddress();
 
         return Order.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .customer(customer)
                 .items(new ArrayList<>(items))
                 .totalAmount(total)
@@ -208,6 +219,7 @@ public class Order {
         if (token == null || token.isBlank()) {
             throw new IllegalArgumentException("Payment token cannot be null or blank");
         }
+        requirePayable();
         this.paymentToken = token;
         this.status = OrderStatus.PAYMENT_PROCESSING;
         this.updatedAt = LocalDateTime.now();
@@ -262,6 +274,25 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Checks if a payment can be started for the order.
+     * @return true if the order is in one of PAYABLE_STATUSES
+     */
+    public boolean isPayable() {
+        return PAYABLE_STATUSES.contains(this.status);
+    }
+
+    /**
+     * Ensures a payment can be started for the order, so a confirmed or cancelled
+     * order is never charged again.
+     * @throws OrderStatusConflictException if the order is not in one of PAYABLE_STATUSES
+     */
+    public void requirePayable() {
+        if (!isPayable()) {
+            throw new OrderStatusConflictException(this.id, "PENDING or PAYMENT_FAILED");
+        }
+    }
+
     /**
      * Checks if the order can be cancelled.
      * @return true if order can be cancelled
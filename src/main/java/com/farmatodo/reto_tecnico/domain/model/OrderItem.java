@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -60,7 +61,7 @@ public class OrderItem {
             throw new IllegalArgumentException("Quantity must be at least 1");
         }
         return OrderItem.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .product(product)
                 .quantity(quantity)
                 .unitPrice(product.getPrice())
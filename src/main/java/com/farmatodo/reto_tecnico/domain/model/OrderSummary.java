@@ -0,0 +1,25 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight read model of an order for order history listings.
+ * Carries no customer, items or products, so it is read without hydrating the Order aggregate.
+ */
+@Value
+@Builder
+public class OrderSummary {
+    UUID id;
+    Order.OrderStatus status;
+    Money totalAmount;
+    /**
+     * Number of order lines.
+     */
+    int itemCount;
+    LocalDateTime createdAt;
+}
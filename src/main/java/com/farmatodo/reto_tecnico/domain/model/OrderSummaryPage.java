@@ -0,0 +1,36 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
+
+import java.util.List;
+
+/**
+ * One page of a customer's order history, newest first (createdAt DESC, id DESC).
+ * nextCursor is null when this is the last page.
+ */
+public record OrderSummaryPage(List<OrderSummary> items, OrderCursor nextCursor) {
+
+    /**
+     * Builds a page from a result fetched with limit = size + 1.
+     * The extra row only signals that another page exists and is not returned.
+     *
+     * @param fetched orders fetched in history order (at most size + 1)
+     * @param size requested page size
+     * @return OrderSummaryPage instance
+     */
+    public static OrderSummaryPage of(List<OrderSummary> fetched, int size) {
+        if (fetched.size() <= size) {
+            return new OrderSummaryPage(fetched, null);
+        }
+        List<OrderSummary> items = fetched.subList(0, size);
+        return new OrderSummaryPage(items, OrderCursor.of(items.get(size - 1)));
+    }
+
+    /**
+     * Checks if there are more orders after this page.
+     * @return true if nextCursor is present
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
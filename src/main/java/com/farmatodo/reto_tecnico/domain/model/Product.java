@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.domain.model;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -50,6 +51,24 @@ public class Product {
     @Min(value = 0, message = "Stock cannot be negative")
     private int stock;
 
+    /**
+     * Units soft-reserved by shopping carts (cart stock holds) and not yet checked out.
+     * Maintained by the persistence layer; never written through the domain model.
+     */
+    private int heldStock;
+
+    /**
+     * Creates a product without held units.
+     * @param id product ID
+     * @param name product name
+     * @param description product description
+     * @param price product price
+     * @param stock stock quantity
+     */
+    public Product(UUID id, String name, String description, Money price, int stock) {
+        this(id, name, description, price, stock, 0);
+    }
+
     /**
      * Creates a new product with generated UUID.
      * @param name product name
@@ -63,7 +82,7 @@ public class Product {
             throw new IllegalArgumentException("Initial stock cannot be negative");
         }
         return Product.builder()
-                .id(UUID.randomUUID())
+                .id(Ids.newId())
                 .name(name)
                 .description(description)
                 .price(price)
@@ -72,20 +91,28 @@ public class Product {
     }
 
     /**
-     * Checks if product has sufficient stock for a given quantity.
+     * Stock that can still be sold or held: stock minus the units held by carts.
+     * @return available quantity, never negative
+     */
+    public int getAvailableStock() {
+        return Math.max(0, this.stock - this.heldStock);
+    }
+
+    /**
+     * Checks if product has sufficient available stock for a given quantity.
      * @param quantity the quantity to check
      * @return true if sufficient stock is available
      */
     public boolean hasSufficientStock(int quantity) {
-        return this.stock >= quantity;
+        return getAvailableStock() >= quantity;
     }
 
     /**
      * Checks if product is in stock.
-     * @return true if stock is greater than 0
+     * @return true if available stock is greater than 0
      */
     public boolean isInStock() {
-        return this.stock > 0;
+        return getAvailableStock() > 0;
     }
 
     /**
@@ -99,7 +126,7 @@ public class Product {
         }
         if (!hasSufficientStock(quantity)) {
             throw new IllegalArgumentException(
-                    String.format("Insufficient stock. Available: %d, Requested: %d", this.stock, quantity)
+                    String.format("Insufficient stock. Available: %d, Requested: %d", getAvailableStock(), quantity)
             );
         }
         this.stock -= quantity;
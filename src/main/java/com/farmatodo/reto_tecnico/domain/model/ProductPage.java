@@ -0,0 +1,48 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
+
+import java.util.List;
+
+/**
+ * One page of products in catalog order (name, id).
+ * nextCursor is null when this is the last page.
+ */
+public record ProductPage(List<Product> items, ProductCursor nextCursor) {
+
+    /**
+     * Builds a page from a result fetched with limit = size + 1.
+     * The extra row only signals that another page exists and is not returned.
+     *
+     * @param fetched products fetched in catalog order (at most size + 1)
+     * @param size requested page size
+     * @return ProductPage instance
+     */
+    public static ProductPage of(List<Product> fetched, int size) {
+        return of(fetched, size, ProductCursor.Source.DATABASE);
+    }
+
+    /**
+     * Builds a page from a result fetched with limit = size + 1 in the given ordering.
+     *
+     * @param fetched products fetched in that ordering (at most size + 1)
+     * @param size requested page size
+     * @param source ordering the products were read in; stamped on the next cursor
+     * @return ProductPage instance
+     */
+    public static ProductPage of(List<Product> fetched, int size, ProductCursor.Source source) {
+        if (fetched.size() <= size) {
+            return new ProductPage(fetched, null);
+        }
+        List<Product> items = fetched.subList(0, size);
+        return new ProductPage(items, ProductCursor.of(items.get(size - 1), source));
+    }
+
+    /**
+     * Checks if there are more products after this page.
+     * @return true if nextCursor is present
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain model for aggregated search analytics.
+ * Number of searches (and searches with no results) for one normalized query in one minute.
+ */
+@Value
+@Builder
+public class SearchQueryStat {
+    LocalDateTime bucketStart;
+    String query;
+    long searchCount;
+    long zeroResultCount;
+}
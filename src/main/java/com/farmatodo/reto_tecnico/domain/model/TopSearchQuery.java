@@ -0,0 +1,16 @@
+package com.farmatodo.reto_tecnico.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Domain model for a top search query over a time window.
+ * Totals are summed over the per-minute aggregates in the window.
+ */
+@Value
+@Builder
+public class TopSearchQuery {
+    String query;
+    long searches;
+    long zeroResultSearches;
+}
@@ -0,0 +1,72 @@
+package com.farmatodo.reto_tecnico.domain.model.valueobjects;
+
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Value Object representing a keyset pagination position in a customer's order history.
+ * Orders are listed newest first, ordered by (createdAt DESC, id DESC); the cursor holds the key
+ * of the last order of the previous page, and the next page starts strictly after it.
+ *
+ * Encoded as an opaque URL-safe token: Base64URL(id + ISO createdAt).
+ * The id is always 36 characters, so no separator is needed.
+ */
+public record OrderCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Creates a new OrderCursor.
+     * @throws IllegalArgumentException if createdAt or id is null
+     */
+    public OrderCursor {
+        if (createdAt == null) {
+            throw new IllegalArgumentException("Cursor createdAt cannot be null");
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor id cannot be null");
+        }
+    }
+
+    /**
+     * Creates a cursor positioned at the given order.
+     * @param order the last order of a page
+     * @return OrderCursor instance
+     */
+    public static OrderCursor of(OrderSummary order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     * @return URL-safe token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + createdAt.toString()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token the token
+     * @return OrderCursor instance
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.length() <= UUID_LENGTH) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new OrderCursor(LocalDateTime.parse(raw.substring(UUID_LENGTH)),
+                    UUID.fromString(raw.substring(0, UUID_LENGTH)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
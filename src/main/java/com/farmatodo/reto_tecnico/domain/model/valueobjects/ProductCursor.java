@@ -0,0 +1,128 @@
+package com.farmatodo.reto_tecnico.domain.model.valueobjects;
+
+import com.farmatodo.reto_tecnico.domain.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Value Object representing a keyset pagination position in the product catalog.
+ * Products are ordered by (name, id); the cursor holds the key of the last product
+ * of the previous page, and the next page starts strictly after it.
+ *
+ * Encoded as an opaque URL-safe token: Base64URL(id + name).
+ * The id is always 36 characters, so no separator is needed.
+ *
+ * The database orders by (name, id) under its collation and uuid ordering; the in-memory
+ * search index orders with {@link #ORDER} (Java String and UUID comparison). They disagree on
+ * accents, case and ids, so a cursor is only valid on the path that issued it: index cursors
+ * carry {@link Source#SEARCH_INDEX} and are encoded with a '~' prefix, which no UUID starts with.
+ */
+public record ProductCursor(String name, UUID id, Source source) {
+
+    private static final int UUID_LENGTH = 36;
+    private static final char SEARCH_INDEX_PREFIX = '~';
+
+    /**
+     * Which ordering issued the cursor.
+     */
+    public enum Source {
+        /** ORDER BY name, id in the database. */
+        DATABASE,
+        /** {@link #ORDER} in ProductSearchIndex. */
+        SEARCH_INDEX
+    }
+
+    /**
+     * Catalog ordering used by keyset pagination: name, then id as tie-breaker.
+     */
+    public static final Comparator<Product> ORDER =
+            Comparator.comparing(Product::getName).thenComparing(Product::getId);
+
+    /**
+     * Creates a new ProductCursor.
+     * @throws IllegalArgumentException if name, id or source is null
+     */
+    public ProductCursor {
+        if (name == null) {
+            throw new IllegalArgumentException("Cursor name cannot be null");
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor id cannot be null");
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Cursor source cannot be null");
+        }
+    }
+
+    /**
+     * Creates a database cursor.
+     */
+    public ProductCursor(String name, UUID id) {
+        this(name, id, Source.DATABASE);
+    }
+
+    /**
+     * Creates a database cursor positioned at the given product.
+     * @param product the last product of a page
+     * @return ProductCursor instance
+     */
+    public static ProductCursor of(Product product) {
+        return of(product, Source.DATABASE);
+    }
+
+    /**
+     * Creates a cursor positioned at the given product.
+     * @param product the last product of a page
+     * @param source ordering the page was read in
+     * @return ProductCursor instance
+     */
+    public static ProductCursor of(Product product, Source source) {
+        return new ProductCursor(product.getName(), product.getId(), source);
+    }
+
+    /**
+     * Checks if a product comes after this cursor in catalog order.
+     * @param product the product to check
+     * @return true if the product belongs to a later page
+     */
+    public boolean isBefore(Product product) {
+        int byName = product.getName().compareTo(name);
+        return byName > 0 || (byName == 0 && product.getId().compareTo(id) > 0);
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = source == Source.SEARCH_INDEX ? SEARCH_INDEX_PREFIX + (id + name) : id + name;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token the token
+     * @return ProductCursor instance
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            Source source = Source.DATABASE;
+            if (!raw.isEmpty() && raw.charAt(0) == SEARCH_INDEX_PREFIX) {
+                source = Source.SEARCH_INDEX;
+                raw = raw.substring(1);
+            }
+            if (raw.length() < UUID_LENGTH) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(raw.substring(UUID_LENGTH), UUID.fromString(raw.substring(0, UUID_LENGTH)), source);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
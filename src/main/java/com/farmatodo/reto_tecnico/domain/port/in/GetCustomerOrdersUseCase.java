@@ -0,0 +1,23 @@
+package com.farmatodo.reto_tecnico.domain.port.in;
+
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
+
+import java.util.UUID;
+
+/**
+ * Input port for a customer's order history.
+ */
+public interface GetCustomerOrdersUseCase {
+
+    /**
+     * Returns one page of a customer's orders as summaries, newest first.
+     *
+     * @param customerId the customer ID
+     * @param after cursor returned by the previous page, or null for the first page
+     * @param size page size
+     * @return page of order summaries
+     * @throws com.farmatodo.reto_tecnico.domain.exception.CustomerNotFoundException if the customer does not exist
+     */
+    OrderSummaryPage getOrderHistory(UUID customerId, OrderCursor after, int size);
+}
@@ -0,0 +1,23 @@
+package com.farmatodo.reto_tecnico.domain.port.in;
+
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Input port for search analytics.
+ * Reads the most frequent search queries from the per-minute aggregates.
+ */
+public interface GetTopSearchQueriesUseCase {
+
+    /**
+     * Returns the most searched (normalized) queries in the last window.
+     * The current minute is not included until it is flushed.
+     *
+     * @param window how far back to look
+     * @param limit maximum number of queries
+     * @return queries ordered by number of searches, most searched first
+     */
+    List<TopSearchQuery> getTopQueries(Duration window, int limit);
+}
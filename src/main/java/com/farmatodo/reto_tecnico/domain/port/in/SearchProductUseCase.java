@@ -1,10 +1,15 @@
 package com.farmatodo.reto_tecnico.domain.port.in;
 
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Input port for product search use case.
@@ -21,6 +26,16 @@ public interface SearchProductUseCase {
      */
     List<Product> searchByName(String query);
 
+    /**
+     * Searches products by name (partial match), one keyset page at a time.
+     * Only the first page (after == null) is logged as a search.
+     * @param query the search query
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param size page size
+     * @return page of matching products ordered by (name, id)
+     */
+    ProductPage searchByName(String query, ProductCursor after, int size);
+
     /**
      * Retrieves a product by its ID.
      * @param productId the product ID
@@ -28,18 +43,41 @@ public interface SearchProductUseCase {
      */
     Optional<Product> findById(UUID productId);
 
+    /**
+     * Retrieves several products by ID with a single lookup.
+     * @param productIds the product IDs
+     * @return found products by ID; IDs that do not exist are absent
+     */
+    Map<UUID, Product> findAllByIds(Collection<UUID> productIds);
+
     /**
      * Retrieves all products in stock.
      * @return list of products with stock > 0
      */
     List<Product> findAllInStock();
 
+    /**
+     * Retrieves products in stock, one keyset page at a time.
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param size page size
+     * @return page of products in stock ordered by (name, id)
+     */
+    ProductPage findAllInStock(ProductCursor after, int size);
+
     /**
      * Retrieves all products.
      * @return list of all products
      */
     List<Product> findAll();
 
+    /**
+     * Visits all products one at a time, ordered by (name, id), for catalog exports.
+     * Memory use does not depend on the catalog size.
+     * @param action called once per product
+     * @return number of products visited
+     */
+    long exportAll(Consumer<Product> action);
+
     /**
      * Checks if a product has sufficient stock.
      * @param productId the product ID
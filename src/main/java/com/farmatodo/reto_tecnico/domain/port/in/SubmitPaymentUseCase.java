@@ -0,0 +1,111 @@
+package com.farmatodo.reto_tecnico.domain.port.in;
+
+import com.farmatodo.reto_tecnico.domain.model.CreditCard;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Input port for asynchronous payment processing.
+ * Accepts a payment and returns immediately; attempts and retries run in the background.
+ * Callers poll getPaymentStatus for the outcome.
+ *
+ * Same two flows as ProcessPaymentUseCase:
+ * 1. Payment with existing token: submitPaymentWithToken(order, paymentToken)
+ * 2. Payment with new card: submitPayment(order, creditCard) - includes tokenization
+ */
+public interface SubmitPaymentUseCase {
+
+    /**
+     * Tokenizes the card and schedules the payment attempts for an order.
+     * If a payment is already in progress for the order, its current status is returned.
+     * @param order the order to process payment for
+     * @param creditCard the credit card to charge (will be tokenized)
+     * @return current payment status (PROCESSING)
+     * @throws com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException if tokenization fails
+     */
+    PaymentStatus submitPayment(Order order, CreditCard creditCard);
+
+    /**
+     * Schedules the payment attempts for an order using an existing payment token.
+     * If a payment is already in progress for the order, its current status is returned.
+     * @param order the order to process payment for
+     * @param paymentToken the existing payment token
+     * @return current payment status (PROCESSING)
+     * @throws com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException if the token is missing
+     */
+    PaymentStatus submitPaymentWithToken(Order order, String paymentToken);
+
+    /**
+     * Returns the payment status of an order.
+     * Payments tracked in memory report attempts and next retry time; otherwise the
+     * status is derived from the persisted order status.
+     * @param orderId the order ID
+     * @return payment status, or empty if the order does not exist
+     */
+    Optional<PaymentStatus> getPaymentStatus(UUID orderId);
+
+    /**
+     * Payment status data transfer object.
+     * @param orderId the order ID
+     * @param state current state
+     * @param attemptsMade attempts completed so far (0 if unknown)
+     * @param maxAttempts configured maximum attempts (0 if unknown)
+     * @param transactionId gateway transaction ID when SUCCEEDED
+     * @param message human readable status message
+     * @param nextAttemptAt when the next attempt is scheduled (PROCESSING only)
+     */
+    record PaymentStatus(
+            UUID orderId,
+            State state,
+            int attemptsMade,
+            int maxAttempts,
+            String transactionId,
+            String message,
+            Instant nextAttemptAt
+    ) {
+        public enum State {
+            NOT_STARTED,
+            PROCESSING,
+            SUCCEEDED,
+            FAILED
+        }
+
+        public static PaymentStatus processing(UUID orderId, int attemptsMade, int maxAttempts, Instant nextAttemptAt) {
+            return new PaymentStatus(orderId, State.PROCESSING, attemptsMade, maxAttempts, null,
+                    "Payment in progress", nextAttemptAt);
+        }
+
+        public static PaymentStatus succeeded(UUID orderId, int attemptsMade, int maxAttempts, String transactionId) {
+            return new PaymentStatus(orderId, State.SUCCEEDED, attemptsMade, maxAttempts, transactionId,
+                    "Payment processed successfully on attempt " + attemptsMade, null);
+        }
+
+        public static PaymentStatus failed(UUID orderId, int attemptsMade, int maxAttempts, String message) {
+            return new PaymentStatus(orderId, State.FAILED, attemptsMade, maxAttempts, null, message, null);
+        }
+
+        /**
+         * Derives a status from the persisted order when no in-memory status exists
+         * (e.g. after a restart or once the status retention expired).
+         * @param order the order
+         * @return status with unknown attempt counts
+         */
+        public static PaymentStatus fromOrder(Order order) {
+            State state = switch (order.getStatus()) {
+                case PAYMENT_PROCESSING -> State.PROCESSING;
+                case PAYMENT_CONFIRMED, COMPLETED -> State.SUCCEEDED;
+                case PAYMENT_FAILED -> State.FAILED;
+                case PENDING, CANCELLED -> State.NOT_STARTED;
+            };
+            return new PaymentStatus(order.getId(), state, 0, 0, null,
+                    "Order status: " + order.getStatus().name(), null);
+        }
+
+        public boolean isFinished() {
+            return state == State.SUCCEEDED || state == State.FAILED;
+        }
+    }
+}
@@ -19,6 +19,14 @@ public interface AuditLogRepositoryPort {
      */
     AuditLog save(AuditLog auditLog);
 
+    /**
+     * Saves several audit log entries in one batched insert (all-or-nothing).
+     * Entries must already carry their ID and event timestamp.
+     *
+     * @param auditLogs the audit logs to save
+     */
+    void saveAll(List<AuditLog> auditLogs);
+
     /**
      * Finds all audit logs for a specific trace ID.
      * Used to track all events in a single HTTP request/transaction.
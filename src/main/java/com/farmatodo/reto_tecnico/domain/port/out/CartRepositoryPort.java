@@ -1,6 +1,7 @@
 package com.farmatodo.reto_tecnico.domain.port.out;
 
 import com.farmatodo.reto_tecnico.domain.model.Cart;
+import com.farmatodo.reto_tecnico.domain.model.CartItem;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public interface CartRepositoryPort {
 
     /**
      * Saves a cart to the repository.
+     * Rewrites every line of the cart; prefer the item-level operations below
+     * when a single line changes.
      *
      * @param cart the cart to save
      * @return the saved cart
@@ -49,4 +52,33 @@ public interface CartRepositoryPort {
      * @return true if cart exists
      */
     boolean existsByCustomerId(UUID customerId);
+
+    /**
+     * Writes one cart line: inserts it if the product is not in the cart yet,
+     * otherwise sets the existing line's quantity and unit price.
+     * Other lines are not touched.
+     *
+     * @param cartId the cart ID (the cart must exist)
+     * @param item the line as it should be stored
+     */
+    void upsertItem(UUID cartId, CartItem item);
+
+    /**
+     * Removes one product's line from a cart.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @return true if a line was removed, false if the product was not in the cart
+     */
+    boolean removeItem(UUID cartId, UUID productId);
+
+    /**
+     * Sets the quantity of one cart line.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @param quantity the new quantity
+     * @return true if updated, false if the product was not in the cart
+     */
+    boolean updateItemQuantity(UUID cartId, UUID productId, int quantity);
 }
@@ -0,0 +1,58 @@
+package com.farmatodo.reto_tecnico.domain.port.out;
+
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Output port for the email outbox.
+ * Messages are written in the business transaction and delivered later by a dispatcher.
+ */
+public interface EmailOutboxRepositoryPort {
+
+    /**
+     * Adds a message to the outbox. Joins the caller's transaction.
+     *
+     * @param message the message (ID and next attempt time set)
+     */
+    void save(EmailOutboxMessage message);
+
+    /**
+     * Claims pending messages that are due, oldest first. Claimed messages are hidden from other
+     * dispatchers until {@code leaseUntil}, so a dispatcher that dies mid-batch only delays them.
+     *
+     * @param now current time
+     * @param leaseUntil time until which the claimed messages are not due again
+     * @param limit maximum number of messages
+     * @return the claimed messages
+     */
+    List<EmailOutboxMessage> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    /**
+     * Removes delivered messages.
+     *
+     * @param ids message IDs
+     */
+    void deleteAll(List<UUID> ids);
+
+    /**
+     * Records a failed delivery and schedules the next attempt.
+     *
+     * @param id message ID
+     * @param deliveryAttempts attempts made so far
+     * @param nextAttemptAt when to try again
+     * @param lastError failure reason
+     */
+    void scheduleRetry(UUID id, int deliveryAttempts, LocalDateTime nextAttemptAt, String lastError);
+
+    /**
+     * Gives up on a message. It stays in the outbox with status FAILED for inspection.
+     *
+     * @param id message ID
+     * @param deliveryAttempts attempts made
+     * @param lastError failure reason
+     */
+    void markFailed(UUID id, int deliveryAttempts, String lastError);
+}
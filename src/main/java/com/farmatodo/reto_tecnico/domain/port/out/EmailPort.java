@@ -1,5 +1,11 @@
 package com.farmatodo.reto_tecnico.domain.port.out;
 
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Output port for email notifications.
  * Defines the contract for sending emails from the domain layer.
@@ -49,4 +55,31 @@ public interface EmailPort {
             String totalAmount,
             int attempts
     );
+
+    /**
+     * Sends an email rendered from a named template.
+     *
+     * @param to           recipient email address
+     * @param templateName template name (e.g. "payment-success")
+     * @param values       placeholder values
+     */
+    void sendTemplatedEmail(String to, String templateName, Map<String, String> values);
+
+    /**
+     * Sends a batch of outbox messages over one SMTP connection.
+     * Messages not listed in the result were delivered.
+     *
+     * @param messages the messages to send
+     * @return the messages that could not be delivered
+     */
+    List<DeliveryFailure> sendAll(List<EmailOutboxMessage> messages);
+
+    /**
+     * A message that could not be delivered.
+     *
+     * @param messageId outbox message ID
+     * @param reason failure reason
+     * @param permanent true if retrying cannot help (e.g. recipient rejected by the server)
+     */
+    record DeliveryFailure(UUID messageId, String reason, boolean permanent) {}
 }
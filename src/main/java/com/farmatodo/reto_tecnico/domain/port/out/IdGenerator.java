@@ -0,0 +1,17 @@
+package com.farmatodo.reto_tecnico.domain.port.out;
+
+import java.util.UUID;
+
+/**
+ * Output port for minting aggregate identifiers.
+ * Every new order, item, cart, log and outbox row gets its id from here.
+ * The default implementation is UuidV7Generator; see Ids for the domain-side accessor.
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates a new unique identifier.
+     * @return new id, never null
+     */
+    UUID newId();
+}
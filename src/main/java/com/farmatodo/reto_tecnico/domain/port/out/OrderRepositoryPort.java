@@ -1,9 +1,13 @@
 package com.farmatodo.reto_tecnico.domain.port.out;
 
 import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,6 +24,43 @@ public interface OrderRepositoryPort {
      */
     Order save(Order order);
 
+    /**
+     * Changes the status of an order only if it is still in the expected status.
+     * A single-row write: items, customer and products are not touched or re-read.
+     * @param id the order ID
+     * @param expectedStatus status the order must currently have
+     * @param newStatus the new status
+     * @param updatedAt the new updatedAt timestamp
+     * @return true if the order was updated, false if it was not in expectedStatus (or does not exist)
+     */
+    boolean updateStatus(UUID id, Order.OrderStatus expectedStatus, Order.OrderStatus newStatus,
+                         LocalDateTime updatedAt);
+
+    /**
+     * Changes the status and payment token of an order only if it is currently in one of the
+     * expected statuses.
+     * @param id the order ID
+     * @param expectedStatuses statuses the order may currently have
+     * @param newStatus the new status
+     * @param paymentToken the payment token to store
+     * @param updatedAt the new updatedAt timestamp
+     * @return true if the order was updated, false if it was in none of expectedStatuses (or does not exist)
+     */
+    boolean updateStatusAndPaymentToken(UUID id, Set<Order.OrderStatus> expectedStatuses,
+                                        Order.OrderStatus newStatus, String paymentToken,
+                                        LocalDateTime updatedAt);
+
+    /**
+     * Changes the status of every order still in expectedStatus that was last updated before a cutoff.
+     * @param expectedStatus status the orders must currently have
+     * @param newStatus the new status
+     * @param updatedBefore only orders with an older updatedAt are changed
+     * @param updatedAt the new updatedAt timestamp
+     * @return number of orders updated
+     */
+    int updateStatusIfUpdatedBefore(Order.OrderStatus expectedStatus, Order.OrderStatus newStatus,
+                                    LocalDateTime updatedBefore, LocalDateTime updatedAt);
+
     /**
      * Finds an order by ID.
      * @param id the order ID
@@ -34,6 +75,16 @@ public interface OrderRepositoryPort {
      */
     List<Order> findByCustomerId(UUID customerId);
 
+    /**
+     * Finds a page of a customer's order summaries, newest first (createdAt DESC, id DESC).
+     * Reads only the order rows and an item count, never customers, items or products.
+     * @param customerId the customer ID
+     * @param after cursor to start after, or null for the first page
+     * @param limit maximum number of summaries to return
+     * @return up to limit summaries after the cursor
+     */
+    List<OrderSummary> findSummariesByCustomerId(UUID customerId, OrderCursor after, int limit);
+
     /**
      * Finds orders by status.
      * @param status the order status
@@ -1,10 +1,14 @@
 package com.farmatodo.reto_tecnico.domain.port.out;
 
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Output port for product persistence.
@@ -27,6 +31,13 @@ public interface ProductRepositoryPort {
      */
     Optional<Product> findById(UUID id);
 
+    /**
+     * Finds several products by ID in one query.
+     * @param ids the product IDs (duplicates are ignored)
+     * @return found products by ID; IDs that do not exist are absent
+     */
+    Map<UUID, Product> findAllByIds(Collection<UUID> ids);
+
     /**
      * Searches products by name (case-insensitive, partial match).
      * @param query the search query
@@ -40,6 +51,23 @@ public interface ProductRepositoryPort {
      */
     List<Product> findAllInStock();
 
+    /**
+     * Keyset page of products matching a name (case-insensitive, partial match), ordered by (name, id).
+     * @param query the search query
+     * @param after position of the previous page's last product, or null for the first page
+     * @param limit maximum number of products to return
+     * @return up to limit matching products after the cursor
+     */
+    List<Product> findByNameContaining(String query, ProductCursor after, int limit);
+
+    /**
+     * Keyset page of products in stock, ordered by (name, id).
+     * @param after position of the previous page's last product, or null for the first page
+     * @param limit maximum number of products to return
+     * @return up to limit products in stock after the cursor
+     */
+    List<Product> findAllInStock(ProductCursor after, int limit);
+
     /**
      * Finds products with stock below a threshold.
      * Useful for low stock alerts.
@@ -54,6 +82,14 @@ public interface ProductRepositoryPort {
      */
     List<Product> findAll();
 
+    /**
+     * Passes every product to {@code action}, ordered by (name, id), without loading the
+     * catalog into memory. Must be called within a transaction.
+     * @param action called once per product
+     * @return number of products visited
+     */
+    long forEachProduct(Consumer<Product> action);
+
     /**
      * Updates stock for a product.
      * @param productId the product ID
@@ -62,6 +98,26 @@ public interface ProductRepositoryPort {
      */
     Product updateStock(UUID productId, int newStock);
 
+    /**
+     * Adds units to a product's stock (relative, so it cannot race with concurrent reservations).
+     * Used when an order is cancelled.
+     * @param productId the product ID
+     * @param quantity units to add (positive)
+     * @return updated product
+     * @throws com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException if the product does not exist
+     */
+    Product increaseStock(UUID productId, int quantity);
+
+    /**
+     * Decrements stock for several products at once, all-or-nothing.
+     * Either every line is reserved or no stock changes.
+     * @param quantities quantity to reserve per product ID (all positive)
+     * @return updated products (new stock levels)
+     * @throws com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException if any product does not exist
+     * @throws com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException listing every line without enough stock
+     */
+    List<Product> reserveStock(Map<UUID, Integer> quantities);
+
     /**
      * Deletes a product by ID.
      * @param id the product ID
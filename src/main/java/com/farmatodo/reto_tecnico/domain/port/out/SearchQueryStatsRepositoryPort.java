@@ -0,0 +1,31 @@
+package com.farmatodo.reto_tecnico.domain.port.out;
+
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Output port for aggregated search analytics persistence.
+ */
+public interface SearchQueryStatsRepositoryPort {
+
+    /**
+     * Adds the given counts to the stored aggregates.
+     * Counts for a (bucket, query) that already exists are added, not replaced,
+     * so the same minute can be flushed more than once (or by several instances).
+     *
+     * @param stats per-minute aggregates to add
+     */
+    void addAll(List<SearchQueryStat> stats);
+
+    /**
+     * Finds the most searched queries since the given time.
+     *
+     * @param since start of the window (inclusive, compared with bucket start)
+     * @param limit maximum number of queries
+     * @return queries ordered by total searches, most searched first
+     */
+    List<TopSearchQuery> findTopQueries(LocalDateTime since, int limit);
+}
@@ -0,0 +1,46 @@
+package com.farmatodo.reto_tecnico.domain.port.out;
+
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Output port for cart stock holds.
+ * A hold soft-reserves units of a product for a cart until it expires; held units are not
+ * available to other carts or orders (available stock = stock - held).
+ */
+public interface StockHoldRepositoryPort {
+
+    /**
+     * Sets the cart's hold on a product to {@code quantity} units, replacing any previous hold.
+     * Joins the caller's transaction.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @param quantity total units the cart holds for the product
+     * @param expiresAt when the hold is released if the cart is not checked out
+     * @throws InsufficientStockException if fewer units are available (the cart's own hold counts)
+     * @throws ProductNotFoundException if the product does not exist
+     */
+    void hold(UUID cartId, UUID productId, int quantity, LocalDateTime expiresAt);
+
+    /**
+     * Releases every hold of a cart. Joins the caller's transaction.
+     *
+     * @param cartId the cart ID
+     * @return number of holds released
+     */
+    int releaseCart(UUID cartId);
+
+    /**
+     * Releases holds that expired, oldest first. Holds of products locked by another
+     * transaction are skipped and picked up by a later call.
+     *
+     * @param now current time
+     * @param limit maximum number of holds
+     * @return number of holds released
+     */
+    int releaseExpired(LocalDateTime now, int limit);
+}
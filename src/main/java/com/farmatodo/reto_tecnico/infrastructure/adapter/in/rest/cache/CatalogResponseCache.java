@@ -0,0 +1,169 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.cache;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.application.service.CatalogVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * ETags and pre-serialized JSON bodies for catalog listings.
+ *
+ * Each listing is tagged with a strong ETag derived from CatalogVersion, so:
+ * 1. If-None-Match with the current ETag is answered 304 before the use case is called
+ * 2. Otherwise the JSON body is serialized once per (ETag, request key) and served as bytes
+ *
+ * ETag = "version-window", where window = now / farmatodo.product.catalog-etag-ttl-seconds.
+ * Product writes and cart hold changes on this instance change the version (and the ETag) as
+ * soon as they commit. Writes on other instances do not, so the window bounds how long they can
+ * be missed, like cache-ttl-seconds for CachingProductRepositoryAdapter.
+ *
+ * Bodies of older ETags are dropped when a newer ETag is first used; at most
+ * farmatodo.product.catalog-response-cache-max-entries bodies are kept. A request that computed
+ * its ETag before a newer one was seen is served uncached, so it cannot evict the newer bodies.
+ */
+@Component
+@Slf4j
+public class CatalogResponseCache {
+
+    /**
+     * Clients may store the body but must revalidate it (cheap with If-None-Match).
+     * Private: catalog endpoints require an API key.
+     */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final FarmatodoProperties.Product config;
+    private final LongSupplier clock;
+
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+    private volatile String currentTag;
+
+    @Autowired
+    public CatalogResponseCache(CatalogVersion catalogVersion, ObjectMapper objectMapper, FarmatodoProperties properties) {
+        this(catalogVersion, objectMapper, properties, System::currentTimeMillis);
+    }
+
+    CatalogResponseCache(CatalogVersion catalogVersion, ObjectMapper objectMapper, FarmatodoProperties properties,
+                         LongSupplier clock) {
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.config = properties.getProduct();
+        this.clock = clock;
+    }
+
+    /**
+     * Computes the current ETag. Call it before reading the catalog.
+     * @return quoted strong ETag
+     */
+    public String currentETag() {
+        long window = clock.getAsLong() / (config.getCatalogEtagTtlSeconds() * 1000);
+        return "\"" + catalogVersion.current() + "-" + window + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header against an ETag (weak comparison, as RFC 9110 requires).
+     * @param ifNoneMatch header value, may be null
+     * @param etag current ETag
+     * @return true if the client's copy is current and a 304 can be sent
+     */
+    public boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the serialized body for a request under an ETag, building it on the first call.
+     * Concurrent misses for the same key wait for a single build.
+     *
+     * @param etag ETag computed before the catalog is read
+     * @param key request identity (endpoint and parameters)
+     * @param body builds the response DTO; only called on a miss
+     * @return JSON bytes
+     */
+    public byte[] get(String etag, String key, Supplier<?> body) {
+        if (!etag.equals(currentTag) && !advanceTo(etag)) {
+            // Stale ETag: the data it was computed for is outdated, so do not cache it
+            return serialize(body.get());
+        }
+        if (bodies.size() >= config.getCatalogResponseCacheMaxEntries()) {
+            // Too many distinct cursors under one ETag; start over rather than track recency
+            bodies.clear();
+        }
+        // Keyed by ETag too: a request that read an older version never overwrites a newer body
+        return bodies.computeIfAbsent(etag + '|' + key, ignored -> serialize(body.get()));
+    }
+
+    /**
+     * Serializes a response DTO with the application's ObjectMapper.
+     * @param body response DTO
+     * @return JSON bytes
+     */
+    public byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    /**
+     * Drops every cached body.
+     */
+    public void clear() {
+        bodies.clear();
+    }
+
+    /**
+     * Makes etag the current ETag and drops the bodies of the others, unless it is older.
+     * @return false if etag is older than the current ETag
+     */
+    private synchronized boolean advanceTo(String etag) {
+        if (etag.equals(currentTag)) {
+            return true;
+        }
+        if (currentTag != null && isOlder(etag, currentTag)) {
+            return false;
+        }
+        log.debug("Catalog ETag changed from {} to {}", currentTag, etag);
+        currentTag = etag;
+        String prefix = etag + '|';
+        bodies.keySet().removeIf(key -> !key.startsWith(prefix));
+        return true;
+    }
+
+    /**
+     * Compares two ETags from currentETag(): version first, then window (both only grow).
+     */
+    private static boolean isOlder(String etag, String other) {
+        long[] a = parse(etag);
+        long[] b = parse(other);
+        return a[0] < b[0] || (a[0] == b[0] && a[1] < b[1]);
+    }
+
+    /**
+     * @return {version, window} of a quoted "version-window" ETag
+     */
+    private static long[] parse(String etag) {
+        String value = etag.substring(1, etag.length() - 1);
+        int dash = value.indexOf('-');
+        return new long[] {Long.parseLong(value.substring(0, dash)), Long.parseLong(value.substring(dash + 1))};
+    }
+}
@@ -1,12 +1,18 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
 import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
+import com.farmatodo.reto_tecnico.domain.port.in.GetCustomerOrdersUseCase;
 import com.farmatodo.reto_tecnico.domain.port.in.RegisterCustomerUseCase;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.advice.ErrorResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.request.CreateCustomerRequest;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.CustomerResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.OrderSummaryPageResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.CustomerRestMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.OrderSummaryRestMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,9 +25,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * REST controller for customer management.
- * Provides endpoints for customer registration and operations.
+ * Provides endpoints for customer registration and order history.
  */
 @RestController
 @RequestMapping("/api/v1/customers")
@@ -30,8 +38,12 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Customers", description = "Customer registration and management API")
 public class CustomerController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RegisterCustomerUseCase registerCustomerUseCase;
+    private final GetCustomerOrdersUseCase getCustomerOrdersUseCase;
     private final CustomerRestMapper mapper;
+    private final OrderSummaryRestMapper orderSummaryMapper;
 
     @PostMapping
     @Operation(
@@ -99,4 +111,68 @@ public class CustomerController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    @GetMapping("/{id}/orders")
+    @Operation(
+        summary = "Get customer order history",
+        description = "Returns the customer's orders as summaries (id, status, total, item count, creation date), " +
+                      "newest first, paginated with a cursor: pass the returned nextCursor as the cursor " +
+                      "parameter to get the next page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page of order summaries",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = OrderSummaryPageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or page size",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid or missing API key",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Customer not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<OrderSummaryPageResponse> getOrderHistory(
+            @Parameter(description = "Customer UUID", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable UUID id,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        log.info("Retrieving order history for customer: {}, cursor: {}, size: {}", id, cursor, size);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        OrderCursor after = (cursor == null || cursor.isBlank()) ? null : OrderCursor.decode(cursor);
+
+        OrderSummaryPage page = getCustomerOrdersUseCase.getOrderHistory(id, after, size);
+
+        OrderSummaryPageResponse response = orderSummaryMapper.toPageResponse(page);
+        log.info("Returning {} orders for customer {} (hasNext: {})",
+                response.getItems().size(), id, response.getHasNext());
+        return ResponseEntity.ok(response);
+    }
 }
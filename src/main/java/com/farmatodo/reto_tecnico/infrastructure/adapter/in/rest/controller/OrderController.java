@@ -30,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -175,16 +176,21 @@ public class OrderController {
     }
 
     /**
-     * Builds domain OrderItem objects from request DTOs.
+     * Builds domain OrderItem objects from request DTOs, loading all products in one bulk lookup.
      * @param itemRequests list of item request DTOs
      * @return list of domain OrderItem objects
      * @throws ProductNotFoundException if any product is not found
      */
     private List<OrderItem> buildOrderItems(List<OrderItemRequest> itemRequests) {
+        Map<UUID, Product> products = searchProductUseCase.findAllByIds(
+                itemRequests.stream().map(OrderItemRequest::getProductId).toList());
+
         List<OrderItem> orderItems = new ArrayList<>();
         for (OrderItemRequest itemRequest : itemRequests) {
-            Product product = searchProductUseCase.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(itemRequest.getProductId()));
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ProductNotFoundException(itemRequest.getProductId());
+            }
 
             OrderItem orderItem = OrderItem.create(product, itemRequest.getQuantity());
             orderItems.add(orderItem);
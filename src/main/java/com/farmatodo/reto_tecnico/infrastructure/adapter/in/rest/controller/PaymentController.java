@@ -1,13 +1,16 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
 import com.farmatodo.reto_tecnico.domain.exception.OrderNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.CreditCard;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.port.in.ProcessPaymentUseCase;
+import com.farmatodo.reto_tecnico.domain.port.in.SubmitPaymentUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.advice.ErrorResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.request.ProcessPaymentRequest;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.PaymentResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.PaymentStatusResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.CreditCardRestMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,12 +24,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.UUID;
 
 /**
  * REST controller for payment processing.
  * Provides endpoint for processing payments on orders.
+ *
+ * Two modes (farmatodo.payment.mode, or per request with "Prefer: respond-async"):
+ * - SYNC: blocks until the payment succeeds (200) or all retries fail (402)
+ * - ASYNC: returns 202 with a status resource; retries run on a scheduler and the
+ *   client polls GET /api/v1/payments/orders/{orderId} for the outcome
  */
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -35,9 +45,13 @@ import java.util.UUID;
 @Tag(name = "Payments", description = "Payment processing API")
 public class PaymentController {
 
+    private static final String PREFER_RESPOND_ASYNC = "respond-async";
+
     private final ProcessPaymentUseCase processPaymentUseCase;
+    private final SubmitPaymentUseCase submitPaymentUseCase;
     private final OrderRepositoryPort orderRepository;
     private final CreditCardRestMapper creditCardMapper;
+    private final FarmatodoProperties properties;
 
     @PostMapping("/orders/{orderId}")
     @Operation(
@@ -45,7 +59,9 @@ public class PaymentController {
         description = "Processes payment for an existing order. Supports two flows: " +
                       "(1) Provide paymentToken for existing tokenized card, OR " +
                       "(2) Provide creditCard details for new card (will be tokenized automatically). " +
-                      "Implements automatic retry logic (up to 3 attempts by default)."
+                      "Implements automatic retry logic (up to 3 attempts by default). " +
+                      "In async mode (configured, or header 'Prefer: respond-async') returns 202 with a " +
+                      "payment status resource and retries in the background with exponential backoff."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -56,6 +72,14 @@ public class PaymentController {
                 schema = @Schema(implementation = PaymentResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Payment accepted (async mode) - poll the Location header for the outcome",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PaymentStatusResponse.class)
+            )
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid request - validation errors or missing required fields",
@@ -97,9 +121,11 @@ public class PaymentController {
             )
         )
     })
-    public ResponseEntity<PaymentResponse> processPayment(
+    public ResponseEntity<?> processPayment(
             @Parameter(description = "Order UUID", example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID orderId,
+            @Parameter(description = "Send 'respond-async' to process the payment asynchronously")
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @Valid @RequestBody ProcessPaymentRequest request
     ) {
         log.info("Processing payment for order: {}", orderId);
@@ -111,6 +137,10 @@ public class PaymentController {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
 
+        if (isAsync(prefer)) {
+            return submitPayment(order, request);
+        }
+
         // Process payment using appropriate flow
         ProcessPaymentUseCase.PaymentResult result;
         if (request.getPaymentToken() != null && !request.getPaymentToken().isBlank()) {
@@ -142,6 +172,91 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/orders/{orderId}")
+    @Operation(
+        summary = "Get payment status for order",
+        description = "Returns the payment status of an order. Used to poll the outcome of async payments."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Payment status",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PaymentStatusResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid or missing API key",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Order not found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<PaymentStatusResponse> getPaymentStatus(
+            @Parameter(description = "Order UUID", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable UUID orderId
+    ) {
+        log.debug("Retrieving payment status for order: {}", orderId);
+
+        SubmitPaymentUseCase.PaymentStatus status = submitPaymentUseCase.getPaymentStatus(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+
+        return ResponseEntity.ok(toStatusResponse(status));
+    }
+
+    /**
+     * Accepts the payment for background processing and returns 202 with the status resource.
+     * @param order the order
+     * @param request the payment request
+     * @return 202 Accepted with Location of the status resource
+     */
+    private ResponseEntity<PaymentStatusResponse> submitPayment(Order order, ProcessPaymentRequest request) {
+        SubmitPaymentUseCase.PaymentStatus status;
+        if (request.getPaymentToken() != null && !request.getPaymentToken().isBlank()) {
+            log.info("Submitting async payment with existing token for order: {}", order.getId());
+            status = submitPaymentUseCase.submitPaymentWithToken(order, request.getPaymentToken());
+        } else {
+            log.info("Submitting async payment with credit card for order: {}", order.getId());
+            CreditCard creditCard = creditCardMapper.toDomain(request.getCreditCard());
+            status = submitPaymentUseCase.submitPayment(order, creditCard);
+        }
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(toStatusResponse(status));
+    }
+
+    private boolean isAsync(String prefer) {
+        if (prefer != null && prefer.toLowerCase().contains(PREFER_RESPOND_ASYNC)) {
+            return true;
+        }
+        return properties.getPayment().getMode() == FarmatodoProperties.Payment.Mode.ASYNC;
+    }
+
+    private PaymentStatusResponse toStatusResponse(SubmitPaymentUseCase.PaymentStatus status) {
+        return PaymentStatusResponse.builder()
+                .orderId(status.orderId())
+                .status(status.state().name())
+                .attempts(status.attemptsMade())
+                .maxAttempts(status.maxAttempts())
+                .transactionId(status.transactionId())
+                .message(status.message())
+                .nextAttemptAt(status.nextAttemptAt())
+                .build();
+    }
+
     /**
      * Validates that the request contains either paymentToken OR creditCard (but not neither).
      * @param request the payment request
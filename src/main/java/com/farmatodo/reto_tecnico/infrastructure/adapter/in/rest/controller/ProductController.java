@@ -1,10 +1,16 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.domain.port.in.SearchProductUseCase;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.advice.ErrorResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.cache.CatalogResponseCache;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductPageResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.export.ProductExportWriter;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.ProductRestMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,14 +20,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
  * REST controller for product search operations.
  * Provides endpoints for searching and listing products.
+ *
+ * Catalog listings (no search query, and /all) carry an ETag from CatalogResponseCache:
+ * If-None-Match with the current ETag gets 304 without touching the catalog, and bodies are
+ * serialized once per ETag and request. Name searches are always executed, because every
+ * search is counted by the search analytics.
  */
 @RestController
 @RequestMapping("/api/v1/products")
@@ -30,15 +47,20 @@ import java.util.List;
 @Tag(name = "Products", description = "Product catalog and search API")
 public class ProductController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SearchProductUseCase searchProductUseCase;
     private final ProductRestMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final CatalogResponseCache responseCache;
 
     @GetMapping
     @Operation(
         summary = "Search products",
         description = "Search products by name (case-insensitive partial match). " +
                       "If no query provided, returns all in-stock products. " +
-                      "Supports simple pagination with page and size parameters."
+                      "Results are ordered by name and paginated with a cursor: " +
+                      "pass the returned nextCursor as the cursor parameter to get the next page."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -46,7 +68,19 @@ public class ProductController {
             description = "Products found successfully",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = ProductResponse.class)
+                schema = @Schema(implementation = ProductPageResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Catalog listing unchanged since the ETag sent in If-None-Match"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or page size",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
             )
         ),
         @ApiResponse(
@@ -66,37 +100,42 @@ public class ProductController {
             )
         )
     })
-    public ResponseEntity<List<ProductResponse>> searchProducts(
+    public ResponseEntity<byte[]> searchProducts(
             @Parameter(description = "Search query (product name)", example = "Acetaminofén")
             @RequestParam(required = false) String search,
-            @Parameter(description = "Page number (0-indexed)", example = "0")
-            @RequestParam(required = false, defaultValue = "0") int page,
-            @Parameter(description = "Page size", example = "20")
-            @RequestParam(required = false, defaultValue = "20") int size
+            @Parameter(description = "Cursor returned as nextCursor by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-" + MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @Parameter(description = "ETag of the listing the client already has (ignored for searches)")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        log.info("Searching products with query: '{}', page: {}, size: {}", search, page, size);
+        log.info("Searching products with query: '{}', cursor: {}, size: {}", search, cursor, size);
 
-        List<Product> products;
-        if (search == null || search.isBlank()) {
-            log.debug("No search query provided, returning all in-stock products");
-            products = searchProductUseCase.findAllInStock();
-        } else {
-            products = searchProductUseCase.searchByName(search);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
+        ProductCursor after = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor);
 
-        // Simple pagination
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, products.size());
-
-        List<Product> paginatedProducts = products.subList(
-            Math.min(startIndex, products.size()),
-            endIndex
-        );
+        // Keyset pagination: only the requested page is read from the database
+        if (search == null || search.isBlank()) {
+            log.debug("No search query provided, returning in-stock products");
+            String etag = responseCache.currentETag();
+            if (responseCache.isNotModified(ifNoneMatch, etag)) {
+                log.debug("In-stock listing not modified (ETag {})", etag);
+                return notModified(etag);
+            }
+            byte[] body = responseCache.get(etag, "in-stock|" + cursor + "|" + size,
+                    () -> mapper.toPageResponse(searchProductUseCase.findAllInStock(after, size)));
+            return json(body).eTag(etag).cacheControl(CatalogResponseCache.CACHE_CONTROL).body(body);
+        }
 
-        List<ProductResponse> response = mapper.toResponseList(paginatedProducts);
-        log.info("Found {} products (page {}, showing {})", products.size(), page, response.size());
+        ProductPage page = searchProductUseCase.searchByName(search, after, size);
+        ProductPageResponse response = mapper.toPageResponse(page);
+        log.info("Returning {} products (hasNext: {})", response.getItems().size(), response.getHasNext());
 
-        return ResponseEntity.ok(response);
+        byte[] body = responseCache.serialize(response);
+        return json(body).body(body);
     }
 
     @GetMapping("/all")
@@ -113,6 +152,10 @@ public class ProductController {
                 schema = @Schema(implementation = ProductResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Catalog unchanged since the ETag sent in If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized - Invalid or missing API key",
@@ -130,13 +173,103 @@ public class ProductController {
             )
         )
     })
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
+    public ResponseEntity<byte[]> getAllProducts(
+            @Parameter(description = "ETag of the catalog the client already has")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.info("Retrieving all products");
 
-        List<Product> products = searchProductUseCase.findAll();
-        List<ProductResponse> response = mapper.toResponseList(products);
+        String etag = responseCache.currentETag();
+        if (responseCache.isNotModified(ifNoneMatch, etag)) {
+            log.debug("Catalog not modified (ETag {})", etag);
+            return notModified(etag);
+        }
+
+        byte[] body = responseCache.get(etag, "all", () -> {
+            List<Product> products = searchProductUseCase.findAll();
+            List<ProductResponse> response = mapper.toResponseList(products);
+            log.info("Retrieved {} products", response.size());
+            return response;
+        });
+        return json(body).eTag(etag).cacheControl(CatalogResponseCache.CACHE_CONTROL).body(body);
+    }
+
+    /**
+     * Streams the whole catalog. Rows are read through a database cursor and written as they
+     * arrive (StreamingResponseBody, on an async request thread), so neither the service nor the
+     * response holds the catalog in memory. The database connection is held until the last row
+     * is written.
+     */
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export the catalog",
+        description = "Streams every product, including out-of-stock items, ordered by name. " +
+                      "format=ndjson (default) writes one JSON product per line; format=csv writes " +
+                      "a header line and one CSV line per product."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Catalog streamed successfully",
+            content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProductResponse.class)),
+                @Content(mediaType = "text/csv")
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported export format",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid or missing API key",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Export format: ndjson or csv", example = "ndjson")
+            @RequestParam(required = false, defaultValue = "ndjson") String format
+    ) {
+        ProductExportWriter.Format exportFormat = ProductExportWriter.Format.parse(format);
+        log.info("Exporting product catalog as {}", exportFormat);
+
+        StreamingResponseBody body = outputStream -> {
+            ProductExportWriter writer = new ProductExportWriter(exportFormat, objectMapper, outputStream);
+            writer.writeHeader();
+            long exported;
+            try {
+                exported = searchProductUseCase.exportAll(product -> writer.write(mapper.toResponse(product)));
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; surface the original IOException to the container
+                throw e.getCause();
+            }
+            writer.flush();
+            log.info("Exported {} products as {}", exported, exportFormat);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(exportFormat.getMediaType());
+        if (exportFormat == ProductExportWriter.Format.CSV) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("products.csv").build().toString());
+        }
+        return response.body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).contentLength(body.length);
+    }
 
-        log.info("Retrieved {} products", response.size());
-        return ResponseEntity.ok(response);
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CatalogResponseCache.CACHE_CONTROL)
+                .build();
     }
 }
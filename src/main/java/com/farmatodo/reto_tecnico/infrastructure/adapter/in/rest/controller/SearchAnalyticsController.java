@@ -0,0 +1,103 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
+
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.domain.port.in.GetTopSearchQueriesUseCase;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.advice.ErrorResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.TopSearchQueryResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.SearchAnalyticsRestMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST controller for search analytics.
+ * Reports the most searched queries from the per-minute aggregates.
+ */
+@RestController
+@RequestMapping("/api/v1/search-analytics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Search Analytics", description = "Search query statistics API")
+public class SearchAnalyticsController {
+
+    private static final int MAX_WINDOW_MINUTES = 7 * 24 * 60;
+    private static final int MAX_LIMIT = 100;
+
+    private final GetTopSearchQueriesUseCase getTopSearchQueriesUseCase;
+    private final SearchAnalyticsRestMapper mapper;
+
+    @GetMapping("/top-queries")
+    @Operation(
+        summary = "Top search queries",
+        description = "Returns the most searched queries in the last minutes, with how many searches " +
+                      "returned no products. Queries are normalized (lower case, without accents). " +
+                      "The current minute is included once it has been flushed (a few seconds after it ends)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Top queries retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = TopSearchQueryResponse.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid window or limit",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - Invalid or missing API key",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<List<TopSearchQueryResponse>> getTopQueries(
+            @Parameter(description = "Window in minutes (1-" + MAX_WINDOW_MINUTES + ")", example = "60")
+            @RequestParam(required = false, defaultValue = "60") int minutes,
+            @Parameter(description = "Maximum number of queries (1-" + MAX_LIMIT + ")", example = "10")
+            @RequestParam(required = false, defaultValue = "10") int limit
+    ) {
+        log.info("Retrieving top {} search queries of the last {} minutes", limit, minutes);
+
+        if (minutes < 1 || minutes > MAX_WINDOW_MINUTES) {
+            throw new IllegalArgumentException("Window must be between 1 and " + MAX_WINDOW_MINUTES + " minutes");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<TopSearchQuery> topQueries = getTopSearchQueriesUseCase.getTopQueries(Duration.ofMinutes(minutes), limit);
+        return ResponseEntity.ok(mapper.toResponseList(topQueries));
+    }
+}
@@ -0,0 +1,31 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a customer's order history.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of order summaries with keyset pagination cursor")
+public class OrderSummaryPageResponse {
+
+    @Schema(description = "Orders in this page, newest first")
+    private List<OrderSummaryResponse> items;
+
+    @Schema(description = "Opaque cursor for the next page (null on the last page)",
+            example = "MTIzZTQ1NjctZTg5Yi0xMmQzLWE0NTYtNDI2NjE0MTc0MDAwMjAyNS0xMi0xNlQxNDozMDow")
+    private String nextCursor;
+
+    @Schema(description = "Whether more orders are available", example = "true")
+    private Boolean hasNext;
+}
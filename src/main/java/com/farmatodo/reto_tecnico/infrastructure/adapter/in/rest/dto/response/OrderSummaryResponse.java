@@ -0,0 +1,38 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO for one order in a customer's order history.
+ * Use GET /api/v1/orders/{id} for the full order with items.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order summary for order history listings")
+public class OrderSummaryResponse {
+
+    @Schema(description = "Order unique identifier", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Order status", example = "PAID")
+    private String status;
+
+    @Schema(description = "Total order amount", example = "45000.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Number of order lines", example = "3")
+    private Integer itemCount;
+
+    @Schema(description = "Timestamp when order was created", example = "2025-12-16T14:30:00")
+    private LocalDateTime createdAt;
+}
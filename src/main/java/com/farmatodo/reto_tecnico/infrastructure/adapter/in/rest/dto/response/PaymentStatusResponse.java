@@ -0,0 +1,44 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for the payment status resource (async payment mode).
+ * Returned with 202 when a payment is accepted and by the status polling endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Payment status")
+public class PaymentStatusResponse {
+
+    @Schema(description = "Order unique identifier", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID orderId;
+
+    @Schema(description = "Payment state", example = "PROCESSING",
+            allowableValues = {"NOT_STARTED", "PROCESSING", "SUCCEEDED", "FAILED"})
+    private String status;
+
+    @Schema(description = "Number of payment attempts made so far (0 if unknown)", example = "1")
+    private Integer attempts;
+
+    @Schema(description = "Maximum number of attempts (0 if unknown)", example = "3")
+    private Integer maxAttempts;
+
+    @Schema(description = "Payment gateway transaction ID (when SUCCEEDED)", example = "txn_1a2b3c4d5e6f")
+    private String transactionId;
+
+    @Schema(description = "Status message", example = "Payment in progress")
+    private String message;
+
+    @Schema(description = "When the next attempt is scheduled (when PROCESSING)", example = "2025-01-15T10:30:02Z")
+    private Instant nextAttemptAt;
+}
@@ -0,0 +1,27 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one entry of the top search queries report.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Search query with its number of searches")
+public class TopSearchQueryResponse {
+
+    @Schema(description = "Normalized query (lower case, without accents)", example = "acetaminofen")
+    private String query;
+
+    @Schema(description = "Number of searches in the window", example = "1520")
+    private Long searches;
+
+    @Schema(description = "Searches that returned no products", example = "12")
+    private Long zeroResultSearches;
+}
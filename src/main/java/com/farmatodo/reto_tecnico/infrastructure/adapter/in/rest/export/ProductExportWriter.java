@@ -0,0 +1,132 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.export;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes catalog export rows to a response stream, one product at a time.
+ *
+ * NDJSON: one ProductResponse JSON object per line (same fields as GET /api/v1/products/all).
+ * CSV: header line, then one RFC 4180 line per product.
+ *
+ * Rows go through a fixed-size buffer, so memory use does not depend on the number of rows.
+ */
+public class ProductExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,name,description,price,stock,inStock";
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Parses the format request parameter (case-insensitive).
+         * @throws IllegalArgumentException for an unknown format
+         */
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    private final Format format;
+    private final ObjectWriter jsonWriter;
+    private final Writer out;
+
+    public ProductExportWriter(Format format, ObjectMapper objectMapper, OutputStream outputStream) {
+        this.format = format;
+        this.jsonWriter = objectMapper.writerFor(ProductResponse.class);
+        this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Writes whatever precedes the first row (the CSV header).
+     */
+    public void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes one product row.
+     * Unchecked so it can be called from a Consumer; the cause is the original IOException.
+     */
+    public void write(ProductResponse product) {
+        try {
+            if (format == Format.NDJSON) {
+                out.write(jsonWriter.writeValueAsString(product));
+            } else {
+                writeCsvRow(product);
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes buffered rows. The response stream itself is closed by the container.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeCsvRow(ProductResponse product) throws IOException {
+        out.write(String.valueOf(product.getId()));
+        out.write(',');
+        out.write(csvField(product.getName()));
+        out.write(',');
+        out.write(csvField(product.getDescription()));
+        out.write(',');
+        BigDecimal price = product.getPrice();
+        out.write(price == null ? "" : price.toPlainString());
+        out.write(',');
+        out.write(product.getStock() == null ? "" : String.valueOf(product.getStock()));
+        out.write(',');
+        out.write(String.valueOf(Boolean.TRUE.equals(product.getInStock())));
+    }
+
+    /**
+     * Quotes a field when it contains a separator, quote or line break; quotes are doubled.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,294 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key support for POST /api/v1/orders and POST /api/v1/payments/orders/{orderId}.
+ *
+ * A POST carrying an Idempotency-Key header runs once per key:
+ * 1. First request: executes normally; a response below 500 is stored for
+ *    farmatodo.idempotency.ttl-seconds
+ * 2. Replay with the same key and body: the stored response is returned with
+ *    "Idempotent-Replayed: true" and the use case is not called
+ * 3. Concurrent duplicate: waits for the in-flight request (up to
+ *    farmatodo.idempotency.wait-timeout-seconds, then 409) instead of executing twice
+ * 4. Same key with a different body: 422
+ *
+ * 5xx responses and exceptions are not stored, so the client can retry with the same key.
+ * Keys are scoped by API key, method and path. Requests without the header are untouched.
+ *
+ * Metrics: idempotency.requests{result=executed|replayed|rejected}.
+ *
+ * NOTE: This filter is NOT a @Component. It is instantiated manually
+ * in FilterConfig, after ApiKeyAuthenticationFilter.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String API_KEY_HEADER = "X-API-KEY";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutNanos;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    /**
+     * Constructor for manual instantiation in FilterConfig.
+     * @param store idempotency key store
+     * @param objectMapper JSON serializer for error responses
+     * @param properties idempotency settings
+     * @param meterRegistry registry for the idempotency.requests counters
+     */
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             FarmatodoProperties.Idempotency properties,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutNanos = TimeUnit.SECONDS.toNanos(properties.getWaitTimeoutSeconds());
+
+        this.executed = Counter.builder("idempotency.requests").tag("result", "executed")
+                .description("Idempotent requests executed for the first time").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("result", "replayed")
+                .description("Idempotent requests answered from a stored response").register(meterRegistry);
+        this.rejected = Counter.builder("idempotency.requests").tag("result", "rejected")
+                .description("Idempotent requests rejected (invalid key, reused key or timeout)").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            rejected.increment();
+            sendError(response, request, HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The body is read once here: it is hashed and then replayed to the controller
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String key = scopedKey(request, idempotencyKey);
+        String fingerprint = sha256(body);
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+
+        while (true) {
+            IdempotencyStore.Reservation reservation = store.reserve(key, fingerprint);
+            switch (reservation.status()) {
+                case ACQUIRED -> {
+                    execute(reservation, cachedRequest, response, filterChain);
+                    return;
+                }
+                case MISMATCH -> {
+                    log.warn("Idempotency-Key reused with a different body: {} {}",
+                            request.getMethod(), request.getRequestURI());
+                    rejected.increment();
+                    sendError(response, request, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                            "Idempotency-Key was already used with a different request body");
+                    return;
+                }
+                case EXISTING -> {
+                    StoredResponse stored;
+                    try {
+                        stored = reservation.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException e) {
+                        rejected.increment();
+                        sendError(response, request, HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_PROGRESS",
+                                "A request with this Idempotency-Key is still being processed. Retry later.");
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ServletException("Interrupted waiting for idempotent request", e);
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException("Idempotency result completed exceptionally", e);
+                    }
+
+                    if (stored != null) {
+                        log.debug("Replaying stored response for Idempotency-Key on {} {}",
+                                request.getMethod(), request.getRequestURI());
+                        replayed.increment();
+                        replay(stored, response);
+                        return;
+                    }
+                    // The owner released the key (server error): loop and try to take it over
+                }
+            }
+        }
+    }
+
+    private void execute(IdempotencyStore.Reservation reservation,
+                         HttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(reservation, new StoredResponse(
+                        wrapper.getStatus(),
+                        wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentAsByteArray()
+                ));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(reservation);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return (apiKey == null ? "" : apiKey) + '\n'
+                + request.getMethod() + ' ' + request.getRequestURI() + '\n'
+                + idempotencyKey;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void sendError(HttpServletResponse response, HttpServletRequest request,
+                           HttpStatus status, String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> errorBody = new HashMap<>();
+        errorBody.put("timestamp", LocalDateTime.now().toString());
+        errorBody.put("status", status.value());
+        errorBody.put("error", error);
+        errorBody.put("message", message);
+        errorBody.put("path", request.getRequestURI());
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorBody));
+    }
+
+    /**
+     * Request whose body was already consumed, serving the buffered bytes instead.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory: it is available now and then finished
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
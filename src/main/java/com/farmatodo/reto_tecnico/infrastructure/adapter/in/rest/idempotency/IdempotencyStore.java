@@ -0,0 +1,165 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory store of Idempotency-Key results.
+ *
+ * The first request for a key reserves it and runs; duplicates get the same future and wait for
+ * its response instead of executing again. Completed responses are replayed for
+ * farmatodo.idempotency.ttl-seconds. A released reservation (server error or exception) completes
+ * the future with null so a waiting duplicate can take over the key.
+ *
+ * Size is bounded by farmatodo.idempotency.max-entries. When full, the oldest completed entry of a
+ * small sample is evicted; in-flight entries are never evicted.
+ *
+ * CRITICAL: keys are local to this instance. Behind a load balancer, route by Idempotency-Key or
+ * replace this class with a shared store.
+ *
+ * Thread-safe.
+ */
+public class IdempotencyStore {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+    private static final long IN_FLIGHT = Long.MIN_VALUE;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(FarmatodoProperties.Idempotency properties) {
+        this(properties, System::nanoTime);
+    }
+
+    IdempotencyStore(FarmatodoProperties.Idempotency properties, LongSupplier clock) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTtlSeconds());
+        this.maxEntries = properties.getMaxEntries();
+        this.clock = clock;
+    }
+
+    /**
+     * Reserves a key, or joins the request that already holds it.
+     *
+     * @param key scoped idempotency key
+     * @param fingerprint hash of the request body; a different body under the same key is a mismatch
+     * @return the reservation; only {@link Status#ACQUIRED} callers may execute the request
+     */
+    public Reservation reserve(String key, String fingerprint) {
+        while (true) {
+            Entry created = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, created);
+            if (existing == null) {
+                evictIfFull();
+                return new Reservation(Status.ACQUIRED, key, created);
+            }
+            if (isExpired(existing, clock.getAsLong())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return new Reservation(Status.MISMATCH, key, existing);
+            }
+            return new Reservation(Status.EXISTING, key, existing);
+        }
+    }
+
+    /**
+     * Stores the response of an acquired reservation and hands it to every waiting duplicate.
+     */
+    public void complete(Reservation reservation, StoredResponse response) {
+        Entry entry = reservation.entry;
+        entry.completedAt = clock.getAsLong();
+        entry.result.complete(response);
+    }
+
+    /**
+     * Gives up an acquired reservation without storing a response; the key can be used again.
+     */
+    public void release(Reservation reservation) {
+        entries.remove(reservation.key, reservation.entry);
+        reservation.entry.result.complete(null);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        long completedAt = entry.completedAt;
+        return completedAt != IN_FLIGHT && now - completedAt >= ttlNanos;
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            Map.Entry<String, Entry> oldest = null;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE_SIZE && iterator.hasNext(); i++) {
+                Map.Entry<String, Entry> candidate = iterator.next();
+                long completedAt = candidate.getValue().completedAt;
+                if (completedAt != IN_FLIGHT
+                        && (oldest == null || completedAt < oldest.getValue().completedAt)) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                // Only in-flight entries sampled: let the store overflow until they complete
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    public enum Status {
+        /** Key reserved by this request: execute it, then complete or release. */
+        ACQUIRED,
+        /** Same key and body already seen: wait for {@link Reservation#result()} and replay it. */
+        EXISTING,
+        /** Same key already used with a different request body. */
+        MISMATCH
+    }
+
+    /**
+     * Outcome of {@link #reserve(String, String)}.
+     */
+    public static final class Reservation {
+        private final Status status;
+        private final String key;
+        private final Entry entry;
+
+        private Reservation(Status status, String key, Entry entry) {
+            this.status = status;
+            this.key = key;
+            this.entry = entry;
+        }
+
+        public Status status() {
+            return status;
+        }
+
+        /**
+         * @return the stored response; completes with null if the owner released the key
+         */
+        public CompletableFuture<StoredResponse> result() {
+            return entry.result;
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private volatile long completedAt = IN_FLIGHT;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
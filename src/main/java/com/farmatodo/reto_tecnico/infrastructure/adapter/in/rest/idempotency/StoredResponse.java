@@ -0,0 +1,12 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency;
+
+/**
+ * HTTP response captured for an Idempotency-Key and replayed to later duplicates.
+ *
+ * @param status HTTP status code
+ * @param contentType response content type (may be null)
+ * @param location Location header (may be null)
+ * @param body raw response body
+ */
+public record StoredResponse(int status, String contentType, String location, byte[] body) {
+}
@@ -21,7 +21,7 @@ public interface CreditCardRestMapper {
      * @param request tokenization request DTO
      * @return domain credit card
      */
-    @Mapping(target = "id", expression = "java(java.util.UUID.randomUUID())")
+    @Mapping(target = "id", expression = "java(com.farmatodo.reto_tecnico.domain.id.Ids.newId())")
     @Mapping(target = "customerId", source = "customerId")
     @Mapping(target = "cardNumber", expression = "java(new CardNumber(request.getCardNumber()))")
     @Mapping(target = "token", ignore = true) // Set by tokenization service
@@ -22,7 +22,7 @@ public interface CustomerRestMapper {
      * @param request customer registration request DTO
      * @return domain customer
      */
-    @Mapping(target = "id", expression = "java(java.util.UUID.randomUUID())")
+    @Mapping(target = "id", expression = "java(com.farmatodo.reto_tecnico.domain.id.Ids.newId())")
     @Mapping(target = "email", expression = "java(new Email(request.getEmail()))")
     @Mapping(target = "phone", expression = "java(new Phone(request.getPhone()))")
     Customer toDomain(CreateCustomerRequest request);
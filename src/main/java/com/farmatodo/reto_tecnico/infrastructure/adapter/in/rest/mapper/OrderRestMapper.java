@@ -31,7 +31,7 @@ public interface OrderRestMapper {
      * @param request order creation request
      * @return domain customer
      */
-    @Mapping(target = "id", expression = "java(java.util.UUID.randomUUID())")
+    @Mapping(target = "id", expression = "java(com.farmatodo.reto_tecnico.domain.id.Ids.newId())")
     @Mapping(target = "name", source = "customerName")
     @Mapping(target = "email", expression = "java(new Email(request.getCustomerEmail()))")
     @Mapping(target = "phone", expression = "java(new Phone(request.getCustomerPhone()))")
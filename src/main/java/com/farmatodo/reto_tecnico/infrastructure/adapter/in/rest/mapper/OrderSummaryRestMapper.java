@@ -0,0 +1,46 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper;
+
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.OrderSummaryPageResponse;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.OrderSummaryResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * MapStruct mapper for order history -> REST DTO conversion.
+ */
+@Mapper(componentModel = "spring")
+public interface OrderSummaryRestMapper {
+
+    /**
+     * Converts a domain OrderSummary to its response DTO.
+     * @param summary domain model
+     * @return response DTO
+     */
+    @Mapping(target = "totalAmount", expression = "java(summary.getTotalAmount().amount())")
+    @Mapping(target = "status", expression = "java(summary.getStatus().name())")
+    OrderSummaryResponse toResponse(OrderSummary summary);
+
+    /**
+     * Converts a list of OrderSummary to response DTOs.
+     * @param summaries domain models
+     * @return response DTOs
+     */
+    List<OrderSummaryResponse> toResponseList(List<OrderSummary> summaries);
+
+    /**
+     * Converts a domain OrderSummaryPage to its response DTO, encoding the next cursor.
+     * @param page domain page
+     * @return response DTO
+     */
+    default OrderSummaryPageResponse toPageResponse(OrderSummaryPage page) {
+        return OrderSummaryPageResponse.builder()
+                .items(toResponseList(page.items()))
+                .nextCursor(page.hasNext() ? page.nextCursor().encode() : null)
+                .hasNext(page.hasNext())
+                .build();
+    }
+}
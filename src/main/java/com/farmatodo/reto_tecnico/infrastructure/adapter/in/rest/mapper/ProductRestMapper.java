@@ -1,6 +1,8 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper;
 
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductPageResponse;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductResponse;
 import org.mapstruct.*;
 
@@ -28,4 +30,17 @@ public interface ProductRestMapper {
      * @return response DTOs
      */
     List<ProductResponse> toResponseList(List<Product> products);
+
+    /**
+     * Converts a domain ProductPage to ProductPageResponse DTO, encoding the next cursor.
+     * @param page domain page
+     * @return response DTO
+     */
+    default ProductPageResponse toPageResponse(ProductPage page) {
+        return ProductPageResponse.builder()
+                .items(toResponseList(page.items()))
+                .nextCursor(page.hasNext() ? page.nextCursor().encode() : null)
+                .hasNext(page.hasNext())
+                .build();
+    }
 }
@@ -0,0 +1,28 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper;
+
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.TopSearchQueryResponse;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+/**
+ * MapStruct mapper for search analytics -> REST DTO conversion.
+ */
+@Mapper(componentModel = "spring")
+public interface SearchAnalyticsRestMapper {
+
+    /**
+     * Converts a domain TopSearchQuery to its response DTO.
+     * @param topSearchQuery domain model
+     * @return response DTO
+     */
+    TopSearchQueryResponse toResponse(TopSearchQuery topSearchQuery);
+
+    /**
+     * Converts a list of TopSearchQuery to response DTOs.
+     * @param topSearchQueries domain models
+     * @return response DTOs
+     */
+    List<TopSearchQueryResponse> toResponseList(List<TopSearchQuery> topSearchQueries);
+}
@@ -1,9 +1,14 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency.IdempotencyFilter;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency.IdempotencyStore;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.security.filter.TraceIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +18,12 @@ import org.springframework.context.annotation.Configuration;
  * Configures the execution order of filters:
  * 1. TraceIdFilter (order=0) - Generates trace ID for request traceability
  * 2. ApiKeyAuthenticationFilter (order=1) - Validates API Key
+ * 3. IdempotencyFilter (order=2) - Replays Idempotency-Key requests (orders and payments only)
  *
  * IMPORTANT: TraceIdFilter must execute FIRST to ensure all logs
  * (including security logs) contain the trace ID.
  *
- * NOTE: Both filters are instantiated directly (not @Component) to avoid
+ * NOTE: All filters are instantiated directly (not @Component) to avoid
  * double registration issues with Spring Boot's auto-configuration.
  */
 @Configuration
@@ -25,6 +31,8 @@ import org.springframework.context.annotation.Configuration;
 public class FilterConfig {
 
     private final ObjectMapper objectMapper;
+    private final FarmatodoProperties properties;
+    private final MeterRegistry meterRegistry;
 
     @Value("${farmatodo.api.key:default-dev-key-change-in-production}")
     private String apiKey;
@@ -63,4 +71,22 @@ public class FilterConfig {
         registrationBean.setOrder(1);
         return registrationBean;
     }
+
+    /**
+     * Registers the Idempotency-Key filter for order creation and payment processing.
+     * Executes AFTER ApiKeyAuthenticationFilter so unauthenticated requests never reserve a key.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "farmatodo.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter() {
+        FarmatodoProperties.Idempotency idempotency = properties.getIdempotency();
+        IdempotencyFilter filter = new IdempotencyFilter(
+                new IdempotencyStore(idempotency), objectMapper, idempotency, meterRegistry);
+
+        FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(filter);
+        registrationBean.addUrlPatterns("/api/v1/orders", "/api/v1/payments/orders/*");
+        registrationBean.setOrder(2);
+        return registrationBean;
+    }
 }
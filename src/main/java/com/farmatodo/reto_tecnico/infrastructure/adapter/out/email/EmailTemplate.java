@@ -0,0 +1,126 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precompiled HTML email template with {{name}} placeholders.
+ *
+ * Parsed once into literal and placeholder segments; rendering only appends them to a presized buffer.
+ *
+ * Values are HTML-escaped. Immutable and thread-safe.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    /**
+     * Room reserved per placeholder when sizing the render buffer.
+     */
+    private static final int VALUE_SIZE_HINT = 32;
+
+    private final String name;
+    private final String subject;
+    /** literals[i] precedes placeholders[i]; the last literal follows the last placeholder. */
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int sizeHint;
+
+    private EmailTemplate(String name, String subject, String[] literals, String[] placeholders) {
+        this.name = name;
+        this.subject = subject;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int literalLength = 0;
+        for (String literal : literals) {
+            literalLength += literal.length();
+        }
+        this.sizeHint = literalLength + placeholders.length * VALUE_SIZE_HINT;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param name template name (for error messages)
+     * @param subject email subject (plain text, no placeholders)
+     * @param source template body
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed or has no name
+     */
+    public static EmailTemplate compile(String name, String subject, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template '" + name + "' at " + open);
+            }
+            String placeholder = source.substring(open + OPEN.length(), close).trim();
+            if (placeholder.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in email template '" + name + "' at " + open);
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(placeholder);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(name, subject, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Renders the template body.
+     *
+     * @param values placeholder values (HTML-escaped on output)
+     * @return the HTML body
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Missing value for '" + placeholders[i] + "' in email template '" + name + "'");
+            }
+            appendEscaped(out, value);
+        }
+        out.append(literals[placeholders.length]);
+        return out.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return placeholder names in order of first appearance
+     */
+    public Set<String> getPlaceholders() {
+        return new LinkedHashSet<>(List.of(placeholders));
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
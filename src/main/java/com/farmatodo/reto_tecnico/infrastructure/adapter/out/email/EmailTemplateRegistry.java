@@ -0,0 +1,76 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Email templates loaded from classpath:email-templates/*.html and compiled once at startup.
+ *
+ * The template name is the file name without ".html" (payment-success.html -> payment-success).
+ * The first line must declare the subject: {@code <!-- subject: ... -->}. Adding a notification
+ * is adding a file; see EmailPort.sendTemplatedEmail.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRegistry {
+
+    static final String DEFAULT_LOCATION = "classpath*:email-templates/*.html";
+
+    private static final Pattern SUBJECT_LINE = Pattern.compile("\\A\\s*<!--\\s*subject:\\s*(.*?)\\s*-->\\R?");
+
+    private final Map<String, EmailTemplate> templates;
+
+    public EmailTemplateRegistry() {
+        this(DEFAULT_LOCATION);
+    }
+
+    EmailTemplateRegistry(String locationPattern) {
+        Map<String, EmailTemplate> loaded = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(locationPattern)) {
+                EmailTemplate template = load(resource);
+                loaded.put(template.getName(), template);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email templates from " + locationPattern, e);
+        }
+        this.templates = Collections.unmodifiableMap(loaded);
+        log.info("Loaded {} email templates: {}", templates.size(), templates.keySet());
+    }
+
+    /**
+     * @param name template name
+     * @return the compiled template
+     * @throws IllegalArgumentException if there is no such template
+     */
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return template;
+    }
+
+    private static EmailTemplate load(Resource resource) throws IOException {
+        String filename = resource.getFilename();
+        String name = filename.substring(0, filename.length() - ".html".length());
+        String source = resource.getContentAsString(StandardCharsets.UTF_8);
+
+        Matcher subjectLine = SUBJECT_LINE.matcher(source);
+        if (!subjectLine.find()) {
+            throw new IllegalStateException("Email template '" + name + "' must start with <!-- subject: ... -->");
+        }
+        return EmailTemplate.compile(name, subjectLine.group(1), source.substring(subjectLine.end()));
+    }
+}
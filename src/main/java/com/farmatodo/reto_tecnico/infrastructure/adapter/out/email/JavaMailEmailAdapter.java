@@ -1,29 +1,50 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
 import com.farmatodo.reto_tecnico.domain.port.out.EmailPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Email adapter implementation using JavaMailSender.
  * Sends emails through SMTP (MailHog in development, real SMTP in production).
  * Implements the EmailPort defined in the domain layer.
+ *
+ * sendAll hands a batch to JavaMailSender as one array, sent over a single SMTP connection.
+ *
+ * Bodies and subjects come from EmailTemplateRegistry (classpath:email-templates), compiled once
+ * at startup. Outbox messages use the template named after their type
+ * (PAYMENT_SUCCESS -> payment-success).
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JavaMailEmailAdapter implements EmailPort {
 
+    static final String PAYMENT_SUCCESS_TEMPLATE = "payment-success";
+    static final String PAYMENT_FAILURE_TEMPLATE = "payment-failure";
+
     private final JavaMailSender mailSender;
     private final FarmatodoProperties properties;
+    private final EmailTemplateRegistry templates;
 
     @Override
     public void sendEmail(String to, String subject, String body) {
@@ -55,6 +76,54 @@ public class JavaMailEmailAdapter implements EmailPort {
         }
     }
 
+    @Override
+    public List<DeliveryFailure> sendAll(List<EmailOutboxMessage> messages) {
+        if (!properties.getEmail().isEnabled()) {
+            log.info("Email sending is disabled. Skipping {} outbox emails", messages.size());
+            return List.of();
+        }
+
+        List<DeliveryFailure> failures = new ArrayList<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(messages.size());
+        Map<MimeMessage, UUID> idsByMessage = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message);
+                mimeMessages.add(mimeMessage);
+                idsByMessage.put(mimeMessage, message.getId());
+            } catch (MessagingException | RuntimeException e) {
+                // Cannot be built (e.g. malformed address): retrying will not help
+                log.error("Failed to create outbox email {} for: {}", message.getId(), message.getRecipient(), e);
+                failures.add(new DeliveryFailure(message.getId(), e.getMessage(), true));
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // Per-message failures; an empty map means all were sent and only closing failed
+            e.getFailedMessages().forEach((failedMessage, cause) -> {
+                UUID id = idsByMessage.get(failedMessage);
+                if (id != null) {
+                    failures.add(new DeliveryFailure(id, cause.getMessage(), isPermanent(cause)));
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                log.warn("Outbox batch sent but closing the SMTP connection failed", e);
+            }
+        } catch (MailException e) {
+            // e.g. authentication failure: nothing was sent
+            log.error("Failed to send {} outbox emails", mimeMessages.size(), e);
+            idsByMessage.values().forEach(id -> failures.add(new DeliveryFailure(id, e.getMessage(), false)));
+        }
+
+        log.info("Sent {} of {} outbox emails", messages.size() - failures.size(), messages.size());
+        return failures;
+    }
+
     @Override
     public void sendPaymentSuccessEmail(
             String to,
@@ -65,10 +134,12 @@ public class JavaMailEmailAdapter implements EmailPort {
     ) {
         log.info("Sending payment success email to: {} for order: {}", to, orderId);
 
-        String subject = "✅ Pago Confirmado - Farmatodo";
-        String body = buildPaymentSuccessEmailBody(customerName, orderId, totalAmount, transactionId);
-
-        sendEmail(to, subject, body);
+        sendTemplatedEmail(to, PAYMENT_SUCCESS_TEMPLATE, Map.of(
+                "customerName", orEmpty(customerName),
+                "orderId", orEmpty(orderId),
+                "totalAmount", orEmpty(totalAmount),
+                "transactionId", orEmpty(transactionId)
+        ));
     }
 
     @Override
@@ -81,144 +152,58 @@ public class JavaMailEmailAdapter implements EmailPort {
     ) {
         log.info("Sending payment failure email to: {} for order: {}", to, orderId);
 
-        String subject = "❌ Pago Rechazado - Farmatodo";
-        String body = buildPaymentFailureEmailBody(customerName, orderId, totalAmount, attempts);
+        sendTemplatedEmail(to, PAYMENT_FAILURE_TEMPLATE, Map.of(
+                "customerName", orEmpty(customerName),
+                "orderId", orEmpty(orderId),
+                "totalAmount", orEmpty(totalAmount),
+                "attempts", String.valueOf(attempts)
+        ));
+    }
 
-        sendEmail(to, subject, body);
+    @Override
+    public void sendTemplatedEmail(String to, String templateName, Map<String, String> values) {
+        EmailTemplate template = templates.get(templateName);
+        sendEmail(to, template.getSubject(), template.render(values));
     }
 
     /**
-     * Builds HTML email body for payment success notification.
+     * Renders an outbox message with its template.
      */
-    private String buildPaymentSuccessEmailBody(
-            String customerName,
-            String orderId,
-            String totalAmount,
-            String transactionId
-    ) {
-        return String.format("""
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <meta charset="UTF-8">
-                    <style>
-                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                        .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
-                        .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                        .footer { text-align: center; margin-top: 20px; color: #777; font-size: 12px; }
-                        .detail { margin: 10px 0; }
-                        .label { font-weight: bold; }
-                    </style>
-                </head>
-                <body>
-                    <div class="container">
-                        <div class="header">
-                            <h1>✅ Pago Confirmado</h1>
-                        </div>
-                        <div class="content">
-                            <p>Hola <strong>%s</strong>,</p>
-                            <p>Tu pago ha sido procesado exitosamente. Aquí están los detalles de tu transacción:</p>
-
-                            <div class="detail">
-                                <span class="label">ID de Orden:</span> %s
-                            </div>
-                            <div class="detail">
-                                <span class="label">Monto Total:</span> %s
-                            </div>
-                            <div class="detail">
-                                <span class="label">ID de Transacción:</span> %s
-                            </div>
-
-                            <p>Gracias por tu compra en Farmatodo.</p>
-                        </div>
-                        <div class="footer">
-                            <p>Este es un correo automático. Por favor no responder.</p>
-                            <p>&copy; 2025 Farmatodo. Todos los derechos reservados.</p>
-                        </div>
-                    </div>
-                </body>
-                </html>
-                """,
-                customerName,
-                orderId,
-                totalAmount,
-                transactionId
-        );
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        EmailTemplate template = templates.get(message.getType().name().toLowerCase(Locale.ROOT).replace('_', '-'));
+
+        Map<String, String> values = new HashMap<>();
+        values.put("customerName", orEmpty(message.getCustomerName()));
+        values.put("orderId", String.valueOf(message.getOrderId()));
+        values.put("totalAmount", orEmpty(message.getTotalAmount()));
+        values.put("transactionId", orEmpty(message.getTransactionId()));
+        values.put("attempts", message.getPaymentAttempts() == null ? "" : message.getPaymentAttempts().toString());
+        String subject = template.getSubject();
+        String body = template.render(values);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(properties.getEmail().getFrom());
+        helper.setTo(message.getRecipient());
+        helper.setSubject(subject);
+        helper.setText(body, true);
+        return mimeMessage;
     }
 
     /**
-     * Builds HTML email body for payment failure notification.
+     * Optional order data (e.g. a customer without a name) renders as blank instead of failing the send;
+     * the template only rejects placeholders nobody supplied.
      */
-    private String buildPaymentFailureEmailBody(
-            String customerName,
-            String orderId,
-            String totalAmount,
-            int attempts
-    ) {
-        return String.format("""
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <meta charset="UTF-8">
-                    <style>
-                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                        .header { background-color: #f44336; color: white; padding: 20px; text-align: center; }
-                        .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
-                        .footer { text-align: center; margin-top: 20px; color: #777; font-size: 12px; }
-                        .detail { margin: 10px 0; }
-                        .label { font-weight: bold; }
-                        .warning { background-color: #fff3cd; border-left: 4px solid #ffc107; padding: 10px; margin: 15px 0; }
-                    </style>
-                </head>
-                <body>
-                    <div class="container">
-                        <div class="header">
-                            <h1>❌ Pago Rechazado</h1>
-                        </div>
-                        <div class="content">
-                            <p>Hola <strong>%s</strong>,</p>
-
-                            <div class="warning">
-                                <p><strong>⚠️ Tu pago no pudo ser procesado</strong></p>
-                                <p>Intentamos procesar tu pago %d veces sin éxito.</p>
-                            </div>
-
-                            <p>Detalles de la orden:</p>
-
-                            <div class="detail">
-                                <span class="label">ID de Orden:</span> %s
-                            </div>
-                            <div class="detail">
-                                <span class="label">Monto Total:</span> %s
-                            </div>
-                            <div class="detail">
-                                <span class="label">Intentos realizados:</span> %d
-                            </div>
-
-                            <p><strong>¿Qué puedes hacer?</strong></p>
-                            <ul>
-                                <li>Verifica que tu tarjeta tenga fondos suficientes</li>
-                                <li>Contacta a tu banco para confirmar que la tarjeta esté activa</li>
-                                <li>Intenta nuevamente con otra forma de pago</li>
-                            </ul>
-
-                            <p>Si necesitas ayuda, por favor contacta a nuestro servicio al cliente.</p>
-                        </div>
-                        <div class="footer">
-                            <p>Este es un correo automático. Por favor no responder.</p>
-                            <p>&copy; 2025 Farmatodo. Todos los derechos reservados.</p>
-                        </div>
-                    </div>
-                </body>
-                </html>
-                """,
-                customerName,
-                attempts,
-                orderId,
-                totalAmount,
-                attempts
-        );
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * A recipient rejected by the server will be rejected again.
+     */
+    private static boolean isPermanent(Exception cause) {
+        return cause instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null
+                && sendFailed.getInvalidAddresses().length > 0;
     }
 }
@@ -7,22 +7,34 @@ import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.AuditLogJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.List;
 
 /**
  * Persistence adapter for audit logs.
  * Implements the AuditLogRepositoryPort using JPA.
  * Follows hexagonal architecture pattern.
+ * saveAll writes one JDBC batch (multi-row INSERTs with reWriteBatchedInserts=true).
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogPersistenceAdapter implements AuditLogRepositoryPort {
 
+    static final String INSERT_SQL = """
+            INSERT INTO audit_logs (id, trace_id, event_type, entity_type, entity_id, status,
+                                    error_message, event_data, event_timestamp, user_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final AuditLogJpaRepository auditLogRepository;
     private final AuditLogMapper auditLogMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public AuditLog save(AuditLog auditLog) {
@@ -37,6 +49,28 @@ public class AuditLogPersistenceAdapter implements AuditLogRepositoryPort {
         return auditLogMapper.toDomain(saved);
     }
 
+    @Override
+    @Transactional
+    public void saveAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        log.debug("Saving {} audit logs in one batch", auditLogs.size());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, auditLogs.size(), (statement, auditLog) -> {
+            statement.setObject(1, auditLog.getId(), Types.OTHER);
+            statement.setString(2, auditLog.getTraceId());
+            statement.setString(3, auditLog.getEventType());
+            statement.setString(4, auditLog.getEntityType());
+            statement.setObject(5, auditLog.getEntityId(), Types.OTHER);
+            statement.setString(6, auditLog.getStatus());
+            statement.setString(7, auditLog.getErrorMessage());
+            statement.setString(8, auditLog.getEventData());
+            statement.setTimestamp(9, Timestamp.valueOf(auditLog.getEventTimestamp()));
+            statement.setObject(10, auditLog.getUserId(), Types.OTHER);
+        });
+    }
+
     @Override
     public List<AuditLog> findByTraceId(String traceId) {
         log.debug("Finding audit logs for trace ID: {}", traceId);
@@ -0,0 +1,375 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
+import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache decorator for ProductRepositoryAdapter.
+ *
+ * Serves the repeated findById lookups of cart adds, order creation and stock validation from memory.
+ *
+ * Only findById and findAllByIds are cached; list and paged queries go straight to the delegate.
+ *
+ * Consistency rules:
+ * 1. Entries expire after farmatodo.product.cache-ttl-seconds (bounds staleness of name/price/description)
+ * 2. save, updateStock, increaseStock, reserveStock and deleteById invalidate the entry immediately,
+ *    and again when the surrounding transaction completes (commit or rollback); so do cart stock
+ *    hold changes (StockHoldsChangedEvent), which change held stock outside this adapter
+ * 3. While a transaction has pending writes for a product, findById bypasses the cache so
+ *    uncommitted stock is never published to other threads
+ * 4. A load that races with an invalidation is discarded (generation check)
+ *
+ * Size is bounded by farmatodo.product.cache-max-size. When full, the oldest of a small sample
+ * of entries is evicted (approximate FIFO without a global lock).
+ *
+ * Metrics (tag cache=products): cache.gets{result=hit|miss}, cache.evictions{cause=size|expired}, cache.size.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "farmatodo.product", name = "cache-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CachingProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private static final String CACHE_NAME = "products";
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ProductRepositoryAdapter delegate;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final Map<UUID, CachedProduct> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+
+    @Autowired
+    public CachingProductRepositoryAdapter(ProductRepositoryAdapter delegate,
+                                           FarmatodoProperties properties,
+                                           MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, System::nanoTime);
+    }
+
+    CachingProductRepositoryAdapter(ProductRepositoryAdapter delegate,
+                                    FarmatodoProperties properties,
+                                    MeterRegistry meterRegistry,
+                                    LongSupplier clock) {
+        this.delegate = delegate;
+        this.maxSize = properties.getProduct().getCacheMaxSize();
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(properties.getProduct().getCacheTtlSeconds());
+        this.clock = clock;
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Product cache lookups served from memory").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Product cache lookups loaded from the database").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "size")
+                .description("Product cache entries evicted because the cache was full").register(meterRegistry);
+        this.expirations = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).tag("cause", "expired")
+                .description("Product cache entries dropped after their TTL").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME)
+                .description("Product cache entries").register(meterRegistry);
+
+        log.info("Product cache enabled: max {} entries, TTL {}s",
+                maxSize, properties.getProduct().getCacheTtlSeconds());
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        if (hasPendingWrite(id)) {
+            // This transaction changed the product: read its own uncommitted state, do not cache it
+            return delegate.findById(id);
+        }
+
+        long now = clock.getAsLong();
+        Product cached = cachedCopy(id, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        Optional<Product> loaded = delegate.findById(id);
+        loaded.ifPresent(product -> cache(id, new CachedProduct(copyOf(product), now), loadGeneration));
+        return loaded;
+    }
+
+    /**
+     * Serves cached products from memory and loads all misses with one delegate call.
+     */
+    @Override
+    public Map<UUID, Product> findAllByIds(Collection<UUID> ids) {
+        long now = clock.getAsLong();
+        Map<UUID, Product> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Product cached = hasPendingWrite(id) ? null : cachedCopy(id, now);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long loadGeneration = generation.get();
+        Map<UUID, Product> loaded = delegate.findAllByIds(missing);
+        for (UUID id : missing) {
+            if (hasPendingWrite(id)) {
+                // Uncommitted state of this transaction: return it, do not cache it
+                continue;
+            }
+            misses.increment();
+            Product product = loaded.get(id);
+            if (product != null) {
+                cache(id, new CachedProduct(copyOf(product), now), loadGeneration);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    @Override
+    public Product save(Product product) {
+        try {
+            return delegate.save(product);
+        } finally {
+            invalidate(product.getId());
+        }
+    }
+
+    @Override
+    public Product updateStock(UUID productId, int newStock) {
+        try {
+            return delegate.updateStock(productId, newStock);
+        } finally {
+            // Also on failure: InsufficientStockException means the cached stock was stale
+            invalidate(productId);
+        }
+    }
+
+    @Override
+    public Product increaseStock(UUID productId, int quantity) {
+        try {
+            return delegate.increaseStock(productId, quantity);
+        } finally {
+            invalidate(productId);
+        }
+    }
+
+    @Override
+    public List<Product> reserveStock(Map<UUID, Integer> quantities) {
+        try {
+            return delegate.reserveStock(quantities);
+        } finally {
+            quantities.keySet().forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Invalidates products whose held stock changed. Synchronous, so inside a hold transaction
+     * the products also count as pending writes until it completes.
+     *
+     * @param event the hold change
+     */
+    @EventListener
+    public void onStockHoldsChanged(StockHoldsChangedEvent event) {
+        event.productIds().forEach(this::invalidate);
+    }
+
+    @Override
+    public List<Product> findByNameContaining(String query) {
+        return delegate.findByNameContaining(query);
+    }
+
+    @Override
+    public List<Product> findAllInStock() {
+        return delegate.findAllInStock();
+    }
+
+    @Override
+    public List<Product> findByNameContaining(String query, ProductCursor after, int limit) {
+        return delegate.findByNameContaining(query, after, limit);
+    }
+
+    @Override
+    public List<Product> findAllInStock(ProductCursor after, int limit) {
+        return delegate.findAllInStock(after, limit);
+    }
+
+    @Override
+    public List<Product> findByStockLessThan(int threshold) {
+        return delegate.findByStockLessThan(threshold);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long forEachProduct(Consumer<Product> action) {
+        return delegate.forEachProduct(action);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    /**
+     * Returns a copy of a fresh cached product (counted as a hit), or null. Drops an expired entry.
+     */
+    private Product cachedCopy(UUID id, long now) {
+        CachedProduct cached = entries.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (now - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return copyOf(cached.product());
+        }
+        if (entries.remove(id, cached)) {
+            expirations.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Stores a loaded entry unless an invalidation happened since the load started.
+     * The generation is re-checked after the put so a concurrent invalidation cannot be lost.
+     */
+    private void cache(UUID id, CachedProduct entry, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        entries.put(id, entry);
+        if (generation.get() != loadGeneration) {
+            entries.remove(id, entry);
+            return;
+        }
+        evictIfFull();
+    }
+
+    private void evictIfFull() {
+        while (entries.size() > maxSize) {
+            Map.Entry<UUID, CachedProduct> oldest = null;
+            Iterator<Map.Entry<UUID, CachedProduct>> iterator = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE_SIZE && iterator.hasNext(); i++) {
+                Map.Entry<UUID, CachedProduct> candidate = iterator.next();
+                if (oldest == null || candidate.getValue().loadedAt() < oldest.getValue().loadedAt()) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the entry now and, inside a transaction, again after it completes.
+     */
+    private void invalidate(UUID id) {
+        if (id == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingWrites().add(id);
+        }
+    }
+
+    private boolean hasPendingWrite(UUID id) {
+        Object pending = TransactionSynchronizationManager.getResource(this);
+        return pending instanceof Set<?> ids && ids.contains(id);
+    }
+
+    /**
+     * Product IDs written by the current transaction. Bound on first write, cleared after completion.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<UUID> pendingWrites() {
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<UUID> ids = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CachingProductRepositoryAdapter.this);
+                    generation.incrementAndGet();
+                    ids.forEach(entries::remove);
+                }
+            });
+            pending = ids;
+        }
+        return pending;
+    }
+
+    private static Product copyOf(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .heldStock(product.getHeldStock())
+                .build();
+    }
+
+    /**
+     * Cached product snapshot with its load time (System.nanoTime based).
+     */
+    private record CachedProduct(Product product, long loadedAt) {
+    }
+}
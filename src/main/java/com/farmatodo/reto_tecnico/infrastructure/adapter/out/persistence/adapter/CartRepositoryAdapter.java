@@ -8,6 +8,7 @@ import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartItemMapper;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CartItemJpaRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CartJpaRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
@@ -15,12 +16,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Adapter implementation for cart persistence.
  * Implements the CartRepositoryPort using Spring Data JPA.
+ * upsertItem/removeItem/updateItemQuantity write a single cart_items row, whatever the cart size.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,6 +31,7 @@ import java.util.UUID;
 public class CartRepositoryAdapter implements CartRepositoryPort {
 
     private final CartJpaRepository jpaRepository;
+    private final CartItemJpaRepository itemJpaRepository;
     private final CartMapper cartMapper;
     private final CartItemMapper cartItemMapper;
     private final EntityManager entityManager;
@@ -95,4 +99,50 @@ public class CartRepositoryAdapter implements CartRepositoryPort {
     public boolean existsByCustomerId(UUID customerId) {
         return jpaRepository.existsByCustomerId(customerId);
     }
+
+    @Override
+    @Transactional
+    public void upsertItem(UUID cartId, CartItem item) {
+        UUID productId = item.getProduct().getId();
+        log.debug("Upserting product {} (quantity: {}) in cart: {}", productId, item.getQuantity(), cartId);
+
+        Optional<CartItemEntity> existing = itemJpaRepository.findByCartIdAndProductId(cartId, productId);
+        if (existing.isPresent()) {
+            // Managed entity: dirty checking writes one UPDATE for this line only
+            existing.get().setQuantity(item.getQuantity());
+            existing.get().setUnitPrice(item.getUnitPrice().amount());
+        } else {
+            CartItemEntity line = cartItemMapper.toEntity(item);
+            // References only: neither the cart (with its items) nor the product is loaded
+            line.setCart(entityManager.getReference(CartEntity.class, cartId));
+            line.setProduct(entityManager.getReference(ProductEntity.class, productId));
+            entityManager.persist(line);
+        }
+
+        jpaRepository.touch(cartId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public boolean removeItem(UUID cartId, UUID productId) {
+        log.debug("Removing product {} from cart: {}", productId, cartId);
+
+        boolean removed = itemJpaRepository.deleteByCartIdAndProductId(cartId, productId) > 0;
+        if (removed) {
+            jpaRepository.touch(cartId, LocalDateTime.now());
+        }
+        return removed;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateItemQuantity(UUID cartId, UUID productId, int quantity) {
+        log.debug("Setting quantity of product {} in cart {} to {}", productId, cartId, quantity);
+
+        boolean updated = itemJpaRepository.updateQuantity(cartId, productId, quantity) > 0;
+        if (updated) {
+            jpaRepository.touch(cartId, LocalDateTime.now());
+        }
+        return updated;
+    }
 }
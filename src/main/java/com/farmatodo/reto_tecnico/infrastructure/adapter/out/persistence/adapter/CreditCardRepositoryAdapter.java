@@ -2,11 +2,15 @@ package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapte
 
 import com.farmatodo.reto_tecnico.domain.model.CreditCard;
 import com.farmatodo.reto_tecnico.domain.port.out.CreditCardRepositoryPort;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter.TokenBlindIndex;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CreditCardEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CreditCardMapper;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CreditCardJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,20 +24,26 @@ import java.util.stream.Collectors;
  * Translates between domain CreditCard and JPA CreditCardEntity.
  *
  * SECURITY: All token data is encrypted at rest via CryptoConverter.
+ *
+ * Token lookups probe the unique HMAC blind index (token_hash); older cards are re-indexed at startup.
  */
 @Repository
 @RequiredArgsConstructor
 @Slf4j
 public class CreditCardRepositoryAdapter implements CreditCardRepositoryPort {
 
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
     private final CreditCardJpaRepository jpaRepository;
     private final CreditCardMapper mapper;
+    private final TokenBlindIndex tokenBlindIndex;
 
     @Override
     public CreditCard save(CreditCard creditCard) {
         log.debug("Saving credit card: {} for customer: {}",
                 creditCard.getId(), creditCard.getCustomerId());
         CreditCardEntity entity = mapper.toEntity(creditCard);
+        entity.setTokenHash(tokenBlindIndex.compute(entity.getToken()));
         CreditCardEntity saved = jpaRepository.save(entity);
         return mapper.toDomain(saved);
     }
@@ -48,7 +58,11 @@ public class CreditCardRepositoryAdapter implements CreditCardRepositoryPort {
     @Override
     public Optional<CreditCard> findByToken(String token) {
         log.debug("Finding credit card by token");
-        return jpaRepository.findByToken(token)
+        String tokenHash = tokenBlindIndex.compute(token);
+        if (tokenHash == null) {
+            return Optional.empty();
+        }
+        return jpaRepository.findByTokenHash(tokenHash)
                 .map(mapper::toDomain);
     }
 
@@ -63,6 +77,32 @@ public class CreditCardRepositoryAdapter implements CreditCardRepositoryPort {
     @Override
     public boolean existsByToken(String token) {
         log.debug("Checking if credit card exists with token");
-        return jpaRepository.findByToken(token).isPresent();
+        String tokenHash = tokenBlindIndex.compute(token);
+        return tokenHash != null && jpaRepository.existsByTokenHash(tokenHash);
+    }
+
+    /**
+     * Computes token_hash for cards saved before the blind index existed.
+     * Runs once at startup in batches; a no-op (one query) when every card is indexed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTokenHashes() {
+        int indexed = 0;
+        try {
+            List<CreditCardEntity> batch;
+            while (!(batch = jpaRepository.findByTokenHashIsNullAndTokenIsNotNull(
+                    PageRequest.ofSize(BACKFILL_BATCH_SIZE))).isEmpty()) {
+                batch.forEach(entity -> entity.setTokenHash(tokenBlindIndex.compute(entity.getToken())));
+                jpaRepository.saveAll(batch);
+                indexed += batch.size();
+            }
+        } catch (Exception e) {
+            // Unindexed cards are simply not found by token; never block startup
+            log.error("Token blind index backfill stopped after {} cards", indexed, e);
+            return;
+        }
+        if (indexed > 0) {
+            log.info("Token blind index backfilled for {} credit cards", indexed);
+        }
     }
 }
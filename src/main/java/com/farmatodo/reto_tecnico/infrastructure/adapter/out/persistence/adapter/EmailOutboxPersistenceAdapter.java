@@ -0,0 +1,148 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailOutboxRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistence adapter for the email outbox.
+ * Implements the EmailOutboxRepositoryPort with plain JDBC.
+ *
+ * Claiming is one statement: due PENDING rows are locked with FOR UPDATE SKIP LOCKED (rows held
+ * by another dispatcher are skipped, not waited for), their next_attempt_at is pushed to the
+ * lease end and they are returned.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxPersistenceAdapter implements EmailOutboxRepositoryPort {
+
+    /**
+     * Last error is truncated to the column length.
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    static final String INSERT_SQL = """
+            INSERT INTO email_outbox (id, type, status, recipient, customer_name, order_id, total_amount,
+                                      transaction_id, payment_attempts, delivery_attempts, next_attempt_at, created_at)
+            VALUES (?, ?, 'PENDING', ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String CLAIM_SQL = """
+            UPDATE email_outbox
+            SET next_attempt_at = ?
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= ?
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, type, recipient, customer_name, order_id, total_amount, transaction_id,
+                      payment_attempts, delivery_attempts, next_attempt_at, created_at, last_error
+            """;
+
+    static final String DELETE_SQL = "DELETE FROM email_outbox WHERE id = ?";
+
+    static final String RETRY_SQL = """
+            UPDATE email_outbox SET delivery_attempts = ?, next_attempt_at = ?, last_error = ?
+            WHERE id = ?
+            """;
+
+    static final String FAILED_SQL = """
+            UPDATE email_outbox SET status = 'FAILED', delivery_attempts = ?, last_error = ?
+            WHERE id = ?
+            """;
+
+    private static final RowMapper<EmailOutboxMessage> ROW_MAPPER = (resultSet, rowNum) -> {
+        int paymentAttempts = resultSet.getInt("payment_attempts");
+        return EmailOutboxMessage.builder()
+                .id(resultSet.getObject("id", UUID.class))
+                .type(EmailOutboxMessage.Type.valueOf(resultSet.getString("type")))
+                .recipient(resultSet.getString("recipient"))
+                .customerName(resultSet.getString("customer_name"))
+                .orderId(resultSet.getObject("order_id", UUID.class))
+                .totalAmount(resultSet.getString("total_amount"))
+                .transactionId(resultSet.getString("transaction_id"))
+                .paymentAttempts(resultSet.wasNull() ? null : paymentAttempts)
+                .deliveryAttempts(resultSet.getInt("delivery_attempts"))
+                .nextAttemptAt(resultSet.getTimestamp("next_attempt_at").toLocalDateTime())
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .lastError(resultSet.getString("last_error"))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(EmailOutboxMessage message) {
+        jdbcTemplate.update(INSERT_SQL, statement -> {
+            statement.setObject(1, message.getId(), Types.OTHER);
+            statement.setString(2, message.getType().name());
+            statement.setString(3, message.getRecipient());
+            statement.setString(4, message.getCustomerName());
+            statement.setObject(5, message.getOrderId(), Types.OTHER);
+            statement.setString(6, message.getTotalAmount());
+            statement.setString(7, message.getTransactionId());
+            statement.setObject(8, message.getPaymentAttempts(), Types.INTEGER);
+            statement.setInt(9, message.getDeliveryAttempts());
+            statement.setTimestamp(10, Timestamp.valueOf(message.getNextAttemptAt()));
+            statement.setTimestamp(11, Timestamp.valueOf(message.getCreatedAt()));
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<EmailOutboxMessage> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<EmailOutboxMessage> claimed = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER,
+                Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), limit);
+        if (!claimed.isEmpty()) {
+            log.debug("Claimed {} outbox emails until {}", claimed.size(), leaseUntil);
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(),
+                (statement, id) -> statement.setObject(1, id, Types.OTHER));
+    }
+
+    @Override
+    public void scheduleRetry(UUID id, int deliveryAttempts, LocalDateTime nextAttemptAt, String lastError) {
+        jdbcTemplate.update(RETRY_SQL, statement -> {
+            statement.setInt(1, deliveryAttempts);
+            statement.setTimestamp(2, Timestamp.valueOf(nextAttemptAt));
+            statement.setString(3, truncate(lastError));
+            statement.setObject(4, id, Types.OTHER);
+        });
+    }
+
+    @Override
+    public void markFailed(UUID id, int deliveryAttempts, String lastError) {
+        jdbcTemplate.update(FAILED_SQL, statement -> {
+            statement.setInt(1, deliveryAttempts);
+            statement.setString(2, truncate(lastError));
+            statement.setObject(3, id, Types.OTHER);
+        });
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -5,7 +5,9 @@ import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CustomerEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
@@ -17,17 +19,23 @@ import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapper;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CustomerJpaRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderSummaryProjection;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Adapter implementation for Order persistence.
@@ -38,6 +46,10 @@ import java.util.stream.Collectors;
  * - Order -> OrderEntity (with customer FK)
  * - OrderItems -> OrderItemEntities (with product FK)
  * - Maintains bidirectional relationships
+ *
+ * Read path loads a constant number of queries regardless of how many orders are returned:
+ * orders with items (fetch join), customers (IN), products (IN).
+ * Order history pages skip all of that and read summary projections only.
  */
 @Repository
 @RequiredArgsConstructor
@@ -83,6 +95,40 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
         return entityToDomain(savedEntity);
     }
 
+    /**
+     * Payment state transition as one conditional UPDATE on the order row.
+     */
+    @Override
+    @Transactional
+    public boolean updateStatus(UUID id, Order.OrderStatus expectedStatus, Order.OrderStatus newStatus,
+                                LocalDateTime updatedAt) {
+        log.debug("Updating order {} status {} -> {}", id, expectedStatus, newStatus);
+        return orderJpaRepository.updateStatus(id, toEntityStatus(expectedStatus),
+                toEntityStatus(newStatus), updatedAt) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatusAndPaymentToken(UUID id, Set<Order.OrderStatus> expectedStatuses,
+                                               Order.OrderStatus newStatus, String paymentToken,
+                                               LocalDateTime updatedAt) {
+        log.debug("Updating order {} status {} -> {} with payment token", id, expectedStatuses, newStatus);
+        List<OrderEntity.OrderStatus> entityStatuses = expectedStatuses.stream()
+                .map(OrderRepositoryAdapter::toEntityStatus)
+                .toList();
+        return orderJpaRepository.updateStatusAndPaymentToken(id, entityStatuses,
+                toEntityStatus(newStatus), paymentToken, updatedAt) == 1;
+    }
+
+    @Override
+    @Transactional
+    public int updateStatusIfUpdatedBefore(Order.OrderStatus expectedStatus, Order.OrderStatus newStatus,
+                                           LocalDateTime updatedBefore, LocalDateTime updatedAt) {
+        log.debug("Updating orders {} -> {} last updated before {}", expectedStatus, newStatus, updatedBefore);
+        return orderJpaRepository.updateStatusIfUpdatedBefore(toEntityStatus(expectedStatus),
+                toEntityStatus(newStatus), updatedBefore, updatedAt);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Order> findById(UUID id) {
@@ -95,28 +141,35 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
     @Transactional(readOnly = true)
     public List<Order> findByCustomerId(UUID customerId) {
         log.debug("Finding orders for customer: {}", customerId);
-        return orderJpaRepository.findByCustomerId(customerId).stream()
-                .map(this::entityToDomain)
-                .collect(Collectors.toList());
+        return entitiesToDomain(orderJpaRepository.findByCustomerId(customerId));
+    }
+
+    /**
+     * Reads a page by keyset on (customer_id, created_at, id) as order rows plus an item count.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findSummariesByCustomerId(UUID customerId, OrderCursor after, int limit) {
+        log.debug("Finding order summaries for customer {} after {} (limit {})", customerId, after, limit);
+        List<OrderSummaryProjection> projections = after == null
+                ? orderJpaRepository.findFirstSummaryPageByCustomerId(customerId, PageRequest.ofSize(limit))
+                : orderJpaRepository.findNextSummaryPageByCustomerId(
+                        customerId, after.createdAt(), after.id(), PageRequest.ofSize(limit));
+        return orderMapper.toSummaryList(projections);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Order> findByStatus(Order.OrderStatus status) {
         log.debug("Finding orders by status: {}", status);
-        OrderEntity.OrderStatus entityStatus = OrderEntity.OrderStatus.valueOf(status.name());
-        return orderJpaRepository.findByStatus(entityStatus).stream()
-                .map(this::entityToDomain)
-                .collect(Collectors.toList());
+        return entitiesToDomain(orderJpaRepository.findByStatus(toEntityStatus(status)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Order> findAll() {
         log.debug("Finding all orders");
-        return orderJpaRepository.findAll().stream()
-                .map(this::entityToDomain)
-                .collect(Collectors.toList());
+        return entitiesToDomain(orderJpaRepository.findAll());
     }
 
     @Override
@@ -135,38 +188,78 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
         return orderJpaRepository.existsById(id);
     }
 
+    private static OrderEntity.OrderStatus toEntityStatus(Order.OrderStatus status) {
+        return OrderEntity.OrderStatus.valueOf(status.name());
+    }
+
     /**
      * Converts OrderEntity to domain Order.
-     * Handles loading of related entities (Customer, Products).
      *
      * @param entity the order entity
      * @return domain order
      */
     private Order entityToDomain(OrderEntity entity) {
-        // Load customer
-        CustomerEntity customerEntity = customerJpaRepository.findById(entity.getCustomerId())
-                .orElseThrow(() -> new CustomerNotFoundException(entity.getCustomerId()));
-        Customer customer = customerMapper.toDomain(customerEntity);
-
-        // Convert order (without items)
-        Order order = orderMapper.toDomain(entity, customer);
-
-        // Convert order items with their products
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (OrderItemEntity itemEntity : entity.getItems()) {
-            // Load product for this item
-            ProductEntity productEntity = productJpaRepository.findById(itemEntity.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(itemEntity.getProductId()));
-            Product product = productMapper.toDomain(productEntity);
-
-            // Convert item
-            OrderItem orderItem = orderItemMapper.toDomain(itemEntity, product);
-            orderItems.add(orderItem);
+        return entitiesToDomain(List.of(entity)).get(0);
+    }
+
+    /**
+     * Converts a list of OrderEntities to domain Orders, loading customers and products
+     * with one IN (...) query each for the whole list.
+     *
+     * @param entities the order entities (items already fetched)
+     * @return domain orders in the same order
+     */
+    private List<Order> entitiesToDomain(List<OrderEntity> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
         }
 
-        // Set items on order
-        order.setItems(orderItems);
+        Set<UUID> customerIds = new HashSet<>();
+        Set<UUID> productIds = new HashSet<>();
+        for (OrderEntity entity : entities) {
+            customerIds.add(entity.getCustomerId());
+            for (OrderItemEntity itemEntity : entity.getItems()) {
+                productIds.add(itemEntity.getProductId());
+            }
+        }
+
+        // Load customers and products in one query each
+        Map<UUID, Customer> customers = new HashMap<>();
+        for (CustomerEntity customerEntity : customerJpaRepository.findAllById(customerIds)) {
+            customers.put(customerEntity.getId(), customerMapper.toDomain(customerEntity));
+        }
+        Map<UUID, Product> products = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (ProductEntity productEntity : productJpaRepository.findAllById(productIds)) {
+                products.put(productEntity.getId(), productMapper.toDomain(productEntity));
+            }
+        }
+
+        List<Order> orders = new ArrayList<>(entities.size());
+        for (OrderEntity entity : entities) {
+            Customer customer = customers.get(entity.getCustomerId());
+            if (customer == null) {
+                throw new CustomerNotFoundException(entity.getCustomerId());
+            }
+
+            // Convert order (without items)
+            Order order = orderMapper.toDomain(entity, customer);
+
+            // Convert order items with their products
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (OrderItemEntity itemEntity : entity.getItems()) {
+                Product product = products.get(itemEntity.getProductId());
+                if (product == null) {
+                    throw new ProductNotFoundException(itemEntity.getProductId());
+                }
+                orderItems.add(orderItemMapper.toDomain(itemEntity, product));
+            }
+
+            // Set items on order
+            order.setItems(orderItems);
+            orders.add(order);
+        }
 
-        return order;
+        return orders;
     }
 }
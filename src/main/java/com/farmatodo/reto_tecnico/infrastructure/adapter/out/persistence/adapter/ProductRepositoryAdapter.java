@@ -1,21 +1,36 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
 import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
 import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductCatalogJdbcRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository.ReservationLine;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.HotSkuStockManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Adapter implementation for Product persistence.
@@ -24,6 +39,12 @@ import java.util.UUID;
  *
  * CRITICAL: Contains atomic stock update logic to prevent race conditions.
  * Uses database-level atomic query for stock reduction.
+ * Multi-product reservations go through ProductStockJdbcRepository (one statement per basket).
+ * Full catalog scans go through ProductCatalogJdbcRepository (streaming cursor).
+ * Products flagged as hot SKUs are reserved in memory by HotSkuStockManager instead.
+ *
+ * Publishes a ProductChangedEvent after every successful write (save, stock update, delete)
+ * so in-memory read models such as ProductSearchIndex stay in sync.
  */
 @Repository
 @RequiredArgsConstructor
@@ -31,22 +52,45 @@ import java.util.UUID;
 public class ProductRepositoryAdapter implements ProductRepositoryPort {
 
     private final ProductJpaRepository jpaRepository;
+    private final ProductStockJdbcRepository stockJdbcRepository;
+    private final ProductCatalogJdbcRepository catalogJdbcRepository;
     private final ProductMapper mapper;
     private final FarmatodoProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotSkuStockManager hotSkuStock;
 
     @Override
     public Product save(Product product) {
         log.debug("Saving product: {}", product.getId());
         ProductEntity entity = mapper.toEntity(product);
         ProductEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        Product savedProduct = mapper.toDomain(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
+        return savedProduct;
     }
 
     @Override
     public Optional<Product> findById(UUID id) {
         log.debug("Finding product by ID: {}", id);
         return jpaRepository.findById(id)
-                .map(mapper::toDomain);
+                .map(mapper::toDomain)
+                .map(this::withLedgerStock);
+    }
+
+    /**
+     * Loads every product with one IN query (JpaRepository.findAllById).
+     */
+    @Override
+    public Map<UUID, Product> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        log.debug("Finding {} products by ID", ids.size());
+        Map<UUID, Product> products = new HashMap<>();
+        for (ProductEntity entity : jpaRepository.findAllById(new LinkedHashSet<>(ids))) {
+            products.put(entity.getId(), withLedgerStock(mapper.toDomain(entity)));
+        }
+        return products;
     }
 
     @Override
@@ -65,6 +109,27 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         return mapper.toDomainList(entities);
     }
 
+    @Override
+    public List<Product> findByNameContaining(String query, ProductCursor after, int limit) {
+        int minStock = properties.getProduct().getMinStockThreshold();
+        log.debug("Searching products by name: '{}' after {} (limit {})", query, after, limit);
+        List<ProductEntity> entities = after == null
+                ? jpaRepository.findFirstPageByNameContainingIgnoreCase(query, minStock, PageRequest.ofSize(limit))
+                : jpaRepository.findNextPageByNameContainingIgnoreCase(
+                        query, minStock, after.name(), after.id(), PageRequest.ofSize(limit));
+        return mapper.toDomainList(entities);
+    }
+
+    @Override
+    public List<Product> findAllInStock(ProductCursor after, int limit) {
+        int minStock = properties.getProduct().getMinStockThreshold();
+        log.debug("Finding products in stock after {} (limit {})", after, limit);
+        List<ProductEntity> entities = after == null
+                ? jpaRepository.findFirstPageInStock(minStock, PageRequest.ofSize(limit))
+                : jpaRepository.findNextPageInStock(minStock, after.name(), after.id(), PageRequest.ofSize(limit));
+        return mapper.toDomainList(entities);
+    }
+
     @Override
     public List<Product> findByStockLessThan(int threshold) {
         log.debug("Finding products with stock less than: {}", threshold);
@@ -80,6 +145,20 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         return mapper.toDomainList(jpaRepository.findAll());
     }
 
+    /**
+     * Streams the catalog through a forward-only cursor (see ProductCatalogJdbcRepository),
+     * farmatodo.product.export-fetch-size rows per round trip.
+     * Read-only transaction: PostgreSQL only uses a cursor with autocommit off.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachProduct(Consumer<Product> action) {
+        int fetchSize = properties.getProduct().getExportFetchSize();
+        log.debug("Scanning all products (fetch size {})", fetchSize);
+        return catalogJdbcRepository.scan(fetchSize,
+                entity -> action.accept(withLedgerStock(mapper.toDomain(entity))));
+    }
+
     /**
      * Updates stock using ATOMIC database query.
      * This is the CRITICAL FIX for the race condition (Red Flag #1).
@@ -102,6 +181,11 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     @Transactional
     public Product updateStock(UUID productId, int newStock) {
         log.debug("Updating stock for product {} to {}", productId, newStock);
+        if (hotSkuStock.isHot(productId)) {
+            // An absolute value would overwrite sales the ledger has not written yet
+            throw new IllegalStateException(
+                    "Stock of hot product " + productId + " is managed in memory; use increaseStock or reservations");
+        }
 
         // First, verify product exists
         ProductEntity product = jpaRepository.findById(productId)
@@ -142,7 +226,132 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         ProductEntity updated = jpaRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId));
 
-        return mapper.toDomain(updated);
+        Product updatedProduct = mapper.toDomain(updated);
+        if (quantityToReduce != 0) {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(updatedProduct));
+        }
+        return updatedProduct;
+    }
+
+    /**
+     * Reserves stock for a whole basket in ONE SQL statement (see ProductStockJdbcRepository).
+     * Rows are locked in product ID order and either every line is decremented or none is.
+     * Hot SKU lines are reserved from the in-memory ledger after the database lines succeed;
+     * a ledger shortage throws and the transaction rollback undoes the database lines.
+     *
+     * IMPORTANT: Must be called within a transaction.
+     *
+     * @param quantities quantity to reserve per product ID
+     * @return updated products: database lines ordered by product ID, then hot SKU lines
+     * @throws ProductNotFoundException if any product does not exist
+     * @throws InsufficientStockException listing every line without enough stock
+     */
+    @Override
+    @Transactional
+    public List<Product> reserveStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        quantities.forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity to reserve must be positive for product: " + productId);
+            }
+        });
+        log.debug("Reserving stock for {} products", quantities.size());
+
+        Map<UUID, Integer> hot = new LinkedHashMap<>();
+        Map<UUID, Integer> cold = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) ->
+                (hotSkuStock.isHot(productId) ? hot : cold).put(productId, quantity));
+
+        // Database lines first: if they fail, no in-memory reservation has been made yet
+        List<Product> reserved = cold.isEmpty() ? new ArrayList<>() : reserveInDatabase(cold);
+        if (!hot.isEmpty()) {
+            reserved.addAll(reserveHotSkus(hot));
+        }
+
+        reserved.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.stockChanged(product)));
+        log.info("Reserved stock for {} products ({} in memory)", reserved.size(), hot.size());
+        return reserved;
+    }
+
+    /**
+     * Reserves database-backed lines in one statement (see ProductStockJdbcRepository).
+     */
+    private List<Product> reserveInDatabase(Map<UUID, Integer> quantities) {
+        List<ReservationLine> lines = stockJdbcRepository.reserve(quantities);
+
+        List<InsufficientStockException.Shortage> shortages = new ArrayList<>();
+        List<Product> reserved = new ArrayList<>(lines.size());
+        for (ReservationLine line : lines) {
+            if (line.availableStock() == null) {
+                throw new ProductNotFoundException(line.productId());
+            }
+            if (line.updated() == null) {
+                if (line.availableStock() < line.requestedQuantity()) {
+                    shortages.add(new InsufficientStockException.Shortage(
+                            line.productId(), line.productName(), line.availableStock(), line.requestedQuantity()));
+                }
+            } else {
+                reserved.add(mapper.toDomain(line.updated()));
+            }
+        }
+
+        if (!shortages.isEmpty()) {
+            log.warn("Stock reservation rejected: {} of {} lines short", shortages.size(), lines.size());
+            throw new InsufficientStockException(shortages);
+        }
+
+        return reserved;
+    }
+
+    /**
+     * Reserves hot SKU lines from the in-memory ledger; the returned products carry the ledger stock.
+     */
+    private List<Product> reserveHotSkus(Map<UUID, Integer> quantities) {
+        Map<UUID, Long> remaining = hotSkuStock.reserve(quantities);
+        List<Product> reserved = new ArrayList<>(remaining.size());
+        for (ProductEntity entity : jpaRepository.findAllById(remaining.keySet())) {
+            Product product = mapper.toDomain(entity);
+            product.setStock((int) Math.min(Integer.MAX_VALUE, remaining.get(entity.getId())));
+            reserved.add(product);
+        }
+        return reserved;
+    }
+
+    /**
+     * Adds units with a relative UPDATE; for hot SKUs the ledger gets them after commit too.
+     */
+    @Override
+    @Transactional
+    public Product increaseStock(UUID productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to add must be positive for product: " + productId);
+        }
+        log.debug("Increasing stock for product {} by {}", productId, quantity);
+
+        if (jpaRepository.increaseStockAtomic(productId, quantity) == 0) {
+            throw new ProductNotFoundException(productId);
+        }
+        if (hotSkuStock.isHot(productId)) {
+            hotSkuStock.restock(productId, quantity);
+        }
+
+        Product updated = jpaRepository.findById(productId)
+                .map(mapper::toDomain)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(updated));
+        return updated;
+    }
+
+    /**
+     * Hot SKU stock in the products table lags the ledger by up to one flush; report the ledger value.
+     */
+    private Product withLedgerStock(Product product) {
+        if (hotSkuStock.isHot(product.getId())) {
+            product.setStock((int) Math.min(Integer.MAX_VALUE, hotSkuStock.available(product.getId())));
+        }
+        return product;
     }
 
     @Override
@@ -150,6 +359,7 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         log.debug("Deleting product: {}", id);
         if (jpaRepository.existsById(id)) {
             jpaRepository.deleteById(id);
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
             return true;
         }
         return false;
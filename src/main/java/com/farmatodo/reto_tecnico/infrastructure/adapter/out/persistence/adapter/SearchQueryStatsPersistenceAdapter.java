@@ -0,0 +1,75 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.domain.port.out.SearchQueryStatsRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persistence adapter for per-minute search aggregates.
+ * Implements the SearchQueryStatsRepositoryPort with plain JDBC.
+ *
+ * Writes are a batched additive upsert, so a minute flushed twice (e.g. once at shutdown and
+ * again by another instance) sums up instead of failing or overwriting.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchQueryStatsPersistenceAdapter implements SearchQueryStatsRepositoryPort {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO search_query_stats (bucket_start, query, search_count, zero_result_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (bucket_start, query) DO UPDATE
+            SET search_count = search_query_stats.search_count + EXCLUDED.search_count,
+                zero_result_count = search_query_stats.zero_result_count + EXCLUDED.zero_result_count
+            """;
+
+    static final String TOP_QUERIES_SQL = """
+            SELECT query, SUM(search_count) AS searches, SUM(zero_result_count) AS zero_result_searches
+            FROM search_query_stats
+            WHERE bucket_start >= ?
+            GROUP BY query
+            ORDER BY searches DESC, query
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addAll(List<SearchQueryStat> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        log.debug("Adding {} search aggregates in one batch", stats.size());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, stats, stats.size(), (statement, stat) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(stat.getBucketStart()));
+            statement.setString(2, stat.getQuery());
+            statement.setLong(3, stat.getSearchCount());
+            statement.setLong(4, stat.getZeroResultCount());
+        });
+    }
+
+    @Override
+    public List<TopSearchQuery> findTopQueries(LocalDateTime since, int limit) {
+        log.debug("Finding top {} search queries since {}", limit, since);
+
+        return jdbcTemplate.query(TOP_QUERIES_SQL,
+                (resultSet, rowNum) -> TopSearchQuery.builder()
+                        .query(resultSet.getString("query"))
+                        .searches(resultSet.getLong("searches"))
+                        .zeroResultSearches(resultSet.getLong("zero_result_searches"))
+                        .build(),
+                Timestamp.valueOf(since), limit);
+    }
+}
@@ -0,0 +1,217 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
+import com.farmatodo.reto_tecnico.domain.port.out.StockHoldRepositoryPort;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.HotSkuStockManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistence adapter for cart stock holds.
+ * Implements the StockHoldRepositoryPort with plain JDBC.
+ *
+ * Every statement that changes a hold keeps products.held_stock current (available = stock - held_stock).
+ *
+ * Locking: every change to the holds of a product happens under that product's row lock, and
+ * the lock is taken before the hold rows are read (LOCK_PRODUCT_SQL, LOCK_CART_PRODUCTS_SQL).
+ * Products are locked in ID order, like ProductStockJdbcRepository.RESERVE_SQL. The expiry sweep
+ * never waits: it skips holds whose row or product is locked (FOR UPDATE SKIP LOCKED).
+ *
+ * Hot SKUs (HotSkuStockManager) are not held: their stock lives in the in-memory ledger and
+ * is arbitrated at checkout.
+ *
+ * Every change publishes a StockHoldsChangedEvent with the affected product IDs, so cached
+ * products (CachingProductRepositoryAdapter) never report stale held stock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockHoldPersistenceAdapter implements StockHoldRepositoryPort {
+
+    static final String LOCK_PRODUCT_SQL = "SELECT id FROM products WHERE id = ? FOR UPDATE";
+
+    /**
+     * Runs after LOCK_PRODUCT_SQL, so it sees the latest held_stock and hold row.
+     * The cart's previous hold counts as available; held_stock moves by the difference.
+     */
+    static final String HOLD_SQL = """
+            WITH line AS (
+                SELECT p.id, p.name,
+                       p.stock - p.held_stock + COALESCE(h.quantity, 0) AS available,
+                       COALESCE(h.quantity, 0) AS previous
+                FROM products p
+                LEFT JOIN cart_stock_holds h ON h.product_id = p.id AND h.cart_id = CAST(? AS uuid)
+                WHERE p.id = CAST(? AS uuid)
+            ),
+            held AS (
+                INSERT INTO cart_stock_holds (cart_id, product_id, quantity, expires_at)
+                SELECT CAST(? AS uuid), l.id, CAST(? AS int4), CAST(? AS timestamp)
+                FROM line l
+                WHERE l.available >= CAST(? AS int4)
+                ON CONFLICT (cart_id, product_id)
+                DO UPDATE SET quantity = EXCLUDED.quantity, expires_at = EXCLUDED.expires_at
+                RETURNING product_id, quantity
+            ),
+            counted AS (
+                UPDATE products p
+                SET held_stock = p.held_stock + h.quantity - l.previous
+                FROM held h, line l
+                WHERE p.id = h.product_id
+                RETURNING p.id
+            )
+            SELECT l.name, l.available, EXISTS (SELECT 1 FROM held) AS applied
+            FROM line l
+            """;
+
+    static final String LOCK_CART_PRODUCTS_SQL = """
+            SELECT p.id FROM products p
+            WHERE p.id IN (SELECT product_id FROM cart_stock_holds WHERE cart_id = ?)
+            ORDER BY p.id
+            FOR UPDATE
+            """;
+
+    static final String RELEASE_CART_SQL = """
+            WITH released AS (
+                DELETE FROM cart_stock_holds
+                WHERE cart_id = ?
+                RETURNING product_id, quantity
+            ),
+            counted AS (
+                UPDATE products p
+                SET held_stock = p.held_stock - r.quantity
+                FROM released r
+                WHERE p.id = r.product_id
+                RETURNING p.id
+            )
+            SELECT count(*) FROM released
+            """;
+
+    /**
+     * Reads idx_cart_stock_holds_expires_at from the oldest hold and stops after {@code limit}
+     * rows, so the cost depends on the batch, not on the number of active holds.
+     */
+    static final String RELEASE_EXPIRED_SQL = """
+            WITH expired AS (
+                SELECT h.cart_id, h.product_id
+                FROM cart_stock_holds h
+                JOIN products p ON p.id = h.product_id
+                WHERE h.expires_at <= ?
+                ORDER BY h.expires_at
+                LIMIT ?
+                FOR UPDATE OF h, p SKIP LOCKED
+            ),
+            released AS (
+                DELETE FROM cart_stock_holds h
+                USING expired e
+                WHERE h.cart_id = e.cart_id AND h.product_id = e.product_id
+                RETURNING h.product_id, h.quantity
+            ),
+            totals AS (
+                SELECT product_id, SUM(quantity) AS quantity, count(*) AS holds
+                FROM released
+                GROUP BY product_id
+            ),
+            counted AS (
+                UPDATE products p
+                SET held_stock = p.held_stock - t.quantity
+                FROM totals t
+                WHERE p.id = t.product_id
+                RETURNING p.id
+            )
+            SELECT product_id, holds FROM totals
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotSkuStockManager hotSkuStock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Outcome of HOLD_SQL.
+     */
+    private record HoldResult(String productName, int available, boolean applied) {
+    }
+
+    /**
+     * One product's share of RELEASE_EXPIRED_SQL.
+     */
+    private record ReleasedHolds(UUID productId, int holds) {
+    }
+
+    @Override
+    @Transactional
+    public void hold(UUID cartId, UUID productId, int quantity, LocalDateTime expiresAt) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to hold must be positive for product: " + productId);
+        }
+        if (hotSkuStock.isHot(productId)) {
+            log.debug("Product {} is a hot SKU, no hold for cart {}", productId, cartId);
+            return;
+        }
+
+        List<UUID> locked = jdbcTemplate.query(LOCK_PRODUCT_SQL,
+                (resultSet, rowNum) -> resultSet.getObject("id", UUID.class), productId);
+        if (locked.isEmpty()) {
+            throw new ProductNotFoundException(productId);
+        }
+
+        HoldResult result = jdbcTemplate.queryForObject(HOLD_SQL,
+                (resultSet, rowNum) -> new HoldResult(resultSet.getString("name"),
+                        resultSet.getInt("available"), resultSet.getBoolean("applied")),
+                cartId, productId, cartId, quantity, Timestamp.valueOf(expiresAt), quantity);
+        if (!result.applied()) {
+            int available = Math.max(0, result.available());
+            log.warn("Hold rejected for product {} in cart {}. Requested: {}, Available: {}",
+                    productId, cartId, quantity, available);
+            throw new InsufficientStockException(productId, result.productName(), available, quantity);
+        }
+        eventPublisher.publishEvent(new StockHoldsChangedEvent(Set.of(productId)));
+        log.debug("Cart {} holds {} units of product {} until {}", cartId, quantity, productId, expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public int releaseCart(UUID cartId) {
+        List<UUID> locked = jdbcTemplate.query(LOCK_CART_PRODUCTS_SQL,
+                (resultSet, rowNum) -> resultSet.getObject("id", UUID.class), cartId);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        Integer released = jdbcTemplate.queryForObject(RELEASE_CART_SQL, Integer.class, cartId);
+        eventPublisher.publishEvent(new StockHoldsChangedEvent(new HashSet<>(locked)));
+        log.debug("Released {} holds of cart {}", released, cartId);
+        return released == null ? 0 : released;
+    }
+
+    @Override
+    @Transactional
+    public int releaseExpired(LocalDateTime now, int limit) {
+        List<ReleasedHolds> released = jdbcTemplate.query(RELEASE_EXPIRED_SQL,
+                (resultSet, rowNum) -> new ReleasedHolds(resultSet.getObject("product_id", UUID.class),
+                        resultSet.getInt("holds")),
+                Timestamp.valueOf(now), limit);
+        if (released.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> productIds = new HashSet<>();
+        int total = 0;
+        for (ReleasedHolds line : released) {
+            productIds.add(line.productId());
+            total += line.holds();
+        }
+        eventPublisher.publishEvent(new StockHoldsChangedEvent(productIds));
+        return total;
+    }
+}
@@ -0,0 +1,98 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-256-GCM encryption engine behind CryptoConverter.
+ *
+ * The key is built once and each thread reuses its own Cipher with a fresh IV per call.
+ *
+ * Format: Base64(IV || Ciphertext || AuthTag).
+ *
+ * Thread-safe. Cipher is not, hence one instance per thread.
+ */
+final class AesGcmEngine {
+
+    static final int KEY_LENGTH = 32; // 256 bits
+
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final int GCM_IV_LENGTH = 12; // 96 bits
+    private static final int GCM_TAG_LENGTH = 128; // bits
+    private static final int GCM_TAG_BYTES = GCM_TAG_LENGTH / 8;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final SecretKeySpec key;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(AesGcmEngine::newCipher);
+
+    /**
+     * @param keyBytes exactly 32 bytes of key material
+     */
+    AesGcmEngine(byte[] keyBytes) {
+        if (keyBytes.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("AES-256 key must be " + KEY_LENGTH + " bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    /**
+     * Encrypts a UTF-8 string with a random IV.
+     *
+     * @param plaintext non-null plaintext
+     * @return Base64(IV || Ciphertext || AuthTag)
+     */
+    String encrypt(String plaintext) throws GeneralSecurityException {
+        byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] output = new byte[GCM_IV_LENGTH + input.length + GCM_TAG_BYTES];
+
+        // IV is stored as the output prefix
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        System.arraycopy(iv, 0, output, 0, GCM_IV_LENGTH);
+
+        Cipher c = cipher.get();
+        c.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+        c.doFinal(input, 0, input.length, output, GCM_IV_LENGTH);
+
+        return ENCODER.encodeToString(output);
+    }
+
+    /**
+     * Decrypts a value produced by {@link #encrypt(String)}.
+     *
+     * @param encoded Base64(IV || Ciphertext || AuthTag)
+     * @return the plaintext
+     * @throws GeneralSecurityException if the value is too short or fails authentication
+     * @throws IllegalArgumentException if the value is not valid Base64
+     */
+    String decrypt(String encoded) throws GeneralSecurityException {
+        byte[] decoded = DECODER.decode(encoded);
+        if (decoded.length < GCM_IV_LENGTH + GCM_TAG_BYTES) {
+            throw new GeneralSecurityException("Encrypted value too short");
+        }
+
+        Cipher c = cipher.get();
+        c.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, decoded, 0, GCM_IV_LENGTH));
+        int plaintextLength = c.doFinal(decoded, GCM_IV_LENGTH, decoded.length - GCM_IV_LENGTH, decoded, 0);
+
+        return new String(decoded, 0, plaintextLength, StandardCharsets.UTF_8);
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -7,14 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
-import java.util.Base64;
 
 /**
  * JPA AttributeConverter for encrypting/decrypting sensitive data using AES-GCM.
@@ -29,6 +22,8 @@ import java.util.Base64;
  * 1. Stored in environment variable (never in code/config files)
  * 2. At least 32 characters (256 bits) for AES-256
  * 3. Rotated periodically per security policy
+ *
+ * The key is read once, on first use; a key change requires a restart.
  */
 @Converter
 @Component
@@ -36,13 +31,13 @@ import java.util.Base64;
 @Slf4j
 public class CryptoConverter implements AttributeConverter<String, String> {
 
-    private static final String ALGORITHM = "AES/GCM/NoPadding";
-    private static final int GCM_IV_LENGTH = 12; // 96 bits
-    private static final int GCM_TAG_LENGTH = 128; // bits
-    private static final int AES_KEY_SIZE = 32; // 256 bits
-
     private final FarmatodoProperties properties;
-    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Engine built from the configured key on first use and reused afterwards.
+     * Lazy so a missing key only fails the operations that need it, as before.
+     */
+    private volatile AesGcmEngine engine;
 
     /**
      * Encrypts plaintext to ciphertext before persisting to database.
@@ -60,25 +55,7 @@ public class CryptoConverter implements AttributeConverter<String, String> {
         }
 
         try {
-            // Generate random IV for this encryption
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            secureRandom.nextBytes(iv);
-
-            // Encrypt
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey(), parameterSpec);
-
-            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
-
-            // Combine IV + Ciphertext for storage
-            ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + ciphertext.length);
-            byteBuffer.put(iv);
-            byteBuffer.put(ciphertext);
-
-            // Encode to Base64 for database storage
-            return Base64.getEncoder().encodeToString(byteBuffer.array());
-
+            return engine().encrypt(plaintext);
         } catch (Exception e) {
             log.error("Encryption failed", e);
             throw new RuntimeException("Failed to encrypt sensitive data", e);
@@ -99,39 +76,35 @@ public class CryptoConverter implements AttributeConverter<String, String> {
         }
 
         try {
-            // Decode from Base64
-            byte[] decoded = Base64.getDecoder().decode(encryptedData);
-
-            // Extract IV and ciphertext
-            ByteBuffer byteBuffer = ByteBuffer.wrap(decoded);
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byteBuffer.get(iv);
-
-            byte[] ciphertext = new byte[byteBuffer.remaining()];
-            byteBuffer.get(ciphertext);
-
-            // Decrypt
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, getSecretKey(), parameterSpec);
-
-            byte[] plaintext = cipher.doFinal(ciphertext);
-            return new String(plaintext, StandardCharsets.UTF_8);
-
+            return engine().decrypt(encryptedData);
         } catch (Exception e) {
             log.error("Decryption failed", e);
             throw new RuntimeException("Failed to decrypt sensitive data", e);
         }
     }
 
+    private AesGcmEngine engine() {
+        AesGcmEngine current = engine;
+        if (current == null) {
+            synchronized (this) {
+                current = engine;
+                if (current == null) {
+                    current = new AesGcmEngine(getSecretKeyBytes());
+                    engine = current;
+                }
+            }
+        }
+        return current;
+    }
+
     /**
-     * Derives AES SecretKey from configured encryption key.
+     * Derives AES key material from configured encryption key.
      * Uses first 32 bytes of configured key for AES-256.
      *
-     * @return SecretKey for AES encryption
+     * @return key bytes for AES encryption
      * @throws IllegalStateException if encryption key is not configured
      */
-    private SecretKey getSecretKey() {
+    private byte[] getSecretKeyBytes() {
         String configuredKey = properties.getEncryption().getKey();
 
         if (configuredKey == null || configuredKey.isEmpty()) {
@@ -140,14 +113,13 @@ public class CryptoConverter implements AttributeConverter<String, String> {
             );
         }
 
-        if (configuredKey.length() < AES_KEY_SIZE) {
+        if (configuredKey.length() < AesGcmEngine.KEY_LENGTH) {
             throw new IllegalStateException(
-                String.format("Encryption key must be at least %d characters for AES-256", AES_KEY_SIZE)
+                String.format("Encryption key must be at least %d characters for AES-256", AesGcmEngine.KEY_LENGTH)
             );
         }
 
         // Use first 32 bytes of configured key
-        byte[] keyBytes = configuredKey.substring(0, AES_KEY_SIZE).getBytes(StandardCharsets.UTF_8);
-        return new SecretKeySpec(keyBytes, "AES");
+        return configuredKey.substring(0, AesGcmEngine.KEY_LENGTH).getBytes(StandardCharsets.UTF_8);
     }
 }
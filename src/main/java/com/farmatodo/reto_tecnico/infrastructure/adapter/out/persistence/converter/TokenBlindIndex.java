@@ -0,0 +1,89 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Deterministic HMAC-SHA256 "blind index" for encrypted columns.
+ *
+ * CryptoConverter uses a random IV, so the same token encrypts to a different ciphertext every
+ * time and cannot be searched. The blind index is stored next to the ciphertext and makes
+ * equality lookups a single indexed probe without revealing the plaintext.
+ *
+ * Key: farmatodo.encryption.blind-index-key, or if unset a key derived from
+ * farmatodo.encryption.key (HMAC with a fixed label). The derived key is never the AES key itself.
+ *
+ * CRITICAL: changing either key invalidates every stored index; rows must be re-indexed.
+ */
+@Component
+@Slf4j
+public class TokenBlindIndex {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String KEY_DERIVATION_LABEL = "farmatodo-token-blind-index-v1";
+
+    private final SecretKeySpec indexKey;
+
+    /**
+     * Mac instances are not thread-safe; one per thread avoids re-initialising on every call.
+     */
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public TokenBlindIndex(FarmatodoProperties properties) {
+        this.indexKey = new SecretKeySpec(resolveKey(properties.getEncryption()), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Computes the blind index for a value.
+     *
+     * @param value the plaintext value (e.g. payment token)
+     * @return 64-character hex HMAC, or null if the value is null or empty
+     */
+    public String compute(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        byte[] digest = mac.get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(indexKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static byte[] resolveKey(FarmatodoProperties.Encryption encryption) {
+        String blindIndexKey = encryption.getBlindIndexKey();
+        if (blindIndexKey != null && !blindIndexKey.isEmpty()) {
+            return blindIndexKey.getBytes(StandardCharsets.UTF_8);
+        }
+
+        String encryptionKey = encryption.getKey();
+        if (encryptionKey == null || encryptionKey.isEmpty()) {
+            throw new IllegalStateException(
+                "Blind index key not configured. Set farmatodo.encryption.blind-index-key or farmatodo.encryption.key."
+            );
+        }
+
+        log.info("farmatodo.encryption.blind-index-key not set, deriving blind index key from encryption key");
+        try {
+            Mac derivation = Mac.getInstance(HMAC_ALGORITHM);
+            derivation.init(new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return derivation.doFinal(KEY_DERIVATION_LABEL.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive blind index key", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -126,7 +127,7 @@ public class AuditLogEntity {
     @PrePersist
     protected void onCreate() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = Ids.newId();
         }
         if (eventTimestamp == null) {
             eventTimestamp = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -50,7 +51,7 @@ public class CartEntity {
     @PrePersist
     protected void onCreate() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = Ids.newId();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
 
+import com.farmatodo.reto_tecnico.domain.id.Ids;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +15,10 @@ import java.util.UUID;
  * Represents the persistence layer model for a cart item.
  */
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", uniqueConstraints = {
+        // One line per product; also serves item-level lookups by (cart, product)
+        @UniqueConstraint(name = "uk_cart_item_cart_product", columnNames = {"cart_id", "product_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -42,7 +46,7 @@ public class CartItemEntity {
     @PrePersist
     protected void onCreate() {
         if (id == null) {
-            id = UUID.randomUUID();
+            id = Ids.newId();
         }
     }
 }
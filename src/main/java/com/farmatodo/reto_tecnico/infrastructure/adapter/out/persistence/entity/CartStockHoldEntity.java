@@ -0,0 +1,56 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA entity for cart stock holds.
+ * One row per product per cart: units soft-reserved until expires_at. Rows are written and
+ * released by StockHoldPersistenceAdapter (JDBC), together with products.held_stock.
+ * Mapped so the schema is managed with the rest.
+ *
+ * idx_cart_stock_holds_expires_at lets the sweeper read expired holds oldest first and stop
+ * after one batch instead of scanning the table.
+ */
+@Entity
+@Table(name = "cart_stock_holds", indexes = {
+        @Index(name = "idx_cart_stock_holds_expires_at", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartStockHoldEntity {
+
+    @EmbeddedId
+    private CartStockHoldId id;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Composite key: cart + product.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CartStockHoldId implements Serializable {
+
+        @Column(name = "cart_id", nullable = false)
+        private UUID cartId;
+
+        @Column(name = "product_id", nullable = false)
+        private UUID productId;
+    }
+}
@@ -16,11 +16,14 @@ import java.util.UUID;
  * SECURITY CRITICAL:
  * - CVV is NEVER persisted (transient field)
  * - Token is encrypted at rest using CryptoConverter (AES-GCM)
+ * - Token lookups use token_hash, a deterministic HMAC blind index (TokenBlindIndex)
  * - Card number stored as masked string (last 4 digits only)
  * - Full card number NEVER stored in database
  */
 @Entity
-@Table(name = "credit_cards")
+@Table(name = "credit_cards", indexes = {
+    @Index(name = "uk_credit_card_token_hash", columnList = "token_hash", unique = true)
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -67,6 +70,12 @@ public class CreditCardEntity {
     @Column(name = "token", length = 500)
     private String token;
 
+    /**
+     * Blind index of the token: HMAC-SHA256 hex, computed by CreditCardRepositoryAdapter on save.
+     */
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
     /**
      * Cardholder name as appears on card.
      */
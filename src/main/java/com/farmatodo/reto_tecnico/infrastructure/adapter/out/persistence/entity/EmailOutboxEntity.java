@@ -0,0 +1,66 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA entity for the email outbox.
+ * Rows are written and claimed by EmailOutboxPersistenceAdapter (JDBC); mapped so the schema
+ * is managed with the rest. Delivered rows are deleted, FAILED rows are kept for inspection.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxEntity {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "type", nullable = false, length = 30)
+    private String type;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "recipient", nullable = false, length = 255)
+    private String recipient;
+
+    @Column(name = "customer_name", length = 255)
+    private String customerName;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "total_amount", length = 50)
+    private String totalAmount;
+
+    @Column(name = "transaction_id", length = 100)
+    private String transactionId;
+
+    @Column(name = "payment_attempts")
+    private Integer paymentAttempts;
+
+    @Column(name = "delivery_attempts", nullable = false)
+    private Integer deliveryAttempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
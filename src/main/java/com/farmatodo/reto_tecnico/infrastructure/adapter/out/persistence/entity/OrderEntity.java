@@ -26,7 +26,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_order_customer_id", columnList = "customer_id"),
+    @Index(name = "idx_order_customer_created_id", columnList = "customer_id, created_at, id"),
     @Index(name = "idx_order_status", columnList = "status"),
     @Index(name = "idx_order_created_at", columnList = "created_at")
 })
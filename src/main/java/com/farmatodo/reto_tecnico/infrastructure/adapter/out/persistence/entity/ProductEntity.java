@@ -16,10 +16,15 @@ import java.util.UUID;
  *
  * IMPORTANT: Stock updates use optimistic locking (@Version) to prevent race conditions.
  * Additionally, atomic UPDATE queries ensure stock is never oversold.
+ *
+ * idx_product_name_id matches the (name, id) keyset ordering used for catalog pagination.
+ *
+ * held_stock is the running total of cart stock holds (cart_stock_holds). It is only changed by
+ * StockHoldPersistenceAdapter and ProductStockJdbcRepository, so JPA never writes it.
  */
 @Entity
 @Table(name = "products", indexes = {
-    @Index(name = "idx_product_name", columnList = "name")
+    @Index(name = "idx_product_name_id", columnList = "name, id")
 })
 @Data
 @Builder
@@ -43,6 +48,10 @@ public class ProductEntity {
     @Column(name = "stock", nullable = false)
     private Integer stock;
 
+    @Column(name = "held_stock", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private Integer heldStock;
+
     /**
      * Optimistic locking version field.
      * Automatically incremented by JPA on each update.
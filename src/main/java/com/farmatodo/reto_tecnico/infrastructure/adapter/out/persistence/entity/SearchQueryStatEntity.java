@@ -0,0 +1,51 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for per-minute search aggregates.
+ * One row per normalized query per minute; rows are written additively by
+ * SearchQueryStatsPersistenceAdapter (JDBC upsert). Mapped so the schema is managed with the rest.
+ */
+@Entity
+@Table(name = "search_query_stats", indexes = {
+        @Index(name = "idx_search_query_stats_bucket", columnList = "bucket_start")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchQueryStatEntity {
+
+    @EmbeddedId
+    private SearchQueryStatId id;
+
+    @Column(name = "search_count", nullable = false)
+    private Long searchCount;
+
+    @Column(name = "zero_result_count", nullable = false)
+    private Long zeroResultCount;
+
+    /**
+     * Composite key: minute bucket + normalized query.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchQueryStatId implements Serializable {
+
+        @Column(name = "bucket_start", nullable = false)
+        private LocalDateTime bucketStart;
+
+        @Column(name = "query", length = 200, nullable = false)
+        private String query;
+    }
+}
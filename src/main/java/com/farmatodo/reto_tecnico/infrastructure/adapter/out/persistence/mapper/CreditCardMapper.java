@@ -31,6 +31,7 @@ public interface CreditCardMapper {
     @Mapping(target = "cardNumberMasked", expression = "java(creditCard.getCardNumber().getMasked())")
     @Mapping(target = "lastFourDigits", expression = "java(creditCard.getCardNumber().getLastFourDigits())")
     @Mapping(target = "cvv", ignore = true) // NEVER persist CVV
+    @Mapping(target = "tokenHash", ignore = true) // Computed by CreditCardRepositoryAdapter
     CreditCardEntity toEntity(CreditCard creditCard);
 
     /**
@@ -2,8 +2,10 @@ package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper
 
 import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderSummaryProjection;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -60,6 +62,24 @@ public interface OrderMapper {
     @Mapping(target = "items", ignore = true) // Handle separately in adapter
     Order toDomain(OrderEntity entity, Customer customer);
 
+    /**
+     * Converts an order history projection to a domain OrderSummary.
+     *
+     * @param projection order row with item count
+     * @return domain summary
+     */
+    @Mapping(target = "totalAmount", expression = "java(Money.of(projection.totalAmount()))")
+    @Mapping(target = "status", expression = "java(mapEntityStatus(projection.status()))")
+    OrderSummary toSummary(OrderSummaryProjection projection);
+
+    /**
+     * Converts order history projections to domain OrderSummaries.
+     *
+     * @param projections order rows with item counts
+     * @return domain summaries in the same order
+     */
+    List<OrderSummary> toSummaryList(List<OrderSummaryProjection> projections);
+
     /**
      * Maps domain OrderStatus to entity OrderStatus.
      * @param status domain status
@@ -0,0 +1,57 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CartItemEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA repository for single cart line operations.
+ * Every query is a probe on the (cart_id, product_id) unique index, so its cost
+ * does not depend on how many lines the cart has.
+ */
+@Repository
+public interface CartItemJpaRepository extends JpaRepository<CartItemEntity, UUID> {
+
+    /**
+     * Finds the line for a product in a cart.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @return Optional containing the line if the product is in the cart
+     */
+    @Query("SELECT i FROM CartItemEntity i WHERE i.cart.id = :cartId AND i.product.id = :productId")
+    Optional<CartItemEntity> findByCartIdAndProductId(@Param("cartId") UUID cartId,
+                                                      @Param("productId") UUID productId);
+
+    /**
+     * Sets the quantity of a cart line.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @param quantity the new quantity
+     * @return number of rows updated (0 = product not in cart)
+     */
+    @Modifying
+    @Query("UPDATE CartItemEntity i SET i.quantity = :quantity " +
+           "WHERE i.cart.id = :cartId AND i.product.id = :productId")
+    int updateQuantity(@Param("cartId") UUID cartId,
+                       @Param("productId") UUID productId,
+                       @Param("quantity") int quantity);
+
+    /**
+     * Deletes a cart line.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @return number of rows deleted (0 = product not in cart)
+     */
+    @Modifying
+    @Query("DELETE FROM CartItemEntity i WHERE i.cart.id = :cartId AND i.product.id = :productId")
+    int deleteByCartIdAndProductId(@Param("cartId") UUID cartId, @Param("productId") UUID productId);
+}
@@ -2,8 +2,12 @@ package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.reposi
 
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CartEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,4 +39,16 @@ public interface CartJpaRepository extends JpaRepository<CartEntity, UUID> {
      * @return true if cart exists
      */
     boolean existsByCustomerId(UUID customerId);
+
+    /**
+     * Sets the cart's updated_at without loading the cart and its items.
+     * Used by item-level operations, which do not go through CartEntity.
+     *
+     * @param cartId the cart ID
+     * @param updatedAt the new timestamp
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE CartEntity c SET c.updatedAt = :updatedAt WHERE c.id = :cartId")
+    int touch(@Param("cartId") UUID cartId, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -1,11 +1,13 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
 
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CreditCardEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,8 +15,8 @@ import java.util.UUID;
  * Spring Data JPA repository for CreditCardEntity.
  * Provides CRUD operations for credit card persistence.
  *
- * SECURITY NOTE: All queries operate on encrypted tokens.
- * CryptoConverter automatically handles encryption/decryption.
+ * SECURITY NOTE: Tokens are encrypted with a random IV and can not be queried directly.
+ * Token lookups use token_hash (HMAC blind index computed by TokenBlindIndex).
  */
 @Repository
 public interface CreditCardJpaRepository extends JpaRepository<CreditCardEntity, UUID> {
@@ -35,13 +37,28 @@ public interface CreditCardJpaRepository extends JpaRepository<CreditCardEntity,
     );
 
     /**
-     * Finds credit card by token (encrypted comparison).
-     * Token is automatically decrypted by CryptoConverter.
+     * Finds credit card by token blind index (unique index probe).
      *
-     * @param token the payment token
+     * @param tokenHash HMAC blind index of the payment token
      * @return Optional containing credit card if found
      */
-    Optional<CreditCardEntity> findByToken(String token);
+    Optional<CreditCardEntity> findByTokenHash(String tokenHash);
+
+    /**
+     * Checks if a credit card exists with the given token blind index (unique index probe).
+     *
+     * @param tokenHash HMAC blind index of the payment token
+     * @return true if a credit card exists
+     */
+    boolean existsByTokenHash(String tokenHash);
+
+    /**
+     * Finds cards that have a token but no blind index yet (rows saved before token_hash existed).
+     *
+     * @param pageable batch size
+     * @return batch of cards to re-index
+     */
+    List<CreditCardEntity> findByTokenHashIsNullAndTokenIsNotNull(Pageable pageable);
 
     /**
      * Finds all credit cards belonging to a customer.
@@ -49,5 +66,5 @@ public interface CreditCardJpaRepository extends JpaRepository<CreditCardEntity,
      * @param customerId the customer ID
      * @return list of credit cards for the customer
      */
-    java.util.List<CreditCardEntity> findByCustomerId(UUID customerId);
+    List<CreditCardEntity> findByCustomerId(UUID customerId);
 }
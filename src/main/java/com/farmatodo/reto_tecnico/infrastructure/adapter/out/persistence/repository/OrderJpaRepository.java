@@ -1,13 +1,18 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
 
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,17 +23,72 @@ import java.util.UUID;
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
 
     /**
-     * Finds all orders for a specific customer.
+     * Finds an order by ID with its items fetched in the same query.
+     * @param id the order ID
+     * @return the order if found
+     */
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findById(UUID id);
+
+    /**
+     * Finds all orders with their items fetched in the same query.
+     * @return list of all orders
+     */
+    @Override
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findAll();
+
+    /**
+     * Finds all orders for a specific customer, items fetched in the same query.
      * @param customerId the customer ID
      * @return list of customer orders
      */
+    @EntityGraph(attributePaths = "items")
     List<OrderEntity> findByCustomerId(UUID customerId);
 
     /**
-     * Finds orders by status.
+     * KEYSET PAGINATION: first page of a customer's order summaries, newest first.
+     * Served by idx_order_customer_created_id (read backwards, stops after LIMIT rows).
+     * The item count is a correlated COUNT evaluated only for the returned rows.
+     * @param customerId the customer ID
+     * @param pageable page size (page number is always 0)
+     * @return first page of order summaries
+     */
+    @Query("SELECT new com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderSummaryProjection(" +
+           "o.id, o.status, o.totalAmount, SIZE(o.items), o.createdAt) " +
+           "FROM OrderEntity o WHERE o.customerId = :customerId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryProjection> findFirstSummaryPageByCustomerId(@Param("customerId") UUID customerId,
+                                                                  Pageable pageable);
+
+    /**
+     * KEYSET PAGINATION: page of a customer's order summaries strictly after (afterCreatedAt, afterId).
+     * The redundant "createdAt <= :afterCreatedAt" gives the planner an index range to start from.
+     * Cost does not grow with page depth, unlike OFFSET.
+     * @param customerId the customer ID
+     * @param afterCreatedAt createdAt of the last order of the previous page
+     * @param afterId id of the last order of the previous page
+     * @param pageable page size (page number is always 0)
+     * @return next page of order summaries
+     */
+    @Query("SELECT new com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderSummaryProjection(" +
+           "o.id, o.status, o.totalAmount, SIZE(o.items), o.createdAt) " +
+           "FROM OrderEntity o WHERE o.customerId = :customerId " +
+           "AND o.createdAt <= :afterCreatedAt " +
+           "AND (o.createdAt < :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id < :afterId)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryProjection> findNextSummaryPageByCustomerId(@Param("customerId") UUID customerId,
+                                                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                                 @Param("afterId") UUID afterId,
+                                                                 Pageable pageable);
+
+    /**
+     * Finds orders by status, items fetched in the same query.
      * @param status the order status
      * @return list of orders with given status
      */
+    @EntityGraph(attributePaths = "items")
     List<OrderEntity> findByStatus(OrderEntity.OrderStatus status);
 
     /**
@@ -50,4 +110,59 @@ public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
      * @return list of matching orders
      */
     List<OrderEntity> findByCustomerIdAndStatus(UUID customerId, OrderEntity.OrderStatus status);
+
+    /**
+     * CONDITIONAL STATUS UPDATE: changes the status only if the order is still in expectedStatus.
+     * One indexed single-row write that doubles as an optimistic state-machine guard.
+     * IMPORTANT: Must be called within a transaction.
+     * @param id order ID
+     * @param expectedStatus current status required for the update
+     * @param newStatus new status
+     * @param updatedAt new updatedAt timestamp
+     * @return number of rows updated (0 = status changed concurrently or order not found)
+     */
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.status = :newStatus, o.updatedAt = :updatedAt " +
+           "WHERE o.id = :id AND o.status = :expectedStatus")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("expectedStatus") OrderEntity.OrderStatus expectedStatus,
+                     @Param("newStatus") OrderEntity.OrderStatus newStatus,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * CONDITIONAL STATUS UPDATE with payment token.
+     * The token parameter is typed by o.paymentToken, so CryptoConverter encrypts it like on save.
+     * IMPORTANT: Must be called within a transaction.
+     * @param id order ID
+     * @param expectedStatuses statuses of which the order must currently have one
+     * @param newStatus new status
+     * @param paymentToken payment token (plaintext, encrypted by the converter)
+     * @param updatedAt new updatedAt timestamp
+     * @return number of rows updated (0 = status changed concurrently or order not found)
+     */
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.status = :newStatus, o.paymentToken = :paymentToken, " +
+           "o.updatedAt = :updatedAt WHERE o.id = :id AND o.status IN :expectedStatuses")
+    int updateStatusAndPaymentToken(@Param("id") UUID id,
+                                    @Param("expectedStatuses") Collection<OrderEntity.OrderStatus> expectedStatuses,
+                                    @Param("newStatus") OrderEntity.OrderStatus newStatus,
+                                    @Param("paymentToken") String paymentToken,
+                                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * BULK CONDITIONAL STATUS UPDATE for orders that stayed in expectedStatus since before a cutoff.
+     * IMPORTANT: Must be called within a transaction.
+     * @param expectedStatus current status required for the update
+     * @param newStatus new status
+     * @param updatedBefore only orders with an older updatedAt are changed
+     * @param updatedAt new updatedAt timestamp
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.status = :newStatus, o.updatedAt = :updatedAt " +
+           "WHERE o.status = :expectedStatus AND o.updatedAt < :updatedBefore")
+    int updateStatusIfUpdatedBefore(@Param("expectedStatus") OrderEntity.OrderStatus expectedStatus,
+                                    @Param("newStatus") OrderEntity.OrderStatus newStatus,
+                                    @Param("updatedBefore") LocalDateTime updatedBefore,
+                                    @Param("updatedAt") LocalDateTime updatedAt);
 }
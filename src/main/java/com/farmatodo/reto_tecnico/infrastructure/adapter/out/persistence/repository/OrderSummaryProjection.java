@@ -0,0 +1,20 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPQL constructor projection for order history: the order row plus its item count.
+ * Selected with "new", so no OrderEntity (and no items collection) is instantiated.
+ */
+public record OrderSummaryProjection(
+        UUID id,
+        OrderEntity.OrderStatus status,
+        BigDecimal totalAmount,
+        Integer itemCount,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,72 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository that streams the whole product catalog.
+ *
+ * SCAN_SQL is read through a forward-only cursor of {@code fetchSize} rows, ordered by (name, id).
+ *
+ * PostgreSQL only honours the fetch size when autocommit is off, so the scan must run inside a
+ * transaction (the caller's JPA transaction, whose connection JpaTransactionManager exposes).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductCatalogJdbcRepository {
+
+    static final String SCAN_SQL = """
+            SELECT id, name, description, price, stock, held_stock, version
+            FROM products
+            ORDER BY name, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Passes every product row to {@code action}, in (name, id) order, one fetch at a time.
+     * Must be called within a transaction, otherwise the driver reads the whole result at once.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @param action called once per row; the entity is detached and not reused
+     * @return number of rows read
+     */
+    public long scan(int fetchSize, Consumer<ProductEntity> action) {
+        AtomicLong rows = new AtomicLong();
+        jdbcTemplate.query(
+                (Connection connection) -> {
+                    PreparedStatement statement = connection.prepareStatement(SCAN_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                (ResultSet rs) -> {
+                    action.accept(mapRow(rs));
+                    rows.incrementAndGet();
+                }
+        );
+        return rows.get();
+    }
+
+    private static ProductEntity mapRow(ResultSet rs) throws SQLException {
+        return ProductEntity.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .stock(rs.getInt("stock"))
+                .heldStock(rs.getInt("held_stock"))
+                .version(rs.getObject("version", Long.class))
+                .build();
+    }
+}
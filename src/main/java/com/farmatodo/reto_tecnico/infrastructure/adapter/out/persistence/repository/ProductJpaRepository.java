@@ -1,6 +1,7 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
 
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -38,6 +39,66 @@ public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID>
     @Query("SELECT p FROM ProductEntity p WHERE p.stock > :minStock")
     List<ProductEntity> findAllInStock(@Param("minStock") int minStock);
 
+    /**
+     * KEYSET PAGINATION: first page of products matching a name, ordered by (name, id).
+     * Only the page is read (LIMIT from pageable), no COUNT query is issued.
+     * @param name the product name to search
+     * @param minStock minimum stock threshold (configurable)
+     * @param pageable page size (page number is always 0)
+     * @return first page of matching products
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "AND p.stock > :minStock ORDER BY p.name, p.id")
+    List<ProductEntity> findFirstPageByNameContainingIgnoreCase(@Param("name") String name,
+                                                                @Param("minStock") int minStock,
+                                                                Pageable pageable);
+
+    /**
+     * KEYSET PAGINATION: page of products matching a name strictly after (afterName, afterId).
+     * Cost does not grow with page depth, unlike OFFSET.
+     * @param name the product name to search
+     * @param minStock minimum stock threshold (configurable)
+     * @param afterName name of the last product of the previous page
+     * @param afterId id of the last product of the previous page
+     * @param pageable page size (page number is always 0)
+     * @return next page of matching products
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "AND p.stock > :minStock " +
+           "AND (p.name > :afterName OR (p.name = :afterName AND p.id > :afterId)) " +
+           "ORDER BY p.name, p.id")
+    List<ProductEntity> findNextPageByNameContainingIgnoreCase(@Param("name") String name,
+                                                               @Param("minStock") int minStock,
+                                                               @Param("afterName") String afterName,
+                                                               @Param("afterId") UUID afterId,
+                                                               Pageable pageable);
+
+    /**
+     * KEYSET PAGINATION: first page of in-stock products, ordered by (name, id).
+     * Served by idx_product_name_id without sorting the whole table.
+     * @param minStock minimum stock threshold (configurable)
+     * @param pageable page size (page number is always 0)
+     * @return first page of in-stock products
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.stock > :minStock ORDER BY p.name, p.id")
+    List<ProductEntity> findFirstPageInStock(@Param("minStock") int minStock, Pageable pageable);
+
+    /**
+     * KEYSET PAGINATION: page of in-stock products strictly after (afterName, afterId).
+     * @param minStock minimum stock threshold (configurable)
+     * @param afterName name of the last product of the previous page
+     * @param afterId id of the last product of the previous page
+     * @param pageable page size (page number is always 0)
+     * @return next page of in-stock products
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.stock > :minStock " +
+           "AND (p.name > :afterName OR (p.name = :afterName AND p.id > :afterId)) " +
+           "ORDER BY p.name, p.id")
+    List<ProductEntity> findNextPageInStock(@Param("minStock") int minStock,
+                                            @Param("afterName") String afterName,
+                                            @Param("afterId") UUID afterId,
+                                            Pageable pageable);
+
     /**
      * ATOMIC STOCK UPDATE - CRITICAL FOR RACE CONDITION FIX.
      *
@@ -52,11 +113,14 @@ public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID>
      *
      * IMPORTANT: Must be called within a transaction.
      *
+     * Flushes before and clears after, like increaseStockAtomic, so the product read back
+     * afterwards carries the reduced stock instead of the entity cached before the UPDATE.
+     *
      * @param id product ID
      * @param quantity quantity to reduce
      * @return number of rows updated (0 = failed/insufficient stock, 1 = success)
      */
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity " +
            "WHERE p.id = :id AND p.stock >= :quantity")
     int reduceStockAtomic(@Param("id") UUID id, @Param("quantity") int quantity);
@@ -65,11 +129,14 @@ public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID>
      * Atomically increases stock.
      * Used for restocking or order cancellations.
      *
+     * The bulk UPDATE bypasses the persistence context, so it is flushed before and cleared
+     * after: a later findById in the same transaction reads the new stock, not a cached entity.
+     *
      * @param id product ID
      * @param quantity quantity to add
      * @return number of rows updated
      */
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE ProductEntity p SET p.stock = p.stock + :quantity WHERE p.id = :id")
     int increaseStockAtomic(@Param("id") UUID id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,164 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC repository for multi-product stock reservation.
+ *
+ * RESERVE_SQL validates and reserves a whole basket in one statement:
+ *
+ * 1. requested: unnest the (id, quantity) arrays into rows
+ * 2. locked:    SELECT ... ORDER BY id FOR UPDATE - rows are locked in id order, so two baskets
+ *               touching the same products always lock them in the same order (no deadlocks)
+ * 3. lines:     requested lines joined with their available stock, stock - held_stock
+ *               (NULL = product missing)
+ * 4. updated:   decrement every line, guarded by "no line is missing or short" (all-or-nothing)
+ * 5. result:    one row per requested line with available stock and, if applied, the updated row
+ *
+ * Units held by carts (held_stock) are not available; a cart releases its own holds before its
+ * checkout reserves (CartService.checkout).
+ *
+ * Plain JDBC is used because the statement needs PostgreSQL arrays, CTEs and RETURNING.
+ * Runs inside the caller's JPA transaction (JpaTransactionManager exposes its connection).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockJdbcRepository {
+
+    static final String RESERVE_SQL = """
+            WITH requested AS (
+                SELECT r.id, r.quantity
+                FROM unnest(CAST(? AS uuid[]), CAST(? AS int4[])) AS r(id, quantity)
+            ),
+            locked AS (
+                SELECT p.id, p.name, p.stock - p.held_stock AS available
+                FROM products p
+                WHERE p.id IN (SELECT id FROM requested)
+                ORDER BY p.id
+                FOR UPDATE
+            ),
+            lines AS (
+                SELECT r.id, l.name, l.available, r.quantity
+                FROM requested r
+                LEFT JOIN locked l ON l.id = r.id
+            ),
+            updated AS (
+                UPDATE products p
+                SET stock = p.stock - r.quantity
+                FROM requested r
+                WHERE p.id = r.id
+                  AND NOT EXISTS (SELECT 1 FROM lines WHERE available IS NULL OR available < quantity)
+                RETURNING p.id, p.description, p.price, p.stock, p.held_stock, p.version
+            )
+            SELECT ln.id, ln.name, ln.available AS available_stock, ln.quantity AS requested_quantity,
+                   u.id IS NOT NULL AS applied, u.description, u.price, u.stock AS new_stock, u.held_stock,
+                   u.version
+            FROM lines ln
+            LEFT JOIN updated u ON u.id = ln.id
+            ORDER BY ln.id
+            """;
+
+    /**
+     * Write-behind of hot SKU sales (HotSkuStockManager): one statement for the whole batch.
+     * Relative decrement, so it composes with any other stock change made in the meantime.
+     */
+    static final String DECREMENT_SQL = """
+            UPDATE products p
+            SET stock = p.stock - d.quantity
+            FROM unnest(CAST(? AS uuid[]), CAST(? AS int8[])) AS d(id, quantity)
+            WHERE p.id = d.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Result for one requested line.
+     * @param productId the product ID
+     * @param productName product name (null if the product does not exist)
+     * @param availableStock stock minus held units before the reservation (null if the product does not exist)
+     * @param requestedQuantity requested quantity
+     * @param updated product row after the reservation, null if the reservation was not applied
+     */
+    public record ReservationLine(UUID productId, String productName, Integer availableStock,
+                                  int requestedQuantity, ProductEntity updated) {
+    }
+
+    /**
+     * Reserves stock for every line in one statement, all-or-nothing.
+     * Must be called within a transaction so the row locks are held until commit.
+     *
+     * @param quantities quantity to reserve per product ID
+     * @return one line per requested product, ordered by product ID
+     */
+    public List<ReservationLine> reserve(Map<UUID, Integer> quantities) {
+        UUID[] ids = quantities.keySet().toArray(UUID[]::new);
+        Integer[] amounts = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            amounts[i] = quantities.get(ids[i]);
+        }
+
+        return jdbcTemplate.query(
+                (Connection connection) -> {
+                    PreparedStatement statement = connection.prepareStatement(RESERVE_SQL);
+                    statement.setArray(1, connection.createArrayOf("uuid", ids));
+                    statement.setArray(2, connection.createArrayOf("int4", amounts));
+                    return statement;
+                },
+                (rs, rowNum) -> mapLine(rs)
+        );
+    }
+
+    /**
+     * Decrements stock for several products in one statement, without any availability check
+     * (the units were already granted by the hot SKU ledger).
+     *
+     * @param quantities units to subtract per product ID
+     * @return number of product rows updated
+     */
+    public int decrementStock(Map<UUID, Long> quantities) {
+        UUID[] ids = quantities.keySet().toArray(UUID[]::new);
+        Long[] amounts = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            amounts[i] = quantities.get(ids[i]);
+        }
+
+        return jdbcTemplate.update((Connection connection) -> {
+            PreparedStatement statement = connection.prepareStatement(DECREMENT_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("int8", amounts));
+            return statement;
+        });
+    }
+
+    private static ReservationLine mapLine(ResultSet rs) throws SQLException {
+        UUID productId = rs.getObject("id", UUID.class);
+        Integer available = rs.getObject("available_stock", Integer.class);
+
+        ProductEntity updated = null;
+        if (rs.getBoolean("applied")) {
+            updated = ProductEntity.builder()
+                    .id(productId)
+                    .name(rs.getString("name"))
+                    .description(rs.getString("description"))
+                    .price(rs.getBigDecimal("price"))
+                    .stock(rs.getInt("new_stock"))
+                    .heldStock(rs.getInt("held_stock"))
+                    .version(rs.getObject("version", Long.class))
+                    .build();
+        }
+
+        return new ReservationLine(productId, rs.getString("name"), available,
+                rs.getInt("requested_quantity"), updated);
+    }
+}
@@ -0,0 +1,317 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot SKU mode: stock of flagged products is reserved in memory instead of on the products row.
+ *
+ * For products listed in farmatodo.hot-sku.product-ids, reservations are granted by
+ * StripedStockLedger with CAS operations, and the committed decrements are written to the
+ * products table in one batched statement every farmatodo.hot-sku.flush-interval-millis.
+ *
+ * Reservation lifecycle (tied to the caller's transaction):
+ * 1. reserve:        units taken from the ledger (rejected with InsufficientStockException if short)
+ * 2. before commit:  sale appended to the StockJournal and fsynced; a journal failure rolls back
+ * 3. after commit:   units queued for the write-behind flush
+ * 4. after rollback: units returned to the ledger (and the journaled sale cancelled)
+ *
+ * Startup: sales in the journal that were never flushed are written to the products table first,
+ * then the ledger is loaded from the (now correct) stock. See StockJournal for why a crash at any
+ * point can only under-sell. After a flush, the journal is compacted once it passes
+ * farmatodo.hot-sku.journal-compact-bytes, so it never grows for the whole uptime.
+ *
+ * CRITICAL: the ledger is per JVM. Run hot SKU mode on ONE instance; two instances would each
+ * load the full stock. While a product is hot its stock in the products table lags by up to one
+ * flush interval, and its stock must change only through reservations and increaseStock.
+ *
+ * Metrics: hot_sku.reservations{result=granted|rejected}, hot_sku.unflushed (units).
+ */
+@Component
+@Slf4j
+public class HotSkuStockManager {
+
+    private final FarmatodoProperties.HotSku config;
+    private final ProductJpaRepository productRepository;
+    private final ProductStockJdbcRepository stockJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedStockLedger ledger;
+
+    private final Counter granted;
+    private final Counter rejected;
+
+    private StockJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public HotSkuStockManager(FarmatodoProperties properties,
+                              ProductJpaRepository productRepository,
+                              ProductStockJdbcRepository stockJdbcRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.config = properties.getHotSku();
+        this.productRepository = productRepository;
+        this.stockJdbcRepository = stockJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledger = new StripedStockLedger(config.getStripes());
+
+        this.granted = Counter.builder("hot_sku.reservations").tag("result", "granted")
+                .description("Hot SKU reservations granted by the in-memory ledger").register(meterRegistry);
+        this.rejected = Counter.builder("hot_sku.reservations").tag("result", "rejected")
+                .description("Hot SKU reservations rejected for insufficient stock").register(meterRegistry);
+        Gauge.builder("hot_sku.unflushed", ledger, StripedStockLedger::unflushed)
+                .description("Committed hot SKU units not yet written to the products table").register(meterRegistry);
+    }
+
+    /**
+     * Recovers unflushed sales from the journal, loads the ledger and starts the flush thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled() || config.getProductIds().isEmpty()) {
+            return;
+        }
+        try {
+            journal = new StockJournal(Path.of(config.getJournalPath()));
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open hot SKU journal " + config.getJournalPath(), e);
+        }
+
+        for (ProductEntity product : productRepository.findAllById(config.getProductIds())) {
+            ledger.load(product.getId(), product.getName(), product.getStock());
+            log.info("Hot SKU {} ({}) loaded with stock {}", product.getName(), product.getId(), product.getStock());
+        }
+        if (ledger.productIds().size() < config.getProductIds().size()) {
+            log.warn("Some farmatodo.hot-sku.product-ids do not exist and are ignored");
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-sku-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getFlushIntervalMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Hot SKU mode started: {} products, {} stripes, flush every {}ms",
+                ledger.productIds().size(), config.getStripes(), interval);
+    }
+
+    /**
+     * Stops the flush thread and writes the remaining committed units.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Error closing hot SKU journal", e);
+        }
+        log.info("Hot SKU mode stopped");
+    }
+
+    /**
+     * @return true if the product's stock is held by the in-memory ledger
+     */
+    public boolean isHot(UUID productId) {
+        return ledger.contains(productId);
+    }
+
+    /**
+     * @return units available in the ledger (the up-to-date stock of a hot product)
+     */
+    public long available(UUID productId) {
+        return ledger.available(productId);
+    }
+
+    /**
+     * Reserves every line from the ledger, all-or-nothing, tied to the current transaction.
+     *
+     * @param quantities units per hot product ID (all positive)
+     * @return available units per product after the reservation
+     * @throws InsufficientStockException listing every line without enough stock
+     */
+    public Map<UUID, Long> reserve(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> reserved = new LinkedHashMap<>();
+        List<InsufficientStockException.Shortage> shortages = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            if (ledger.tryReserve(productId, quantity)) {
+                reserved.put(productId, quantity);
+            } else {
+                shortages.add(new InsufficientStockException.Shortage(productId, ledger.productName(productId),
+                        (int) Math.min(Integer.MAX_VALUE, ledger.available(productId)), quantity));
+            }
+        });
+
+        if (!shortages.isEmpty()) {
+            reserved.forEach(ledger::release);
+            rejected.increment();
+            throw new InsufficientStockException(shortages);
+        }
+        granted.increment();
+
+        Map<UUID, Long> remaining = new LinkedHashMap<>();
+        reserved.keySet().forEach(productId -> remaining.put(productId, ledger.available(productId)));
+        bindToTransaction(reserved);
+        return remaining;
+    }
+
+    /**
+     * Adds restocked units to the ledger once the caller's transaction commits
+     * (the products row itself is increased by the caller).
+     */
+    public void restock(UUID productId, int quantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ledger.restock(productId, quantity);
+                }
+            });
+        } else {
+            ledger.restock(productId, quantity);
+        }
+    }
+
+    /**
+     * Writes committed units to the products table in one statement and marks them flushed.
+     * @return number of products written
+     */
+    int flush() {
+        Map<UUID, Long> drained = ledger.drainCommitted();
+        if (drained.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> stockJdbcRepository.decrementStock(drained));
+        } catch (RuntimeException e) {
+            ledger.restoreCommitted(drained);
+            throw e;
+        }
+        try {
+            journal.appendAndSync(StockJournal.FLUSHED, drained);
+        } catch (IOException e) {
+            // Database is already updated; a missing F record only makes recovery under-sell
+            log.error("Hot SKU flush written but not journaled; next recovery will subtract it again", e);
+            return drained.size();
+        }
+        compactJournalIfLarge();
+        log.debug("Hot SKU write-behind: {} products updated", drained.size());
+        return drained.size();
+    }
+
+    private void compactJournalIfLarge() {
+        if (journal.size() < config.getJournalCompactBytes()) {
+            return;
+        }
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            // The old journal is still complete; retried after the next flush
+            log.warn("Cannot compact hot SKU journal", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // Never let the flusher die; the units stay queued for the next run
+            log.error("Error writing hot SKU stock to the database", e);
+        }
+    }
+
+    /**
+     * Applies sales that were journaled but never flushed, then starts a fresh journal.
+     */
+    private void recover() throws IOException {
+        Map<UUID, Long> outstanding = journal.outstanding();
+        if (!outstanding.isEmpty()) {
+            log.warn("Hot SKU recovery: applying {} unflushed sales from the journal", outstanding.size());
+            transactionTemplate.executeWithoutResult(status -> stockJdbcRepository.decrementStock(outstanding));
+        }
+        journal.reset();
+    }
+
+    private void bindToTransaction(Map<UUID, Integer> reserved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            journalSale(reserved);
+            reserved.forEach(ledger::commit);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean journaled;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                journalSale(reserved);
+                journaled = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    reserved.forEach(ledger::release);
+                    if (journaled) {
+                        cancelSale(reserved);
+                    }
+                } else {
+                    // COMMITTED, or UNKNOWN: counting an uncertain sale as sold can only under-sell
+                    reserved.forEach(ledger::commit);
+                }
+            }
+        });
+    }
+
+    private void journalSale(Map<UUID, Integer> reserved) {
+        try {
+            journal.appendAndSync(StockJournal.SALE, reserved);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot journal hot SKU sale", e);
+        }
+    }
+
+    private void cancelSale(Map<UUID, Integer> reserved) {
+        try {
+            // Not fsynced: if lost, recovery subtracts the units anyway (under-sell, never oversell)
+            journal.append(StockJournal.CANCEL, reserved);
+        } catch (IOException e) {
+            log.warn("Cannot journal hot SKU cancellation", e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only crash-recovery journal for the hot SKU ledger.
+ *
+ * One line per product and event: "S id qty" (sale committed), "C id qty" (sale rolled back
+ * after being journaled), "F id qty" (written to the products table). Replaying the file gives,
+ * per product, the units sold but not yet written: S - C - F.
+ *
+ * Why this never oversells: a sale is fsynced BEFORE its transaction commits, and F is appended
+ * only AFTER the database write commits. A crash can only leave extra S records (sale rolled back
+ * or flushed but not yet marked), which makes recovery subtract too much - under-selling - never
+ * too little. A torn last line was never fsynced, so its transaction never committed; it is ignored.
+ *
+ * Group commit: appends are cheap writes to the page cache; {@link #sync(long)} fsyncs once for
+ * every append made so far, so concurrent committers share one fsync.
+ *
+ * Compaction: {@link #compact()} rewrites the file as one S record per product with outstanding
+ * units (the same S - C - F a replay would compute) and atomically replaces it, so the file
+ * stays proportional to unflushed sales instead of growing for the whole uptime. Sales that are
+ * journaled but not yet committed are part of the outstanding units, so they survive it.
+ */
+@Slf4j
+final class StockJournal implements Closeable {
+
+    static final char SALE = 'S';
+    static final char CANCEL = 'C';
+    static final char FLUSHED = 'F';
+
+    private final Path path;
+    private final Object syncLock = new Object();
+
+    /** Replaced by compact(). Guarded by this (writes) and syncLock (fsync). */
+    private FileChannel channel;
+
+    /** Bytes appended so far. Guarded by this. */
+    private long written;
+    private volatile long synced;
+
+    StockJournal(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.written = channel.size();
+        this.synced = written;
+    }
+
+    /**
+     * Appends one record per product. Not durable until {@link #sync(long)}.
+     * @return journal position to pass to sync
+     */
+    synchronized long append(char type, Map<UUID, ? extends Number> quantities) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(records(type, quantities));
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, written);
+        }
+        return written;
+    }
+
+    /**
+     * Makes every append up to position durable (fsync), sharing the fsync with concurrent callers.
+     */
+    void sync(long position) throws IOException {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    /**
+     * Appends and fsyncs.
+     */
+    void appendAndSync(char type, Map<UUID, ? extends Number> quantities) throws IOException {
+        sync(append(type, quantities));
+    }
+
+    /**
+     * @return units sold but not written to the database, per product (only positive amounts)
+     */
+    synchronized Map<UUID, Long> outstanding() throws IOException {
+        Map<UUID, Long> outstanding = replay();
+        outstanding.values().removeIf(quantity -> quantity <= 0);
+        return outstanding;
+    }
+
+    /**
+     * @return bytes in the journal
+     */
+    synchronized long size() {
+        return written;
+    }
+
+    /**
+     * Rewrites the journal with one SALE record per product with outstanding units.
+     * Appends and fsyncs wait until the new file is in place.
+     */
+    void compact() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Map<UUID, Long> outstanding = outstanding();
+                Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+                try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(records(SALE, outstanding));
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    out.force(true);
+                }
+                // A crash before the move keeps the old file, after it the new one: both replay the same.
+                // The old channel stays usable until the new file is open, so a failure here loses nothing
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+                FileChannel previous = channel;
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                previous.close();
+                long before = written;
+                written = channel.size();
+                synced = written;
+                log.info("Hot SKU journal compacted from {} to {} bytes ({} products outstanding)",
+                        before, written, outstanding.size());
+            }
+        }
+    }
+
+    private Map<UUID, Long> replay() throws IOException {
+        Map<UUID, Long> outstanding = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                applyRecord(outstanding, line);
+            }
+        }
+        return outstanding;
+    }
+
+    /**
+     * Empties the journal. Only safe when every outstanding sale has been written to the database.
+     */
+    void reset() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                channel.truncate(0);
+                channel.force(true);
+                written = 0;
+                synced = 0;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] records(char type, Map<UUID, ? extends Number> quantities) {
+        StringBuilder lines = new StringBuilder(quantities.size() * 48);
+        quantities.forEach((productId, quantity) ->
+                lines.append(type).append(' ').append(productId).append(' ').append(quantity.longValue()).append('\n'));
+        return lines.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Makes the rename durable. Not supported on every platform; the rename itself is atomic.
+     */
+    private void syncDirectory() {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot fsync hot SKU journal directory {}", directory, e);
+        }
+    }
+
+    private static void applyRecord(Map<UUID, Long> outstanding, String line) {
+        String[] parts = line.split(" ");
+        if (parts.length != 3 || parts[0].length() != 1) {
+            log.warn("Ignoring malformed hot SKU journal record: {}", line);
+            return;
+        }
+        try {
+            UUID productId = UUID.fromString(parts[1]);
+            long quantity = Long.parseLong(parts[2]);
+            switch (parts[0].charAt(0)) {
+                case SALE -> outstanding.merge(productId, quantity, Long::sum);
+                case CANCEL, FLUSHED -> outstanding.merge(productId, -quantity, Long::sum);
+                default -> log.warn("Ignoring unknown hot SKU journal record: {}", line);
+            }
+        } catch (IllegalArgumentException e) {
+            // Torn last line after a crash: it was never fsynced, so nothing committed on it
+            log.warn("Ignoring malformed hot SKU journal record: {}", line);
+        }
+    }
+}
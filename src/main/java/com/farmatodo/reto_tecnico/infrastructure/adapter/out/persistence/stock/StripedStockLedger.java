@@ -0,0 +1,242 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free in-memory stock counters for hot products.
+ *
+ * Each product's available stock is split over N stripes (independent counters on separate
+ * cache lines). A reservation CAS-decrements the calling thread's home stripe; if that stripe
+ * cannot cover it, the other stripes are tried, and as a last resort units are gathered from
+ * several stripes. Stock never goes below zero and a reservation is either fully granted or
+ * not at all, so the ledger cannot hand out more units than it was loaded with.
+ *
+ * Under a race on the last few units a gather can fail while another gather temporarily holds
+ * units it is about to give back; the reservation is then rejected (never oversold).
+ *
+ * Committed reservations are counted per stripe too, until drained by the write-behind flush.
+ *
+ * Thread-safe without locks.
+ */
+public final class StripedStockLedger {
+
+    /**
+     * Longs per stripe slot: 8 x 8 bytes = one 64-byte cache line, so stripes do not false-share.
+     */
+    private static final int PAD = 8;
+
+    private final int stripes;
+    private final Map<UUID, Sku> skus = new ConcurrentHashMap<>();
+
+    public StripedStockLedger(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripes must be positive");
+        }
+        this.stripes = stripes;
+    }
+
+    /**
+     * Starts tracking a product with the given stock, spread evenly over the stripes.
+     * @param productId the product ID
+     * @param productName product name, used in shortage messages
+     * @param stock current stock
+     */
+    public void load(UUID productId, String productName, long stock) {
+        Sku sku = new Sku(productName, stripes);
+        long base = stock / stripes;
+        long remainder = stock % stripes;
+        for (int s = 0; s < stripes; s++) {
+            sku.available.set(slot(s), base + (s < remainder ? 1 : 0));
+        }
+        skus.put(productId, sku);
+    }
+
+    public boolean contains(UUID productId) {
+        return skus.containsKey(productId);
+    }
+
+    public Set<UUID> productIds() {
+        return skus.keySet();
+    }
+
+    /**
+     * @return product name given to {@link #load}, or null if the product is not tracked
+     */
+    public String productName(UUID productId) {
+        Sku sku = skus.get(productId);
+        return sku == null ? null : sku.name;
+    }
+
+    /**
+     * Takes quantity units if available. All-or-nothing.
+     * @return true if granted
+     */
+    public boolean tryReserve(UUID productId, long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        AtomicLongArray available = sku(productId).available;
+        int home = homeStripe();
+
+        // Fast path: one stripe covers the whole quantity
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake(available, slot((home + i) % stripes), quantity)) {
+                return true;
+            }
+        }
+
+        // Slow path: gather from several stripes, give everything back if still short
+        long[] taken = new long[stripes];
+        long total = 0;
+        for (int i = 0; i < stripes && total < quantity; i++) {
+            int stripe = (home + i) % stripes;
+            taken[stripe] = takeUpTo(available, slot(stripe), quantity - total);
+            total += taken[stripe];
+        }
+        if (total == quantity) {
+            return true;
+        }
+        for (int s = 0; s < stripes; s++) {
+            if (taken[s] > 0) {
+                available.addAndGet(slot(s), taken[s]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns units of a reservation that did not commit.
+     */
+    public void release(UUID productId, long quantity) {
+        sku(productId).available.addAndGet(slot(homeStripe()), quantity);
+    }
+
+    /**
+     * Adds restocked units (cancellations, replenishment) to the available stock.
+     */
+    public void restock(UUID productId, long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        sku(productId).available.addAndGet(slot(homeStripe()), quantity);
+    }
+
+    /**
+     * Records units of a committed reservation as waiting to be written to the database.
+     */
+    public void commit(UUID productId, long quantity) {
+        sku(productId).committed.addAndGet(slot(homeStripe()), quantity);
+    }
+
+    /**
+     * Takes every committed-but-unwritten amount, resetting the counters.
+     * @return units per product, only products with a positive amount
+     */
+    public Map<UUID, Long> drainCommitted() {
+        Map<UUID, Long> drained = new HashMap<>();
+        skus.forEach((productId, sku) -> {
+            long total = 0;
+            for (int s = 0; s < stripes; s++) {
+                total += sku.committed.getAndSet(slot(s), 0);
+            }
+            if (total > 0) {
+                drained.put(productId, total);
+            }
+        });
+        return drained;
+    }
+
+    /**
+     * Puts back amounts returned by {@link #drainCommitted()} that could not be written.
+     */
+    public void restoreCommitted(Map<UUID, Long> amounts) {
+        amounts.forEach((productId, quantity) -> commit(productId, quantity));
+    }
+
+    /**
+     * @return available units (sum of stripes; a moving value under concurrent updates)
+     */
+    public long available(UUID productId) {
+        AtomicLongArray available = sku(productId).available;
+        long total = 0;
+        for (int s = 0; s < stripes; s++) {
+            total += available.get(slot(s));
+        }
+        return total;
+    }
+
+    /**
+     * @return committed units not yet written to the database, over all products
+     */
+    public long unflushed() {
+        long total = 0;
+        for (Sku sku : skus.values()) {
+            for (int s = 0; s < stripes; s++) {
+                total += sku.committed.get(slot(s));
+            }
+        }
+        return total;
+    }
+
+    private Sku sku(UUID productId) {
+        Sku sku = skus.get(productId);
+        if (sku == null) {
+            throw new IllegalArgumentException("Product not tracked by the hot SKU ledger: " + productId);
+        }
+        return sku;
+    }
+
+    /**
+     * Home stripe of the current thread: a thread keeps hitting the same stripe, different threads spread.
+     */
+    private int homeStripe() {
+        long hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % stripes);
+    }
+
+    private static int slot(int stripe) {
+        return stripe * PAD;
+    }
+
+    private static boolean tryTake(AtomicLongArray counters, int slot, long quantity) {
+        while (true) {
+            long current = counters.get(slot);
+            if (current < quantity) {
+                return false;
+            }
+            if (counters.compareAndSet(slot, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private static long takeUpTo(AtomicLongArray counters, int slot, long wanted) {
+        while (true) {
+            long current = counters.get(slot);
+            if (current <= 0) {
+                return 0;
+            }
+            long take = Math.min(current, wanted);
+            if (counters.compareAndSet(slot, current, current - take)) {
+                return take;
+            }
+        }
+    }
+
+    private static final class Sku {
+        private final String name;
+        private final AtomicLongArray available;
+        private final AtomicLongArray committed;
+
+        private Sku(String name, int stripes) {
+            this.name = name;
+            this.available = new AtomicLongArray(stripes * PAD);
+            this.committed = new AtomicLongArray(stripes * PAD);
+        }
+    }
+}
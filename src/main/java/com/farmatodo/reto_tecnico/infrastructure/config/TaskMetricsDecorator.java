@@ -0,0 +1,47 @@
+package com.farmatodo.reto_tecnico.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskDecorator that records how long async tasks wait in the queue and how long they run.
+ *
+ * Metrics (tag workload=&lt;name&gt;):
+ * - async.task.wait:     submit to start; grows when the executor is saturated
+ * - async.task.duration: execution time; grows when the downstream (SMTP, DB) slows down
+ *
+ * decorate() runs on the submitting thread, so the submit time is captured there.
+ */
+public class TaskMetricsDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+
+    public TaskMetricsDecorator(MeterRegistry meterRegistry, String workload) {
+        this.waitTimer = Timer.builder("async.task.wait")
+                .description("Time async tasks spend queued before running")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("async.task.duration")
+                .description("Async task execution time")
+                .tag("workload", workload)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                runnable.run();
+            } finally {
+                durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
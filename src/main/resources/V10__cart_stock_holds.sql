@@ -0,0 +1,32 @@
+-- ============================================================================
+-- CART STOCK HOLDS
+-- ============================================================================
+-- Run this in DBeaver AFTER V9__order_customer_keyset_index.sql
+-- Safe to run multiple times (idempotent)
+--
+-- Adding a product to a cart holds its units until expires_at
+-- (StockHoldPersistenceAdapter). products.held_stock is the running total of
+-- the holds of each product, so available stock (stock - held_stock) is read
+-- from the product row instead of summing holds. CartHoldSweeper releases
+-- expired holds in batches read from idx_cart_stock_holds_expires_at.
+-- ============================================================================
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS held_stock INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS cart_stock_holds (
+    cart_id     UUID          NOT NULL,
+    product_id  UUID          NOT NULL,
+    quantity    INTEGER       NOT NULL,
+    expires_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (cart_id, product_id)
+);
+
+-- Sweeper: WHERE expires_at <= now ORDER BY expires_at LIMIT batch
+CREATE INDEX IF NOT EXISTS idx_cart_stock_holds_expires_at
+    ON cart_stock_holds (expires_at);
+
+-- Holds go away with their product
+ALTER TABLE cart_stock_holds DROP CONSTRAINT IF EXISTS fk_cart_stock_holds_product;
+ALTER TABLE cart_stock_holds
+    ADD CONSTRAINT fk_cart_stock_holds_product
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE;
@@ -0,0 +1,14 @@
+-- ============================================================================
+-- PRODUCT CATALOG KEYSET PAGINATION INDEX
+-- ============================================================================
+-- Run this in DBeaver AFTER V3__fix_credit_cards_fk.sql
+-- Safe to run multiple times (idempotent)
+--
+-- GET /api/v1/products pages by (name, id). This composite index lets
+-- PostgreSQL read each page in order and stop after LIMIT rows.
+-- It supersedes the single-column idx_product_name.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_product_name_id ON products (name, id);
+
+DROP INDEX IF EXISTS idx_product_name;
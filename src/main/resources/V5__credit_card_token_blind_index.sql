@@ -0,0 +1,14 @@
+-- =====================================================
+-- V5: Blind index for credit card token lookups
+-- =====================================================
+-- credit_cards.token is AES-GCM encrypted with a random IV, so it cannot be
+-- compared in SQL. token_hash stores a deterministic HMAC-SHA256 of the token
+-- and serves lookups by token with a unique index probe.
+--
+-- Existing rows are indexed by the application at startup
+-- (CreditCardRepositoryAdapter.backfillTokenHashes), which needs the key.
+-- =====================================================
+
+ALTER TABLE credit_cards ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_credit_card_token_hash ON credit_cards (token_hash);
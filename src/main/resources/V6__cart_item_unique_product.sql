@@ -0,0 +1,14 @@
+-- ============================================================================
+-- CART ITEM UNIQUE (cart_id, product_id)
+-- ============================================================================
+-- Run this in DBeaver AFTER V5__credit_card_token_blind_index.sql
+-- Safe to run multiple times (idempotent)
+--
+-- Cart lines are written one at a time (CartRepositoryAdapter.upsertItem) and
+-- looked up by (cart_id, product_id). The unique index serves that lookup and
+-- guarantees one line per product even when two adds race.
+-- The domain already merges lines per product, so existing data has no duplicates.
+-- ============================================================================
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_item_cart_product
+    ON cart_items (cart_id, product_id);
@@ -0,0 +1,22 @@
+-- ============================================================================
+-- SEARCH QUERY STATS (per-minute search aggregates)
+-- ============================================================================
+-- Run this in DBeaver AFTER V6__cart_item_unique_product.sql
+-- Safe to run multiple times (idempotent)
+--
+-- SearchAnalyticsService counts searches in memory and adds one row per
+-- normalized query per minute (SearchQueryStatsPersistenceAdapter upsert).
+-- search_logs now only receives the optional raw sample
+-- (farmatodo.search-analytics.raw-sample-rate, 0 by default).
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS search_query_stats (
+    bucket_start      TIMESTAMP(6) NOT NULL,
+    query             VARCHAR(200) NOT NULL,
+    search_count      BIGINT       NOT NULL,
+    zero_result_count BIGINT       NOT NULL,
+    PRIMARY KEY (bucket_start, query)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_query_stats_bucket
+    ON search_query_stats (bucket_start);
@@ -0,0 +1,31 @@
+-- ============================================================================
+-- EMAIL OUTBOX
+-- ============================================================================
+-- Run this in DBeaver AFTER V7__search_query_stats.sql
+-- Safe to run multiple times (idempotent)
+--
+-- Payment emails are written here in the same transaction as the order status
+-- change (EmailOutboxService) and delivered in batches by EmailOutboxDispatcher.
+-- Delivered rows are deleted; rows that exhausted their retries stay with
+-- status FAILED and last_error for inspection.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id                UUID          PRIMARY KEY,
+    type              VARCHAR(30)   NOT NULL,
+    status            VARCHAR(20)   NOT NULL,
+    recipient         VARCHAR(255)  NOT NULL,
+    customer_name     VARCHAR(255),
+    order_id          UUID,
+    total_amount      VARCHAR(50),
+    transaction_id    VARCHAR(100),
+    payment_attempts  INTEGER,
+    delivery_attempts INTEGER       NOT NULL,
+    next_attempt_at   TIMESTAMP(6)  NOT NULL,
+    created_at        TIMESTAMP(6)  NOT NULL,
+    last_error        VARCHAR(1000)
+);
+
+-- Dispatcher claim: WHERE status = 'PENDING' AND next_attempt_at <= now ORDER BY next_attempt_at
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due
+    ON email_outbox (status, next_attempt_at);
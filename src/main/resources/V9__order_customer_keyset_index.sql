@@ -0,0 +1,15 @@
+-- ============================================================================
+-- ORDER HISTORY KEYSET PAGINATION INDEX
+-- ============================================================================
+-- Run this in DBeaver AFTER V8__email_outbox.sql
+-- Safe to run multiple times (idempotent)
+--
+-- GET /api/v1/customers/{id}/orders pages by (created_at DESC, id DESC) within
+-- one customer. This composite index lets PostgreSQL read each page in order
+-- (scanning backwards) and stop after LIMIT rows, without sorting all of the
+-- customer's orders. It supersedes the single-column idx_order_customer_id.
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_order_customer_created_id ON orders (customer_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_order_customer_id;
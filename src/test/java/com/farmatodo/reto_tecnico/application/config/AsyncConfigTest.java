@@ -0,0 +1,237 @@
+package com.farmatodo.reto_tecnico.application.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AsyncConfig thread modes.
+ * Verifies both modes produce the expected executors and keep trace IDs on async threads,
+ * and that workload executors enforce their bounds and export saturation metrics.
+ */
+@DisplayName("AsyncConfig Unit Tests")
+class AsyncConfigTest {
+
+    private final AsyncConfig asyncConfig = new AsyncConfig();
+    private final FarmatodoProperties properties = new FarmatodoProperties();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should use bounded platform thread pools by default")
+    void shouldUsePlatformThreadsByDefault() throws Exception {
+        // Given
+        MockEnvironment environment = new MockEnvironment();
+
+        // When
+        Executor executor = asyncConfig.taskExecutor(environment, properties);
+        TaskScheduler scheduler = asyncConfig.paymentRetryScheduler(environment, properties);
+
+        // Then
+        try {
+            assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(scheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
+            assertThat(runAndCapture(executor).isVirtual()).isFalse();
+        } finally {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+            ((ThreadPoolTaskScheduler) scheduler).shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run async tasks on virtual threads when enabled and keep trace ID")
+    void shouldUseVirtualThreadsWhenEnabled() throws Exception {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+        properties.getAsync().setVirtualConcurrencyLimit(50);
+
+        // When
+        Executor executor = asyncConfig.taskExecutor(environment, properties);
+        TaskScheduler scheduler = asyncConfig.paymentRetryScheduler(environment, properties);
+
+        // Then
+        assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        assertThat(((SimpleAsyncTaskExecutor) executor).getConcurrencyLimit()).isEqualTo(50);
+        assertThat(scheduler).isInstanceOf(SimpleAsyncTaskScheduler.class);
+        assertThat(runAndCapture(executor).isVirtual()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run scheduled payment attempts on virtual threads")
+    void shouldScheduleOnVirtualThreadsWhenEnabled() throws Exception {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+        SimpleAsyncTaskScheduler scheduler =
+                (SimpleAsyncTaskScheduler) asyncConfig.paymentRetryScheduler(environment, properties);
+        scheduler.start();
+
+        try {
+            // When
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            scheduler.schedule(() -> virtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+
+            // Then
+            assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a virtual concurrency limit of 0 and accept -1 or positive limits")
+    void shouldRejectZeroVirtualConcurrencyLimit() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            FarmatodoProperties.Async async = new FarmatodoProperties.Async();
+
+            async.setVirtualConcurrencyLimit(0);
+            assertThat(validator.validate(async)).isNotEmpty();
+
+            async.setVirtualConcurrencyLimit(-1);
+            assertThat(validator.validate(async)).isEmpty();
+
+            async.setVirtualConcurrencyLimit(1);
+            assertThat(validator.validate(async)).isEmpty();
+        }
+    }
+
+    /**
+     * Runs a task with a trace ID in MDC, checks the ID arrived and returns the thread it ran on.
+     */
+    private Thread runAndCapture(Executor executor) throws Exception {
+        MDC.put("traceId", "trace-123");
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        CompletableFuture<String> traceId = new CompletableFuture<>();
+        executor.execute(() -> {
+            traceId.complete(MDC.get("traceId"));
+            thread.complete(Thread.currentThread());
+        });
+        assertThat(traceId.get(5, TimeUnit.SECONDS)).isEqualTo("trace-123");
+        return thread.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should drop and count tasks when a DISCARD workload executor is saturated")
+    void shouldDiscardAndCountWhenSaturated() throws Exception {
+        // Given: one thread, no queue
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FarmatodoProperties.Async.Pool pool = new FarmatodoProperties.Async.Pool(
+                1, 1, 0, FarmatodoProperties.Async.RejectionPolicy.DISCARD);
+        ThreadPoolTaskExecutor executor = AsyncConfig.workloadExecutor("search", pool, false, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            running.await(5, TimeUnit.SECONDS);
+
+            // When
+            AtomicReference<Boolean> droppedTaskRan = new AtomicReference<>(false);
+            executor.execute(() -> droppedTaskRan.set(true));
+
+            // Then
+            assertThat(droppedTaskRan.get()).isFalse();
+            assertThat(meterRegistry.get("async.rejected").tag("workload", "search").counter().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("async.active").tag("workload", "search").gauge().value())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("async.queue.size").tag("workload", "search").gauge().value())
+                    .isZero();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertThat(meterRegistry.get("async.task.duration").tag("workload", "search").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run rejected tasks on the caller for CALLER_RUNS and count them")
+    void shouldRunOnCallerWhenSaturated() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FarmatodoProperties.Async.Pool pool = new FarmatodoProperties.Async.Pool(
+                1, 1, 0, FarmatodoProperties.Async.RejectionPolicy.CALLER_RUNS);
+        ThreadPoolTaskExecutor executor = AsyncConfig.workloadExecutor("notifications", pool, false, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            running.await(5, TimeUnit.SECONDS);
+
+            // When
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+            // Then
+            assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+            assertThat(meterRegistry.get("async.rejected").tag("workload", "notifications").counter().count())
+                    .isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep trace ID and record wait time on workload executors, also with virtual threads")
+    void shouldPropagateTraceIdOnWorkloadExecutors() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+        ThreadPoolTaskExecutor executor = asyncConfig.notificationExecutor(environment, properties, meterRegistry);
+
+        try {
+            // When
+            Thread thread = runAndCapture(executor);
+
+            // Then
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(meterRegistry.get("async.task.wait").tag("workload", "notifications").timer().count())
+                    .isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
+import com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException;
+import com.farmatodo.reto_tecnico.domain.exception.TokenizationFailedException;
+import com.farmatodo.reto_tecnico.domain.model.CreditCard;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.port.in.ProcessPaymentUseCase.PaymentResult;
+import com.farmatodo.reto_tecnico.domain.port.in.SubmitPaymentUseCase.PaymentStatus;
+import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncPaymentService.
+ * Scheduled attempts are captured from the TaskScheduler mock and run by hand,
+ * so retries and backoff are tested without waiting.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncPaymentService Unit Tests")
+class AsyncPaymentServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private OrderRepositoryPort orderRepository;
+
+    @Mock
+    private TaskScheduler scheduler;
+
+    private FarmatodoProperties properties;
+    private AsyncPaymentService asyncPaymentService;
+
+    private Order order;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FarmatodoProperties();
+        properties.getPayment().setMaxRetries(3);
+        properties.getPayment().setRetryDelayMillis(1000);
+        properties.getPayment().setRetryMaxDelayMillis(3000);
+
+        // Jitter source fixed at 0.5: delay = base/2 + 0.5 * base/2 = 0.75 * base
+        asyncPaymentService = new AsyncPaymentService(paymentService, orderRepository, properties, scheduler,
+                Clock.fixed(NOW, ZoneOffset.UTC), () -> 0.5);
+
+        orderId = UUID.randomUUID();
+        order = mock(Order.class);
+        lenient().when(order.getId()).thenReturn(orderId);
+    }
+
+    @Test
+    @DisplayName("Should accept payment and run first attempt on the scheduler")
+    void shouldAcceptAndSucceedOnScheduler() {
+        // Given
+        when(paymentService.attemptOnce(order, "tok_123", 1, 3))
+                .thenReturn(Optional.of(PaymentResult.success("txn_1", 1)));
+
+        // When
+        PaymentStatus accepted = asyncPaymentService.submitPaymentWithToken(order, "tok_123");
+
+        // Then: nothing ran on the caller thread except token assignment
+        assertThat(accepted.state()).isEqualTo(PaymentStatus.State.PROCESSING);
+        assertThat(accepted.attemptsMade()).isZero();
+        verify(paymentService).assignToken(order, "tok_123");
+        verify(paymentService, never()).attemptOnce(any(), any(), anyInt(), anyInt());
+
+        // When: scheduler runs attempt 1
+        runScheduled(NOW);
+
+        // Then
+        PaymentStatus status = asyncPaymentService.getPaymentStatus(orderId).orElseThrow();
+        assertThat(status.state()).isEqualTo(PaymentStatus.State.SUCCEEDED);
+        assertThat(status.transactionId()).isEqualTo("txn_1");
+        assertThat(status.attemptsMade()).isEqualTo(1);
+        verify(paymentService, never()).recordRetriesExhausted(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should retry with exponential backoff and fail after max attempts")
+    void shouldRetryWithBackoffThenFail() {
+        // Given: every attempt is declined
+        when(paymentService.assignToken(eq(order), any(CreditCard.class))).thenReturn("tok_123");
+        when(paymentService.attemptOnce(eq(order), eq("tok_123"), anyInt(), eq(3))).thenReturn(Optional.empty());
+        when(paymentService.recordRetriesExhausted(order, 3)).thenReturn("Payment rejected after 3 attempts");
+
+        // When
+        asyncPaymentService.submitPayment(order, mock(CreditCard.class));
+        runScheduled(NOW);
+
+        // Then: attempt 2 scheduled after 0.75 x 1000ms
+        PaymentStatus afterFirst = asyncPaymentService.getPaymentStatus(orderId).orElseThrow();
+        assertThat(afterFirst.state()).isEqualTo(PaymentStatus.State.PROCESSING);
+        assertThat(afterFirst.attemptsMade()).isEqualTo(1);
+        assertThat(afterFirst.nextAttemptAt()).isEqualTo(NOW.plusMillis(750));
+
+        // When: attempt 2 fails, attempt 3 scheduled after 0.75 x 2000ms
+        runScheduled(NOW.plusMillis(750));
+        assertThat(asyncPaymentService.getPaymentStatus(orderId).orElseThrow().nextAttemptAt())
+                .isEqualTo(NOW.plusMillis(1500));
+
+        // When: attempt 3 fails
+        runScheduled(NOW.plusMillis(1500));
+
+        // Then
+        PaymentStatus status = asyncPaymentService.getPaymentStatus(orderId).orElseThrow();
+        assertThat(status.state()).isEqualTo(PaymentStatus.State.FAILED);
+        assertThat(status.attemptsMade()).isEqualTo(3);
+        assertThat(status.message()).isEqualTo("Payment rejected after 3 attempts");
+        verify(paymentService, times(3)).attemptOnce(eq(order), eq("tok_123"), anyInt(), eq(3));
+        verify(paymentService, times(1)).recordRetriesExhausted(order, 3);
+    }
+
+    @Test
+    @DisplayName("Should not start a second payment while one is in progress")
+    void shouldNotStartDuplicatePayment() {
+        // When
+        PaymentStatus first = asyncPaymentService.submitPaymentWithToken(order, "tok_123");
+        PaymentStatus second = asyncPaymentService.submitPaymentWithToken(order, "tok_123");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(paymentService, times(1)).assignToken(order, "tok_123");
+        verify(scheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a payment for an order already processing without an in-memory status")
+    void shouldRejectOrderAlreadyProcessing() {
+        // Given: another instance (or the process before a restart) started the payment
+        Order processing = Order.builder()
+                .id(orderId)
+                .status(Order.OrderStatus.PAYMENT_PROCESSING)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> asyncPaymentService.submitPaymentWithToken(processing, "tok_123"))
+                .isInstanceOf(OrderStatusConflictException.class);
+        verifyNoInteractions(paymentService, scheduler);
+    }
+
+    @Test
+    @DisplayName("Should mark payments stalled in PAYMENT_PROCESSING as failed at startup")
+    void shouldFailStalledPayments() {
+        // Given
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneId.systemDefault());
+        when(orderRepository.updateStatusIfUpdatedBefore(Order.OrderStatus.PAYMENT_PROCESSING,
+                Order.OrderStatus.PAYMENT_FAILED, now.minusSeconds(900), now)).thenReturn(2);
+
+        // When
+        int failed = asyncPaymentService.failStalledPayments();
+
+        // Then
+        assertThat(failed).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail synchronously when tokenization fails")
+    void shouldFailWhenTokenizationFails() {
+        // Given
+        CreditCard card = mock(CreditCard.class);
+        when(paymentService.assignToken(order, card)).thenThrow(new TokenizationFailedException("Card rejected"));
+
+        // When & Then
+        assertThatThrownBy(() -> asyncPaymentService.submitPayment(order, card))
+                .isInstanceOf(PaymentFailedException.class)
+                .hasMessageContaining("Card rejected");
+        verify(paymentService).failBeforeAttempt(order);
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    @DisplayName("Should cap backoff and keep jitter within half to full delay")
+    void shouldCapBackoff() {
+        // Given: jitter at its bounds
+        AsyncPaymentService noJitter = new AsyncPaymentService(paymentService, orderRepository, properties, scheduler,
+                Clock.fixed(NOW, ZoneOffset.UTC), () -> 0.0);
+        AsyncPaymentService fullJitter = new AsyncPaymentService(paymentService, orderRepository, properties, scheduler,
+                Clock.fixed(NOW, ZoneOffset.UTC), () -> 1.0);
+
+        // Then: base 1000, 2000, 3000 (capped), 3000 (capped)
+        assertThat(noJitter.retryDelay(1)).isEqualTo(Duration.ofMillis(500));
+        assertThat(fullJitter.retryDelay(1)).isEqualTo(Duration.ofMillis(1000));
+        assertThat(noJitter.retryDelay(2)).isEqualTo(Duration.ofMillis(1000));
+        assertThat(fullJitter.retryDelay(3)).isEqualTo(Duration.ofMillis(3000));
+        assertThat(fullJitter.retryDelay(10)).isEqualTo(Duration.ofMillis(3000));
+    }
+
+    @Test
+    @DisplayName("Should derive status from persisted order when not tracked in memory")
+    void shouldDeriveStatusFromOrder() {
+        // Given
+        when(order.getStatus()).thenReturn(Order.OrderStatus.PAYMENT_CONFIRMED);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        // When
+        Optional<PaymentStatus> status = asyncPaymentService.getPaymentStatus(orderId);
+
+        // Then
+        assertThat(status).isPresent();
+        assertThat(status.get().state()).isEqualTo(PaymentStatus.State.SUCCEEDED);
+    }
+
+    /**
+     * Runs the most recently scheduled task and checks it was scheduled for the expected time.
+     */
+    private void runScheduled(Instant expectedAt) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(scheduler, atLeastOnce()).schedule(task.capture(), at.capture());
+        assertThat(at.getValue()).isEqualTo(expectedAt);
+        task.getValue().run();
+    }
+}
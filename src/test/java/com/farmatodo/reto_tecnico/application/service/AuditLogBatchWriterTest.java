@@ -0,0 +1,167 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.AuditLog;
+import com.farmatodo.reto_tecnico.domain.model.EventType;
+import com.farmatodo.reto_tecnico.domain.port.out.AuditLogRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditLogBatchWriter.
+ * Uses a long flush interval so only the batch-size trigger and shutdown flush write,
+ * which keeps the drainer thread deterministic.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogBatchWriter Unit Tests")
+class AuditLogBatchWriterTest {
+
+    @Mock
+    private AuditLogRepositoryPort auditLogRepository;
+
+    private FarmatodoProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FarmatodoProperties();
+        properties.getAudit().setBatchSize(3);
+        properties.getAudit().setQueueCapacity(5);
+        properties.getAudit().setFlushIntervalMillis(60_000);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditLogBatchWriter(auditLogRepository, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("Should write a full batch in one call as soon as batch size is reached")
+    void shouldFlushWhenBatchIsFull() {
+        // Given
+        writer.start();
+        AuditLog first = auditLog();
+        AuditLog second = auditLog();
+        AuditLog third = auditLog();
+
+        // When
+        writer.enqueue(first);
+        writer.enqueue(second);
+        verify(auditLogRepository, never()).saveAll(anyList());
+        writer.enqueue(third);
+
+        // Then
+        verify(auditLogRepository, timeout(2000).times(1)).saveAll(List.of(first, second, third));
+        writer.stop();
+        verify(auditLogRepository, times(1)).saveAll(anyList());
+        assertThat(counter("written")).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.queue.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop events when the queue is full and count them")
+    void shouldDropWhenQueueIsFull() {
+        // Given: batch size above capacity so nothing is flushed before stop
+        properties.getAudit().setBatchSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditLogBatchWriter(auditLogRepository, properties, meterRegistry);
+        writer.start();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(writer.enqueue(auditLog())).isTrue();
+        }
+        boolean sixth = writer.enqueue(auditLog());
+
+        // Then
+        assertThat(sixth).isFalse();
+        assertThat(counter("enqueued")).isEqualTo(5);
+        assertThat(counter("dropped")).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.queue.size").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should flush queued events on shutdown")
+    void shouldFlushOnShutdown() {
+        // Given
+        writer.start();
+        AuditLog first = auditLog();
+        AuditLog second = auditLog();
+        writer.enqueue(first);
+        writer.enqueue(second);
+
+        // When
+        writer.stop();
+
+        // Then
+        verify(auditLogRepository).saveAll(List.of(first, second));
+        assertThat(counter("written")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one by one and count rows that still fail")
+    void shouldRetryFailedBatchRowByRow() {
+        // Given: the batch fails because of one bad row
+        writer.start();
+        AuditLog good = auditLog();
+        AuditLog bad = auditLog();
+        doThrow(new RuntimeException("batch failed")).when(auditLogRepository).saveAll(List.of(good, bad));
+        doThrow(new RuntimeException("null trace_id")).when(auditLogRepository).saveAll(List.of(bad));
+        doNothing().when(auditLogRepository).saveAll(List.of(good));
+        writer.enqueue(good);
+        writer.enqueue(bad);
+
+        // When
+        writer.stop();
+
+        // Then
+        verify(auditLogRepository).saveAll(List.of(good));
+        assertThat(counter("written")).isEqualTo(1);
+        assertThat(counter("failed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write directly and stamp the event when the drainer is not running")
+    void shouldWriteDirectlyWhenNotRunning() {
+        // Given
+        AuditLog auditLog = auditLog();
+
+        // When
+        writer.enqueue(auditLog);
+
+        // Then
+        verify(auditLogRepository).saveAll(List.of(auditLog));
+        assertThat(auditLog.getEventTimestamp()).isNotNull();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("audit.events").tag("result", result).counter().count();
+    }
+
+    private AuditLog auditLog() {
+        return AuditLog.builder()
+                .id(UUID.randomUUID())
+                .traceId(UUID.randomUUID().toString())
+                .eventType(EventType.ORDER_CREATED.name())
+                .entityType("Order")
+                .entityId(UUID.randomUUID())
+                .status("SUCCESS")
+                .build();
+    }
+}
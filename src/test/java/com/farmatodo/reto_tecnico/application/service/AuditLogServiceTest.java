@@ -1,8 +1,9 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
 import com.farmatodo.reto_tecnico.domain.model.AuditLog;
 import com.farmatodo.reto_tecnico.domain.model.EventType;
-import com.farmatodo.reto_tecnico.domain.port.out.AuditLogRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 
@@ -22,16 +24,18 @@ import static org.mockito.Mockito.*;
 /**
  * Unit tests for AuditLogService.
  *
- * Note: Since methods are @Async, in unit tests they execute synchronously
- * because there's no Spring context. This is acceptable for unit tests.
- * Integration tests would test actual async behavior with MDC propagation.
+ * Verifies the AuditLog handed to AuditLogBatchWriter; batching itself is
+ * covered by AuditLogBatchWriterTest.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AuditLogService Unit Tests")
 class AuditLogServiceTest {
 
     @Mock
-    private AuditLogRepositoryPort auditLogRepository;
+    private AuditLogBatchWriter auditLogWriter;
+
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks
     private AuditLogService auditLogService;
@@ -47,9 +51,8 @@ class AuditLogServiceTest {
         // Set up MDC for testing
         MDC.put("traceId", testTraceId);
 
-        // Mock repository to return the input (lenient to avoid UnnecessaryStubbingException)
-        lenient().when(auditLogRepository.save(any(AuditLog.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Mock writer to accept every event (lenient to avoid UnnecessaryStubbingException)
+        lenient().when(auditLogWriter.enqueue(any(AuditLog.class))).thenReturn(true);
     }
 
     @Test
@@ -64,7 +67,7 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isEqualTo(testTraceId);
@@ -88,7 +91,7 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isEqualTo(testTraceId);
@@ -112,7 +115,7 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isEqualTo(testTraceId);
@@ -138,7 +141,7 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isEqualTo(testTraceId);
@@ -163,7 +166,7 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isEqualTo(testTraceId);
@@ -185,24 +188,24 @@ class AuditLogServiceTest {
 
         // Then
         ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
-        verify(auditLogRepository, times(1)).save(captor.capture());
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
 
         AuditLog saved = captor.getValue();
         assertThat(saved.getTraceId()).isNull(); // Should save null if not present
     }
 
     @Test
-    @DisplayName("Should handle repository exception gracefully")
-    void shouldHandleRepositoryExceptionGracefully() {
+    @DisplayName("Should handle writer exception gracefully")
+    void shouldHandleWriterExceptionGracefully() {
         // Given
-        when(auditLogRepository.save(any(AuditLog.class)))
+        when(auditLogWriter.enqueue(any(AuditLog.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When - should not throw exception
         auditLogService.logPaymentAttempt(testOrderId, 1, 3);
 
         // Then
-        verify(auditLogRepository, times(1)).save(any(AuditLog.class));
+        verify(auditLogWriter, times(1)).enqueue(any(AuditLog.class));
         // No exception should be thrown - method handles it gracefully
     }
 }
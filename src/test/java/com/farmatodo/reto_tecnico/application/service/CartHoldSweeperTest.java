@@ -0,0 +1,73 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.port.out.StockHoldRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CartHoldSweeper.
+ * Calls sweep() directly with a fixed clock; the sweeper thread is never started.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartHoldSweeper Unit Tests")
+class CartHoldSweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Mock
+    private StockHoldRepositoryPort stockHoldRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CartHoldSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getCart().setHoldSweepBatchSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        sweeper = new CartHoldSweeper(stockHoldRepository, properties, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Should release expired holds batch by batch until a short batch")
+    void shouldReleaseUntilDrained() {
+        // Given: Two full batches, then the rest
+        when(stockHoldRepository.releaseExpired(NOW, 100)).thenReturn(100, 100, 42);
+
+        // When
+        int released = sweeper.sweep();
+
+        // Then
+        assertThat(released).isEqualTo(242);
+        verify(stockHoldRepository, times(3)).releaseExpired(NOW, 100);
+        assertThat(meterRegistry.counter("cart.holds.expired").count()).isEqualTo(242.0);
+    }
+
+    @Test
+    @DisplayName("Should stop after one call when nothing expired")
+    void shouldStopWhenNothingExpired() {
+        // Given
+        when(stockHoldRepository.releaseExpired(NOW, 100)).thenReturn(0);
+
+        // When
+        int released = sweeper.sweep();
+
+        // Then
+        assertThat(released).isZero();
+        verify(stockHoldRepository, times(1)).releaseExpired(NOW, 100);
+    }
+}
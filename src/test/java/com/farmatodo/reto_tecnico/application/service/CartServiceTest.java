@@ -1,24 +1,30 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
 import com.farmatodo.reto_tecnico.domain.exception.CartNotFoundException;
 import com.farmatodo.reto_tecnico.domain.exception.EmptyCartException;
 import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
 import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
 import com.farmatodo.reto_tecnico.domain.model.*;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
 import com.farmatodo.reto_tecnico.domain.port.in.CreateOrderUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.CartRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.StockHoldRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -50,6 +56,15 @@ class CartServiceTest {
     @Mock
     private CreateOrderUseCase orderService;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @Mock
+    private StockHoldRepositoryPort stockHoldRepository;
+
+    @Spy
+    private FarmatodoProperties properties = new FarmatodoProperties();
+
     @InjectMocks
     private CartService cartService;
 
@@ -111,7 +126,8 @@ class CartServiceTest {
         assertThat(result.getItems().get(0).getProduct().getId()).isEqualTo(productId);
         assertThat(result.getItems().get(0).getQuantity()).isEqualTo(2);
 
-        verify(cartRepository, times(2)).save(any(Cart.class)); // Once for new cart, once after adding item
+        verify(cartRepository, times(1)).save(any(Cart.class)); // Only for the new cart
+        verify(cartRepository, times(1)).upsertItem(eq(result.getId()), eq(result.getItems().get(0)));
         verify(productRepository, times(1)).findById(productId);
     }
 
@@ -128,7 +144,6 @@ class CartServiceTest {
         existingCart.getItems().add(existingItem);
 
         when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
-        when(cartRepository.save(any(Cart.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
 
         // When
@@ -138,7 +153,9 @@ class CartServiceTest {
         assertThat(result.getItems()).hasSize(1);
         assertThat(result.getItems().get(0).getQuantity()).isEqualTo(5); // 3 + 2
 
-        verify(cartRepository, times(1)).save(any(Cart.class));
+        // Only the changed line is written, the cart itself is not re-saved
+        verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, times(1)).upsertItem(existingCart.getId(), existingItem);
     }
 
     @Test
@@ -150,6 +167,7 @@ class CartServiceTest {
                 .hasMessageContaining("positive");
 
         verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, never()).upsertItem(any(), any());
         verify(productRepository, never()).findById(any());
     }
 
@@ -198,18 +216,20 @@ class CartServiceTest {
                 .isInstanceOf(InsufficientStockException.class);
 
         verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, never()).upsertItem(any(), any());
     }
 
     @Test
     @DisplayName("Should consider existing cart quantity for stock validation")
     void shouldConsiderExistingCartQuantityForStockValidation() {
-        // Given: Cart already has 90 items of a product with 100 stock
+        // Given: Cart already has 90 items (held by this cart) of a product with 100 stock
         Product limitedStockProduct = Product.builder()
                 .id(productId)
                 .name("Acetaminofén 500mg")
                 .description("Analgésico")
                 .price(new Money(new BigDecimal("10000.00")))
                 .stock(100)
+                .heldStock(90)
                 .build();
 
         CartItem existingItem = CartItem.builder()
@@ -228,6 +248,147 @@ class CartServiceTest {
                 .isInstanceOf(InsufficientStockException.class);
     }
 
+    // ==================== STOCK HOLD TESTS ====================
+
+    @Test
+    @DisplayName("Should hold the line's total quantity until the configured TTL")
+    void shouldHoldLineQuantityWithTtl() {
+        // Given: Cart already has 3 units of the product
+        existingCart.getItems().add(CartItem.builder()
+                .id(UUID.randomUUID())
+                .product(testProduct)
+                .quantity(3)
+                .unitPrice(testProduct.getPrice())
+                .build());
+        properties.getCart().setHoldTtlSeconds(600);
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        cartService.addToCart(customerId, productId, 2);
+
+        // Then: The hold covers the whole line (3 + 2) and expires after the TTL
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(stockHoldRepository).hold(eq(existingCart.getId()), eq(productId), eq(5), expiresAt.capture());
+        assertThat(expiresAt.getValue())
+                .isAfterOrEqualTo(before.plusSeconds(600))
+                .isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(600));
+    }
+
+    @Test
+    @DisplayName("Should count the cart's own hold as available when adding more of a held product")
+    void shouldCountOwnHoldAsAvailable() {
+        // Given: Stock 10, this cart already holds 6 (held_stock includes them)
+        testProduct.setStock(10);
+        testProduct.setHeldStock(6);
+        existingCart.getItems().add(CartItem.builder()
+                .id(UUID.randomUUID())
+                .product(testProduct)
+                .quantity(6)
+                .unitPrice(testProduct.getPrice())
+                .build());
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+
+        // When: One more unit (line total 7 of the 10 - 6 + 6 available to this cart)
+        cartService.addToCart(customerId, productId, 1);
+
+        // Then
+        verify(stockHoldRepository).hold(eq(existingCart.getId()), eq(productId), eq(7), any());
+        verify(cartRepository).upsertItem(eq(existingCart.getId()), any(CartItem.class));
+    }
+
+    @Test
+    @DisplayName("Should reject when the line would exceed stock even counting the cart's own hold")
+    void shouldRejectBeyondOwnHold() {
+        // Given: Stock 10, this cart holds 6, another cart holds 3
+        testProduct.setStock(10);
+        testProduct.setHeldStock(9);
+        existingCart.getItems().add(CartItem.builder()
+                .id(UUID.randomUUID())
+                .product(testProduct)
+                .quantity(6)
+                .unitPrice(testProduct.getPrice())
+                .build());
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+
+        // When & Then: 6 + 2 = 8 > 7 available to this cart
+        assertThatThrownBy(() -> cartService.addToCart(customerId, productId, 2))
+                .isInstanceOf(InsufficientStockException.class);
+        verifyNoInteractions(stockHoldRepository);
+    }
+
+    @Test
+    @DisplayName("Should not add the line when the hold is rejected")
+    void shouldNotAddLineWhenHoldRejected() {
+        // Given: Another cart holds the remaining units
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        doThrow(new InsufficientStockException(productId, testProduct.getName(), 1, 2))
+                .when(stockHoldRepository).hold(eq(existingCart.getId()), eq(productId), eq(2), any());
+
+        // When & Then
+        assertThatThrownBy(() -> cartService.addToCart(customerId, productId, 2))
+                .isInstanceOf(InsufficientStockException.class);
+
+        verify(cartRepository, never()).upsertItem(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject before holding when held units leave too little available stock")
+    void shouldRejectWhenHeldUnitsLeaveTooLittle() {
+        // Given: 100 in stock, 99 held by other carts
+        testProduct.setHeldStock(99);
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+
+        // When & Then
+        assertThatThrownBy(() -> cartService.addToCart(customerId, productId, 2))
+                .isInstanceOf(InsufficientStockException.class);
+
+        verifyNoInteractions(stockHoldRepository);
+    }
+
+    @Test
+    @DisplayName("Should not hold stock when holds are disabled")
+    void shouldNotHoldWhenDisabled() {
+        // Given
+        properties.getCart().setHoldsEnabled(false);
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+
+        // When
+        cartService.addToCart(customerId, productId, 2);
+
+        // Then
+        verifyNoInteractions(stockHoldRepository);
+        verify(cartRepository).upsertItem(eq(existingCart.getId()), any(CartItem.class));
+    }
+
+    @Test
+    @DisplayName("Should release the cart's holds before creating the order")
+    void shouldReleaseHoldsBeforeCreatingOrder() {
+        // Given
+        existingCart.getItems().add(CartItem.builder()
+                .id(UUID.randomUUID())
+                .product(testProduct)
+                .quantity(2)
+                .unitPrice(testProduct.getPrice())
+                .build());
+        when(cartRepository.findByCustomerId(customerId)).thenReturn(Optional.of(existingCart));
+        when(orderService.createOrder(any(UUID.class), ArgumentMatchers.<List<OrderItem>>any())).thenReturn(testOrder);
+
+        // When
+        cartService.checkout(customerId);
+
+        // Then: Own holds are released first, so the order can reserve the same units
+        InOrder inOrder = inOrder(stockHoldRepository, orderService);
+        inOrder.verify(stockHoldRepository).releaseCart(existingCart.getId());
+        inOrder.verify(orderService).createOrder(any(UUID.class), ArgumentMatchers.<List<OrderItem>>any());
+    }
+
     // ==================== GET CART TESTS ====================
 
     @Test
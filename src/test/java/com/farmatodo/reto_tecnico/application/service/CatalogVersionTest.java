@@ -0,0 +1,61 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CatalogVersion.
+ */
+@DisplayName("CatalogVersion Unit Tests")
+class CatalogVersionTest {
+
+    @Test
+    @DisplayName("Should bump the version on every kind of product change")
+    void shouldBumpOnEveryChange() {
+        // Given
+        CatalogVersion catalogVersion = new CatalogVersion(100);
+        Product product = Product.builder().id(UUID.randomUUID()).stock(5).build();
+
+        // When
+        catalogVersion.onProductChanged(ProductChangedEvent.saved(product));
+        catalogVersion.onProductChanged(ProductChangedEvent.stockChanged(product));
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(product.getId()));
+
+        // Then
+        assertThat(catalogVersion.current()).isEqualTo(103);
+    }
+
+    @Test
+    @DisplayName("Should bump the version when cart holds change available stock")
+    void shouldBumpOnStockHoldsChange() {
+        // Given
+        CatalogVersion catalogVersion = new CatalogVersion(100);
+
+        // When
+        catalogVersion.onStockHoldsChanged(new StockHoldsChangedEvent(Set.of(UUID.randomUUID())));
+
+        // Then
+        assertThat(catalogVersion.current()).isEqualTo(101);
+    }
+
+    @Test
+    @DisplayName("Should start after versions issued before a restart")
+    void shouldStartFromBootTime() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        CatalogVersion catalogVersion = new CatalogVersion();
+
+        // Then
+        assertThat(catalogVersion.current()).isGreaterThanOrEqualTo(before);
+    }
+}
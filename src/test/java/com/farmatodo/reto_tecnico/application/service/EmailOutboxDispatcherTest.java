@@ -0,0 +1,163 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailOutboxRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailOutboxDispatcher.
+ * Calls dispatch() directly with a fixed clock; the polling thread is never started.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher Unit Tests")
+class EmailOutboxDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30);
+    private static final LocalDateTime LEASE_UNTIL = NOW.plusSeconds(60);
+
+    @Mock
+    private EmailOutboxRepositoryPort outboxRepository;
+
+    @Mock
+    private EmailPort emailPort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getEmail().getOutbox().setBatchSize(2);
+        properties.getEmail().getOutbox().setMaxAttempts(3);
+        properties.getEmail().getOutbox().setRetryDelayMillis(1000);
+        properties.getEmail().getOutbox().setRetryMaxDelayMillis(3000);
+        properties.getEmail().getOutbox().setLeaseSeconds(60);
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, emailPort, properties, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Should send claimed batches and delete delivered messages until drained")
+    void shouldSendAndDeleteUntilDrained() {
+        // Given: a full batch, then a partial one
+        EmailOutboxMessage first = message(0);
+        EmailOutboxMessage second = message(0);
+        EmailOutboxMessage third = message(0);
+        when(outboxRepository.claimDue(NOW, LEASE_UNTIL, 2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(emailPort.sendAll(any())).thenReturn(List.of());
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then
+        assertThat(delivered).isEqualTo(3);
+        verify(emailPort).sendAll(List.of(first, second));
+        verify(emailPort).sendAll(List.of(third));
+        verify(outboxRepository).deleteAll(List.of(first.getId(), second.getId()));
+        verify(outboxRepository).deleteAll(List.of(third.getId()));
+        verify(outboxRepository, times(2)).claimDue(NOW, LEASE_UNTIL, 2);
+        assertThat(meterRegistry.get("email.outbox").tag("result", "sent").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry with exponential backoff for transient failures")
+    void shouldRetryTransientFailureWithBackoff() {
+        // Given: second attempt fails
+        EmailOutboxMessage delivered = message(0);
+        EmailOutboxMessage failing = message(1);
+        when(outboxRepository.claimDue(NOW, LEASE_UNTIL, 2))
+                .thenReturn(List.of(delivered, failing))
+                .thenReturn(List.of());
+        when(emailPort.sendAll(any()))
+                .thenReturn(List.of(new EmailPort.DeliveryFailure(failing.getId(), "421 try later", false)));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then: 2nd attempt -> 1000ms * 2
+        verify(outboxRepository).deleteAll(List.of(delivered.getId()));
+        verify(outboxRepository).scheduleRetry(failing.getId(), 2, NOW.plusSeconds(2), "421 try later");
+        verify(outboxRepository, never()).markFailed(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should mark permanent failures and exhausted messages as failed")
+    void shouldMarkFailedWhenPermanentOrExhausted() {
+        // Given
+        EmailOutboxMessage rejected = message(0);
+        EmailOutboxMessage exhausted = message(2);
+        when(outboxRepository.claimDue(NOW, LEASE_UNTIL, 2)).thenReturn(List.of(rejected, exhausted));
+        when(emailPort.sendAll(any())).thenReturn(List.of(
+                new EmailPort.DeliveryFailure(rejected.getId(), "550 User unknown", true),
+                new EmailPort.DeliveryFailure(exhausted.getId(), "421 try later", false)));
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then: nothing got through, so the dispatcher waits for the next poll
+        assertThat(delivered).isZero();
+        verify(outboxRepository).markFailed(rejected.getId(), 1, "550 User unknown");
+        verify(outboxRepository).markFailed(exhausted.getId(), 3, "421 try later");
+        verify(outboxRepository, never()).scheduleRetry(any(), anyInt(), any(), any());
+        verify(outboxRepository, times(1)).claimDue(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should retry the whole batch when sending throws")
+    void shouldRetryWholeBatchWhenSendThrows() {
+        // Given
+        EmailOutboxMessage message = message(0);
+        when(outboxRepository.claimDue(NOW, LEASE_UNTIL, 2)).thenReturn(List.of(message));
+        when(emailPort.sendAll(any())).thenThrow(new IllegalStateException("SMTP down"));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outboxRepository).scheduleRetry(message.getId(), 1, NOW.plusSeconds(1), "SMTP down");
+        verify(outboxRepository).deleteAll(List.of());
+    }
+
+    @Test
+    @DisplayName("Should cap the retry delay")
+    void shouldCapRetryDelay() {
+        assertThat(dispatcher.retryDelay(1)).isEqualTo(Duration.ofMillis(1000));
+        assertThat(dispatcher.retryDelay(2)).isEqualTo(Duration.ofMillis(2000));
+        assertThat(dispatcher.retryDelay(5)).isEqualTo(Duration.ofMillis(3000));
+        assertThat(dispatcher.retryDelay(100)).isEqualTo(Duration.ofMillis(3000));
+    }
+
+    private static EmailOutboxMessage message(int deliveryAttempts) {
+        return EmailOutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .type(EmailOutboxMessage.Type.PAYMENT_SUCCESS)
+                .recipient("customer@example.com")
+                .orderId(UUID.randomUUID())
+                .deliveryAttempts(deliveryAttempts)
+                .nextAttemptAt(NOW)
+                .createdAt(NOW)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
+import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailOutboxRepositoryPort;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for EmailOutboxService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxService Unit Tests")
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepositoryPort outboxRepository;
+
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = Customer.builder()
+                .id(UUID.randomUUID())
+                .name("Juan Pérez")
+                .email(new Email("juan@example.com"))
+                .phone(new Phone("3001234567"))
+                .address("Calle 123")
+                .build();
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Acetaminofén 500mg")
+                .price(Money.of(new BigDecimal("10000.00")))
+                .stock(10)
+                .build();
+        OrderItem item = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .product(product)
+                .quantity(2)
+                .unitPrice(product.getPrice())
+                .build();
+        order = Order.create(customer, List.of(item));
+    }
+
+    @Test
+    @DisplayName("Should queue payment success email due now")
+    void shouldQueuePaymentSuccess() {
+        // When
+        emailOutboxService.enqueuePaymentSuccess(order, "txn_123");
+
+        // Then
+        EmailOutboxMessage message = captureSaved();
+        assertThat(message.getId()).isNotNull();
+        assertThat(message.getType()).isEqualTo(EmailOutboxMessage.Type.PAYMENT_SUCCESS);
+        assertThat(message.getRecipient()).isEqualTo("juan@example.com");
+        assertThat(message.getCustomerName()).isEqualTo("Juan Pérez");
+        assertThat(message.getOrderId()).isEqualTo(order.getId());
+        assertThat(message.getTotalAmount()).isEqualTo(order.getTotalAmount().toString());
+        assertThat(message.getTransactionId()).isEqualTo("txn_123");
+        assertThat(message.getDeliveryAttempts()).isZero();
+        assertThat(message.getNextAttemptAt()).isEqualTo(message.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should queue payment failure email with attempts")
+    void shouldQueuePaymentFailure() {
+        // When
+        emailOutboxService.enqueuePaymentFailure(order, 3);
+
+        // Then
+        EmailOutboxMessage message = captureSaved();
+        assertThat(message.getType()).isEqualTo(EmailOutboxMessage.Type.PAYMENT_FAILURE);
+        assertThat(message.getPaymentAttempts()).isEqualTo(3);
+        assertThat(message.getTransactionId()).isNull();
+    }
+
+    private EmailOutboxMessage captureSaved() {
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
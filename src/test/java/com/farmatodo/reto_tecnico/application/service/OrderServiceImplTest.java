@@ -1,12 +1,17 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.domain.exception.CustomerNotFoundException;
 import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.EventType;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
 import com.farmatodo.reto_tecnico.domain.model.Product;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
 import com.farmatodo.reto_tecnico.domain.port.out.CustomerRepositoryPort;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
@@ -20,12 +25,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -109,9 +118,9 @@ class OrderServiceImplTest {
         when(customerRepository.findById(testCustomer.getId()))
                 .thenReturn(Optional.of(testCustomer));
 
-        // Mock product repository
-        when(productRepository.findById(lowStockProduct.getId()))
-                .thenReturn(Optional.of(lowStockProduct));
+        // Mock stock reservation rejected by the repository
+        when(productRepository.reserveStock(Map.of(lowStockProduct.getId(), 5)))
+                .thenThrow(new InsufficientStockException(lowStockProduct.getId(), "Ibuprofeno 400mg", 1, 5));
 
         // Act & Assert
         assertThatThrownBy(() ->
@@ -125,8 +134,8 @@ class OrderServiceImplTest {
         // Verify order was never saved
         verify(orderRepository, never()).save(any(Order.class));
 
-        // Verify stock was never updated
-        verify(productRepository, never()).updateStock(any(UUID.class), anyInt());
+        // Verify no stock reduction was audited
+        verify(auditLogService, never()).logEvent(eq(EventType.STOCK_REDUCED), any(), any(), any(), any());
     }
 
     @Test
@@ -136,16 +145,13 @@ class OrderServiceImplTest {
         when(customerRepository.findById(testCustomer.getId()))
                 .thenReturn(Optional.of(testCustomer));
 
-        when(productRepository.findById(testProduct.getId()))
-                .thenReturn(Optional.of(testProduct));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2)))
+                .thenReturn(List.of(reserved(testProduct, 98)));
 
         // Mock order save
         Order mockSavedOrder = Order.create(testCustomer, List.of(testOrderItem));
         when(orderRepository.save(any(Order.class))).thenReturn(mockSavedOrder);
 
-        // Mock stock update
-        when(productRepository.updateStock(any(UUID.class), anyInt())).thenReturn(testProduct);
-
         // Act
         Order result = orderService.createOrder(testCustomer, List.of(testOrderItem));
 
@@ -157,10 +163,15 @@ class OrderServiceImplTest {
         // Verify order was saved
         verify(orderRepository, times(1)).save(any(Order.class));
 
-        // Verify stock was reduced
-        int expectedNewStock = testProduct.getStock() - testOrderItem.getQuantity();
-        verify(productRepository, times(1))
-                .updateStock(testProduct.getId(), expectedNewStock);
+        // Verify stock was reserved in a single call and audited with old/new levels
+        verify(productRepository, times(1)).reserveStock(Map.of(testProduct.getId(), 2));
+        verify(productRepository, never()).updateStock(any(UUID.class), anyInt());
+        verify(auditLogService).logEvent(
+                eq(EventType.STOCK_REDUCED),
+                eq("Product"),
+                eq(testProduct.getId()),
+                eq("SUCCESS"),
+                contains("\"oldStock\":100,\"newStock\":98"));
     }
 
     @Test
@@ -174,16 +185,13 @@ class OrderServiceImplTest {
         when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
 
         // Mock product repository
-        when(productRepository.findById(testProduct.getId()))
-                .thenReturn(Optional.of(testProduct));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2)))
+                .thenReturn(List.of(reserved(testProduct, 98)));
 
         // Mock order save
         Order mockSavedOrder = Order.create(testCustomer, List.of(testOrderItem));
         when(orderRepository.save(any(Order.class))).thenReturn(mockSavedOrder);
 
-        // Mock stock update
-        when(productRepository.updateStock(any(UUID.class), anyInt())).thenReturn(testProduct);
-
         // Act
         Order result = orderService.createOrder(testCustomer, List.of(testOrderItem));
 
@@ -235,11 +243,10 @@ class OrderServiceImplTest {
         when(customerRepository.findById(testCustomer.getId()))
                 .thenReturn(Optional.of(testCustomer));
 
-        // Mock product repositories
-        when(productRepository.findById(product1.getId()))
-                .thenReturn(Optional.of(product1));
-        when(productRepository.findById(product2.getId()))
-                .thenReturn(Optional.of(product2));
+        // Mock stock reservation for both lines in one call
+        when(productRepository.reserveStock(Map.of(product1.getId(), 5, product2.getId(), 10)))
+                .thenThrow(new InsufficientStockException(List.of(
+                        new InsufficientStockException.Shortage(product2.getId(), "Product 2", 2, 10))));
 
         // Act & Assert
         assertThatThrownBy(() ->
@@ -264,15 +271,12 @@ class OrderServiceImplTest {
                 .thenReturn(Optional.of(testCustomer));
 
         // Mock product repository
-        when(productRepository.findById(testProduct.getId()))
-                .thenReturn(Optional.of(testProduct));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2)))
+                .thenReturn(List.of(reserved(testProduct, 98)));
 
         // Mock order save (capture the saved order)
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock stock update
-        when(productRepository.updateStock(any(UUID.class), anyInt())).thenReturn(testProduct);
-
         // Act: Create order WITHOUT explicit delivery address (null)
         Order result = orderService.createOrder(testCustomer, List.of(testOrderItem), null);
 
@@ -300,15 +304,12 @@ class OrderServiceImplTest {
                 .thenReturn(Optional.of(testCustomer));
 
         // Mock product repository
-        when(productRepository.findById(testProduct.getId()))
-                .thenReturn(Optional.of(testProduct));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2)))
+                .thenReturn(List.of(reserved(testProduct, 98)));
 
         // Mock order save (capture the saved order)
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock stock update
-        when(productRepository.updateStock(any(UUID.class), anyInt())).thenReturn(testProduct);
-
         // Act: Create order WITH explicit delivery address
         Order result = orderService.createOrder(testCustomer, List.of(testOrderItem), explicitDeliveryAddress);
 
@@ -333,15 +334,12 @@ class OrderServiceImplTest {
                 .thenReturn(Optional.of(testCustomer));
 
         // Mock product repository
-        when(productRepository.findById(testProduct.getId()))
-                .thenReturn(Optional.of(testProduct));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2)))
+                .thenReturn(List.of(reserved(testProduct, 98)));
 
         // Mock order save (capture the saved order)
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock stock update
-        when(productRepository.updateStock(any(UUID.class), anyInt())).thenReturn(testProduct);
-
         // Act: Create order with BLANK explicit delivery address
         Order result = orderService.createOrder(testCustomer, List.of(testOrderItem), blankDeliveryAddress);
 
@@ -353,4 +351,134 @@ class OrderServiceImplTest {
         // Verify order was saved
         verify(orderRepository, times(1)).save(any(Order.class));
     }
+
+    @Test
+    @DisplayName("Should merge repeated products into one reservation line")
+    void shouldMergeRepeatedProductsIntoOneReservationLine() {
+        // Given: Same product on two lines (2 + 3 units)
+        OrderItem sameProductAgain = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .product(testProduct)
+                .quantity(3)
+                .unitPrice(testProduct.getPrice())
+                .build();
+
+        when(customerRepository.findById(testCustomer.getId()))
+                .thenReturn(Optional.of(testCustomer));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 5)))
+                .thenReturn(List.of(reserved(testProduct, 95)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        orderService.createOrder(testCustomer, List.of(testOrderItem, sameProductAgain));
+
+        // Assert: One reservation line with the summed quantity
+        verify(productRepository, times(1)).reserveStock(Map.of(testProduct.getId(), 5));
+        verify(auditLogService).logEvent(
+                eq(EventType.STOCK_REDUCED), any(), eq(testProduct.getId()), any(),
+                contains("\"quantityReduced\":5"));
+    }
+
+    @Test
+    @DisplayName("Should surface every short line reported by the reservation")
+    void shouldSurfaceEveryShortLine() {
+        // Given: Two lines, both short
+        Product other = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Loratadina 10mg")
+                .price(new Money(new BigDecimal("8000.00")))
+                .stock(0)
+                .build();
+        OrderItem otherItem = OrderItem.builder()
+                .id(UUID.randomUUID())
+                .product(other)
+                .quantity(1)
+                .unitPrice(other.getPrice())
+                .build();
+
+        when(customerRepository.findById(testCustomer.getId()))
+                .thenReturn(Optional.of(testCustomer));
+        when(productRepository.reserveStock(Map.of(testProduct.getId(), 2, other.getId(), 1)))
+                .thenThrow(new InsufficientStockException(List.of(
+                        new InsufficientStockException.Shortage(testProduct.getId(), testProduct.getName(), 1, 2),
+                        new InsufficientStockException.Shortage(other.getId(), other.getName(), 0, 1))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.createOrder(testCustomer, List.of(testOrderItem, otherItem)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Acetaminofén 500mg")
+                .hasMessageContaining("Loratadina 10mg")
+                .satisfies(ex -> assertThat(((InsufficientStockException) ex).getShortages()).hasSize(2));
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    private Product reserved(Product product, int newStock) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(newStock)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra summary and return a cursor when more orders exist")
+    void shouldReturnOrderHistoryPageWithCursor() {
+        // Given: 3 summaries fetched for a page of 2
+        List<OrderSummary> fetched = List.of(summary(3), summary(2), summary(1));
+        when(customerRepository.findById(testCustomer.getId())).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.findSummariesByCustomerId(testCustomer.getId(), null, 3)).thenReturn(fetched);
+
+        // When
+        OrderSummaryPage page = orderService.getOrderHistory(testCustomer.getId(), null, 2);
+
+        // Then
+        assertThat(page.items()).containsExactly(fetched.get(0), fetched.get(1));
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo(OrderCursor.of(fetched.get(1)));
+        verify(orderRepository, never()).findByCustomerId(any());
+    }
+
+    @Test
+    @DisplayName("Should return the last page without a cursor")
+    void shouldReturnLastOrderHistoryPage() {
+        // Given
+        OrderCursor after = new OrderCursor(LocalDateTime.now(), UUID.randomUUID());
+        List<OrderSummary> fetched = List.of(summary(1));
+        when(customerRepository.findById(testCustomer.getId())).thenReturn(Optional.of(testCustomer));
+        when(orderRepository.findSummariesByCustomerId(testCustomer.getId(), after, 3)).thenReturn(fetched);
+
+        // When
+        OrderSummaryPage page = orderService.getOrderHistory(testCustomer.getId(), after, 2);
+
+        // Then
+        assertThat(page.items()).containsExactly(fetched.get(0));
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw CustomerNotFoundException for order history of unknown customer")
+    void shouldThrowWhenOrderHistoryCustomerNotFound() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(customerRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.getOrderHistory(unknownId, null, 20))
+                .isInstanceOf(CustomerNotFoundException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static OrderSummary summary(int daysAgo) {
+        return OrderSummary.builder()
+                .id(UUID.randomUUID())
+                .status(Order.OrderStatus.PAYMENT_CONFIRMED)
+                .totalAmount(new Money(new BigDecimal("25000.00")))
+                .itemCount(1)
+                .createdAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
 }
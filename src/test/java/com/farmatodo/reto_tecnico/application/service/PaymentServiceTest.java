@@ -1,6 +1,7 @@
 package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
 import com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException;
 import com.farmatodo.reto_tecnico.domain.exception.TokenizationFailedException;
 import com.farmatodo.reto_tecnico.domain.model.CreditCard;
@@ -21,6 +22,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
@@ -49,9 +51,6 @@ class PaymentServiceTest {
     @Mock
     private FarmatodoProperties.Payment paymentConfig;
 
-    @Mock
-    private AsyncEmailService asyncEmailService;
-
     @Mock
     private AuditLogService auditLogService;
 
@@ -98,7 +97,7 @@ class PaymentServiceTest {
         // Given: Tokenization succeeds and payment gateway approves immediately
         when(tokenizationService.tokenize(testCard)).thenReturn(tokenizedCard);
         when(transactionService.assignTokenAndSave(any(Order.class), anyString())).thenReturn(testOrder);
-        when(transactionService.confirmPaymentAndSave(any(Order.class))).thenReturn(testOrder);
+        when(transactionService.confirmPaymentAndSave(any(Order.class), anyString())).thenReturn(testOrder);
 
         // Mock payment gateway to return success immediately
         // Need to ensure attemptPayment succeeds by setting rejection probability to 0
@@ -118,7 +117,7 @@ class PaymentServiceTest {
         // Verify interactions
         verify(tokenizationService, times(1)).tokenize(testCard);
         verify(transactionService, times(1)).assignTokenAndSave(testOrder, "tok_test123");
-        verify(transactionService, times(1)).confirmPaymentAndSave(testOrder);
+        verify(transactionService, times(1)).confirmPaymentAndSave(eq(testOrder), startsWith("txn_"));
         verify(transactionService, never()).failPaymentAndSave(any());
     }
 
@@ -128,7 +127,7 @@ class PaymentServiceTest {
         // Given: Tokenization succeeds, payment fails 2 times then succeeds
         when(tokenizationService.tokenize(testCard)).thenReturn(tokenizedCard);
         when(transactionService.assignTokenAndSave(any(Order.class), anyString())).thenReturn(testOrder);
-        when(transactionService.confirmPaymentAndSave(any(Order.class))).thenReturn(testOrder);
+        when(transactionService.confirmPaymentAndSave(any(Order.class), anyString())).thenReturn(testOrder);
 
         // Mock rejection probability to simulate failures
         // Attempt 1: 99 (fail)
@@ -149,7 +148,7 @@ class PaymentServiceTest {
         assertThat(result.transactionId()).isNotNull();
 
         // Verify confirmPayment was called once (on success)
-        verify(transactionService, times(1)).confirmPaymentAndSave(testOrder);
+        verify(transactionService, times(1)).confirmPaymentAndSave(eq(testOrder), startsWith("txn_"));
         verify(transactionService, never()).failPaymentAndSave(any());
     }
 
@@ -160,6 +159,7 @@ class PaymentServiceTest {
         when(tokenizationService.tokenize(testCard)).thenReturn(tokenizedCard);
         when(transactionService.assignTokenAndSave(any(Order.class), anyString())).thenReturn(testOrder);
         when(transactionService.failPaymentAndSave(any(Order.class))).thenReturn(testOrder);
+        when(transactionService.failPaymentAndSave(any(Order.class), anyInt())).thenReturn(testOrder);
 
         // Mock rejection probability to always fail
         when(paymentConfig.getRejectionProbability()).thenReturn(100);
@@ -169,9 +169,10 @@ class PaymentServiceTest {
                 .isInstanceOf(PaymentFailedException.class)
                 .hasMessageContaining("Payment rejected after 3 attempts");
 
-        // Verify failPayment was called (at least once, may be called in retry loop and catch block)
+        // Verify failure (with failure email) recorded once, then failPayment again by the catch block
+        verify(transactionService, times(1)).failPaymentAndSave(testOrder, 3);
         verify(transactionService, atLeast(1)).failPaymentAndSave(testOrder);
-        verify(transactionService, never()).confirmPaymentAndSave(any());
+        verify(transactionService, never()).confirmPaymentAndSave(any(), any());
     }
 
     @Test
@@ -189,7 +190,7 @@ class PaymentServiceTest {
 
         // Verify failPayment was called
         verify(transactionService, times(1)).failPaymentAndSave(testOrder);
-        verify(transactionService, never()).confirmPaymentAndSave(any());
+        verify(transactionService, never()).confirmPaymentAndSave(any(), any());
         verify(transactionService, never()).assignTokenAndSave(any(), any());
     }
 
@@ -210,4 +211,54 @@ class PaymentServiceTest {
         // Verify failPayment was called
         verify(transactionService, times(1)).failPaymentAndSave(testOrder);
     }
+
+    @Test
+    @DisplayName("Should propagate a concurrent order change without marking the order failed")
+    void shouldPropagateConflictOnTokenAssignment() {
+        // Given: Another request moved the order before the token was assigned
+        OrderStatusConflictException conflict = new OrderStatusConflictException(testOrder.getId(), "PENDING");
+        when(tokenizationService.tokenize(testCard)).thenReturn(tokenizedCard);
+        when(transactionService.assignTokenAndSave(any(Order.class), anyString())).thenThrow(conflict);
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentService.processPayment(testOrder, testCard))
+                .isInstanceOf(OrderStatusConflictException.class);
+
+        verify(transactionService, never()).failPaymentAndSave(any());
+        verify(transactionService, never()).confirmPaymentAndSave(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not retry when the order changed after the gateway charged it")
+    void shouldNotRetryWhenConfirmConflicts() {
+        // Given: Gateway approves, but the order was changed concurrently
+        OrderStatusConflictException conflict =
+                new OrderStatusConflictException(testOrder.getId(), "PAYMENT_PROCESSING");
+        when(tokenizationService.tokenize(testCard)).thenReturn(tokenizedCard);
+        when(transactionService.assignTokenAndSave(any(Order.class), anyString())).thenReturn(testOrder);
+        when(transactionService.confirmPaymentAndSave(any(Order.class), anyString())).thenThrow(conflict);
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentService.processPayment(testOrder, testCard))
+                .isInstanceOf(OrderStatusConflictException.class);
+
+        verify(transactionService, times(1)).confirmPaymentAndSave(any(Order.class), anyString());
+        verify(transactionService, never()).failPaymentAndSave(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a confirmed order with a conflict before tokenizing or charging")
+    void shouldRejectConfirmedOrderWithoutCallingGateway() {
+        // Given: The order was already paid
+        Order confirmedOrder = Order.builder()
+                .id(testOrder.getId())
+                .status(Order.OrderStatus.PAYMENT_CONFIRMED)
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentService.processPayment(confirmedOrder, testCard))
+                .isInstanceOf(OrderStatusConflictException.class);
+
+        verifyNoInteractions(tokenizationService, paymentGateway, transactionService, auditLogService);
+    }
 }
@@ -1,5 +1,6 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.model.OrderItem;
@@ -12,7 +13,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -22,7 +22,10 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,6 +42,9 @@ class PaymentTransactionServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
     @InjectMocks
     private PaymentTransactionService paymentTransactionService;
 
@@ -89,49 +95,96 @@ class PaymentTransactionServiceTest {
     }
 
     @Test
-    @DisplayName("Should assign token and save order")
+    @DisplayName("Should assign token with a conditional status update")
     void shouldAssignTokenAndSaveOrder() {
         // Given
         String token = "tok_test_token_12345";
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.updateStatusAndPaymentToken(eq(testOrder.getId()), eq(Order.PAYABLE_STATUSES),
+                eq(Order.OrderStatus.PAYMENT_PROCESSING), eq(token), any())).thenReturn(true);
 
         // When
         Order result = paymentTransactionService.assignTokenAndSave(testOrder, token);
 
         // Then
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(testOrder);
         assertThat(result.getPaymentToken()).isEqualTo(token);
         assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_PROCESSING);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw conflict when the order changed before the token was assigned")
+    void shouldThrowConflictWhenAssigningTokenToChangedOrder() {
+        // Given
+        when(orderRepository.updateStatusAndPaymentToken(any(), any(), any(), anyString(), any())).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> paymentTransactionService.assignTokenAndSave(testOrder, "tok_test"))
+                .isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("PENDING");
+    }
 
-        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository).save(orderCaptor.capture());
-        assertThat(orderCaptor.getValue().getPaymentToken()).isEqualTo(token);
+    @Test
+    @DisplayName("Should not assign a token to a confirmed or cancelled order")
+    void shouldNotAssignTokenToOrderThatIsNotPayable() {
+        // Given
+        Order confirmedOrder = Order.builder()
+                .id(UUID.randomUUID())
+                .status(Order.OrderStatus.PAYMENT_CONFIRMED)
+                .build();
+        Order cancelledOrder = Order.builder()
+                .id(UUID.randomUUID())
+                .status(Order.OrderStatus.CANCELLED)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> paymentTransactionService.assignTokenAndSave(confirmedOrder, "tok_test"))
+                .isInstanceOf(OrderStatusConflictException.class);
+        assertThatThrownBy(() -> paymentTransactionService.assignTokenAndSave(cancelledOrder, "tok_test"))
+                .isInstanceOf(OrderStatusConflictException.class);
+        assertThat(confirmedOrder.getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_CONFIRMED);
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
-    @DisplayName("Should confirm payment and save order")
+    @DisplayName("Should confirm payment with a conditional status update")
     void shouldConfirmPaymentAndSaveOrder() {
         // Given
         testOrder.assignPaymentToken("tok_test_token");
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.updateStatus(eq(testOrder.getId()), eq(Order.OrderStatus.PAYMENT_PROCESSING),
+                eq(Order.OrderStatus.PAYMENT_CONFIRMED), any())).thenReturn(true);
 
         // When
-        Order result = paymentTransactionService.confirmPaymentAndSave(testOrder);
+        Order result = paymentTransactionService.confirmPaymentAndSave(testOrder, "txn_123");
 
         // Then
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(testOrder);
         assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_CONFIRMED);
+        verify(orderRepository, never()).save(any());
 
-        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository).save(orderCaptor.capture());
-        assertThat(orderCaptor.getValue().getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_CONFIRMED);
+        // Success email queued in the same transaction
+        verify(emailOutboxService).enqueuePaymentSuccess(result, "txn_123");
     }
 
     @Test
-    @DisplayName("Should fail payment and save order")
+    @DisplayName("Should not queue the success email when the order changed concurrently")
+    void shouldNotQueueEmailWhenConfirmConflicts() {
+        // Given
+        testOrder.assignPaymentToken("tok_test_token");
+        when(orderRepository.updateStatus(any(), any(), any(), any())).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> paymentTransactionService.confirmPaymentAndSave(testOrder, "txn_123"))
+                .isInstanceOf(OrderStatusConflictException.class);
+        verifyNoInteractions(emailOutboxService, auditLogService);
+    }
+
+    @Test
+    @DisplayName("Should fail payment with a conditional status update")
     void shouldFailPaymentAndSaveOrder() {
         // Given
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.updateStatus(eq(testOrder.getId()), eq(Order.OrderStatus.PENDING),
+                eq(Order.OrderStatus.PAYMENT_FAILED), any())).thenReturn(true);
 
         // When
         Order result = paymentTransactionService.failPaymentAndSave(testOrder);
@@ -139,10 +192,24 @@ class PaymentTransactionServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_FAILED);
+        verify(orderRepository, never()).save(any());
+
+        // Failures before any attempt send no email
+        verifyNoInteractions(emailOutboxService);
+    }
 
-        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository).save(orderCaptor.capture());
-        assertThat(orderCaptor.getValue().getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_FAILED);
+    @Test
+    @DisplayName("Should fail payment after retries and queue failure email")
+    void shouldFailPaymentAfterRetriesAndQueueEmail() {
+        // Given
+        when(orderRepository.updateStatus(any(), any(), any(), any())).thenReturn(true);
+
+        // When
+        Order result = paymentTransactionService.failPaymentAndSave(testOrder, 3);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PAYMENT_FAILED);
+        verify(emailOutboxService).enqueuePaymentFailure(result, 3);
     }
 
     @Test
@@ -179,7 +246,7 @@ class PaymentTransactionServiceTest {
         // Given
         String token = "tok_processing_token";
         assertThat(testOrder.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.updateStatusAndPaymentToken(any(), any(), any(), anyString(), any())).thenReturn(true);
 
         // When
         Order result = paymentTransactionService.assignTokenAndSave(testOrder, token);
@@ -0,0 +1,275 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
+import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductSearchIndex.
+ * Verifies trigram matching, accent/case folding, stock filtering and incremental updates.
+ *
+ * Uses pure unit testing with Mockito (NO Spring context).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepositoryPort productRepository;
+
+    @Mock
+    private FarmatodoProperties properties;
+
+    private ProductSearchIndex index;
+
+    private Product acetaminofen;
+    private Product ibuprofeno;
+    private Product outOfStock;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties.Product productConfig = new FarmatodoProperties.Product();
+        productConfig.setMinStockThreshold(1);
+        lenient().when(properties.getProduct()).thenReturn(productConfig);
+
+        index = new ProductSearchIndex(productRepository, properties);
+
+        acetaminofen = product("Acetaminofén 500mg", 150);
+        ibuprofeno = product("Ibuprofeno 400mg", 80);
+        outOfStock = product("Acetaminofén Infantil", 0);
+    }
+
+    @Test
+    @DisplayName("Should not be ready before build")
+    void shouldNotBeReadyBeforeBuild() {
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should build from repository on application ready")
+    void shouldBuildFromRepositoryOnApplicationReady() {
+        // Given
+        when(productRepository.findAll()).thenReturn(List.of(acetaminofen, ibuprofeno));
+
+        // When
+        index.onApplicationReady();
+
+        // Then
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("ibupro")).extracting(Product::getId).containsExactly(ibuprofeno.getId());
+    }
+
+    @Test
+    @DisplayName("Should stay disabled when repository fails during build")
+    void shouldStayDisabledWhenBuildFails() {
+        // Given
+        when(productRepository.findAll()).thenThrow(new RuntimeException("DB down"));
+
+        // When
+        index.onApplicationReady();
+
+        // Then
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match ignoring accents and case")
+    void shouldMatchIgnoringAccentsAndCase() {
+        // Given
+        index.rebuild(List.of(acetaminofen, ibuprofeno));
+
+        // Then
+        assertThat(index.search("ACETAMINOFEN")).extracting(Product::getId).containsExactly(acetaminofen.getId());
+        assertThat(index.search("minofén 5")).extracting(Product::getId).containsExactly(acetaminofen.getId());
+    }
+
+    @Test
+    @DisplayName("Should require real substring match, not just shared trigrams")
+    void shouldRequireSubstringMatch() {
+        // Given: "abcde" has trigrams abc, bcd, cde - all present in the name, but not contiguous
+        Product tricky = product("Gel abcd bcde", 10);
+        index.rebuild(List.of(acetaminofen, tricky));
+
+        // Then
+        assertThat(index.search("abcde")).isEmpty();
+        assertThat(index.search("xyz")).isEmpty();
+        assertThat(index.search("abcd b")).extracting(Product::getId).containsExactly(tricky.getId());
+    }
+
+    @Test
+    @DisplayName("Should exclude products at or below min stock threshold")
+    void shouldExcludeLowStockProducts() {
+        // Given
+        index.rebuild(List.of(acetaminofen, outOfStock));
+
+        // Then
+        assertThat(index.search("acetaminofen")).extracting(Product::getId).containsExactly(acetaminofen.getId());
+    }
+
+    @Test
+    @DisplayName("Should scan for queries shorter than a trigram")
+    void shouldScanForShortQueries() {
+        // Given
+        index.rebuild(List.of(acetaminofen, ibuprofeno));
+
+        // Then
+        assertThat(index.search("4")).extracting(Product::getId).containsExactly(ibuprofeno.getId());
+        assertThat(index.search("mg")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should page matches in name order after the cursor")
+    void shouldPageMatchesInNameOrder() {
+        // Given
+        Product caps = product("Acetaminofén Cápsulas", 20);
+        index.rebuild(List.of(ibuprofeno, caps, acetaminofen, outOfStock));
+
+        // When
+        List<Product> first = index.search("mg", null, 1);
+        List<Product> second = index.search("mg", ProductCursor.of(first.get(0)), 1);
+        List<Product> third = index.search("mg", ProductCursor.of(second.get(0)), 1);
+        List<Product> all = index.search("aceta", null, 10);
+
+        // Then
+        assertThat(first).extracting(Product::getId).containsExactly(acetaminofen.getId());
+        assertThat(second).extracting(Product::getId).containsExactly(ibuprofeno.getId());
+        assertThat(third).isEmpty();
+        assertThat(all).extracting(Product::getName)
+                .containsExactly("Acetaminofén 500mg", "Acetaminofén Cápsulas");
+    }
+
+    @Test
+    @DisplayName("Should apply stock change events")
+    void shouldApplyStockChangeEvents() {
+        // Given
+        index.rebuild(List.of(acetaminofen));
+        Product depleted = product(acetaminofen.getId(), acetaminofen.getName(), 0);
+
+        // When
+        index.onProductChanged(ProductChangedEvent.stockChanged(depleted));
+
+        // Then
+        assertThat(index.search("acetaminofen")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should index new and renamed products and drop deleted ones")
+    void shouldApplySaveAndDeleteEvents() {
+        // Given
+        index.rebuild(List.of(acetaminofen));
+        Product renamed = product(acetaminofen.getId(), "Paracetamol 500mg", 150);
+
+        // When
+        index.onProductChanged(ProductChangedEvent.saved(renamed));
+        index.onProductChanged(ProductChangedEvent.saved(ibuprofeno));
+
+        // Then
+        assertThat(index.search("acetaminofen")).isEmpty();
+        assertThat(index.search("paracetamol")).extracting(Product::getName).containsExactly("Paracetamol 500mg");
+        assertThat(index.search("ibuprofeno")).hasSize(1);
+
+        // When
+        index.onProductChanged(ProductChangedEvent.deleted(ibuprofeno.getId()));
+
+        // Then
+        assertThat(index.search("ibuprofeno")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not apply events before the index is built")
+    void shouldNotApplyEventsBeforeBuild() {
+        // When
+        index.onProductChanged(ProductChangedEvent.saved(acetaminofen));
+
+        // Then
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search("acetaminofen")).isEmpty();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should replay changes that committed while the startup snapshot was read")
+    void shouldReplayChangesReceivedDuringBuild() {
+        // Given: a sale and a new product commit after the snapshot rows were read
+        Product depleted = product(acetaminofen.getId(), acetaminofen.getName(), 0);
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            index.onProductChanged(ProductChangedEvent.stockChanged(depleted));
+            index.onProductChanged(ProductChangedEvent.saved(ibuprofeno));
+            return List.of(acetaminofen);
+        });
+
+        // When
+        index.onApplicationReady();
+
+        // Then
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("acetaminofen")).isEmpty();
+        assertThat(index.search("ibuprofeno")).extracting(Product::getId).containsExactly(ibuprofeno.getId());
+    }
+
+    @Test
+    @DisplayName("Should drop buffered changes when the build fails")
+    void shouldDropBufferedChangesWhenBuildFails() {
+        // Given
+        index.onProductChanged(ProductChangedEvent.saved(ibuprofeno));
+        when(productRepository.findAll()).thenThrow(new RuntimeException("DB down"));
+
+        // When
+        index.onApplicationReady();
+        index.onProductChanged(ProductChangedEvent.saved(acetaminofen));
+
+        // Then
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search("ibuprofeno")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot mutate indexed state")
+    void shouldReturnCopies() {
+        // Given
+        index.rebuild(List.of(acetaminofen));
+
+        // When
+        index.search("acetaminofen").get(0).setStock(0);
+
+        // Then
+        assertThat(index.search("acetaminofen")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fold accents and case")
+    void shouldFoldAccentsAndCase() {
+        assertThat(ProductSearchIndex.fold("  Acetaminofén ÑAME ")).isEqualTo("acetaminofen name");
+        assertThat(ProductSearchIndex.fold(null)).isEmpty();
+    }
+
+    private Product product(String name, int stock) {
+        return product(UUID.randomUUID(), name, stock);
+    }
+
+    private Product product(UUID id, String name, int stock) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test product")
+                .price(new Money(new BigDecimal("10000.00")))
+                .stock(stock)
+                .build();
+    }
+}
@@ -2,7 +2,9 @@ package com.farmatodo.reto_tecnico.application.service;
 
 import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +27,7 @@ import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ProductServiceImpl.
- * Tests product search and async logging functionality.
+ * Tests product search and search analytics recording.
  *
  * Uses pure unit testing with Mockito (NO Spring context).
  */
@@ -37,7 +39,10 @@ class ProductServiceImplTest {
     private ProductRepositoryPort productRepository;
 
     @Mock
-    private SearchLogService searchLogService;
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
 
     @InjectMocks
     private ProductServiceImpl productService;
@@ -65,8 +70,8 @@ class ProductServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should search by name and call async logging")
-    void shouldSearchByNameAndCallAsyncLogging() {
+    @DisplayName("Should search by name and record the search")
+    void shouldSearchByNameAndRecordSearch() {
         // Given: Mock repository returns results
         String query = "Acetaminofén";
         List<Product> expectedResults = List.of(testProduct1);
@@ -82,8 +87,26 @@ class ProductServiceImplTest {
         // Assert: Repository called with trimmed query
         verify(productRepository, times(1)).findByNameContaining(query);
 
-        // Assert: Async logging called with query and result count
-        verify(searchLogService, times(1)).logSearchAsync(query, 1);
+        // Assert: Search recorded with query and result count
+        verify(searchAnalyticsService, times(1)).recordSearch(query, 1);
+    }
+
+    @Test
+    @DisplayName("Should search in-memory index when it is ready")
+    void shouldSearchInMemoryIndexWhenReady() {
+        // Given: Index is built
+        String query = "Acetaminofén";
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(query)).thenReturn(List.of(testProduct1));
+
+        // Act
+        List<Product> results = productService.searchByName("  " + query + "  ");
+
+        // Assert: Results come from index, database is not queried
+        assertThat(results).containsExactly(testProduct1);
+        verify(searchIndex).search(query);
+        verify(productRepository, never()).findByNameContaining(anyString());
+        verify(searchAnalyticsService).recordSearch("  " + query + "  ", 1);
     }
 
     @Test
@@ -102,8 +125,8 @@ class ProductServiceImplTest {
         // Verify repository was never called
         verify(productRepository, never()).findByNameContaining(anyString());
 
-        // Verify async logging was never called
-        verify(searchLogService, never()).logSearchAsync(anyString(), anyInt());
+        // Verify the search was never recorded
+        verify(searchAnalyticsService, never()).recordSearch(anyString(), anyInt());
     }
 
     @Test
@@ -134,8 +157,8 @@ class ProductServiceImplTest {
         // Assert: Empty results
         assertThat(results).isEmpty();
 
-        // Assert: Async logging still called with 0 results
-        verify(searchLogService, times(1)).logSearchAsync(query, 0);
+        // Assert: Search still recorded with 0 results
+        verify(searchAnalyticsService, times(1)).recordSearch(query, 0);
     }
 
     @Test
@@ -184,6 +207,129 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findAllInStock();
     }
 
+    @Test
+    @DisplayName("Should return first search page with next cursor and log the search")
+    void shouldReturnFirstSearchPageWithNextCursor() {
+        // Given: Repository returns size + 1 rows, signalling another page
+        String query = "mg";
+        when(productRepository.findByNameContaining(query, null, 2))
+                .thenReturn(List.of(testProduct1, testProduct2));
+
+        // Act
+        ProductPage page = productService.searchByName(query, null, 1);
+
+        // Assert: Extra row is trimmed and becomes the cursor source
+        assertThat(page.items()).containsExactly(testProduct1);
+        assertThat(page.nextCursor()).isEqualTo(ProductCursor.of(testProduct1));
+        verify(searchAnalyticsService).recordSearch(query, 1);
+    }
+
+    @Test
+    @DisplayName("Should not log following search pages")
+    void shouldNotLogFollowingSearchPages() {
+        // Given: Request for the page after testProduct1
+        String query = "mg";
+        ProductCursor after = ProductCursor.of(testProduct1);
+        when(productRepository.findByNameContaining(query, after, 21)).thenReturn(List.of(testProduct2));
+
+        // Act
+        ProductPage page = productService.searchByName(query, after, 20);
+
+        // Assert: Last page, no logging for continuation
+        assertThat(page.items()).containsExactly(testProduct2);
+        assertThat(page.hasNext()).isFalse();
+        verify(searchAnalyticsService, never()).recordSearch(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page through in-memory index when it is ready")
+    void shouldPageThroughInMemoryIndexWhenReady() {
+        // Given: Index is built
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("mg", null, 21)).thenReturn(List.of(testProduct1, testProduct2));
+
+        // Act
+        ProductPage page = productService.searchByName(" mg ", null, 20);
+
+        // Assert: Results come from index, database is not queried
+        assertThat(page.items()).containsExactly(testProduct1, testProduct2);
+        verify(productRepository, never()).findByNameContaining(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should issue index cursors and continue them on the index")
+    void shouldContinueIndexCursorOnIndex() {
+        // Given: Index is built and has more than one page
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("mg", null, 2)).thenReturn(List.of(testProduct1, testProduct2));
+
+        // Act
+        ProductPage first = productService.searchByName("mg", null, 1);
+
+        // Assert: The cursor is only valid on the index
+        assertThat(first.nextCursor().source()).isEqualTo(ProductCursor.Source.SEARCH_INDEX);
+        ProductCursor after = ProductCursor.decode(first.nextCursor().encode());
+        when(searchIndex.search("mg", after, 2)).thenReturn(List.of(testProduct2));
+        assertThat(productService.searchByName("mg", after, 1).items()).containsExactly(testProduct2);
+        verify(productRepository, never()).findByNameContaining(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should continue a database cursor on the database even when the index is ready")
+    void shouldContinueDatabaseCursorOnDatabase() {
+        // Given: A cursor issued before the index was built
+        ProductCursor after = ProductCursor.of(testProduct1);
+        when(productRepository.findByNameContaining("mg", after, 21)).thenReturn(List.of(testProduct2));
+
+        // Act
+        ProductPage page = productService.searchByName("mg", after, 20);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testProduct2);
+        verify(searchIndex, never()).search(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject index cursors the index cannot serve")
+    void shouldRejectIndexCursorWhenIndexNotReady() {
+        // Given: An index cursor from before a restart, index not built yet
+        ProductCursor after = ProductCursor.of(testProduct1, ProductCursor.Source.SEARCH_INDEX);
+        when(searchIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.searchByName("mg", after, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productService.findAllInStock(after, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should return empty page for blank query")
+    void shouldReturnEmptyPageForBlankQuery() {
+        // Act
+        ProductPage page = productService.searchByName("  ", null, 20);
+
+        // Assert
+        assertThat(page.items()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        verifyNoInteractions(productRepository, searchIndex, searchAnalyticsService);
+    }
+
+    @Test
+    @DisplayName("Should find in-stock page fetching one extra row")
+    void shouldFindInStockPage() {
+        // Given: Exactly size rows available
+        when(productRepository.findAllInStock(null, 3)).thenReturn(List.of(testProduct1, testProduct2));
+
+        // Act
+        ProductPage page = productService.findAllInStock(null, 2);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testProduct1, testProduct2);
+        assertThat(page.hasNext()).isFalse();
+    }
+
     @Test
     @DisplayName("Should find all products")
     void shouldFindAllProducts() {
@@ -244,28 +390,27 @@ class ProductServiceImplTest {
         assertThat(results).hasSize(2);
         assertThat(results).contains(testProduct1, testProduct2);
 
-        // Verify async logging called with correct count
-        verify(searchLogService, times(1)).logSearchAsync(query, 2);
+        // Verify search recorded with correct count
+        verify(searchAnalyticsService, times(1)).recordSearch(query, 2);
     }
 
     @Test
-    @DisplayName("Should call async logging service")
-    void shouldCallAsyncLoggingService() {
+    @DisplayName("Should record search in analytics service")
+    void shouldRecordSearchInAnalyticsService() {
         // Given: Search returns results
         String query = "Acetaminofén";
         when(productRepository.findByNameContaining(query)).thenReturn(List.of(testProduct1));
-        doNothing().when(searchLogService).logSearchAsync(anyString(), anyInt());
+        doNothing().when(searchAnalyticsService).recordSearch(anyString(), anyInt());
 
         // Act
         List<Product> results = productService.searchByName(query);
 
-        // Assert: Main flow completes and async logging called
+        // Assert: Main flow completes and search recorded
         assertThat(results).hasSize(1);
         verify(productRepository, times(1)).findByNameContaining(query);
-        verify(searchLogService, times(1)).logSearchAsync(query, 1);
+        verify(searchAnalyticsService, times(1)).recordSearch(query, 1);
 
-        // Note: In production with @Async, if logging fails, it won't affect the main flow
-        // The @Async method runs in a separate thread and exceptions are handled by Spring
+        // Note: recordSearch catches its own exceptions, so analytics never affect the main flow
     }
 
     @Test
@@ -295,6 +440,6 @@ class ProductServiceImplTest {
         // Assert
         assertThat(results).hasSize(1);
         verify(productRepository, times(1)).findByNameContaining(upperCaseQuery);
-        verify(searchLogService, times(1)).logSearchAsync(upperCaseQuery, 1);
+        verify(searchAnalyticsService, times(1)).recordSearch(upperCaseQuery, 1);
     }
 }
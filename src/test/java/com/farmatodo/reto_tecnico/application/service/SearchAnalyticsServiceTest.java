@@ -0,0 +1,190 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.domain.port.out.SearchQueryStatsRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SearchAnalyticsService.
+ * Uses a settable clock and calls flush() directly, so the background thread is never started.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchAnalyticsService Unit Tests")
+class SearchAnalyticsServiceTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Mock
+    private SearchQueryStatsRepositoryPort statsRepository;
+
+    @Mock
+    private SearchLogService searchLogService;
+
+    private FarmatodoProperties properties;
+    private SettableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FarmatodoProperties();
+        clock = new SettableClock(MINUTE.plusSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Should normalize case, accents and whitespace")
+    void shouldNormalizeQueries() {
+        assertThat(SearchAnalyticsService.normalize("  Acetaminofén   500mg ")).isEqualTo("acetaminofen 500mg");
+        assertThat(SearchAnalyticsService.normalize("IBUPROFENO")).isEqualTo("ibuprofeno");
+        assertThat(SearchAnalyticsService.normalize(null)).isEmpty();
+        assertThat(SearchAnalyticsService.normalize("x".repeat(300)))
+                .hasSize(SearchAnalyticsService.MAX_QUERY_LENGTH);
+    }
+
+    @Test
+    @DisplayName("Should write one aggregate per query once the minute is closed")
+    void shouldFlushClosedMinuteAsAggregates() {
+        // Given
+        SearchAnalyticsService service = service(0.0);
+        service.recordSearch("Acetaminofén", 3);
+        service.recordSearch("acetaminofen", 0);
+        service.recordSearch("Ibuprofeno", 2);
+
+        // When: still inside the minute
+        assertThat(service.flush()).isZero();
+        verifyNoInteractions(statsRepository);
+
+        // When: past the minute and the grace period
+        clock.set(MINUTE.plusMinutes(1).plusSeconds(6));
+        int written = service.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SearchQueryStat>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statsRepository).addAll(captor.capture());
+        assertThat(written).isEqualTo(2);
+        assertThat(captor.getValue()).containsExactly(
+                SearchQueryStat.builder().bucketStart(MINUTE).query("acetaminofen").searchCount(2).zeroResultCount(1).build(),
+                SearchQueryStat.builder().bucketStart(MINUTE).query("ibuprofeno").searchCount(1).zeroResultCount(0).build());
+
+        // And the minute is not written twice
+        assertThat(service.flush()).isZero();
+        verifyNoMoreInteractions(statsRepository);
+    }
+
+    @Test
+    @DisplayName("Should flush the current minute on shutdown")
+    void shouldFlushEverythingOnStop() {
+        // Given
+        SearchAnalyticsService service = service(0.0);
+        service.recordSearch("Acetaminofén", 3);
+
+        // When
+        service.stop();
+
+        // Then
+        verify(statsRepository).addAll(List.of(
+                SearchQueryStat.builder().bucketStart(MINUTE).query("acetaminofen").searchCount(1).zeroResultCount(0).build()));
+    }
+
+    @Test
+    @DisplayName("Should not write raw search logs when sampling is disabled")
+    void shouldNotSampleByDefault() {
+        // Given
+        SearchAnalyticsService service = service(0.0);
+
+        // When
+        service.recordSearch("Acetaminofén", 3);
+
+        // Then
+        verifyNoInteractions(searchLogService);
+    }
+
+    @Test
+    @DisplayName("Should write raw search log for sampled searches only")
+    void shouldSampleRawLogs() {
+        // Given: random draws 0.05 then 0.5 against a 10% rate
+        properties.getSearchAnalytics().setRawSampleRate(0.1);
+        double[] draws = {0.05, 0.5};
+        int[] next = {0};
+        SearchAnalyticsService service = new SearchAnalyticsService(
+                statsRepository, searchLogService, properties, clock, () -> draws[next[0]++]);
+
+        // When
+        service.recordSearch("Acetaminofén", 3);
+        service.recordSearch("Ibuprofeno", 0);
+
+        // Then: raw query is kept as typed
+        verify(searchLogService).logSearchAsync("Acetaminofén", 3);
+        verify(searchLogService, never()).logSearchAsync(eq("Ibuprofeno"), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should read top queries since the start of the window")
+    void shouldReadTopQueriesForWindow() {
+        // Given
+        SearchAnalyticsService service = service(0.0);
+        List<TopSearchQuery> top = List.of(TopSearchQuery.builder().query("acetaminofen").searches(5).zeroResultSearches(0).build());
+        when(statsRepository.findTopQueries(MINUTE.minusMinutes(60), 10)).thenReturn(top);
+
+        // When
+        List<TopSearchQuery> result = service.getTopQueries(Duration.ofMinutes(60), 10);
+
+        // Then
+        assertThat(result).isEqualTo(top);
+    }
+
+    private SearchAnalyticsService service(double rawSampleRate) {
+        properties.getSearchAnalytics().setRawSampleRate(rawSampleRate);
+        return new SearchAnalyticsService(statsRepository, searchLogService, properties, clock, () -> 1.0);
+    }
+
+    /**
+     * Clock whose time the test moves forward.
+     */
+    private static final class SettableClock extends Clock {
+
+        private Instant instant;
+
+        private SettableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            this.instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
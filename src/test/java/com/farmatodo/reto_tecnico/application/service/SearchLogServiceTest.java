@@ -1,6 +1,8 @@
 package com.farmatodo.reto_tecnico.application.service;
 
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
 import com.farmatodo.reto_tecnico.domain.model.SearchLog;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
 import com.farmatodo.reto_tecnico.domain.port.out.SearchLogRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 
@@ -30,6 +33,9 @@ class SearchLogServiceTest {
     @Mock
     private SearchLogRepositoryPort searchLogRepository;
 
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
+
     @InjectMocks
     private SearchLogService searchLogService;
 
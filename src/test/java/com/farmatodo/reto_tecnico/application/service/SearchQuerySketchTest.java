@@ -0,0 +1,80 @@
+package com.farmatodo.reto_tecnico.application.service;
+
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SearchQuerySketch (Space-Saving heavy hitters).
+ */
+@DisplayName("SearchQuerySketch Unit Tests")
+class SearchQuerySketchTest {
+
+    private static final LocalDateTime BUCKET = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Test
+    @DisplayName("Should count exactly while under capacity")
+    void shouldCountExactlyUnderCapacity() {
+        // Given
+        SearchQuerySketch sketch = new SearchQuerySketch(10);
+
+        // When
+        sketch.add("acetaminofen", false);
+        sketch.add("ibuprofeno", true);
+        sketch.add("acetaminofen", true);
+        sketch.add("acetaminofen", false);
+
+        // Then: most searched first, zero-result searches counted separately
+        List<SearchQueryStat> stats = sketch.toStats(BUCKET);
+        assertThat(stats).extracting(SearchQueryStat::getQuery).containsExactly("acetaminofen", "ibuprofeno");
+        assertThat(stats.get(0).getSearchCount()).isEqualTo(3);
+        assertThat(stats.get(0).getZeroResultCount()).isEqualTo(1);
+        assertThat(stats.get(1).getSearchCount()).isEqualTo(1);
+        assertThat(stats.get(1).getZeroResultCount()).isEqualTo(1);
+        assertThat(stats).allMatch(stat -> stat.getBucketStart().equals(BUCKET));
+        assertThat(sketch.evictions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep frequent queries when the long tail exceeds capacity")
+    void shouldKeepHeavyHittersWhenFull() {
+        // Given
+        SearchQuerySketch sketch = new SearchQuerySketch(3);
+        for (int i = 0; i < 50; i++) {
+            sketch.add("acetaminofen", false);
+        }
+        for (int i = 0; i < 20; i++) {
+            sketch.add("ibuprofeno", false);
+        }
+
+        // When: one-off queries rotate through the last slot, each inheriting the evicted count + 1
+        // (fewer than 20, so the rotating slot never overtakes the heavy hitters)
+        for (int i = 0; i < 15; i++) {
+            sketch.add("unique-" + i, true);
+        }
+
+        // Then: memory stays bounded and the heavy hitters keep their exact counts
+        assertThat(sketch.size()).isEqualTo(3);
+        assertThat(sketch.evictions()).isEqualTo(14);
+        List<SearchQueryStat> stats = sketch.toStats(BUCKET);
+        assertThat(stats.get(0).getQuery()).isEqualTo("acetaminofen");
+        assertThat(stats.get(0).getSearchCount()).isEqualTo(50);
+        assertThat(stats.get(1).getQuery()).isEqualTo("ibuprofeno");
+        assertThat(stats.get(1).getSearchCount()).isEqualTo(20);
+        assertThat(stats.get(2).getQuery()).isEqualTo("unique-14");
+        assertThat(stats.get(2).getSearchCount()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThatThrownBy(() -> new SearchQuerySketch(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.CardNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card validation on the tokenization path: construction (normalization) and Luhn check.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CardNumber"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardNumberBenchmark {
+
+    private static final String VALID_CARD = "4532015112830366";
+
+    private CardNumber cardNumber;
+
+    @Setup
+    public void setUp() {
+        cardNumber = new CardNumber(VALID_CARD);
+    }
+
+    @Benchmark
+    public boolean isValidLuhn() {
+        return cardNumber.isValidLuhn();
+    }
+
+    @Benchmark
+    public boolean parseAndValidate() {
+        return new CardNumber(VALID_CARD).isValidLuhn();
+    }
+}
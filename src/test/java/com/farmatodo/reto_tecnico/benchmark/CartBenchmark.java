@@ -0,0 +1,103 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.model.Cart;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart.calculateTotal and Cart.addProduct for carts of increasing size.
+ *
+ * addExistingProduct hits the quantity-increase path (linear lookup by product id);
+ * addNewProduct builds a fresh cart each call so the cart does not grow across invocations.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CartBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"5", "50"})
+    public int items;
+
+    private List<Product> products;
+    private Product extraProduct;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            products.add(product("Producto " + i, new BigDecimal("1500.00").add(BigDecimal.valueOf(i))));
+        }
+        extraProduct = product("Producto extra", new BigDecimal("9990.00"));
+    }
+
+    /**
+     * addExistingProduct keeps raising one quantity; start every iteration from the same cart.
+     */
+    @Setup(Level.Iteration)
+    public void resetCart() {
+        cart = newCart();
+    }
+
+    @Benchmark
+    public Money calculateTotal() {
+        return cart.calculateTotal();
+    }
+
+    @Benchmark
+    public Cart addExistingProduct() {
+        cart.addProduct(products.get(items - 1), 1);
+        return cart;
+    }
+
+    @Benchmark
+    public Cart addNewProduct() {
+        Cart fresh = newCart();
+        fresh.addProduct(extraProduct, 1);
+        return fresh;
+    }
+
+    private Cart newCart() {
+        Cart newCart = Cart.builder()
+                .id(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .items(new ArrayList<>(items + 1))
+                .build();
+        for (Product product : products) {
+            newCart.addProduct(product, 2);
+        }
+        return newCart;
+    }
+
+    static Product product(String name, BigDecimal price) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description(name)
+                .price(Money.of(price))
+                .stock(1_000_000)
+                .build();
+    }
+}
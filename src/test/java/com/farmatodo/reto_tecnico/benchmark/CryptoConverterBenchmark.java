@@ -0,0 +1,124 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter.CryptoConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypt/decrypt throughput of CryptoConverter for a payment token.
+ *
+ * The legacy* benchmarks run the converter as it was before the AES-GCM engine (key spec and
+ * Cipher.getInstance per call, ByteBuffer copies) so both numbers come from the same run.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CryptoConverter"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CryptoConverterBenchmark {
+
+    private static final String KEY = "12345678901234567890123456789012";
+    private static final String TOKEN = "tok_9f8e7d6c5b4a39281706f5e4d3c2b1a0";
+
+    private CryptoConverter converter;
+    private LegacyCryptoConverter legacyConverter;
+    private String encryptedToken;
+
+    @Setup
+    public void setUp() {
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getEncryption().setKey(KEY);
+        converter = new CryptoConverter(properties);
+        legacyConverter = new LegacyCryptoConverter(properties);
+        encryptedToken = converter.convertToDatabaseColumn(TOKEN);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(TOKEN);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encryptedToken);
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(TOKEN));
+    }
+
+    @Benchmark
+    public String legacyEncrypt() throws Exception {
+        return legacyConverter.encrypt(TOKEN);
+    }
+
+    @Benchmark
+    public String legacyDecrypt() throws Exception {
+        return legacyConverter.decrypt(encryptedToken);
+    }
+
+    /**
+     * Copy of the previous CryptoConverter hot path, kept only as the benchmark baseline.
+     */
+    static final class LegacyCryptoConverter {
+
+        private final FarmatodoProperties properties;
+        private final SecureRandom secureRandom = new SecureRandom();
+
+        LegacyCryptoConverter(FarmatodoProperties properties) {
+            this.properties = properties;
+        }
+
+        String encrypt(String plaintext) throws Exception {
+            byte[] iv = new byte[12];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey(), new GCMParameterSpec(128, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + ciphertext.length);
+            byteBuffer.put(iv);
+            byteBuffer.put(ciphertext);
+            return Base64.getEncoder().encodeToString(byteBuffer.array());
+        }
+
+        String decrypt(String encryptedData) throws Exception {
+            byte[] decoded = Base64.getDecoder().decode(encryptedData);
+            ByteBuffer byteBuffer = ByteBuffer.wrap(decoded);
+            byte[] iv = new byte[12];
+            byteBuffer.get(iv);
+            byte[] ciphertext = new byte[byteBuffer.remaining()];
+            byteBuffer.get(ciphertext);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, secretKey(), new GCMParameterSpec(128, iv));
+            return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+        }
+
+        private SecretKeySpec secretKey() {
+            String configuredKey = properties.getEncryption().getKey();
+            return new SecretKeySpec(configuredKey.substring(0, 32).getBytes(StandardCharsets.UTF_8), "AES");
+        }
+    }
+}
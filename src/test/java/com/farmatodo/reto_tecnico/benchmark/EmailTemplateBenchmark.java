@@ -0,0 +1,110 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.email.EmailTemplate;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.email.EmailTemplateRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of one payment success email body.
+ *
+ * legacyFormat is the previous String.format on the inline text block, kept as the baseline.
+ * Allocation per message is reported by the gc profiler (gc.alloc.rate.norm).
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="EmailTemplate"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String CUSTOMER_NAME = "Juan Pérez";
+    private static final String ORDER_ID = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String TOTAL_AMOUNT = "150000.00";
+    private static final String TRANSACTION_ID = "txn_1a2b3c4d5e6f";
+
+    private EmailTemplate template;
+    private Map<String, String> values;
+
+    @Setup
+    public void setUp() {
+        template = new EmailTemplateRegistry().get("payment-success");
+        values = Map.of(
+                "customerName", CUSTOMER_NAME,
+                "orderId", ORDER_ID,
+                "totalAmount", TOTAL_AMOUNT,
+                "transactionId", TRANSACTION_ID
+        );
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render(values);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return String.format("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <style>
+                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .header { background-color: #4CAF50; color: white; padding: 20px; text-align: center; }
+                        .content { background-color: #f9f9f9; padding: 20px; border: 1px solid #ddd; }
+                        .footer { text-align: center; margin-top: 20px; color: #777; font-size: 12px; }
+                        .detail { margin: 10px 0; }
+                        .label { font-weight: bold; }
+                    </style>
+                </head>
+                <body>
+                    <div class="container">
+                        <div class="header">
+                            <h1>✅ Pago Confirmado</h1>
+                        </div>
+                        <div class="content">
+                            <p>Hola <strong>%s</strong>,</p>
+                            <p>Tu pago ha sido procesado exitosamente. Aquí están los detalles de tu transacción:</p>
+
+                            <div class="detail">
+                                <span class="label">ID de Orden:</span> %s
+                            </div>
+                            <div class="detail">
+                                <span class="label">Monto Total:</span> %s
+                            </div>
+                            <div class="detail">
+                                <span class="label">ID de Transacción:</span> %s
+                            </div>
+
+                            <p>Gracias por tu compra en Farmatodo.</p>
+                        </div>
+                        <div class="footer">
+                            <p>Este es un correo automático. Por favor no responder.</p>
+                            <p>&copy; 2025 Farmatodo. Todos los derechos reservados.</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+                """,
+                CUSTOMER_NAME,
+                ORDER_ID,
+                TOTAL_AMOUNT,
+                TRANSACTION_ID
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.StripedStockLedger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention on ONE hot product: 32 buyers reserving 1 unit each.
+ *
+ * rowLock:     the database path - UPDATE ... WHERE stock >= qty on the same products row, one
+ *              transaction per order, so every buyer waits for the previous commit (needs a
+ *              local PostgreSQL, see UuidInsertBenchmark for the -Dbench.db.* settings)
+ * stripedLedger: StripedStockLedger.tryReserve + commit, as HotSkuStockManager does per order
+ *              (the journal fsync is shared by concurrent commits and not included here)
+ *
+ * Stock is large enough that neither path runs out during a run.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="HotSkuContention"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+public class HotSkuContentionBenchmark {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @State(Scope.Benchmark)
+    public static class Ledger {
+        StripedStockLedger ledger;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ledger = new StripedStockLedger(16);
+            ledger.load(PRODUCT_ID, "Hot product", Long.MAX_VALUE / 2);
+        }
+
+        @TearDown(Level.Iteration)
+        public void drain() {
+            ledger.drainCommitted();
+        }
+    }
+
+    /**
+     * One table shared by all threads; each thread has its own connection, like pooled requests.
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+        static final String TABLE = "bench_hot_sku_products";
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                statement.execute("CREATE TABLE " + TABLE + " (id UUID PRIMARY KEY, stock INT NOT NULL, version BIGINT)");
+                statement.execute("INSERT INTO " + TABLE + " VALUES ('" + PRODUCT_ID + "', 2000000000, 0)");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DatabaseConnection {
+        Connection connection;
+        PreparedStatement reserve;
+
+        @Setup(Level.Trial)
+        public void setUp(Database database) throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+            reserve = connection.prepareStatement(
+                    "UPDATE " + Database.TABLE + " SET stock = stock - ? WHERE id = ? AND stock >= ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            reserve.close();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean stripedLedger(Ledger state) {
+        boolean granted = state.ledger.tryReserve(PRODUCT_ID, 1);
+        if (granted) {
+            state.ledger.commit(PRODUCT_ID, 1);
+        }
+        return granted;
+    }
+
+    @Benchmark
+    public boolean rowLock(DatabaseConnection state) throws SQLException {
+        state.reserve.setInt(1, 1);
+        state.reserve.setObject(2, PRODUCT_ID);
+        state.reserve.setInt(3, 1);
+        boolean granted = state.reserve.executeUpdate() == 1;
+        state.connection.commit();
+        return granted;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/farmatodo_db"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money arithmetic: every operation builds a new record and rescales its BigDecimal.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="MoneyBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money price;
+    private Money discount;
+    private BigDecimal taxRate;
+
+    @Setup
+    public void setUp() {
+        price = Money.of(new BigDecimal("15990.50"));
+        discount = Money.of(new BigDecimal("1200.00"));
+        taxRate = new BigDecimal("1.19");
+    }
+
+    @Benchmark
+    public Money of() {
+        return Money.of(new BigDecimal("15990.50"));
+    }
+
+    @Benchmark
+    public Money add() {
+        return price.add(discount);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return price.subtract(discount);
+    }
+
+    @Benchmark
+    public Money multiplyByQuantity() {
+        return price.multiply(3);
+    }
+
+    @Benchmark
+    public Money multiplyByRate() {
+        return price.multiply(taxRate);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return price.isGreaterThan(discount);
+    }
+}
@@ -0,0 +1,59 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order.create: id generation, total calculation over the items and timestamps.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="OrderBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"1", "10"})
+    public int items;
+
+    private Customer customer;
+    private List<OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        customer = Customer.create("Juan Pérez", new Email("juan.perez@example.com"),
+                new Phone("3001234567"), "Calle 123 #45-67, Bogotá");
+        orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Product product = CartBenchmark.product("Producto " + i, new BigDecimal("2500.00").add(BigDecimal.valueOf(i)));
+            orderItems.add(OrderItem.create(product, i + 1));
+        }
+    }
+
+    @Benchmark
+    public Order create() {
+        return Order.create(customer, orderItems);
+    }
+}
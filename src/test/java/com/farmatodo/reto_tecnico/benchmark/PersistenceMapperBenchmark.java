@@ -0,0 +1,127 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.model.Cart;
+import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CartEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartItemMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CustomerMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.OrderItemMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.OrderMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct persistence mappers (ProductMapper, OrderMapper, CartMapper), both directions,
+ * for aggregates of increasing size. This is the per-row cost paid on every repository call.
+ *
+ * The generated implementations are wired by hand the way Spring would inject them.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="PersistenceMapper"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceMapperBenchmark {
+
+    @Param({"1", "20"})
+    public int items;
+
+    private ProductMapperImpl productMapper;
+    private OrderMapperImpl orderMapper;
+    private CartMapperImpl cartMapper;
+
+    private Customer customer;
+    private Product product;
+    private ProductEntity productEntity;
+    private Order order;
+    private OrderEntity orderEntity;
+    private Cart cart;
+    private CartEntity cartEntity;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        OrderItemMapperImpl orderItemMapper = new OrderItemMapperImpl();
+        ReflectionTestUtils.setField(orderItemMapper, "productMapper", productMapper);
+        orderMapper = new OrderMapperImpl();
+        ReflectionTestUtils.setField(orderMapper, "orderItemMapper", orderItemMapper);
+        ReflectionTestUtils.setField(orderMapper, "customerMapper", new CustomerMapperImpl());
+        CartItemMapperImpl cartItemMapper = new CartItemMapperImpl();
+        ReflectionTestUtils.setField(cartItemMapper, "productMapper", productMapper);
+        cartMapper = new CartMapperImpl();
+        ReflectionTestUtils.setField(cartMapper, "cartItemMapper", cartItemMapper);
+
+        customer = Customer.create("Juan Pérez", new Email("juan.perez@example.com"),
+                new Phone("3001234567"), "Calle 123 #45-67, Bogotá");
+        product = CartBenchmark.product("Acetaminofén 500mg", new BigDecimal("8500.00"));
+        productEntity = productMapper.toEntity(product);
+
+        List<OrderItem> orderItems = new ArrayList<>(items);
+        cart = Cart.builder().id(UUID.randomUUID()).customerId(customer.getId()).items(new ArrayList<>()).build();
+        for (int i = 0; i < items; i++) {
+            Product itemProduct = CartBenchmark.product("Producto " + i, new BigDecimal("2500.00").add(BigDecimal.valueOf(i)));
+            orderItems.add(OrderItem.create(itemProduct, i + 1));
+            cart.addProduct(itemProduct, i + 1);
+        }
+        order = Order.create(customer, orderItems);
+        orderEntity = orderMapper.toEntity(order);
+        cartEntity = cartMapper.toEntity(cart);
+    }
+
+    @Benchmark
+    public ProductEntity productToEntity() {
+        return productMapper.toEntity(product);
+    }
+
+    @Benchmark
+    public Product productToDomain() {
+        return productMapper.toDomain(productEntity);
+    }
+
+    @Benchmark
+    public OrderEntity orderToEntity() {
+        return orderMapper.toEntity(order);
+    }
+
+    @Benchmark
+    public Order orderToDomain() {
+        return orderMapper.toDomain(orderEntity, customer);
+    }
+
+    @Benchmark
+    public CartEntity cartToEntity() {
+        return cartMapper.toEntity(cart);
+    }
+
+    @Benchmark
+    public Cart cartToDomain() {
+        return cartMapper.toDomain(cartEntity);
+    }
+}
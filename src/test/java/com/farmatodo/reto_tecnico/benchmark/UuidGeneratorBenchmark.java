@@ -0,0 +1,44 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation cost under contention: UUID.randomUUID() (shared SecureRandom) vs
+ * UuidV7Generator (per-thread counter, ThreadLocalRandom bits). Database cost is measured by
+ * UuidInsertBenchmark.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="UuidGenerator"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class UuidGeneratorBenchmark {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Benchmark
+    public UUID randomV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedV7() {
+        return generator.newId();
+    }
+}
@@ -0,0 +1,102 @@
+package com.farmatodo.reto_tecnico.benchmark;
+
+import com.farmatodo.reto_tecnico.domain.id.UuidV7Generator;
+import com.farmatodo.reto_tecnico.domain.port.out.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a UUID primary key table, random (v4) vs time-ordered (v7) ids.
+ *
+ * Needs a local PostgreSQL (defaults match application.properties). Override with
+ * -Dbench.db.url, -Dbench.db.user, -Dbench.db.password, e.g.
+ * -Djmh.args="UuidInsert -jvmArgs -Dbench.db.url=jdbc:postgresql://localhost:5432/bench".
+ *
+ * Each invocation inserts one JDBC batch in its own transaction. The table is not truncated
+ * between iterations, so the index keeps growing the way orders and audit_logs do; the gap
+ * between v4 and v7 widens once the index no longer fits in shared_buffers (raise -i / -r).
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="UuidInsert"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"v4", "v7"})
+    public String idType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private IdGenerator idGenerator;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/farmatodo_db?reWriteBatchedInserts=true"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+        connection.setAutoCommit(false);
+
+        table = "bench_uuid_insert_" + idType;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // Same shape as audit_logs: UUID primary key plus a small payload and a timestamp
+            statement.execute("CREATE TABLE " + table
+                    + " (id UUID PRIMARY KEY, payload VARCHAR(100) NOT NULL, created_at TIMESTAMP NOT NULL DEFAULT now())");
+        }
+        connection.commit();
+
+        idGenerator = "v7".equals(idType) ? new UuidV7Generator() : UUID::randomUUID;
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, payload) VALUES (?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    /**
+     * @return rows inserted (multiply the ops/s score by BATCH_SIZE for rows/s)
+     */
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idGenerator.newId());
+            insert.setString(2, "PAYMENT_ATTEMPT order attempt " + i);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts.length;
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -87,6 +88,29 @@ class ExceptionCoverageTest {
             assertThat(exception.getProductName()).isNull();
             assertThat(exception.getAvailableStock()).isZero();
             assertThat(exception.getRequestedQuantity()).isZero();
+            assertThat(exception.getShortages()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should report every shortage")
+        void shouldReportEveryShortage() {
+            // Given
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+
+            // When
+            InsufficientStockException exception = new InsufficientStockException(List.of(
+                    new InsufficientStockException.Shortage(firstId, "Acetaminofén 500mg", 1, 3),
+                    new InsufficientStockException.Shortage(secondId, "Loratadina 10mg", 0, 2)
+            ));
+
+            // Then
+            assertThat(exception.getShortages()).hasSize(2);
+            assertThat(exception.getProductId()).isEqualTo(firstId);
+            assertThat(exception.getMessage())
+                    .contains("Acetaminofén 500mg")
+                    .contains("Loratadina 10mg")
+                    .contains(secondId.toString());
         }
     }
 
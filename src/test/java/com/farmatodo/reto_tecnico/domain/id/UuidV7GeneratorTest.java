@@ -0,0 +1,131 @@
+package com.farmatodo.reto_tecnico.domain.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UuidV7Generator.
+ * Tests layout, per-thread monotonicity and uniqueness across threads.
+ */
+@DisplayName("UuidV7Generator Tests")
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_765_900_000_000L;
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 ids carrying the current time")
+    void shouldProduceVersion7Ids() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        UUID id = generator.newId();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestampMillis(id)).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should be strictly increasing within the same millisecond")
+    void shouldIncreaseWithinSameMillisecond() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            ids.add(generator.newId());
+        }
+
+        // Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(UuidV7Generator.timestampMillis(ids.get(ids.size() - 1))).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should advance the timestamp when the counter overflows")
+    void shouldBorrowNextMillisecondOnCounterOverflow() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When: more ids than the 12-bit counter holds in one millisecond
+        UUID previous = generator.newId();
+        for (int i = 0; i < 5_000; i++) {
+            UUID next = generator.newId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+
+        // Then
+        assertThat(UuidV7Generator.timestampMillis(previous)).isGreaterThan(NOW);
+    }
+
+    @Test
+    @DisplayName("Should stay monotonic when the clock goes backwards")
+    void shouldStayMonotonicWhenClockGoesBackwards() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+        UUID first = generator.newId();
+
+        // When
+        clock.set(NOW - 1_000);
+        UUID second = generator.newId();
+
+        // Then
+        assertThat(second).isGreaterThan(first);
+        assertThat(UuidV7Generator.timestampMillis(second)).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids across threads")
+    void shouldBeUniqueAcrossThreads() throws InterruptedException {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 10_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.newId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Should reject timestamp extraction from non-v7 ids")
+    void shouldRejectNonVersion7Ids() {
+        assertThatThrownBy(() -> UuidV7Generator.timestampMillis(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 7");
+    }
+}
@@ -95,6 +95,36 @@ class ProductTest {
         assertThat(productWithoutStock.isInStock()).isFalse();
     }
 
+    @Test
+    @DisplayName("Should exclude units held by carts from available stock")
+    void shouldExcludeHeldUnitsFromAvailableStock() {
+        // Given: 10 in stock, 7 held by carts
+        Product product = Product.builder()
+                .stock(10)
+                .heldStock(7)
+                .build();
+
+        // When & Then
+        assertThat(product.getAvailableStock()).isEqualTo(3);
+        assertThat(product.hasSufficientStock(3)).isTrue();
+        assertThat(product.hasSufficientStock(4)).isFalse();
+        assertThat(product.isInStock()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never report negative available stock")
+    void shouldNeverReportNegativeAvailableStock() {
+        // Given: Stock corrected below the held units
+        Product product = Product.builder()
+                .stock(2)
+                .heldStock(5)
+                .build();
+
+        // When & Then
+        assertThat(product.getAvailableStock()).isZero();
+        assertThat(product.isInStock()).isFalse();
+    }
+
     @Test
     @DisplayName("Should reduce stock successfully")
     void shouldReduceStockSuccessfully() {
@@ -0,0 +1,85 @@
+package com.farmatodo.reto_tecnico.domain.model.valueobjects;
+
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for OrderCursor value object and OrderSummaryPage construction.
+ * Tests token round-trip and validation.
+ */
+@DisplayName("OrderCursor Value Object Tests")
+class OrderCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip through encoded token, keeping sub-second precision")
+    void shouldRoundTripThroughToken() {
+        // Given
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 12, 16, 14, 30, 5, 123456000), UUID.randomUUID());
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(OrderCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens() {
+        String noTimestamp = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((UUID.randomUUID() + "yesterday").getBytes());
+
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> OrderCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderCursor.decode(noTimestamp))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should not accept null createdAt or id")
+    void shouldNotAcceptNullFields() {
+        assertThatThrownBy(() -> new OrderCursor(null, UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OrderCursor(LocalDateTime.now(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should build a page with a cursor at the last returned order")
+    void shouldBuildPageWithCursor() {
+        // Given
+        List<OrderSummary> fetched = List.of(summary(), summary(), summary());
+
+        // When
+        OrderSummaryPage page = OrderSummaryPage.of(fetched, 2);
+
+        // Then
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isEqualTo(OrderCursor.of(fetched.get(1)));
+        assertThat(OrderSummaryPage.of(fetched, 3).hasNext()).isFalse();
+    }
+
+    private static OrderSummary summary() {
+        return OrderSummary.builder()
+                .id(UUID.randomUUID())
+                .status(Order.OrderStatus.PENDING)
+                .totalAmount(new Money(new BigDecimal("1000.00")))
+                .itemCount(1)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.farmatodo.reto_tecnico.domain.model.valueobjects;
+
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ProductCursor value object and ProductPage construction.
+ * Tests token round-trip, ordering and validation.
+ */
+@DisplayName("ProductCursor Value Object Tests")
+class ProductCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip through encoded token")
+    void shouldRoundTripThroughToken() {
+        // Given: Name with accents and characters that are not URL-safe
+        ProductCursor cursor = new ProductCursor("Acetaminofén 500mg + Cafeína/Niños", UUID.randomUUID());
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(ProductCursor.decode(token)).isEqualTo(cursor);
+        assertThat(ProductCursor.decode(token).source()).isEqualTo(ProductCursor.Source.DATABASE);
+    }
+
+    @Test
+    @DisplayName("Should keep the search index source through the token")
+    void shouldRoundTripSearchIndexSource() {
+        // Given
+        ProductCursor cursor = new ProductCursor("Ácido fólico", UUID.randomUUID(), ProductCursor.Source.SEARCH_INDEX);
+
+        // When
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded).isNotEqualTo(new ProductCursor(cursor.name(), cursor.id()));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> ProductCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> ProductCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should not accept null name or id")
+    void shouldNotAcceptNullFields() {
+        assertThatThrownBy(() -> new ProductCursor(null, UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ProductCursor("Aspirina", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should order by name then id")
+    void shouldOrderByNameThenId() {
+        // Given
+        UUID lowId = new UUID(0, 1);
+        UUID highId = new UUID(0, 2);
+        ProductCursor cursor = new ProductCursor("Ibuprofeno", lowId);
+
+        // Then
+        assertThat(cursor.isBefore(product("Ibuprofeno", highId))).isTrue();
+        assertThat(cursor.isBefore(product("Ibuprofeno", lowId))).isFalse();
+        assertThat(cursor.isBefore(product("Acetaminofén", highId))).isFalse();
+        assertThat(cursor.isBefore(product("Loratadina", lowId))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should build page with next cursor only when extra row was fetched")
+    void shouldBuildPageFromFetchedRows() {
+        // Given
+        Product first = product("Acetaminofén", UUID.randomUUID());
+        Product second = product("Ibuprofeno", UUID.randomUUID());
+
+        // When
+        ProductPage full = ProductPage.of(List.of(first, second), 1);
+        ProductPage last = ProductPage.of(List.of(first, second), 2);
+
+        // Then
+        assertThat(full.items()).containsExactly(first);
+        assertThat(full.nextCursor()).isEqualTo(ProductCursor.of(first));
+        assertThat(last.items()).containsExactly(first, second);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    private Product product(String name, UUID id) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(new Money(new BigDecimal("1000.00")))
+                .stock(10)
+                .build();
+    }
+}
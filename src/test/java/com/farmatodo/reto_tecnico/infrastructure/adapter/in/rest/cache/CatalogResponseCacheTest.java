@@ -0,0 +1,141 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.cache;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.application.service.CatalogVersion;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CatalogResponseCache.
+ * Uses a manual clock to cross ETag windows.
+ */
+@DisplayName("CatalogResponseCache Unit Tests")
+class CatalogResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private CatalogVersion catalogVersion;
+    private CatalogResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getProduct().setCatalogEtagTtlSeconds(30);
+        properties.getProduct().setCatalogResponseCacheMaxEntries(2);
+        catalogVersion = new CatalogVersion();
+        cache = new CatalogResponseCache(catalogVersion, new ObjectMapper(), properties, now::get);
+    }
+
+    @Test
+    @DisplayName("Should keep the ETag until the catalog changes or the window ends")
+    void shouldChangeETagOnVersionOrWindow() {
+        // Given
+        String etag = cache.currentETag();
+
+        // When & Then: Same version and window
+        now.addAndGet(1_000);
+        assertThat(cache.currentETag()).isEqualTo(etag).startsWith("\"").endsWith("\"");
+
+        // When & Then: Product change
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(UUID.randomUUID()));
+        String afterChange = cache.currentETag();
+        assertThat(afterChange).isNotEqualTo(etag);
+
+        // When & Then: Window ends
+        now.addAndGet(30_000);
+        assertThat(cache.currentETag()).isNotEqualTo(afterChange);
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and the wildcard")
+    void shouldMatchIfNoneMatch() {
+        String etag = "\"42-7\"";
+
+        assertThat(cache.isNotModified(etag, etag)).isTrue();
+        assertThat(cache.isNotModified("\"1-1\", " + etag, etag)).isTrue();
+        assertThat(cache.isNotModified("W/" + etag, etag)).isTrue();
+        assertThat(cache.isNotModified("*", etag)).isTrue();
+        assertThat(cache.isNotModified("\"41-7\"", etag)).isFalse();
+        assertThat(cache.isNotModified(null, etag)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should serialize a body once per ETag and key")
+    void shouldSerializeOncePerETagAndKey() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        String etag = cache.currentETag();
+
+        // When
+        byte[] first = cache.get(etag, "all", () -> List.of("a", "b", "c".repeat(builds.incrementAndGet())));
+        byte[] second = cache.get(etag, "all", () -> List.of("a", "b", "c".repeat(builds.incrementAndGet())));
+
+        // Then
+        assertThat(builds).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\",\"c\"]");
+    }
+
+    @Test
+    @DisplayName("Should rebuild bodies under a new ETag and drop the old ones")
+    void shouldRebuildUnderNewETag() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        cache.get(cache.currentETag(), "all", builds::incrementAndGet);
+
+        // When
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(UUID.randomUUID()));
+        byte[] rebuilt = cache.get(cache.currentETag(), "all", builds::incrementAndGet);
+
+        // Then
+        assertThat(builds).hasValue(2);
+        assertThat(new String(rebuilt, StandardCharsets.UTF_8)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Should serve a request with an older ETag without evicting newer bodies")
+    void shouldNotLetOlderETagEvictNewerBodies() {
+        // Given: A slow request computed its ETag before the catalog changed
+        AtomicInteger builds = new AtomicInteger();
+        String oldTag = cache.currentETag();
+        catalogVersion.onProductChanged(ProductChangedEvent.deleted(UUID.randomUUID()));
+        String newTag = cache.currentETag();
+        byte[] current = cache.get(newTag, "all", builds::incrementAndGet);
+
+        // When: The slow request finishes, then a poll under the new ETag arrives
+        byte[] stale = cache.get(oldTag, "all", builds::incrementAndGet);
+        byte[] again = cache.get(newTag, "all", builds::incrementAndGet);
+
+        // Then: The stale body was built but not cached; the new one was kept
+        assertThat(new String(stale, StandardCharsets.UTF_8)).isEqualTo("2");
+        assertThat(again).isSameAs(current);
+        assertThat(builds).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured number of bodies")
+    void shouldBoundCachedBodies() {
+        // Given: Max 2 entries
+        AtomicInteger builds = new AtomicInteger();
+        String etag = cache.currentETag();
+        cache.get(etag, "page-1", builds::incrementAndGet);
+        cache.get(etag, "page-2", builds::incrementAndGet);
+
+        // When: A third key starts over
+        cache.get(etag, "page-3", builds::incrementAndGet);
+        cache.get(etag, "page-1", builds::incrementAndGet);
+
+        // Then
+        assertThat(builds).hasValue(4);
+    }
+}
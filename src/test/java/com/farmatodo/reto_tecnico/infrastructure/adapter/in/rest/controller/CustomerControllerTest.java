@@ -1,11 +1,19 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
 import com.farmatodo.reto_tecnico.domain.exception.CustomerAlreadyExistsException;
+import com.farmatodo.reto_tecnico.domain.exception.CustomerNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummaryPage;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
+import com.farmatodo.reto_tecnico.domain.port.in.GetCustomerOrdersUseCase;
 import com.farmatodo.reto_tecnico.domain.port.in.RegisterCustomerUseCase;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.CustomerRestMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.OrderSummaryRestMapperImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,11 +24,17 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,7 +46,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses @Import to include MapStruct mapper implementations for coverage.
  */
 @WebMvcTest(CustomerController.class)
-@Import(CustomerRestMapperImpl.class)
+@Import({CustomerRestMapperImpl.class, OrderSummaryRestMapperImpl.class})
 @DisplayName("CustomerController REST Tests")
 class CustomerControllerTest {
 
@@ -48,6 +62,9 @@ class CustomerControllerTest {
     @MockBean
     private RegisterCustomerUseCase registerCustomerUseCase;
 
+    @MockBean
+    private GetCustomerOrdersUseCase getCustomerOrdersUseCase;
+
     @MockBean
     private com.farmatodo.reto_tecnico.application.service.AuditLogService auditLogService;
 
@@ -225,4 +242,83 @@ class CustomerControllerTest {
 
         verify(registerCustomerUseCase, never()).register(any(Customer.class));
     }
+
+    @Test
+    @DisplayName("Should return order history page with next cursor")
+    void shouldReturnOrderHistoryPage() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        OrderSummary summary = OrderSummary.builder()
+                .id(UUID.randomUUID())
+                .status(Order.OrderStatus.PAYMENT_CONFIRMED)
+                .totalAmount(new Money(new BigDecimal("45000.00")))
+                .itemCount(3)
+                .createdAt(LocalDateTime.of(2025, 12, 16, 14, 30))
+                .build();
+        OrderCursor next = OrderCursor.of(summary);
+        when(getCustomerOrdersUseCase.getOrderHistory(customerId, null, 1))
+                .thenReturn(new OrderSummaryPage(List.of(summary), next));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/customers/{id}/orders", customerId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(summary.getId().toString()))
+                .andExpect(jsonPath("$.items[0].status").value("PAYMENT_CONFIRMED"))
+                .andExpect(jsonPath("$.items[0].totalAmount").value(45000.00))
+                .andExpect(jsonPath("$.items[0].itemCount").value(3))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("Should pass the decoded cursor to the use case")
+    void shouldDecodeOrderHistoryCursor() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 12, 16, 14, 30), UUID.randomUUID());
+        when(getCustomerOrdersUseCase.getOrderHistory(customerId, cursor, 20))
+                .thenReturn(new OrderSummaryPage(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/customers/{id}/orders", customerId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid order history page size or cursor")
+    void shouldRejectInvalidOrderHistoryParameters() throws Exception {
+        UUID customerId = UUID.randomUUID();
+
+        mockMvc.perform(get("/api/v1/customers/{id}/orders", customerId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/customers/{id}/orders", customerId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(getCustomerOrdersUseCase, never()).getOrderHistory(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for order history of unknown customer")
+    void shouldReturn404ForUnknownCustomerOrderHistory() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        when(getCustomerOrdersUseCase.getOrderHistory(eq(customerId), any(), anyInt()))
+                .thenThrow(new CustomerNotFoundException(customerId));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/customers/{id}/orders", customerId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -30,6 +30,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -125,7 +126,7 @@ class OrderControllerTest {
             """, productId);
 
         // Mock product search
-        when(searchProductUseCase.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(searchProductUseCase.findAllByIds(List.of(productId))).thenReturn(Map.of(productId, testProduct));
 
         // Mock order creation (with new overloaded method signature)
         when(createOrderUseCase.createOrder(any(Customer.class), anyList(), any())).thenReturn(testOrder);
@@ -145,7 +146,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.totalAmount").exists());
 
         // Verify service calls
-        verify(searchProductUseCase, times(1)).findById(productId);
+        verify(searchProductUseCase, times(1)).findAllByIds(List.of(productId));
         verify(createOrderUseCase, times(1)).createOrder(any(Customer.class), anyList(), any());
     }
 
@@ -170,7 +171,7 @@ class OrderControllerTest {
             """, productId);
 
         // Mock product search
-        when(searchProductUseCase.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(searchProductUseCase.findAllByIds(List.of(productId))).thenReturn(Map.of(productId, testProduct));
 
         // Mock insufficient stock exception (with new overloaded method signature)
         when(createOrderUseCase.createOrder(any(Customer.class), anyList(), any()))
@@ -247,7 +248,7 @@ class OrderControllerTest {
             """, nonExistentProductId);
 
         // Mock product not found
-        when(searchProductUseCase.findById(nonExistentProductId)).thenReturn(Optional.empty());
+        when(searchProductUseCase.findAllByIds(List.of(nonExistentProductId))).thenReturn(Map.of());
 
         // When & Then: Verify 404 status
         mockMvc.perform(post("/api/v1/orders")
@@ -258,7 +259,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.error").value("PRODUCT_NOT_FOUND"));
 
-        verify(searchProductUseCase, times(1)).findById(nonExistentProductId);
+        verify(searchProductUseCase, times(1)).findAllByIds(List.of(nonExistentProductId));
         verify(createOrderUseCase, never()).createOrder(any(Customer.class), anyList(), any());
     }
 
@@ -286,7 +287,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"))
                 .andExpect(jsonPath("$.validationErrors.items").value(containsString("at least one")));
 
-        verify(searchProductUseCase, never()).findById(any());
+        verify(searchProductUseCase, never()).findAllByIds(any());
         verify(createOrderUseCase, never()).createOrder(any(Customer.class), anyList(), any());
     }
 
@@ -1,6 +1,8 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
 import com.farmatodo.reto_tecnico.domain.exception.OrderNotFoundException;
+import com.farmatodo.reto_tecnico.domain.exception.OrderStatusConflictException;
 import com.farmatodo.reto_tecnico.domain.exception.PaymentFailedException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.Order;
@@ -10,6 +12,7 @@ import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
 import com.farmatodo.reto_tecnico.domain.port.in.ProcessPaymentUseCase;
+import com.farmatodo.reto_tecnico.domain.port.in.SubmitPaymentUseCase;
 import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.CreditCardRestMapperImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,6 +27,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +36,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,10 +44,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Controller tests for PaymentController.
  * Tests payment processing and HTTP status code 402 (Payment Required).
  *
- * Uses CreditCardRestMapperImpl for DTO conversion.
+ * Uses CreditCardRestMapperImpl for DTO conversion and FarmatodoProperties for the payment mode.
  */
 @WebMvcTest(PaymentController.class)
-@Import(CreditCardRestMapperImpl.class)
+@Import({
+    CreditCardRestMapperImpl.class,
+    FarmatodoProperties.class
+})
 @DisplayName("PaymentController REST Tests")
 class PaymentControllerTest {
 
@@ -58,6 +66,9 @@ class PaymentControllerTest {
     @MockBean
     private ProcessPaymentUseCase processPaymentUseCase;
 
+    @MockBean
+    private SubmitPaymentUseCase submitPaymentUseCase;
+
     @MockBean
     private OrderRepositoryPort orderRepository;
 
@@ -169,6 +180,37 @@ class PaymentControllerTest {
         verify(processPaymentUseCase, times(1)).processPayment(any(Order.class), any());
     }
 
+    @Test
+    @DisplayName("Should return 409 Conflict when paying an already confirmed order")
+    void shouldReturnConflictWhenOrderAlreadyConfirmed() throws Exception {
+        // Given: The order was already paid
+        String requestBody = """
+            {
+                "creditCard": {
+                    "customerId": "123e4567-e89b-12d3-a456-426614174000",
+                    "cardNumber": "4532015112830366",
+                    "cvv": "123",
+                    "expirationDate": "12/25",
+                    "cardholderName": "JUAN PEREZ"
+                }
+            }
+            """;
+
+        testOrder.setStatus(Order.OrderStatus.PAYMENT_CONFIRMED);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        OrderStatusConflictException conflict = new OrderStatusConflictException(orderId, "PENDING or PAYMENT_FAILED");
+        when(processPaymentUseCase.processPayment(any(Order.class), any())).thenThrow(conflict);
+
+        // When & Then: Verify 409 status
+        mockMvc.perform(post("/api/v1/payments/orders/{orderId}", orderId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("INVALID_STATE"));
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found when order doesn't exist")
     void shouldReturnNotFoundWhenOrderDoesntExist() throws Exception {
@@ -352,4 +394,61 @@ class PaymentControllerTest {
 
         verify(processPaymentUseCase, times(1)).processPayment(any(Order.class), any());
     }
+
+    @Test
+    @DisplayName("Should return 202 Accepted with status resource when client prefers async")
+    void shouldAcceptPaymentAsynchronously() throws Exception {
+        // Given
+        String requestBody = """
+            {
+                "paymentToken": "tok_123"
+            }
+            """;
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(submitPaymentUseCase.submitPaymentWithToken(any(Order.class), eq("tok_123")))
+                .thenReturn(SubmitPaymentUseCase.PaymentStatus.processing(orderId, 0, 3, Instant.now()));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/orders/{orderId}", orderId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/v1/payments/orders/" + orderId)))
+                .andExpect(jsonPath("$.orderId").value(orderId.toString()))
+                .andExpect(jsonPath("$.status").value("PROCESSING"))
+                .andExpect(jsonPath("$.maxAttempts").value(3));
+
+        verify(processPaymentUseCase, never()).processPaymentWithToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return payment status for polling")
+    void shouldReturnPaymentStatus() throws Exception {
+        // Given
+        when(submitPaymentUseCase.getPaymentStatus(orderId))
+                .thenReturn(Optional.of(SubmitPaymentUseCase.PaymentStatus.succeeded(orderId, 2, 3, "txn_456")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/payments/orders/{orderId}", orderId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.attempts").value(2))
+                .andExpect(jsonPath("$.transactionId").value("txn_456"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when polling status of unknown order")
+    void shouldReturnNotFoundForUnknownPaymentStatus() throws Exception {
+        // Given
+        when(submitPaymentUseCase.getPaymentStatus(orderId)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/payments/orders/{orderId}", orderId)
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("ORDER_NOT_FOUND"));
+    }
 }
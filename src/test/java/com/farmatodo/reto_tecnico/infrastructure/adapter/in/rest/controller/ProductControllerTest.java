@@ -1,8 +1,14 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
 
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.application.service.CatalogVersion;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.ProductPage;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.domain.port.in.SearchProductUseCase;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.cache.CatalogResponseCache;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.ProductRestMapperImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,25 +19,36 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Controller tests for ProductController.
- * Tests product search with pagination and query parameters.
+ * Tests product search with cursor pagination and query parameters.
  *
- * Uses ProductRestMapperImpl for DTO conversion.
+ * Uses ProductRestMapperImpl for DTO conversion and the real CatalogResponseCache
+ * (cleared before each test) for ETags and cached listings.
  */
 @WebMvcTest(ProductController.class)
-@Import(ProductRestMapperImpl.class)
+@Import({
+    ProductRestMapperImpl.class,
+    CatalogResponseCache.class,
+    CatalogVersion.class,
+    FarmatodoProperties.class
+})
 @DisplayName("ProductController REST Tests")
 class ProductControllerTest {
 
@@ -44,6 +61,12 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogResponseCache responseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     @MockBean
     private SearchProductUseCase searchProductUseCase;
 
@@ -54,6 +77,8 @@ class ProductControllerTest {
 
     @BeforeEach
     void setUp() {
+        // Listings are cached per ETag and the context is shared between tests
+        responseCache.clear();
         testProducts = new ArrayList<>();
 
         Product product1 = Product.builder()
@@ -90,148 +115,150 @@ class ProductControllerTest {
     void shouldSearchProducts() throws Exception {
         // Given: Search query for "Acetaminofén"
         List<Product> searchResults = List.of(testProducts.get(0), testProducts.get(2));
-        when(searchProductUseCase.searchByName("Acetaminofén")).thenReturn(searchResults);
+        when(searchProductUseCase.searchByName("Acetaminofén", null, 20))
+                .thenReturn(new ProductPage(searchResults, null));
 
         // When & Then: Call endpoint and verify response
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
                         .param("search", "Acetaminofén"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén 500mg"))
-                .andExpect(jsonPath("$[0].price").value(10000.0))
-                .andExpect(jsonPath("$[0].stock").value(100))
-                .andExpect(jsonPath("$[1].name").value("Acetaminofén + Cafeína"));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name").value("Acetaminofén 500mg"))
+                .andExpect(jsonPath("$.items[0].price").value(10000.0))
+                .andExpect(jsonPath("$.items[0].stock").value(100))
+                .andExpect(jsonPath("$.items[1].name").value("Acetaminofén + Cafeína"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
         // Verify service was called with correct query
-        verify(searchProductUseCase, times(1)).searchByName("Acetaminofén");
-        verify(searchProductUseCase, never()).findAllInStock();
+        verify(searchProductUseCase, times(1)).searchByName("Acetaminofén", null, 20);
+        verify(searchProductUseCase, never()).findAllInStock(any(), anyInt());
         verify(searchProductUseCase, never()).findAll();
     }
 
     @Test
-    @DisplayName("Should return all in-stock products when no search query provided")
+    @DisplayName("Should return in-stock products when no search query provided")
     void shouldReturnAllInStockProductsWhenNoQuery() throws Exception {
         // Given: No search query
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
+        when(searchProductUseCase.findAllInStock(null, 20)).thenReturn(new ProductPage(testProducts, null));
 
         // When & Then: Call endpoint without search param
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén 500mg"))
-                .andExpect(jsonPath("$[1].name").value("Ibuprofeno 400mg"))
-                .andExpect(jsonPath("$[2].name").value("Acetaminofén + Cafeína"));
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].name").value("Acetaminofén 500mg"))
+                .andExpect(jsonPath("$.items[1].name").value("Ibuprofeno 400mg"))
+                .andExpect(jsonPath("$.items[2].name").value("Acetaminofén + Cafeína"));
 
         // Verify correct method was called
-        verify(searchProductUseCase, times(1)).findAllInStock();
-        verify(searchProductUseCase, never()).searchByName(anyString());
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 20);
+        verify(searchProductUseCase, never()).searchByName(anyString(), any(), anyInt());
     }
 
     @Test
-    @DisplayName("Should handle pagination with page and size parameters")
-    void shouldHandlePaginationParameters() throws Exception {
-        // Given: Multiple products with pagination
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
-
-        // When & Then: Request page 0 with size 2
+    @DisplayName("Should return next cursor when more products are available")
+    void shouldReturnNextCursorWhenMoreProductsAvailable() throws Exception {
+        // Given: First page of size 2 with more products after it
+        Product last = testProducts.get(1);
+        ProductCursor next = ProductCursor.of(last);
+        when(searchProductUseCase.findAllInStock(null, 2))
+                .thenReturn(new ProductPage(testProducts.subList(0, 2), next));
+
+        // When & Then: Request first page with size 2
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
-                        .param("page", "0")
                         .param("size", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén 500mg"))
-                .andExpect(jsonPath("$[1].name").value("Ibuprofeno 400mg"));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()));
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 2);
     }
 
     @Test
-    @DisplayName("Should handle pagination page 1")
-    void shouldHandlePaginationPage1() throws Exception {
-        // Given: Multiple products
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
-
-        // When & Then: Request page 1 with size 2 (should show 3rd product)
+    @DisplayName("Should decode cursor and request the following page")
+    void shouldDecodeCursorAndRequestFollowingPage() throws Exception {
+        // Given: Cursor pointing at the second product
+        ProductCursor cursor = ProductCursor.of(testProducts.get(1));
+        when(searchProductUseCase.findAllInStock(cursor, 2))
+                .thenReturn(new ProductPage(List.of(testProducts.get(2)), null));
+
+        // When & Then: Request next page with the cursor
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
-                        .param("page", "1")
+                        .param("cursor", cursor.encode())
                         .param("size", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén + Cafeína"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Acetaminofén + Cafeína"))
+                .andExpect(jsonPath("$.hasNext").value(false));
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
+        verify(searchProductUseCase, times(1)).findAllInStock(cursor, 2);
     }
 
     @Test
-    @DisplayName("Should return empty array when page exceeds available results")
-    void shouldReturnEmptyArrayWhenPageExceedsResults() throws Exception {
-        // Given: 3 products total
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
-
-        // When & Then: Request page 5 (exceeds available data)
+    @DisplayName("Should return 400 when cursor is malformed")
+    void shouldReturn400WhenCursorIsMalformed() throws Exception {
+        // When & Then: Cursor that is not a valid token
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
-                        .param("page", "5")
-                        .param("size", "10"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
+        verifyNoInteractions(searchProductUseCase);
     }
 
     @Test
-    @DisplayName("Should use default pagination values when not specified")
-    void shouldUseDefaultPaginationValues() throws Exception {
-        // Given: Products available
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
-
-        // When & Then: Request without pagination params (defaults: page=0, size=20)
+    @DisplayName("Should return 400 when page size is out of range")
+    void shouldReturn400WhenPageSizeOutOfRange() throws Exception {
+        // When & Then: Size above the maximum
         mockMvc.perform(get("/api/v1/products")
-                        .header(API_KEY_HEADER, API_KEY_VALUE))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3))); // All 3 products fit in default size
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("size", "1000"))
+                .andExpect(status().isBadRequest());
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
+        verifyNoInteractions(searchProductUseCase);
     }
 
     @Test
-    @DisplayName("Should search with query and apply pagination")
+    @DisplayName("Should search with query and pass cursor and size")
     void shouldSearchWithQueryAndPagination() throws Exception {
-        // Given: Search returns multiple results
-        List<Product> searchResults = List.of(testProducts.get(0), testProducts.get(2));
-        when(searchProductUseCase.searchByName("Acetaminofén")).thenReturn(searchResults);
+        // Given: Search returns first page of size 1
+        ProductCursor next = ProductCursor.of(testProducts.get(0));
+        when(searchProductUseCase.searchByName("Acetaminofén", null, 1))
+                .thenReturn(new ProductPage(List.of(testProducts.get(0)), next));
 
         // When & Then: Search with pagination
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
                         .param("search", "Acetaminofén")
-                        .param("page", "0")
                         .param("size", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén 500mg"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Acetaminofén 500mg"))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()));
 
-        verify(searchProductUseCase, times(1)).searchByName("Acetaminofén");
+        verify(searchProductUseCase, times(1)).searchByName("Acetaminofén", null, 1);
     }
 
     @Test
-    @DisplayName("Should return empty array when search finds no results")
+    @DisplayName("Should return empty page when search finds no results")
     void shouldReturnEmptyArrayWhenSearchFindsNothing() throws Exception {
         // Given: Search returns no results
-        when(searchProductUseCase.searchByName("NoExiste")).thenReturn(List.of());
+        when(searchProductUseCase.searchByName("NoExiste", null, 20)).thenReturn(new ProductPage(List.of(), null));
 
         // When & Then: Call endpoint
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
                         .param("search", "NoExiste"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext").value(false));
 
-        verify(searchProductUseCase, times(1)).searchByName("NoExiste");
+        verify(searchProductUseCase, times(1)).searchByName("NoExiste", null, 20);
     }
 
     @Test
@@ -260,58 +287,219 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[3].stock").value(0));
 
         verify(searchProductUseCase, times(1)).findAll();
-        verify(searchProductUseCase, never()).findAllInStock();
+        verify(searchProductUseCase, never()).findAllInStock(any(), anyInt());
     }
 
     @Test
     @DisplayName("Should return 200 OK even with empty results")
     void shouldReturn200EvenWithEmptyResults() throws Exception {
         // Given: No products available
-        when(searchProductUseCase.findAllInStock()).thenReturn(List.of());
+        when(searchProductUseCase.findAllInStock(null, 20)).thenReturn(new ProductPage(List.of(), null));
 
-        // When & Then: Still returns 200 with empty array
+        // When & Then: Still returns 200 with empty page
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 20);
     }
 
     @Test
     @DisplayName("Should handle blank search query as no query")
     void shouldHandleBlankSearchQueryAsNoQuery() throws Exception {
         // Given: Blank search parameter
-        when(searchProductUseCase.findAllInStock()).thenReturn(testProducts);
+        when(searchProductUseCase.findAllInStock(null, 20)).thenReturn(new ProductPage(testProducts, null));
 
         // When & Then: Blank query should trigger findAllInStock (not searchByName)
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE)
                         .param("search", "   "))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3)));
+                .andExpect(jsonPath("$.items", hasSize(3)));
 
-        verify(searchProductUseCase, times(1)).findAllInStock();
-        verify(searchProductUseCase, never()).searchByName(anyString());
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 20);
+        verify(searchProductUseCase, never()).searchByName(anyString(), any(), anyInt());
     }
 
     @Test
     @DisplayName("Should include product details in response")
     void shouldIncludeProductDetailsInResponse() throws Exception {
         // Given: Single product
-        when(searchProductUseCase.findAllInStock()).thenReturn(List.of(testProducts.get(0)));
+        when(searchProductUseCase.findAllInStock(null, 20))
+                .thenReturn(new ProductPage(List.of(testProducts.get(0)), null));
 
         // When & Then: Verify all product fields are present
         mockMvc.perform(get("/api/v1/products")
                         .header(API_KEY_HEADER, API_KEY_VALUE))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].name").value("Acetaminofén 500mg"))
-                .andExpect(jsonPath("$[0].description").value("Analgésico y antipirético"))
-                .andExpect(jsonPath("$[0].price").value(10000.0))
-                .andExpect(jsonPath("$[0].stock").value(100));
-
-        verify(searchProductUseCase, times(1)).findAllInStock();
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").exists())
+                .andExpect(jsonPath("$.items[0].name").value("Acetaminofén 500mg"))
+                .andExpect(jsonPath("$.items[0].description").value("Analgésico y antipirético"))
+                .andExpect(jsonPath("$.items[0].price").value(10000.0))
+                .andExpect(jsonPath("$.items[0].stock").value(100));
+
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 20);
+    }
+
+    @Test
+    @DisplayName("Should tag the catalog with an ETag and answer a matching If-None-Match with 304")
+    void shouldAnswerNotModifiedForCurrentETag() throws Exception {
+        // Given: First request returns the catalog and its ETag
+        when(searchProductUseCase.findAll()).thenReturn(testProducts);
+        String etag = mockMvc.perform(get("/api/v1/products/all")
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then: Polling with that ETag gets 304 without reading the catalog again
+        mockMvc.perform(get("/api/v1/products/all")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(searchProductUseCase, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated listing from the serialized cache")
+    void shouldServeRepeatedListingFromCache() throws Exception {
+        // Given
+        when(searchProductUseCase.findAllInStock(null, 20)).thenReturn(new ProductPage(testProducts, null));
+
+        // When: Same listing twice without If-None-Match
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/products")
+                            .header(API_KEY_HEADER, API_KEY_VALUE))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(3)));
+        }
+
+        // Then: The use case ran once
+        verify(searchProductUseCase, times(1)).findAllInStock(null, 20);
+    }
+
+    @Test
+    @DisplayName("Should change the ETag and reload after a product change")
+    void shouldReloadAfterProductChange() throws Exception {
+        // Given: A client holding the current ETag
+        when(searchProductUseCase.findAll()).thenReturn(testProducts);
+        String etag = mockMvc.perform(get("/api/v1/products/all")
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When: A product changes
+        catalogVersion.onProductChanged(ProductChangedEvent.stockChanged(testProducts.get(0)));
+
+        // Then: The old ETag no longer matches and the catalog is read again
+        String newEtag = mockMvc.perform(get("/api/v1/products/all")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(newEtag).isNotEqualTo(etag);
+        verify(searchProductUseCase, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should always execute name searches so each one is counted")
+    void shouldNotCacheNameSearches() throws Exception {
+        // Given
+        when(searchProductUseCase.searchByName("Ibuprofeno", null, 20))
+                .thenReturn(new ProductPage(List.of(testProducts.get(1)), null));
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/products")
+                            .header(API_KEY_HEADER, API_KEY_VALUE)
+                            .header("If-None-Match", "*")
+                            .param("search", "Ibuprofeno"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("ETag"))
+                    .andExpect(jsonPath("$.items[0].name").value("Ibuprofeno 400mg"));
+        }
+
+        // Then
+        verify(searchProductUseCase, times(2)).searchByName("Ibuprofeno", null, 20);
+    }
+
+    @Test
+    @DisplayName("Should stream the catalog as newline-delimited JSON")
+    void shouldExportCatalogAsNdjson() throws Exception {
+        // Given: The use case visits every product
+        stubExport(testProducts);
+
+        // When: The export starts asynchronously and is then dispatched
+        MvcResult started = mockMvc.perform(get("/api/v1/products/export")
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn();
+
+        // Then: One JSON object per line, in the order the use case produced them
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("Acetaminofén 500mg");
+        assertThat(objectMapper.readTree(lines[1]).get("stock").asInt()).isEqualTo(50);
+        assertThat(objectMapper.readTree(lines[2]).get("inStock").asBoolean()).isTrue();
+        verify(searchProductUseCase, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should stream the catalog as CSV with a header line")
+    void shouldExportCatalogAsCsv() throws Exception {
+        // Given
+        stubExport(List.of(testProducts.get(1)));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/products/export")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+                .andReturn();
+
+        // Then
+        Product product = testProducts.get(1);
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,price,stock,inStock\n"
+                        + product.getId() + ",Ibuprofeno 400mg,Antiinflamatorio,15000.00,50,true\n");
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported export format with 400")
+    void shouldRejectUnsupportedExportFormat() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/products/export")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(searchProductUseCase, never()).exportAll(any());
+    }
+
+    /**
+     * Makes exportAll hand the given products to the controller's consumer.
+     */
+    private void stubExport(List<Product> products) {
+        when(searchProductUseCase.exportAll(any())).thenAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(0);
+            products.forEach(action);
+            return (long) products.size();
+        });
     }
 }
@@ -0,0 +1,98 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.controller;
+
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import com.farmatodo.reto_tecnico.domain.port.in.GetTopSearchQueriesUseCase;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.mapper.SearchAnalyticsRestMapperImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller tests for SearchAnalyticsController.
+ */
+@WebMvcTest(SearchAnalyticsController.class)
+@Import(SearchAnalyticsRestMapperImpl.class)
+@DisplayName("SearchAnalyticsController REST Tests")
+class SearchAnalyticsControllerTest {
+
+    private static final String API_KEY_HEADER = "X-API-KEY";
+    private static final String API_KEY_VALUE = "default-dev-key-change-in-production";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GetTopSearchQueriesUseCase getTopSearchQueriesUseCase;
+
+    @MockBean
+    private com.farmatodo.reto_tecnico.application.service.AuditLogService auditLogService;
+
+    @Test
+    @DisplayName("Should return top queries for the default window and limit")
+    void shouldReturnTopQueries() throws Exception {
+        // Given
+        when(getTopSearchQueriesUseCase.getTopQueries(Duration.ofMinutes(60), 10)).thenReturn(List.of(
+                TopSearchQuery.builder().query("acetaminofen").searches(120).zeroResultSearches(0).build(),
+                TopSearchQuery.builder().query("vitamina d").searches(40).zeroResultSearches(3).build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search-analytics/top-queries")
+                        .header(API_KEY_HEADER, API_KEY_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].query").value("acetaminofen"))
+                .andExpect(jsonPath("$[0].searches").value(120))
+                .andExpect(jsonPath("$[1].zeroResultSearches").value(3));
+    }
+
+    @Test
+    @DisplayName("Should pass window and limit parameters")
+    void shouldPassParameters() throws Exception {
+        // Given
+        when(getTopSearchQueriesUseCase.getTopQueries(Duration.ofMinutes(15), 5)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search-analytics/top-queries")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("minutes", "15")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when limit is out of range")
+    void shouldRejectInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/search-analytics/top-queries")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(getTopSearchQueriesUseCase, never()).getTopQueries(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when window is out of range")
+    void shouldRejectInvalidWindow() throws Exception {
+        mockMvc.perform(get("/api/v1/search-analytics/top-queries")
+                        .header(API_KEY_HEADER, API_KEY_VALUE)
+                        .param("minutes", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(getTopSearchQueriesUseCase, never()).getTopQueries(any(), anyInt());
+    }
+}
@@ -0,0 +1,83 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.export;
+
+import com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.dto.response.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ProductExportWriter.
+ */
+@DisplayName("ProductExportWriter Tests")
+class ProductExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID productId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteNdjsonLines() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProductExportWriter writer = new ProductExportWriter(ProductExportWriter.Format.NDJSON, objectMapper, out);
+
+        // When
+        writer.writeHeader();
+        writer.write(product("Acetaminofén 500mg", "Analgésico"));
+        writer.write(product("Ibuprofeno 400mg", null));
+        writer.flush();
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("Acetaminofén 500mg");
+        assertThat(objectMapper.readTree(lines[1]).get("description").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields containing separators, quotes or line breaks")
+    void shouldEscapeCsvFields() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProductExportWriter writer = new ProductExportWriter(ProductExportWriter.Format.CSV, objectMapper, out);
+
+        // When
+        writer.writeHeader();
+        writer.write(product("Jarabe \"Kids\", 120ml", "Línea 1\nLínea 2"));
+        writer.flush();
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,price,stock,inStock\n"
+                        + productId + ",\"Jarabe \"\"Kids\"\", 120ml\",\"Línea 1\nLínea 2\",12500.00,10,true\n");
+    }
+
+    @Test
+    @DisplayName("Should parse formats case-insensitively and reject unknown ones")
+    void shouldParseFormat() {
+        assertThat(ProductExportWriter.Format.parse("CSV")).isEqualTo(ProductExportWriter.Format.CSV);
+        assertThat(ProductExportWriter.Format.parse(" ndjson ")).isEqualTo(ProductExportWriter.Format.NDJSON);
+        assertThatThrownBy(() -> ProductExportWriter.Format.parse("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported export format");
+    }
+
+    private ProductResponse product(String name, String description) {
+        return ProductResponse.builder()
+                .id(productId)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("12500.00"))
+                .stock(10)
+                .inStock(true)
+                .build();
+    }
+}
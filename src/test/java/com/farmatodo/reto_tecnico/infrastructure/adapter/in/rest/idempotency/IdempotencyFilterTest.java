@@ -0,0 +1,250 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for IdempotencyFilter.
+ * The filter chain stands in for the controller and counts how often it runs.
+ */
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private static final String ORDERS_PATH = "/api/v1/orders";
+    private static final String BODY = "{\"customerId\":\"c1\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties.Idempotency properties = new FarmatodoProperties.Idempotency();
+        properties.setWaitTimeoutSeconds(5);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(new IdempotencyStore(properties), new ObjectMapper(), properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should pass requests without Idempotency-Key straight through")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        // When
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), controller(HttpStatus.CREATED));
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), controller(HttpStatus.CREATED));
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without running the controller again")
+    void shouldReplayStoredResponse() throws Exception {
+        // Given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), first, controller(HttpStatus.CREATED));
+
+        // When
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), replay, controller(HttpStatus.CREATED));
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getContentAsString()).isEqualTo("{\"execution\":1,\"body\":" + BODY + "}");
+        assertThat(replay.getStatus()).isEqualTo(201);
+        assertThat(replay.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(replay.getHeader("Location")).isEqualTo("/api/v1/orders/1");
+        assertThat(replay.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(meterRegistry.get("idempotency.requests").tag("result", "replayed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should scope keys by path")
+    void shouldScopeKeysByPath() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller(HttpStatus.CREATED));
+        MockHttpServletRequest payment = request("key-1", BODY);
+        payment.setRequestURI("/api/v1/payments/orders/1");
+
+        // When
+        filter.doFilter(payment, new MockHttpServletResponse(), controller(HttpStatus.OK));
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should return 422 when the key is reused with a different body")
+    void shouldRejectReusedKeyWithDifferentBody() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), controller(HttpStatus.CREATED));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"customerId\":\"c2\"}"), response, controller(HttpStatus.CREATED));
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a key longer than 255 characters")
+    void shouldRejectOversizedKey() throws Exception {
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("k".repeat(256), BODY), response, controller(HttpStatus.CREATED));
+
+        // Then
+        assertThat(executions).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("INVALID_IDEMPOTENCY_KEY");
+    }
+
+    @Test
+    @DisplayName("Should execute again after a server error")
+    void shouldNotStoreServerErrors() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(),
+                controller(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), retry, controller(HttpStatus.CREATED));
+
+        // Then
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the in-flight response")
+    void shouldWaitForInFlightRequest() throws Exception {
+        // Given
+        CountDownLatch inController = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowController = (req, res) -> {
+            inController.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            controller(HttpStatus.CREATED).doFilter(req, res);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            MockHttpServletResponse duplicate = new MockHttpServletResponse();
+            Future<?> firstCall = executor.submit(() -> {
+                filter.doFilter(request("key-1", BODY), first, slowController);
+                return null;
+            });
+            assertThat(inController.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            Future<?> duplicateCall = executor.submit(() -> {
+                filter.doFilter(request("key-1", BODY), duplicate, slowController);
+                return null;
+            });
+            release.countDown();
+            firstCall.get(5, TimeUnit.SECONDS);
+            duplicateCall.get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(executions).hasValue(1);
+            assertThat(duplicate.getStatus()).isEqualTo(201);
+            assertThat(duplicate.getContentAsString()).isEqualTo(first.getContentAsString());
+            assertThat(duplicate.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the buffered body to non-blocking readers")
+    void shouldServeBufferedBodyToReadListener() throws Exception {
+        // Given: a controller that reads the body through a ReadListener
+        StringBuilder read = new StringBuilder();
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain asyncController = (req, res) -> {
+            ServletInputStream input = req.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.append((char) input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(HttpStatus.CREATED.value());
+        };
+
+        // When
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), asyncController);
+
+        // Then
+        assertThat(read.toString()).isEqualTo(BODY);
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    private static MockHttpServletRequest request(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ORDERS_PATH);
+        request.addHeader("X-API-KEY", "test-api-key");
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Fake controller: echoes the body it read and the execution number.
+     */
+    private FilterChain controller(HttpStatus status) {
+        return (req, res) -> {
+            int execution = executions.incrementAndGet();
+            String body = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(status.value());
+            response.setContentType("application/json");
+            response.setHeader("Location", ORDERS_PATH + "/" + execution);
+            response.getWriter().write("{\"execution\":" + execution + ",\"body\":" + body + "}");
+        };
+    }
+}
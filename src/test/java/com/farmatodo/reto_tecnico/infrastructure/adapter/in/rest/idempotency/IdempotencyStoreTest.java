@@ -0,0 +1,148 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.in.rest.idempotency;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for IdempotencyStore.
+ */
+@DisplayName("IdempotencyStore Unit Tests")
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties.Idempotency properties = new FarmatodoProperties.Idempotency();
+        properties.setTtlSeconds(60);
+        properties.setMaxEntries(2);
+        store = new IdempotencyStore(properties, now::get);
+    }
+
+    @Test
+    @DisplayName("Should let only the first request acquire a key")
+    void shouldAcquireOnlyOnce() {
+        // When
+        IdempotencyStore.Reservation first = store.reserve("key", "hash");
+        IdempotencyStore.Reservation second = store.reserve("key", "hash");
+
+        // Then
+        assertThat(first.status()).isEqualTo(IdempotencyStore.Status.ACQUIRED);
+        assertThat(second.status()).isEqualTo(IdempotencyStore.Status.EXISTING);
+        assertThat(second.result()).isSameAs(first.result());
+        assertThat(second.result()).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Should hand the completed response to duplicates")
+    void shouldReplayCompletedResponse() {
+        // Given
+        StoredResponse response = response(201);
+        store.complete(store.reserve("key", "hash"), response);
+
+        // When
+        IdempotencyStore.Reservation duplicate = store.reserve("key", "hash");
+
+        // Then
+        assertThat(duplicate.status()).isEqualTo(IdempotencyStore.Status.EXISTING);
+        assertThat(duplicate.result()).isCompletedWithValue(response);
+    }
+
+    @Test
+    @DisplayName("Should report a mismatch when the body differs")
+    void shouldReportMismatch() {
+        // Given
+        store.reserve("key", "hash");
+
+        // When
+        IdempotencyStore.Reservation other = store.reserve("key", "other-hash");
+
+        // Then
+        assertThat(other.status()).isEqualTo(IdempotencyStore.Status.MISMATCH);
+    }
+
+    @Test
+    @DisplayName("Should free the key and wake waiters with null when released")
+    void shouldReleaseKey() {
+        // Given
+        IdempotencyStore.Reservation owner = store.reserve("key", "hash");
+        IdempotencyStore.Reservation waiter = store.reserve("key", "hash");
+
+        // When
+        store.release(owner);
+
+        // Then
+        assertThat(waiter.result()).isCompletedWithValue(null);
+        assertThat(store.reserve("key", "hash").status()).isEqualTo(IdempotencyStore.Status.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Should forget completed responses after the TTL")
+    void shouldExpireCompletedResponses() {
+        // Given
+        store.complete(store.reserve("key", "hash"), response(201));
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        assertThat(store.reserve("key", "other-hash").status()).isEqualTo(IdempotencyStore.Status.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Should never expire in-flight requests")
+    void shouldNotExpireInFlightRequests() {
+        // Given
+        store.reserve("key", "hash");
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(600));
+
+        // Then
+        assertThat(store.reserve("key", "hash").status()).isEqualTo(IdempotencyStore.Status.EXISTING);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest completed entry when full")
+    void shouldEvictOldestCompletedEntry() {
+        // Given
+        store.complete(store.reserve("a", "hash"), response(201));
+        now.incrementAndGet();
+        store.complete(store.reserve("b", "hash"), response(201));
+
+        // When
+        store.reserve("c", "hash");
+
+        // Then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.reserve("a", "hash").status()).isEqualTo(IdempotencyStore.Status.ACQUIRED);
+    }
+
+    @Test
+    @DisplayName("Should not evict in-flight entries even when full")
+    void shouldNotEvictInFlightEntries() {
+        // Given
+        store.reserve("a", "hash");
+        store.reserve("b", "hash");
+
+        // When
+        store.reserve("c", "hash");
+
+        // Then
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.reserve("a", "hash").status()).isEqualTo(IdempotencyStore.Status.EXISTING);
+    }
+
+    private static StoredResponse response(int status) {
+        return new StoredResponse(status, "application/json", null, "{}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests EmailTemplateRegistry with the templates shipped in classpath:email-templates.
+ */
+@DisplayName("EmailTemplateRegistry Tests")
+class EmailTemplateRegistryTest {
+
+    private final EmailTemplateRegistry registry = new EmailTemplateRegistry();
+
+    @Test
+    @DisplayName("Should load payment success template with subject and placeholders")
+    void shouldLoadPaymentSuccessTemplate() {
+        // When
+        EmailTemplate template = registry.get(JavaMailEmailAdapter.PAYMENT_SUCCESS_TEMPLATE);
+
+        // Then
+        assertThat(template.getSubject()).isEqualTo("✅ Pago Confirmado - Farmatodo");
+        assertThat(template.getPlaceholders())
+                .containsExactly("customerName", "orderId", "totalAmount", "transactionId");
+
+        String body = template.render(Map.of(
+                "customerName", "Juan Pérez", "orderId", "ORD-1", "totalAmount", "25000.00", "transactionId", "txn_1"));
+        assertThat(body).startsWith("<!DOCTYPE html>")
+                .contains("Hola <strong>Juan Pérez</strong>")
+                .contains("</span> txn_1")
+                .doesNotContain("{{")
+                .doesNotContain("subject:");
+    }
+
+    @Test
+    @DisplayName("Should load payment failure template")
+    void shouldLoadPaymentFailureTemplate() {
+        // When
+        EmailTemplate template = registry.get(JavaMailEmailAdapter.PAYMENT_FAILURE_TEMPLATE);
+
+        // Then
+        assertThat(template.getSubject()).isEqualTo("❌ Pago Rechazado - Farmatodo");
+        assertThat(template.getPlaceholders()).containsExactly("customerName", "attempts", "orderId", "totalAmount");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown template names")
+    void shouldRejectUnknownTemplate() {
+        assertThatThrownBy(() -> registry.get("does-not-exist"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does-not-exist");
+    }
+}
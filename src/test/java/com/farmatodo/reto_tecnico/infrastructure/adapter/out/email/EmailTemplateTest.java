@@ -0,0 +1,75 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for EmailTemplate.
+ */
+@DisplayName("EmailTemplate Unit Tests")
+class EmailTemplateTest {
+
+    @Test
+    @DisplayName("Should render literals and placeholders in order")
+    void shouldRenderPlaceholders() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hola",
+                "<p>Hola {{name}}, orden {{ orderId }}.</p><p>{{name}}</p>");
+
+        // When
+        String body = template.render(Map.of("name", "Ana", "orderId", "ORD-1"));
+
+        // Then
+        assertThat(body).isEqualTo("<p>Hola Ana, orden ORD-1.</p><p>Ana</p>");
+        assertThat(template.getPlaceholders()).containsExactly("name", "orderId");
+        assertThat(template.getSubject()).isEqualTo("Hola");
+    }
+
+    @Test
+    @DisplayName("Should HTML-escape values")
+    void shouldEscapeValues() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hola", "<strong>{{name}}</strong>");
+
+        // When
+        String body = template.render(Map.of("name", "<script>alert('x')</script> & \"co\""));
+
+        // Then
+        assertThat(body).isEqualTo(
+                "<strong>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;co&quot;</strong>");
+    }
+
+    @Test
+    @DisplayName("Should render a template without placeholders as is")
+    void shouldRenderStaticTemplate() {
+        EmailTemplate template = EmailTemplate.compile("static", "Aviso", "<p>Sin datos</p>");
+
+        assertThat(template.render(Map.of())).isEqualTo("<p>Sin datos</p>");
+    }
+
+    @Test
+    @DisplayName("Should fail when a value is missing")
+    void shouldFailOnMissingValue() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hola", "Hola {{name}}");
+
+        assertThatThrownBy(() -> template.render(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    @DisplayName("Should reject unclosed and empty placeholders")
+    void shouldRejectMalformedPlaceholders() {
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "x", "Hola {{name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unclosed");
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "x", "Hola {{ }}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Empty");
+    }
+}
@@ -0,0 +1,114 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server for tests, standing in for MailHog.
+ *
+ * Listens on a random local port and accepts every message, except that RCPT TO addresses
+ * containing {@link #REJECTED_MARKER} are refused with 550 (unknown user). Counts connections
+ * so tests can check that a batch shares one SMTP session.
+ */
+final class InProcessSmtpServer implements AutoCloseable {
+
+    static final String REJECTED_MARKER = "rejected";
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    InProcessSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "in-process-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * @return raw DATA of every accepted message, in arrival order
+     */
+    List<String> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread session = new Thread(() -> handle(socket), "in-process-smtp-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                // Closed
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost ESMTP in-process");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("RCPT TO")) {
+                    reply(out, line.contains(REJECTED_MARKER) ? "550 5.1.1 User unknown" : "250 OK");
+                } else if (command.startsWith("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    messages.add(readData(in));
+                    reply(out, "250 OK queued");
+                } else if (command.startsWith("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // MAIL FROM, RSET, NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line).append('\n');
+        }
+        return data.toString();
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,108 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests JavaMailEmailAdapter.sendAll against a real SMTP conversation (InProcessSmtpServer).
+ */
+@DisplayName("JavaMailEmailAdapter SMTP Tests")
+class JavaMailEmailAdapterSmtpTest {
+
+    private InProcessSmtpServer smtpServer;
+    private JavaMailEmailAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new InProcessSmtpServer();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+        adapter = new JavaMailEmailAdapter(mailSender, new FarmatodoProperties(), new EmailTemplateRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    @DisplayName("Should send a whole batch over one SMTP connection")
+    void shouldSendBatchOverOneConnection() {
+        // Given
+        List<EmailOutboxMessage> batch = List.of(
+                message("ana@example.com"), message("luis@example.com"), message("sofia@example.com"));
+
+        // When
+        List<EmailPort.DeliveryFailure> failures = adapter.sendAll(batch);
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(smtpServer.getMessages()).hasSize(3);
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+        assertThat(smtpServer.getMessages().get(0)).contains("To: ana@example.com");
+    }
+
+    @Test
+    @DisplayName("Should report a rejected recipient as permanent and still send the rest")
+    void shouldReportRejectedRecipientAsPermanent() {
+        // Given
+        EmailOutboxMessage rejected = message("rejected@example.com");
+        List<EmailOutboxMessage> batch = List.of(message("ana@example.com"), rejected, message("luis@example.com"));
+
+        // When
+        List<EmailPort.DeliveryFailure> failures = adapter.sendAll(batch);
+
+        // Then
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0).messageId()).isEqualTo(rejected.getId());
+        assertThat(failures.get(0).permanent()).isTrue();
+        assertThat(smtpServer.getMessages()).hasSize(2);
+        assertThat(smtpServer.getConnections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report every message as retryable when the server is down")
+    void shouldReportTransientFailureWhenServerDown() throws Exception {
+        // Given
+        smtpServer.close();
+        List<EmailOutboxMessage> batch = List.of(message("ana@example.com"), message("luis@example.com"));
+
+        // When
+        List<EmailPort.DeliveryFailure> failures = adapter.sendAll(batch);
+
+        // Then
+        assertThat(failures).hasSize(2);
+        assertThat(failures).noneMatch(EmailPort.DeliveryFailure::permanent);
+    }
+
+    private static EmailOutboxMessage message(String recipient) {
+        return EmailOutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .type(EmailOutboxMessage.Type.PAYMENT_SUCCESS)
+                .recipient(recipient)
+                .customerName("Cliente")
+                .orderId(UUID.randomUUID())
+                .totalAmount("25000.00")
+                .transactionId("txn_123")
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
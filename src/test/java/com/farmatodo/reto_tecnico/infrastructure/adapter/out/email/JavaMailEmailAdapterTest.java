@@ -1,6 +1,8 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.email;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import com.farmatodo.reto_tecnico.domain.port.out.EmailPort;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,7 +48,7 @@ class JavaMailEmailAdapterTest {
     @BeforeEach
     void setUp() {
         when(properties.getEmail()).thenReturn(emailProperties);
-        adapter = new JavaMailEmailAdapter(mailSender, properties);
+        adapter = new JavaMailEmailAdapter(mailSender, properties, new EmailTemplateRegistry());
     }
 
     @Test
@@ -96,6 +101,27 @@ class JavaMailEmailAdapterTest {
         verify(mailSender).send(any(MimeMessage.class));
     }
 
+    @Test
+    @DisplayName("Should send payment success email when the customer has no name")
+    void shouldSendPaymentSuccessEmailWithNullCustomerName() {
+        // Given
+        when(emailProperties.isEnabled()).thenReturn(true);
+        when(emailProperties.getFrom()).thenReturn("noreply@farmatodo.com");
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+
+        // When
+        adapter.sendPaymentSuccessEmail(
+                "customer@example.com",
+                null,
+                "ORD-12345",
+                "$150,000",
+                "TXN-ABC123"
+        );
+
+        // Then
+        verify(mailSender).send(any(MimeMessage.class));
+    }
+
     @Test
     @DisplayName("Should send payment failure email with correct subject")
     void shouldSendPaymentFailureEmail() {
@@ -172,4 +198,26 @@ class JavaMailEmailAdapterTest {
         // Then
         verify(mailSender).send(any(MimeMessage.class));
     }
+
+    @Test
+    @DisplayName("Should skip outbox batch and report it delivered when email is disabled")
+    void shouldSkipOutboxBatchWhenDisabled() {
+        // Given
+        when(emailProperties.isEnabled()).thenReturn(false);
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .type(EmailOutboxMessage.Type.PAYMENT_FAILURE)
+                .recipient("customer@example.com")
+                .orderId(UUID.randomUUID())
+                .paymentAttempts(3)
+                .build();
+
+        // When
+        List<EmailPort.DeliveryFailure> failures = adapter.sendAll(List.of(message));
+
+        // Then
+        assertThat(failures).isEmpty();
+        verify(mailSender, never()).createMimeMessage();
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
 }
@@ -0,0 +1,307 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingProductRepositoryAdapter.
+ * Verifies read-through caching, invalidation on writes, TTL, size bound and metrics.
+ *
+ * Uses pure unit testing with Mockito (NO Spring context).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingProductRepositoryAdapter Unit Tests")
+class CachingProductRepositoryAdapterTest {
+
+    @Mock
+    private ProductRepositoryAdapter delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private CachingProductRepositoryAdapter cache;
+
+    private UUID productId;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getProduct().setCacheMaxSize(2);
+        properties.getProduct().setCacheTtlSeconds(60);
+
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        cache = new CachingProductRepositoryAdapter(delegate, properties, meterRegistry, clock::get);
+
+        productId = UUID.randomUUID();
+        product = product(productId, 100);
+    }
+
+    @Test
+    @DisplayName("Should load from delegate on miss and serve from memory on hit")
+    void shouldServeHitsFromMemory() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+
+        // When
+        Optional<Product> first = cache.findById(productId);
+        Optional<Product> second = cache.findById(productId);
+
+        // Then
+        assertThat(first).contains(product);
+        assertThat(second).contains(product);
+        verify(delegate, times(1)).findById(productId);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(1);
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot mutate cached state")
+    void shouldReturnCopies() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        cache.findById(productId).orElseThrow().setStock(0);
+
+        // When
+        Product cached = cache.findById(productId).orElseThrow();
+
+        // Then
+        assertThat(cached.getStock()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should load only uncached products in one bulk call and cache them")
+    void shouldLoadOnlyMissesInBulk() {
+        // Given: One product cached, one not
+        UUID otherId = UUID.randomUUID();
+        Product other = product(otherId, 5);
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        cache.findById(productId);
+        when(delegate.findAllByIds(List.of(otherId))).thenReturn(Map.of(otherId, other));
+
+        // When
+        Map<UUID, Product> first = cache.findAllByIds(List.of(productId, otherId));
+        Map<UUID, Product> second = cache.findAllByIds(List.of(productId, otherId));
+
+        // Then: The second lookup is served from memory
+        assertThat(first).containsOnlyKeys(productId, otherId);
+        assertThat(second).isEqualTo(first);
+        verify(delegate, times(1)).findAllByIds(List.of(otherId));
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(3);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing products")
+    void shouldNotCacheMissingProducts() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.empty());
+
+        // When
+        cache.findById(productId);
+        cache.findById(productId);
+
+        // Then
+        verify(delegate, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should invalidate entry after stock update")
+    void shouldInvalidateAfterStockUpdate() {
+        // Given
+        Product reduced = product(productId, 80);
+        when(delegate.findById(productId)).thenReturn(Optional.of(product), Optional.of(reduced));
+        when(delegate.updateStock(productId, 80)).thenReturn(reduced);
+        cache.findById(productId);
+
+        // When
+        cache.updateStock(productId, 80);
+
+        // Then
+        assertThat(cache.findById(productId).orElseThrow().getStock()).isEqualTo(80);
+        verify(delegate, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should invalidate entry when the product's cart holds change")
+    void shouldInvalidateWhenHoldsChange() {
+        // Given: Cached with no held units
+        Product held = product(productId, 100);
+        held.setHeldStock(30);
+        when(delegate.findById(productId)).thenReturn(Optional.of(product), Optional.of(held));
+        cache.findById(productId);
+
+        // When: A cart holds 30 units
+        cache.onStockHoldsChanged(new StockHoldsChangedEvent(Set.of(productId)));
+
+        // Then
+        assertThat(cache.findById(productId).orElseThrow().getAvailableStock()).isEqualTo(70);
+        verify(delegate, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should invalidate entry when stock update fails")
+    void shouldInvalidateWhenStockUpdateFails() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        when(delegate.updateStock(productId, 0))
+                .thenThrow(new InsufficientStockException(productId, product.getName(), 100, 5));
+        cache.findById(productId);
+
+        // When
+        assertThatThrownBy(() -> cache.updateStock(productId, 0))
+                .isInstanceOf(InsufficientStockException.class);
+        cache.findById(productId);
+
+        // Then
+        verify(delegate, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every reserved product")
+    void shouldInvalidateReservedProducts() {
+        // Given
+        Product reduced = product(productId, 97);
+        when(delegate.findById(productId)).thenReturn(Optional.of(product), Optional.of(reduced));
+        when(delegate.reserveStock(Map.of(productId, 3))).thenReturn(List.of(reduced));
+        cache.findById(productId);
+
+        // When
+        cache.reserveStock(Map.of(productId, 3));
+
+        // Then
+        assertThat(cache.findById(productId).orElseThrow().getStock()).isEqualTo(97);
+        verify(delegate, times(2)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should invalidate entry after save and delete")
+    void shouldInvalidateAfterSaveAndDelete() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        when(delegate.save(product)).thenReturn(product);
+        when(delegate.deleteById(productId)).thenReturn(true);
+
+        // When
+        cache.findById(productId);
+        cache.save(product);
+        cache.findById(productId);
+        cache.deleteById(productId);
+        cache.findById(productId);
+
+        // Then
+        verify(delegate, times(3)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should reload entry after TTL expires")
+    void shouldReloadAfterTtl() {
+        // Given
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        cache.findById(productId);
+
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        cache.findById(productId);
+
+        // Then
+        verify(delegate, times(2)).findById(productId);
+        assertThat(counter("cache.evictions", "cause", "expired")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict oldest entry when full")
+    void shouldEvictWhenFull() {
+        // Given: max size is 2
+        UUID secondId = UUID.randomUUID();
+        UUID thirdId = UUID.randomUUID();
+        when(delegate.findById(productId)).thenReturn(Optional.of(product));
+        when(delegate.findById(secondId)).thenReturn(Optional.of(product(secondId, 10)));
+        when(delegate.findById(thirdId)).thenReturn(Optional.of(product(thirdId, 10)));
+
+        // When
+        cache.findById(productId);
+        clock.incrementAndGet();
+        cache.findById(secondId);
+        clock.incrementAndGet();
+        cache.findById(thirdId);
+        cache.findById(productId);
+
+        // Then: first entry was the oldest and had to be reloaded
+        verify(delegate, times(2)).findById(productId);
+        assertThat(counter("cache.evictions", "cause", "size")).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should bypass cache for products written in the current transaction")
+    void shouldBypassCacheForPendingWrites() {
+        // Given
+        Product reduced = product(productId, 80);
+        when(delegate.updateStock(productId, 80)).thenReturn(reduced);
+        when(delegate.findById(productId)).thenReturn(Optional.of(reduced), Optional.of(reduced), Optional.of(product));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When: write then read inside the transaction
+            cache.updateStock(productId, 80);
+            cache.findById(productId);
+            cache.findById(productId);
+
+            // Then: uncommitted state was never cached
+            verify(delegate, times(2)).findById(productId);
+            assertThat(meterRegistry.get("cache.size").gauge().value()).isZero();
+
+            // When: transaction rolls back
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then: reads are cached again and see the committed state
+        assertThat(cache.findById(productId).orElseThrow().getStock()).isEqualTo(100);
+        assertThat(cache.findById(productId).orElseThrow().getStock()).isEqualTo(100);
+        verify(delegate, times(3)).findById(productId);
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    private Product product(UUID id, int stock) {
+        return Product.builder()
+                .id(id)
+                .name("Acetaminofén 500mg")
+                .description("Analgésico")
+                .price(new Money(new BigDecimal("15000.00")))
+                .stock(stock)
+                .build();
+    }
+}
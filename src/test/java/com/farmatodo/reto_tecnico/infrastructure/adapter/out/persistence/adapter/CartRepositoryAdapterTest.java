@@ -9,6 +9,7 @@ import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartItemMapper;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CartMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CartItemJpaRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CartJpaRepository;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,6 +43,9 @@ class CartRepositoryAdapterTest {
     @Mock
     private CartJpaRepository jpaRepository;
 
+    @Mock
+    private CartItemJpaRepository itemJpaRepository;
+
     @Mock
     private CartMapper cartMapper;
 
@@ -284,4 +288,91 @@ class CartRepositoryAdapterTest {
             assertThat(result).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Item-level operation Tests")
+    class ItemLevelTests {
+
+        @Test
+        @DisplayName("Should update only the existing line when product is already in cart")
+        void shouldUpdateExistingLine() {
+            // Given
+            CartItem item = testCart.getItems().get(0);
+            item.increaseQuantity(3);
+            CartItemEntity existingLine = testCartEntity.getItems().get(0);
+            when(itemJpaRepository.findByCartIdAndProductId(testCart.getId(), item.getProduct().getId()))
+                    .thenReturn(Optional.of(existingLine));
+
+            // When
+            cartRepositoryAdapter.upsertItem(testCart.getId(), item);
+
+            // Then: the managed line is changed in place, nothing else is written
+            assertThat(existingLine.getQuantity()).isEqualTo(5);
+            verify(entityManager, never()).persist(any());
+            verify(jpaRepository, never()).save(any(CartEntity.class));
+            verify(jpaRepository).touch(eq(testCart.getId()), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should insert a single line when product is not in cart")
+        void shouldInsertNewLine() {
+            // Given
+            CartItem item = testCart.getItems().get(0);
+            UUID productId = item.getProduct().getId();
+            CartItemEntity newLine = CartItemEntity.builder()
+                    .id(item.getId())
+                    .quantity(2)
+                    .unitPrice(new BigDecimal("15000.00"))
+                    .build();
+            CartEntity cartReference = CartEntity.builder().id(testCart.getId()).build();
+            ProductEntity productReference = ProductEntity.builder().id(productId).build();
+            when(itemJpaRepository.findByCartIdAndProductId(testCart.getId(), productId)).thenReturn(Optional.empty());
+            when(cartItemMapper.toEntity(item)).thenReturn(newLine);
+            when(entityManager.getReference(CartEntity.class, testCart.getId())).thenReturn(cartReference);
+            when(entityManager.getReference(ProductEntity.class, productId)).thenReturn(productReference);
+
+            // When
+            cartRepositoryAdapter.upsertItem(testCart.getId(), item);
+
+            // Then
+            verify(entityManager).persist(newLine);
+            assertThat(newLine.getCart()).isSameAs(cartReference);
+            assertThat(newLine.getProduct()).isSameAs(productReference);
+            verify(jpaRepository, never()).save(any(CartEntity.class));
+            verify(jpaRepository).touch(eq(testCart.getId()), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should remove a single line and report whether it existed")
+        void shouldRemoveLine() {
+            // Given
+            UUID cartId = testCart.getId();
+            UUID productId = UUID.randomUUID();
+            UUID missingProductId = UUID.randomUUID();
+            when(itemJpaRepository.deleteByCartIdAndProductId(cartId, productId)).thenReturn(1);
+            when(itemJpaRepository.deleteByCartIdAndProductId(cartId, missingProductId)).thenReturn(0);
+
+            // When & Then
+            assertThat(cartRepositoryAdapter.removeItem(cartId, productId)).isTrue();
+            assertThat(cartRepositoryAdapter.removeItem(cartId, missingProductId)).isFalse();
+            verify(jpaRepository, times(1)).touch(eq(cartId), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should set the quantity of a single line")
+        void shouldUpdateLineQuantity() {
+            // Given
+            UUID cartId = testCart.getId();
+            UUID productId = UUID.randomUUID();
+            when(itemJpaRepository.updateQuantity(cartId, productId, 7)).thenReturn(1);
+
+            // When
+            boolean updated = cartRepositoryAdapter.updateItemQuantity(cartId, productId, 7);
+
+            // Then
+            assertThat(updated).isTrue();
+            verify(jpaRepository).touch(eq(cartId), any(LocalDateTime.class));
+            verify(jpaRepository, never()).findById(any());
+        }
+    }
 }
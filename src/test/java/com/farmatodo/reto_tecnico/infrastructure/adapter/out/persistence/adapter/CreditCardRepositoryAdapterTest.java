@@ -0,0 +1,152 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.model.CreditCard;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter.TokenBlindIndex;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CreditCardEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CreditCardMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CreditCardJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CreditCardRepositoryAdapter.
+ * Verifies token lookups go through the blind index instead of the encrypted column.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditCardRepositoryAdapter Unit Tests")
+class CreditCardRepositoryAdapterTest {
+
+    private static final String TOKEN = "tok_123";
+    private static final String TOKEN_HASH = "a".repeat(64);
+
+    @Mock
+    private CreditCardJpaRepository jpaRepository;
+
+    @Mock
+    private CreditCardMapper mapper;
+
+    @Mock
+    private TokenBlindIndex tokenBlindIndex;
+
+    @InjectMocks
+    private CreditCardRepositoryAdapter adapter;
+
+    private CreditCard creditCard;
+    private CreditCardEntity entity;
+
+    @BeforeEach
+    void setUp() {
+        creditCard = CreditCard.builder()
+                .id(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .token(TOKEN)
+                .build();
+        entity = CreditCardEntity.builder()
+                .id(creditCard.getId())
+                .customerId(creditCard.getCustomerId())
+                .token(TOKEN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store the token blind index when saving")
+    void shouldStoreTokenHashOnSave() {
+        // Given
+        when(mapper.toEntity(creditCard)).thenReturn(entity);
+        when(tokenBlindIndex.compute(TOKEN)).thenReturn(TOKEN_HASH);
+        when(jpaRepository.save(entity)).thenReturn(entity);
+        when(mapper.toDomain(entity)).thenReturn(creditCard);
+
+        // When
+        CreditCard saved = adapter.save(creditCard);
+
+        // Then
+        assertThat(saved).isSameAs(creditCard);
+        ArgumentCaptor<CreditCardEntity> captor = ArgumentCaptor.forClass(CreditCardEntity.class);
+        verify(jpaRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).isEqualTo(TOKEN_HASH);
+    }
+
+    @Test
+    @DisplayName("Should find card by token through the blind index")
+    void shouldFindByTokenHash() {
+        // Given
+        when(tokenBlindIndex.compute(TOKEN)).thenReturn(TOKEN_HASH);
+        when(jpaRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Optional.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(creditCard);
+
+        // When
+        Optional<CreditCard> result = adapter.findByToken(TOKEN);
+
+        // Then
+        assertThat(result).contains(creditCard);
+    }
+
+    @Test
+    @DisplayName("Should check token existence with a single index probe")
+    void shouldCheckExistenceByTokenHash() {
+        // Given
+        when(tokenBlindIndex.compute(TOKEN)).thenReturn(TOKEN_HASH);
+        when(jpaRepository.existsByTokenHash(TOKEN_HASH)).thenReturn(true);
+
+        // When & Then
+        assertThat(adapter.existsByToken(TOKEN)).isTrue();
+        verify(jpaRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should not query when token is null or empty")
+    void shouldNotQueryForEmptyToken() {
+        // When & Then
+        assertThat(adapter.findByToken(null)).isEmpty();
+        assertThat(adapter.existsByToken("")).isFalse();
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("Should backfill blind index for cards saved before it existed")
+    void shouldBackfillMissingTokenHashes() {
+        // Given: one unindexed batch, then none
+        when(jpaRepository.findByTokenHashIsNullAndTokenIsNotNull(any(Pageable.class)))
+                .thenReturn(List.of(entity))
+                .thenReturn(List.of());
+        when(tokenBlindIndex.compute(TOKEN)).thenReturn(TOKEN_HASH);
+
+        // When
+        adapter.backfillTokenHashes();
+
+        // Then
+        assertThat(entity.getTokenHash()).isEqualTo(TOKEN_HASH);
+        verify(jpaRepository).saveAll(List.of(entity));
+    }
+
+    @Test
+    @DisplayName("Should not fail startup when backfill fails")
+    void shouldSurviveBackfillFailure() {
+        // Given
+        when(jpaRepository.findByTokenHashIsNullAndTokenIsNotNull(any(Pageable.class)))
+                .thenThrow(new RuntimeException("column token_hash does not exist"));
+
+        // When
+        adapter.backfillTokenHashes();
+
+        // Then
+        verify(jpaRepository, never()).saveAll(anyList());
+    }
+}
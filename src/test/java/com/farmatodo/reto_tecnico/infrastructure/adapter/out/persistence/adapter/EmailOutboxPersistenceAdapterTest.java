@@ -0,0 +1,80 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.model.EmailOutboxMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailOutboxPersistenceAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxPersistenceAdapter Unit Tests")
+class EmailOutboxPersistenceAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EmailOutboxPersistenceAdapter adapter;
+
+    @Test
+    @DisplayName("Should claim due messages with lease end, now and limit")
+    @SuppressWarnings("unchecked")
+    void shouldClaimDueMessages() {
+        // Given
+        List<EmailOutboxMessage> claimed = List.of(EmailOutboxMessage.builder().id(UUID.randomUUID()).build());
+        when(jdbcTemplate.query(eq(EmailOutboxPersistenceAdapter.CLAIM_SQL), any(RowMapper.class),
+                eq(Timestamp.valueOf(NOW.plusSeconds(60))), eq(Timestamp.valueOf(NOW)), eq(50)))
+                .thenReturn(claimed);
+
+        // When
+        List<EmailOutboxMessage> result = adapter.claimDue(NOW, NOW.plusSeconds(60), 50);
+
+        // Then
+        assertThat(result).isEqualTo(claimed);
+        assertThat(EmailOutboxPersistenceAdapter.CLAIM_SQL).contains("FOR UPDATE SKIP LOCKED");
+    }
+
+    @Test
+    @DisplayName("Should delete delivered messages in one batch")
+    @SuppressWarnings("unchecked")
+    void shouldDeleteDeliveredInOneBatch() {
+        // Given
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        // When
+        adapter.deleteAll(ids);
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(eq(EmailOutboxPersistenceAdapter.DELETE_SQL), eq(ids), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was delivered")
+    void shouldSkipEmptyDelete() {
+        // When
+        adapter.deleteAll(List.of());
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
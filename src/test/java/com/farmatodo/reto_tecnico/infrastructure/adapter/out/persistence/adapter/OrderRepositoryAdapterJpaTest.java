@@ -0,0 +1,157 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.model.Order;
+import com.farmatodo.reto_tecnico.domain.port.out.OrderRepositoryPort;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.CustomerEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.OrderItemEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.CustomerMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.OrderItemMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.OrderMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapperImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderRepositoryAdapter read paths against a real persistence context (embedded H2).
+ * Counts the SQL statements Hibernate prepares: loading orders must cost the same
+ * three queries (orders with items, customers, products) whatever the number of orders and items.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import({OrderRepositoryAdapter.class, OrderMapperImpl.class, OrderItemMapperImpl.class,
+        CustomerMapperImpl.class, ProductMapperImpl.class, FarmatodoProperties.class})
+@DisplayName("OrderRepositoryAdapter JPA Tests")
+class OrderRepositoryAdapterJpaTest {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepositoryPort adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should read all orders with a constant number of queries")
+    void shouldFindAllWithConstantQueryCount(int orderCount) {
+        // Given
+        persistOrders(orderCount);
+        Statistics statistics = statistics();
+
+        // When
+        List<Order> orders = adapter.findAll();
+
+        // Then: orders with items + customers + products
+        assertThat(orders).hasSize(orderCount);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should read a customer's orders with a constant number of queries")
+    void shouldFindByCustomerIdWithConstantQueryCount(int orderCount) {
+        // Given
+        UUID customerId = persistOrders(orderCount);
+        Statistics statistics = statistics();
+
+        // When
+        List<Order> orders = adapter.findByCustomerId(customerId);
+
+        // Then
+        assertThat(orders).hasSize(orderCount);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should read orders by status with a constant number of queries")
+    void shouldFindByStatusWithConstantQueryCount(int orderCount) {
+        // Given
+        persistOrders(orderCount);
+        Statistics statistics = statistics();
+
+        // When
+        List<Order> orders = adapter.findByStatus(Order.OrderStatus.PENDING);
+
+        // Then
+        assertThat(orders).hasSize(orderCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    /**
+     * Persists one customer with orderCount orders of ITEMS_PER_ORDER distinct products each,
+     * then detaches everything so the reads hit the database.
+     * @return the customer ID
+     */
+    private UUID persistOrders(int orderCount) {
+        CustomerEntity customer = entityManager.persist(CustomerEntity.builder()
+                .id(UUID.randomUUID())
+                .name("Juan Pérez")
+                .email("juan@example.com")
+                .phone("+584121234567")
+                .address("Caracas")
+                .build());
+
+        for (int i = 0; i < orderCount; i++) {
+            OrderEntity order = OrderEntity.builder()
+                    .id(UUID.randomUUID())
+                    .customerId(customer.getId())
+                    .totalAmount(new BigDecimal("30000.00"))
+                    .status(OrderEntity.OrderStatus.PENDING)
+                    .deliveryAddress("Caracas")
+                    .items(new ArrayList<>())
+                    .build();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                ProductEntity product = entityManager.persist(ProductEntity.builder()
+                        .id(UUID.randomUUID())
+                        .name("Producto " + i + "-" + j)
+                        .description("Descripción")
+                        .price(new BigDecimal("10000.00"))
+                        .stock(10)
+                        .build());
+                order.addItem(OrderItemEntity.builder()
+                        .id(UUID.randomUUID())
+                        .productId(product.getId())
+                        .quantity(1)
+                        .unitPrice(product.getPrice())
+                        .build());
+            }
+            entityManager.persist(order);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return customer.getId();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
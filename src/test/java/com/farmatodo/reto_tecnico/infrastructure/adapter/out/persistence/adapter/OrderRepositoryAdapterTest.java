@@ -5,7 +5,9 @@ import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Customer;
 import com.farmatodo.reto_tecnico.domain.model.Order;
 import com.farmatodo.reto_tecnico.domain.model.OrderItem;
+import com.farmatodo.reto_tecnico.domain.model.OrderSummary;
 import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.OrderCursor;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Email;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Phone;
@@ -19,6 +21,7 @@ import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapper;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.CustomerJpaRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.OrderSummaryProjection;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -159,10 +163,10 @@ class OrderRepositoryAdapterTest {
             // Given
             UUID orderId = testOrderEntity.getId();
             when(orderJpaRepository.findById(orderId)).thenReturn(Optional.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProductEntity));
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of(testProductEntity));
             when(productMapper.toDomain(testProductEntity)).thenReturn(testOrder.getItems().get(0).getProduct());
             when(orderItemMapper.toDomain(any(OrderItemEntity.class), any(Product.class))).thenReturn(testOrder.getItems().get(0));
 
@@ -194,7 +198,7 @@ class OrderRepositoryAdapterTest {
             // Given
             UUID orderId = testOrderEntity.getId();
             when(orderJpaRepository.findById(orderId)).thenReturn(Optional.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.empty());
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of());
 
             // When & Then
             assertThatThrownBy(() -> orderRepositoryAdapter.findById(orderId))
@@ -207,10 +211,10 @@ class OrderRepositoryAdapterTest {
             // Given
             UUID orderId = testOrderEntity.getId();
             when(orderJpaRepository.findById(orderId)).thenReturn(Optional.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of());
 
             // When & Then
             assertThatThrownBy(() -> orderRepositoryAdapter.findById(orderId))
@@ -228,10 +232,10 @@ class OrderRepositoryAdapterTest {
             // Given
             UUID customerId = testCustomer.getId();
             when(orderJpaRepository.findByCustomerId(customerId)).thenReturn(List.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProductEntity));
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of(testProductEntity));
             when(productMapper.toDomain(testProductEntity)).thenReturn(testOrder.getItems().get(0).getProduct());
             when(orderItemMapper.toDomain(any(OrderItemEntity.class), any(Product.class))).thenReturn(testOrder.getItems().get(0));
 
@@ -266,10 +270,10 @@ class OrderRepositoryAdapterTest {
         void shouldReturnOrdersByStatus() {
             // Given
             when(orderJpaRepository.findByStatus(OrderEntity.OrderStatus.PENDING)).thenReturn(List.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProductEntity));
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of(testProductEntity));
             when(productMapper.toDomain(testProductEntity)).thenReturn(testOrder.getItems().get(0).getProduct());
             when(orderItemMapper.toDomain(any(OrderItemEntity.class), any(Product.class))).thenReturn(testOrder.getItems().get(0));
 
@@ -372,10 +376,10 @@ class OrderRepositoryAdapterTest {
         void shouldReturnAllOrders() {
             // Given
             when(orderJpaRepository.findAll()).thenReturn(List.of(testOrderEntity));
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProductEntity));
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of(testProductEntity));
             when(productMapper.toDomain(testProductEntity)).thenReturn(testOrder.getItems().get(0).getProduct());
             when(orderItemMapper.toDomain(any(OrderItemEntity.class), any(Product.class))).thenReturn(testOrder.getItems().get(0));
 
@@ -411,10 +415,10 @@ class OrderRepositoryAdapterTest {
             when(orderMapper.toEntity(testOrder)).thenReturn(testOrderEntity);
             when(orderItemMapper.toEntity(any(OrderItem.class))).thenReturn(testOrderEntity.getItems().get(0));
             when(orderJpaRepository.save(any(OrderEntity.class))).thenReturn(testOrderEntity);
-            when(customerJpaRepository.findById(testOrderEntity.getCustomerId())).thenReturn(Optional.of(testCustomerEntity));
+            when(customerJpaRepository.findAllById(any())).thenReturn(List.of(testCustomerEntity));
             when(customerMapper.toDomain(testCustomerEntity)).thenReturn(testCustomer);
             when(orderMapper.toDomain(testOrderEntity, testCustomer)).thenReturn(testOrder);
-            when(productJpaRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProductEntity));
+            when(productJpaRepository.findAllById(any())).thenReturn(List.of(testProductEntity));
             when(productMapper.toDomain(testProductEntity)).thenReturn(testOrder.getItems().get(0).getProduct());
             when(orderItemMapper.toDomain(any(OrderItemEntity.class), any(Product.class))).thenReturn(testOrder.getItems().get(0));
 
@@ -426,4 +430,126 @@ class OrderRepositoryAdapterTest {
             verify(orderJpaRepository).save(any(OrderEntity.class));
         }
     }
+
+    @Nested
+    @DisplayName("findSummariesByCustomerId Tests")
+    class FindSummariesByCustomerIdTests {
+
+        private final UUID customerId = UUID.randomUUID();
+        private final OrderSummaryProjection projection = new OrderSummaryProjection(
+                UUID.randomUUID(), OrderEntity.OrderStatus.PAYMENT_CONFIRMED, new BigDecimal("20000.00"), 2, LocalDateTime.now());
+        private final OrderSummary summary = OrderSummary.builder()
+                .id(projection.id())
+                .status(Order.OrderStatus.PAYMENT_CONFIRMED)
+                .totalAmount(Money.of(projection.totalAmount()))
+                .itemCount(2)
+                .createdAt(projection.createdAt())
+                .build();
+
+        @Test
+        @DisplayName("Should read the first page as projections without loading customers or products")
+        void shouldReadFirstPageAsProjections() {
+            // Given
+            when(orderJpaRepository.findFirstSummaryPageByCustomerId(customerId, PageRequest.ofSize(21)))
+                    .thenReturn(List.of(projection));
+            when(orderMapper.toSummaryList(List.of(projection))).thenReturn(List.of(summary));
+
+            // When
+            List<OrderSummary> result = orderRepositoryAdapter.findSummariesByCustomerId(customerId, null, 21);
+
+            // Then
+            assertThat(result).containsExactly(summary);
+            verifyNoInteractions(customerJpaRepository, productJpaRepository);
+            verify(orderJpaRepository, never()).findByCustomerId(any());
+        }
+
+        @Test
+        @DisplayName("Should continue strictly after the cursor")
+        void shouldReadNextPageAfterCursor() {
+            // Given
+            OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 12, 16, 14, 30), UUID.randomUUID());
+            when(orderJpaRepository.findNextSummaryPageByCustomerId(
+                    customerId, cursor.createdAt(), cursor.id(), PageRequest.ofSize(21)))
+                    .thenReturn(List.of(projection));
+            when(orderMapper.toSummaryList(List.of(projection))).thenReturn(List.of(summary));
+
+            // When
+            List<OrderSummary> result = orderRepositoryAdapter.findSummariesByCustomerId(customerId, cursor, 21);
+
+            // Then
+            assertThat(result).containsExactly(summary);
+            verify(orderJpaRepository, never()).findFirstSummaryPageByCustomerId(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional status update Tests")
+    class UpdateStatusTests {
+
+        private final UUID orderId = UUID.randomUUID();
+        private final LocalDateTime now = LocalDateTime.now();
+
+        @Test
+        @DisplayName("Should update status with one conditional query and no aggregate reads")
+        void shouldUpdateStatusConditionally() {
+            // Given
+            when(orderJpaRepository.updateStatus(orderId, OrderEntity.OrderStatus.PAYMENT_PROCESSING,
+                    OrderEntity.OrderStatus.PAYMENT_CONFIRMED, now)).thenReturn(1);
+
+            // When
+            boolean updated = orderRepositoryAdapter.updateStatus(orderId, Order.OrderStatus.PAYMENT_PROCESSING,
+                    Order.OrderStatus.PAYMENT_CONFIRMED, now);
+
+            // Then
+            assertThat(updated).isTrue();
+            verify(orderJpaRepository, never()).save(any());
+            verifyNoInteractions(customerJpaRepository, productJpaRepository, orderMapper);
+        }
+
+        @Test
+        @DisplayName("Should report false when the order is no longer in the expected status")
+        void shouldReturnFalseWhenStatusChanged() {
+            // Given
+            when(orderJpaRepository.updateStatus(any(), any(), any(), any())).thenReturn(0);
+
+            // When
+            boolean updated = orderRepositoryAdapter.updateStatus(orderId, Order.OrderStatus.PENDING,
+                    Order.OrderStatus.PAYMENT_FAILED, now);
+
+            // Then
+            assertThat(updated).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should update status and payment token together")
+        void shouldUpdateStatusAndPaymentToken() {
+            // Given
+            when(orderJpaRepository.updateStatusAndPaymentToken(orderId,
+                    List.of(OrderEntity.OrderStatus.PENDING, OrderEntity.OrderStatus.PAYMENT_FAILED),
+                    OrderEntity.OrderStatus.PAYMENT_PROCESSING, "tok_123", now)).thenReturn(1);
+
+            // When
+            boolean updated = orderRepositoryAdapter.updateStatusAndPaymentToken(orderId, Order.PAYABLE_STATUSES,
+                    Order.OrderStatus.PAYMENT_PROCESSING, "tok_123", now);
+
+            // Then
+            assertThat(updated).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should update every order left in a status since before the cutoff")
+        void shouldUpdateStatusIfUpdatedBefore() {
+            // Given
+            LocalDateTime cutoff = now.minusMinutes(15);
+            when(orderJpaRepository.updateStatusIfUpdatedBefore(OrderEntity.OrderStatus.PAYMENT_PROCESSING,
+                    OrderEntity.OrderStatus.PAYMENT_FAILED, cutoff, now)).thenReturn(3);
+
+            // When
+            int updated = orderRepositoryAdapter.updateStatusIfUpdatedBefore(Order.OrderStatus.PAYMENT_PROCESSING,
+                    Order.OrderStatus.PAYMENT_FAILED, cutoff, now);
+
+            // Then
+            assertThat(updated).isEqualTo(3);
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
+import com.farmatodo.reto_tecnico.domain.model.Product;
+import com.farmatodo.reto_tecnico.domain.port.out.ProductRepositoryPort;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapperImpl;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductCatalogJdbcRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.HotSkuStockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ProductRepositoryAdapter against a real persistence context (embedded H2).
+ * Stock changes are bulk UPDATEs, so these tests check that what the adapter returns and
+ * publishes is the stock in the database, not an entity cached earlier in the transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import({ProductRepositoryAdapter.class, ProductMapperImpl.class, FarmatodoProperties.class})
+@RecordApplicationEvents
+@DisplayName("ProductRepositoryAdapter JPA Tests")
+class ProductRepositoryAdapterJpaTest {
+
+    @Autowired
+    private ProductRepositoryPort adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @MockBean
+    private ProductStockJdbcRepository stockJdbcRepository;
+
+    @MockBean
+    private ProductCatalogJdbcRepository catalogJdbcRepository;
+
+    @MockBean
+    private HotSkuStockManager hotSkuStock;
+
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        // Persisted and still managed: the adapter's re-read would hit this cached entity
+        ProductEntity product = ProductEntity.builder()
+                .id(UUID.randomUUID())
+                .name("Acetaminofén 500mg")
+                .description("Analgésico")
+                .price(new BigDecimal("10000.00"))
+                .stock(10)
+                .build();
+        productId = entityManager.persistAndFlush(product).getId();
+    }
+
+    @Test
+    @DisplayName("Should return and publish the increased stock, not the cached entity's")
+    void shouldReturnFreshStockAfterIncrease() {
+        // When
+        Product updated = adapter.increaseStock(productId, 5);
+
+        // Then
+        assertThat(updated.getStock()).isEqualTo(15);
+        assertThat(events.stream(ProductChangedEvent.class))
+                .singleElement()
+                .satisfies(event -> assertThat(event.product().getStock()).isEqualTo(15));
+        assertThat(entityManager.find(ProductEntity.class, productId).getStock()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should return and publish the reduced stock after updateStock")
+    void shouldReturnFreshStockAfterUpdateStockReduces() {
+        // When
+        Product updated = adapter.updateStock(productId, 4);
+
+        // Then
+        assertThat(updated.getStock()).isEqualTo(4);
+        assertThat(events.stream(ProductChangedEvent.class))
+                .singleElement()
+                .satisfies(event -> assertThat(event.product().getStock()).isEqualTo(4));
+    }
+
+    @Test
+    @DisplayName("Should return the increased stock after updateStock")
+    void shouldReturnFreshStockAfterUpdateStockIncreases() {
+        // When
+        Product updated = adapter.updateStock(productId, 12);
+
+        // Then
+        assertThat(updated.getStock()).isEqualTo(12);
+        assertThat(entityManager.find(ProductEntity.class, productId).getStock()).isEqualTo(12);
+    }
+}
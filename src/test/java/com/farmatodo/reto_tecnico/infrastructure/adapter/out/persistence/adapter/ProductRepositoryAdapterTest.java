@@ -1,13 +1,19 @@
 package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
 
 import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.event.ProductChangedEvent;
 import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
 import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
 import com.farmatodo.reto_tecnico.domain.model.Product;
 import com.farmatodo.reto_tecnico.domain.model.valueobjects.Money;
+import com.farmatodo.reto_tecnico.domain.model.valueobjects.ProductCursor;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.mapper.ProductMapper;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductCatalogJdbcRepository;
 import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository.ReservationLine;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.HotSkuStockManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,15 +21,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,12 +51,24 @@ class ProductRepositoryAdapterTest {
     @Mock
     private ProductJpaRepository jpaRepository;
 
+    @Mock
+    private ProductStockJdbcRepository stockJdbcRepository;
+
+    @Mock
+    private ProductCatalogJdbcRepository catalogJdbcRepository;
+
     @Mock
     private ProductMapper mapper;
 
     @Mock
     private FarmatodoProperties properties;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HotSkuStockManager hotSkuStock;
+
     @InjectMocks
     private ProductRepositoryAdapter adapter;
 
@@ -94,6 +120,7 @@ class ProductRepositoryAdapterTest {
         verify(mapper).toEntity(product);
         verify(jpaRepository).save(productEntity);
         verify(mapper).toDomain(productEntity);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.saved(product));
     }
 
     @Test
@@ -126,6 +153,33 @@ class ProductRepositoryAdapterTest {
         verify(jpaRepository).findById(productId);
     }
 
+    @Test
+    @DisplayName("Should find several products by ID with one query")
+    void shouldFindAllByIdsWithOneQuery() {
+        // Given: The same ID requested twice and one unknown ID
+        UUID unknownId = UUID.randomUUID();
+        when(jpaRepository.findAllById(Set.of(productId, unknownId))).thenReturn(List.of(productEntity));
+        when(mapper.toDomain(productEntity)).thenReturn(product);
+
+        // When
+        Map<UUID, Product> result = adapter.findAllByIds(List.of(productId, unknownId, productId));
+
+        // Then
+        assertThat(result).containsOnlyKeys(productId);
+        verify(jpaRepository, times(1)).findAllById(Set.of(productId, unknownId));
+    }
+
+    @Test
+    @DisplayName("Should not query when no IDs are requested")
+    void shouldNotQueryForNoIds() {
+        // When
+        Map<UUID, Product> result = adapter.findAllByIds(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(jpaRepository);
+    }
+
     @Test
     @DisplayName("Should find products by name containing query")
     void shouldFindProductsByNameContaining() {
@@ -160,6 +214,59 @@ class ProductRepositoryAdapterTest {
         verify(jpaRepository).findAllInStock(minStock);
     }
 
+    @Test
+    @DisplayName("Should query first keyset page by name when no cursor")
+    void shouldQueryFirstKeysetPageByName() {
+        // Given
+        when(jpaRepository.findFirstPageByNameContainingIgnoreCase("aceta", 1, PageRequest.ofSize(21)))
+                .thenReturn(List.of(productEntity));
+        when(mapper.toDomainList(List.of(productEntity))).thenReturn(List.of(product));
+
+        // When
+        List<Product> result = adapter.findByNameContaining("aceta", null, 21);
+
+        // Then
+        assertThat(result).containsExactly(product);
+        verify(jpaRepository, never()).findNextPageByNameContainingIgnoreCase(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should query next keyset page by name after cursor")
+    void shouldQueryNextKeysetPageByName() {
+        // Given
+        ProductCursor after = new ProductCursor("Aspirina", UUID.randomUUID());
+        when(jpaRepository.findNextPageByNameContainingIgnoreCase(
+                "aceta", 1, "Aspirina", after.id(), PageRequest.ofSize(21)))
+                .thenReturn(List.of());
+        when(mapper.toDomainList(List.of())).thenReturn(List.of());
+
+        // When
+        List<Product> result = adapter.findByNameContaining("aceta", after, 21);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should query in-stock keyset pages")
+    void shouldQueryInStockKeysetPages() {
+        // Given
+        ProductCursor after = ProductCursor.of(product);
+        when(jpaRepository.findFirstPageInStock(1, PageRequest.ofSize(11))).thenReturn(List.of(productEntity));
+        when(jpaRepository.findNextPageInStock(1, product.getName(), productId, PageRequest.ofSize(11)))
+                .thenReturn(List.of());
+        when(mapper.toDomainList(List.of(productEntity))).thenReturn(List.of(product));
+        when(mapper.toDomainList(List.of())).thenReturn(List.of());
+
+        // When
+        List<Product> first = adapter.findAllInStock(null, 11);
+        List<Product> next = adapter.findAllInStock(after, 11);
+
+        // Then
+        assertThat(first).containsExactly(product);
+        assertThat(next).isEmpty();
+    }
+
     @Test
     @DisplayName("Should find all products")
     void shouldFindAllProducts() {
@@ -175,6 +282,46 @@ class ProductRepositoryAdapterTest {
         verify(jpaRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should stream every product through the catalog cursor with the configured fetch size")
+    void shouldStreamProductsThroughCatalogCursor() {
+        // Given: The cursor yields one row
+        when(catalogJdbcRepository.scan(eq(500), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<ProductEntity>>getArgument(1).accept(productEntity);
+            return 1L;
+        });
+        when(mapper.toDomain(productEntity)).thenReturn(product);
+        List<Product> visited = new ArrayList<>();
+
+        // When
+        long count = adapter.forEachProduct(visited::add);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+        assertThat(visited).containsExactly(product);
+        verify(jpaRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should report ledger stock for hot SKUs while streaming")
+    void shouldStreamHotSkusWithLedgerStock() {
+        // Given
+        when(catalogJdbcRepository.scan(eq(500), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<ProductEntity>>getArgument(1).accept(productEntity);
+            return 1L;
+        });
+        when(mapper.toDomain(productEntity)).thenReturn(product);
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+        when(hotSkuStock.available(productId)).thenReturn(42L);
+        List<Product> visited = new ArrayList<>();
+
+        // When
+        adapter.forEachProduct(visited::add);
+
+        // Then
+        assertThat(visited).singleElement().extracting(Product::getStock).isEqualTo(42);
+    }
+
     @Test
     @DisplayName("Should find products with stock less than threshold")
     void shouldFindProductsWithStockLessThanThreshold() {
@@ -235,6 +382,7 @@ class ProductRepositoryAdapterTest {
         // Then
         assertThat(result.getStock()).isEqualTo(80);
         verify(jpaRepository).reduceStockAtomic(productId, 20);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(updatedProduct));
     }
 
     @Test
@@ -289,6 +437,172 @@ class ProductRepositoryAdapterTest {
         // When & Then
         assertThatThrownBy(() -> adapter.updateStock(productId, 0))
                 .isInstanceOf(InsufficientStockException.class);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should reserve stock for all lines in one call")
+    void shouldReserveStockForAllLines() {
+        // Given
+        ProductEntity reservedEntity = ProductEntity.builder()
+                .id(productId).name("Acetaminofén 500mg").price(new BigDecimal("15000.00")).stock(97).version(1L)
+                .build();
+        Product reservedProduct = Product.builder()
+                .id(productId).name("Acetaminofén 500mg").price(new Money(new BigDecimal("15000.00"))).stock(97)
+                .build();
+        Map<UUID, Integer> quantities = Map.of(productId, 3);
+        when(stockJdbcRepository.reserve(quantities))
+                .thenReturn(List.of(new ReservationLine(productId, "Acetaminofén 500mg", 100, 3, reservedEntity)));
+        when(mapper.toDomain(reservedEntity)).thenReturn(reservedProduct);
+
+        // When
+        List<Product> result = adapter.reserveStock(quantities);
+
+        // Then
+        assertThat(result).containsExactly(reservedProduct);
+        verify(stockJdbcRepository, times(1)).reserve(quantities);
+        verify(jpaRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(reservedProduct));
+    }
+
+    @Test
+    @DisplayName("Should report every short line when reservation is rejected")
+    void shouldReportEveryShortLine() {
+        // Given: Two of three lines are short, nothing was applied
+        UUID secondId = UUID.randomUUID();
+        UUID thirdId = UUID.randomUUID();
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productId, 3);
+        quantities.put(secondId, 5);
+        quantities.put(thirdId, 2);
+        when(stockJdbcRepository.reserve(quantities)).thenReturn(List.of(
+                new ReservationLine(productId, "Acetaminofén 500mg", 100, 3, null),
+                new ReservationLine(secondId, "Ibuprofeno 400mg", 4, 5, null),
+                new ReservationLine(thirdId, "Loratadina 10mg", 0, 2, null)));
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.reserveStock(quantities))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Ibuprofeno 400mg")
+                .hasMessageContaining("Loratadina 10mg")
+                .satisfies(ex -> assertThat(((InsufficientStockException) ex).getShortages())
+                        .extracting(InsufficientStockException.Shortage::productId)
+                        .containsExactly(secondId, thirdId));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when a reserved product does not exist")
+    void shouldThrowProductNotFoundWhenReservingMissingProduct() {
+        // Given
+        Map<UUID, Integer> quantities = Map.of(productId, 1);
+        when(stockJdbcRepository.reserve(quantities))
+                .thenReturn(List.of(new ReservationLine(productId, null, null, 1, null)));
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.reserveStock(quantities))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive reservation quantities")
+    void shouldRejectNonPositiveReservationQuantities() {
+        assertThatThrownBy(() -> adapter.reserveStock(Map.of(productId, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(adapter.reserveStock(Map.of())).isEmpty();
+        verifyNoInteractions(stockJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should reserve hot SKU lines in memory and the rest in the database")
+    void shouldReserveHotSkuLinesInMemory() {
+        // Given: productId is a hot SKU, coldId is not
+        UUID coldId = UUID.randomUUID();
+        ProductEntity coldEntity = ProductEntity.builder()
+                .id(coldId).name("Ibuprofeno 400mg").price(new BigDecimal("8000.00")).stock(9).version(1L)
+                .build();
+        Product coldProduct = Product.builder()
+                .id(coldId).name("Ibuprofeno 400mg").price(new Money(new BigDecimal("8000.00"))).stock(9)
+                .build();
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productId, 3);
+        quantities.put(coldId, 1);
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+        when(stockJdbcRepository.reserve(Map.of(coldId, 1)))
+                .thenReturn(List.of(new ReservationLine(coldId, "Ibuprofeno 400mg", 10, 1, coldEntity)));
+        when(mapper.toDomain(coldEntity)).thenReturn(coldProduct);
+        when(hotSkuStock.reserve(Map.of(productId, 3))).thenReturn(Map.of(productId, 97L));
+        when(jpaRepository.findAllById(Map.of(productId, 97L).keySet())).thenReturn(List.of(productEntity));
+        when(mapper.toDomain(productEntity)).thenReturn(product);
+
+        // When
+        List<Product> result = adapter.reserveStock(quantities);
+
+        // Then: the hot product carries the ledger stock, no row lock was taken for it
+        assertThat(result).containsExactly(coldProduct, product);
+        assertThat(product.getStock()).isEqualTo(97);
+        verify(stockJdbcRepository).reserve(Map.of(coldId, 1));
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(product));
+    }
+
+    @Test
+    @DisplayName("Should not touch the ledger when the database lines are short")
+    void shouldNotReserveHotSkusWhenDatabaseLinesFail() {
+        // Given
+        UUID coldId = UUID.randomUUID();
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(productId, 3);
+        quantities.put(coldId, 5);
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+        when(stockJdbcRepository.reserve(Map.of(coldId, 5)))
+                .thenReturn(List.of(new ReservationLine(coldId, "Ibuprofeno 400mg", 4, 5, null)));
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.reserveStock(quantities))
+                .isInstanceOf(InsufficientStockException.class);
+        verify(hotSkuStock, never()).reserve(any());
+    }
+
+    @Test
+    @DisplayName("Should reject absolute stock updates for hot SKUs")
+    void shouldRejectUpdateStockForHotSku() {
+        // Given
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.updateStock(productId, 50))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("Should increase stock relatively and restock the ledger for hot SKUs")
+    void shouldIncreaseStockRelatively() {
+        // Given
+        when(jpaRepository.increaseStockAtomic(productId, 4)).thenReturn(1);
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+        when(jpaRepository.findById(productId)).thenReturn(Optional.of(productEntity));
+        when(mapper.toDomain(productEntity)).thenReturn(product);
+
+        // When
+        Product result = adapter.increaseStock(productId, 4);
+
+        // Then
+        assertThat(result).isEqualTo(product);
+        verify(hotSkuStock).restock(productId, 4);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.stockChanged(product));
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when increasing stock of a missing product")
+    void shouldThrowWhenIncreasingStockOfMissingProduct() {
+        // Given
+        when(jpaRepository.increaseStockAtomic(productId, 4)).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.increaseStock(productId, 4))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(hotSkuStock, never()).restock(any(), anyInt());
     }
 
     @Test
@@ -303,6 +617,7 @@ class ProductRepositoryAdapterTest {
         // Then
         assertThat(result).isTrue();
         verify(jpaRepository).deleteById(productId);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(productId));
     }
 
     @Test
@@ -0,0 +1,84 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.model.SearchQueryStat;
+import com.farmatodo.reto_tecnico.domain.model.TopSearchQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SearchQueryStatsPersistenceAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchQueryStatsPersistenceAdapter Unit Tests")
+class SearchQueryStatsPersistenceAdapterTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SearchQueryStatsPersistenceAdapter adapter;
+
+    @Test
+    @DisplayName("Should add all aggregates in one additive upsert batch")
+    @SuppressWarnings("unchecked")
+    void shouldUpsertAllInOneBatch() {
+        // Given
+        List<SearchQueryStat> stats = List.of(
+                SearchQueryStat.builder().bucketStart(MINUTE).query("acetaminofen").searchCount(5).zeroResultCount(1).build(),
+                SearchQueryStat.builder().bucketStart(MINUTE).query("ibuprofeno").searchCount(2).zeroResultCount(0).build());
+
+        // When
+        adapter.addAll(stats);
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(eq(SearchQueryStatsPersistenceAdapter.UPSERT_SQL), eq(stats), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(SearchQueryStatsPersistenceAdapter.UPSERT_SQL)
+                .contains("ON CONFLICT (bucket_start, query)")
+                .contains("search_query_stats.search_count + EXCLUDED.search_count");
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for an empty flush")
+    void shouldSkipEmptyBatch() {
+        // When
+        adapter.addAll(List.of());
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should query top queries since the given minute with limit")
+    @SuppressWarnings("unchecked")
+    void shouldQueryTopQueries() {
+        // Given
+        List<TopSearchQuery> top = List.of(TopSearchQuery.builder().query("acetaminofen").searches(5).zeroResultSearches(1).build());
+        when(jdbcTemplate.query(eq(SearchQueryStatsPersistenceAdapter.TOP_QUERIES_SQL), any(RowMapper.class),
+                eq(Timestamp.valueOf(MINUTE)), eq(10)))
+                .thenReturn(top);
+
+        // When
+        List<TopSearchQuery> result = adapter.findTopQueries(MINUTE, 10);
+
+        // Then
+        assertThat(result).isEqualTo(top);
+    }
+}
@@ -0,0 +1,221 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.adapter;
+
+import com.farmatodo.reto_tecnico.domain.event.StockHoldsChangedEvent;
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.domain.exception.ProductNotFoundException;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock.HotSkuStockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockHoldPersistenceAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockHoldPersistenceAdapter Unit Tests")
+class StockHoldPersistenceAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30);
+    private static final LocalDateTime EXPIRES_AT = NOW.plusMinutes(15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private HotSkuStockManager hotSkuStock;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StockHoldPersistenceAdapter adapter;
+
+    private final UUID cartId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should lock the product and then place the hold")
+    @SuppressWarnings("unchecked")
+    void shouldLockProductThenHold() {
+        // Given
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.LOCK_PRODUCT_SQL), any(RowMapper.class), eq(productId)))
+                .thenReturn(List.of(productId));
+        stubHoldResult("Acetaminofén 500mg", 10, true);
+
+        // When
+        adapter.hold(cartId, productId, 5, EXPIRES_AT);
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).query(eq(StockHoldPersistenceAdapter.LOCK_PRODUCT_SQL), any(RowMapper.class), eq(productId));
+        inOrder.verify(jdbcTemplate).queryForObject(eq(StockHoldPersistenceAdapter.HOLD_SQL), any(RowMapper.class),
+                eq(cartId), eq(productId), eq(cartId), eq(5), eq(Timestamp.valueOf(EXPIRES_AT)), eq(5));
+        verify(eventPublisher).publishEvent(new StockHoldsChangedEvent(Set.of(productId)));
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientStockException with the available units when the hold is rejected")
+    @SuppressWarnings("unchecked")
+    void shouldRejectHoldWhenNotEnoughAvailable() {
+        // Given: Only 3 units available (stock - held + this cart's previous hold)
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.LOCK_PRODUCT_SQL), any(RowMapper.class), eq(productId)))
+                .thenReturn(List.of(productId));
+        stubHoldResult("Acetaminofén 500mg", 3, false);
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.hold(cartId, productId, 5, EXPIRES_AT))
+                .isInstanceOf(InsufficientStockException.class)
+                .satisfies(e -> {
+                    InsufficientStockException exception = (InsufficientStockException) e;
+                    assertThat(exception.getShortages()).hasSize(1);
+                    assertThat(exception.getShortages().get(0).availableStock()).isEqualTo(3);
+                    assertThat(exception.getShortages().get(0).requestedQuantity()).isEqualTo(5);
+                });
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when the product row does not exist")
+    @SuppressWarnings("unchecked")
+    void shouldThrowWhenProductMissing() {
+        // Given
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.LOCK_PRODUCT_SQL), any(RowMapper.class), eq(productId)))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.hold(cartId, productId, 5, EXPIRES_AT))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(jdbcTemplate, never()).queryForObject(eq(StockHoldPersistenceAdapter.HOLD_SQL), any(RowMapper.class),
+                any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not hold hot SKUs")
+    void shouldSkipHotSkus() {
+        // Given
+        when(hotSkuStock.isHot(productId)).thenReturn(true);
+
+        // When
+        adapter.hold(cartId, productId, 5, EXPIRES_AT);
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should release a cart's holds after locking their products")
+    @SuppressWarnings("unchecked")
+    void shouldReleaseCartHolds() {
+        // Given
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.LOCK_CART_PRODUCTS_SQL), any(RowMapper.class), eq(cartId)))
+                .thenReturn(List.of(productId));
+        when(jdbcTemplate.queryForObject(StockHoldPersistenceAdapter.RELEASE_CART_SQL, Integer.class, cartId))
+                .thenReturn(1);
+
+        // When
+        int released = adapter.releaseCart(cartId);
+
+        // Then
+        assertThat(released).isEqualTo(1);
+        verify(eventPublisher).publishEvent(new StockHoldsChangedEvent(Set.of(productId)));
+        assertThat(StockHoldPersistenceAdapter.LOCK_CART_PRODUCTS_SQL).contains("ORDER BY p.id").contains("FOR UPDATE");
+    }
+
+    @Test
+    @DisplayName("Should not run the release statement for a cart without holds")
+    @SuppressWarnings("unchecked")
+    void shouldSkipReleaseWithoutHolds() {
+        // Given
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.LOCK_CART_PRODUCTS_SQL), any(RowMapper.class), eq(cartId)))
+                .thenReturn(List.of());
+
+        // When
+        int released = adapter.releaseCart(cartId);
+
+        // Then
+        assertThat(released).isZero();
+        verify(jdbcTemplate, never()).queryForObject(eq(StockHoldPersistenceAdapter.RELEASE_CART_SQL),
+                eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should release expired holds oldest first without waiting on locked rows")
+    @SuppressWarnings("unchecked")
+    void shouldReleaseExpiredHolds() {
+        // Given: 40 holds released on one product, 2 on another
+        UUID otherProductId = UUID.randomUUID();
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.RELEASE_EXPIRED_SQL), any(RowMapper.class),
+                eq(Timestamp.valueOf(NOW)), eq(500)))
+                .thenAnswer(invocation -> List.of(
+                        releasedRow(invocation.getArgument(1), productId, 40),
+                        releasedRow(invocation.getArgument(1), otherProductId, 2)));
+
+        // When
+        int released = adapter.releaseExpired(NOW, 500);
+
+        // Then
+        assertThat(released).isEqualTo(42);
+        verify(eventPublisher).publishEvent(new StockHoldsChangedEvent(Set.of(productId, otherProductId)));
+        assertThat(StockHoldPersistenceAdapter.RELEASE_EXPIRED_SQL)
+                .contains("ORDER BY h.expires_at")
+                .contains("FOR UPDATE OF h, p SKIP LOCKED");
+    }
+
+    @Test
+    @DisplayName("Should not publish an event when no hold expired")
+    @SuppressWarnings("unchecked")
+    void shouldNotPublishWhenNothingExpired() {
+        // Given
+        when(jdbcTemplate.query(eq(StockHoldPersistenceAdapter.RELEASE_EXPIRED_SQL), any(RowMapper.class),
+                eq(Timestamp.valueOf(NOW)), eq(500))).thenReturn(List.of());
+
+        // When & Then
+        assertThat(adapter.releaseExpired(NOW, 500)).isZero();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Maps one RELEASE_EXPIRED_SQL result row with the adapter's row mapper.
+     */
+    private static Object releasedRow(RowMapper<?> rowMapper, UUID productId, int holds) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject("product_id", UUID.class)).thenReturn(productId);
+        when(resultSet.getInt("holds")).thenReturn(holds);
+        return rowMapper.mapRow(resultSet, 0);
+    }
+
+    /**
+     * Answers HOLD_SQL by running the adapter's row mapper over a mocked result row.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubHoldResult(String name, int available, boolean applied) {
+        when(jdbcTemplate.queryForObject(eq(StockHoldPersistenceAdapter.HOLD_SQL), any(RowMapper.class),
+                eq(cartId), eq(productId), eq(cartId), eq(5), eq(Timestamp.valueOf(EXPIRES_AT)), eq(5)))
+                .thenAnswer(invocation -> {
+                    ResultSet resultSet = mock(ResultSet.class);
+                    when(resultSet.getString("name")).thenReturn(name);
+                    when(resultSet.getInt("available")).thenReturn(available);
+                    when(resultSet.getBoolean("applied")).thenReturn(applied);
+                    return invocation.<RowMapper<Object>>getArgument(1).mapRow(resultSet, 0);
+                });
+    }
+}
@@ -10,9 +10,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -207,4 +222,80 @@ class CryptoConverterTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("decrypt");
     }
+
+    @Test
+    @DisplayName("Should decrypt values written in the stored format (IV || ciphertext || tag)")
+    void shouldDecryptStoredFormat() throws Exception {
+        // Given: a value encrypted independently with a fresh Cipher, as stored before the engine existed
+        when(encryptionProperties.getKey()).thenReturn(VALID_KEY);
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE,
+                new SecretKeySpec(VALID_KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+                new GCMParameterSpec(128, iv));
+        byte[] ciphertext = cipher.doFinal("tok_stored_before".getBytes(StandardCharsets.UTF_8));
+        byte[] stored = new byte[iv.length + ciphertext.length];
+        System.arraycopy(iv, 0, stored, 0, iv.length);
+        System.arraycopy(ciphertext, 0, stored, iv.length, ciphertext.length);
+
+        // When
+        String decrypted = converter.convertToEntityAttribute(Base64.getEncoder().encodeToString(stored));
+
+        // Then
+        assertThat(decrypted).isEqualTo("tok_stored_before");
+    }
+
+    @Test
+    @DisplayName("Should read the key once and reuse it")
+    void shouldReadKeyOnce() {
+        // Given
+        when(encryptionProperties.getKey()).thenReturn(VALID_KEY);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            converter.convertToEntityAttribute(converter.convertToDatabaseColumn("tok_" + i));
+        }
+
+        // Then
+        verify(encryptionProperties, times(1)).getKey();
+    }
+
+    @Test
+    @DisplayName("Should reject encrypted data shorter than IV and tag")
+    void shouldRejectTruncatedData() {
+        // Given
+        when(encryptionProperties.getKey()).thenReturn(VALID_KEY);
+        String truncated = Base64.getEncoder().encodeToString(new byte[20]);
+
+        // When & Then
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("decrypt");
+    }
+
+    @Test
+    @DisplayName("Should encrypt and decrypt concurrently with per-thread ciphers")
+    void shouldRoundTripConcurrently() throws Exception {
+        // Given
+        when(encryptionProperties.getKey()).thenReturn(VALID_KEY);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String plaintext = "tok_concurrent_" + i;
+                results.add(executor.submit(() ->
+                        plaintext.equals(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(plaintext)))));
+            }
+
+            // Then
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.converter;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TokenBlindIndex.
+ */
+@DisplayName("TokenBlindIndex Unit Tests")
+class TokenBlindIndexTest {
+
+    private FarmatodoProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FarmatodoProperties();
+        properties.getEncryption().setKey("test-encryption-key");
+    }
+
+    @Test
+    @DisplayName("Should compute the same 64-character hex index for the same token")
+    void shouldBeDeterministic() {
+        // Given
+        TokenBlindIndex blindIndex = new TokenBlindIndex(properties);
+
+        // When
+        String first = blindIndex.compute("tok_123");
+        String second = blindIndex.compute("tok_123");
+
+        // Then
+        assertThat(first).isEqualTo(second);
+        assertThat(first).hasSize(64).matches("[0-9a-f]+");
+        assertThat(first).doesNotContain("tok_123");
+    }
+
+    @Test
+    @DisplayName("Should compute different indexes for different tokens")
+    void shouldDifferPerToken() {
+        // Given
+        TokenBlindIndex blindIndex = new TokenBlindIndex(properties);
+
+        // When & Then
+        assertThat(blindIndex.compute("tok_123")).isNotEqualTo(blindIndex.compute("tok_124"));
+    }
+
+    @Test
+    @DisplayName("Should return null for null or empty values")
+    void shouldReturnNullForEmptyValues() {
+        // Given
+        TokenBlindIndex blindIndex = new TokenBlindIndex(properties);
+
+        // When & Then
+        assertThat(blindIndex.compute(null)).isNull();
+        assertThat(blindIndex.compute("")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should use the explicit blind index key over the derived one")
+    void shouldPreferExplicitKey() {
+        // Given
+        TokenBlindIndex derived = new TokenBlindIndex(properties);
+        properties.getEncryption().setBlindIndexKey("explicit-blind-index-key");
+        TokenBlindIndex explicit = new TokenBlindIndex(properties);
+        properties.getEncryption().setKey("another-encryption-key");
+        TokenBlindIndex explicitOtherEncryptionKey = new TokenBlindIndex(properties);
+
+        // When & Then
+        assertThat(explicit.compute("tok_123")).isNotEqualTo(derived.compute("tok_123"));
+        assertThat(explicitOtherEncryptionKey.compute("tok_123")).isEqualTo(explicit.compute("tok_123"));
+    }
+
+    @Test
+    @DisplayName("Should change the derived index when the encryption key changes")
+    void shouldDependOnEncryptionKey() {
+        // Given
+        TokenBlindIndex first = new TokenBlindIndex(properties);
+        properties.getEncryption().setKey("another-encryption-key");
+        TokenBlindIndex second = new TokenBlindIndex(properties);
+
+        // When & Then
+        assertThat(first.compute("tok_123")).isNotEqualTo(second.compute("tok_123"));
+    }
+
+    @Test
+    @DisplayName("Should fail fast when no key is configured")
+    void shouldFailWithoutKey() {
+        // Given
+        properties.getEncryption().setKey(null);
+
+        // When & Then
+        assertThatThrownBy(() -> new TokenBlindIndex(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("blind-index-key");
+    }
+}
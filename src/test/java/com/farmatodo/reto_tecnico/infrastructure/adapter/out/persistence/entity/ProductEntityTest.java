@@ -60,7 +60,7 @@ class ProductEntityTest {
         BigDecimal price = new BigDecimal("10000.00");
 
         // When
-        ProductEntity entity = new ProductEntity(id, "Test Product", "Description", price, 50, 1L);
+        ProductEntity entity = new ProductEntity(id, "Test Product", "Description", price, 50, 5, 1L);
 
         // Then
         assertThat(entity.getId()).isEqualTo(id);
@@ -68,6 +68,7 @@ class ProductEntityTest {
         assertThat(entity.getDescription()).isEqualTo("Description");
         assertThat(entity.getPrice()).isEqualByComparingTo(price);
         assertThat(entity.getStock()).isEqualTo(50);
+        assertThat(entity.getHeldStock()).isEqualTo(5);
         assertThat(entity.getVersion()).isEqualTo(1L);
     }
 
@@ -0,0 +1,200 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import com.farmatodo.reto_tecnico.application.config.FarmatodoProperties;
+import com.farmatodo.reto_tecnico.domain.exception.InsufficientStockException;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.entity.ProductEntity;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductJpaRepository;
+import com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.repository.ProductStockJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HotSkuStockManager.
+ * Tests the reservation lifecycle against transaction callbacks, the write-behind flush
+ * and journal recovery on startup.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HotSkuStockManager Tests")
+class HotSkuStockManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ProductJpaRepository productRepository;
+
+    @Mock
+    private ProductStockJdbcRepository stockJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID hotId = UUID.randomUUID();
+    private Path journalPath;
+    private HotSkuStockManager manager;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("hot-sku.journal");
+        FarmatodoProperties properties = new FarmatodoProperties();
+        properties.getHotSku().setEnabled(true);
+        properties.getHotSku().setProductIds(List.of(hotId));
+        properties.getHotSku().setStripes(4);
+        properties.getHotSku().setFlushIntervalMillis(60_000);
+        properties.getHotSku().setJournalPath(journalPath.toString());
+
+        ProductEntity entity = ProductEntity.builder()
+                .id(hotId).name("Acetaminofén 500mg").price(new BigDecimal("15000.00")).stock(10).version(1L)
+                .build();
+        lenient().when(productRepository.findAllById(List.of(hotId))).thenReturn(List.of(entity));
+
+        manager = new HotSkuStockManager(properties, productRepository, stockJdbcRepository,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        manager.stop();
+    }
+
+    @Test
+    @DisplayName("Should load flagged products into the ledger on start")
+    void shouldLoadHotProducts() {
+        // When
+        manager.start();
+
+        // Then
+        assertThat(manager.isHot(hotId)).isTrue();
+        assertThat(manager.isHot(UUID.randomUUID())).isFalse();
+        assertThat(manager.available(hotId)).isEqualTo(10);
+        verifyNoInteractions(stockJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should journal before commit and write committed units behind")
+    void shouldJournalAndFlushCommittedSale() throws IOException {
+        // Given
+        manager.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When: reserve, then the transaction commits
+        Map<UUID, Long> remaining = manager.reserve(Map.of(hotId, 3));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then: sale is durable before anything reaches the database
+        assertThat(remaining).containsExactly(entry(hotId, 7L));
+        assertThat(outstandingInJournal()).containsExactly(entry(hotId, 3L));
+        verifyNoInteractions(stockJdbcRepository);
+
+        // When: the write-behind runs
+        assertThat(manager.flush()).isEqualTo(1);
+
+        // Then
+        verify(stockJdbcRepository).decrementStock(Map.of(hotId, 3L));
+        assertThat(outstandingInJournal()).isEmpty();
+        assertThat(manager.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return units to the ledger when the transaction rolls back")
+    void shouldReleaseOnRollback() throws IOException {
+        // Given
+        manager.start();
+        TransactionSynchronizationManager.initSynchronization();
+        manager.reserve(Map.of(hotId, 4));
+
+        // When
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(manager.available(hotId)).isEqualTo(10);
+        assertThat(outstandingInJournal()).isEmpty();
+        assertThat(manager.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a reservation above ledger stock without taking any units")
+    void shouldRejectShortReservation() {
+        // Given
+        manager.start();
+        manager.restock(hotId, 1);
+
+        // When & Then
+        assertThatThrownBy(() -> manager.reserve(Map.of(hotId, 12)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("Acetaminofén 500mg");
+        assertThat(manager.available(hotId)).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Should keep units queued when the database write fails")
+    void shouldRequeueOnFlushFailure() {
+        // Given
+        manager.start();
+        manager.reserve(Map.of(hotId, 2)); // no transaction: journaled and committed immediately
+        when(stockJdbcRepository.decrementStock(any())).thenThrow(new IllegalStateException("database down"));
+
+        // When & Then
+        assertThatThrownBy(() -> manager.flush()).isInstanceOf(IllegalStateException.class);
+        reset(stockJdbcRepository);
+        assertThat(manager.flush()).isEqualTo(1);
+        verify(stockJdbcRepository).decrementStock(Map.of(hotId, 2L));
+    }
+
+    @Test
+    @DisplayName("Should apply unflushed journaled sales before loading stock")
+    void shouldRecoverFromJournal() throws IOException {
+        // Given: a previous run crashed after journaling a sale of 3 and flushing 1 of another sale
+        try (StockJournal previous = new StockJournal(journalPath)) {
+            previous.appendAndSync(StockJournal.SALE, Map.of(hotId, 3));
+            previous.appendAndSync(StockJournal.SALE, Map.of(hotId, 1));
+            previous.appendAndSync(StockJournal.FLUSHED, Map.of(hotId, 1L));
+        }
+
+        // When
+        manager.start();
+
+        // Then
+        verify(stockJdbcRepository).decrementStock(Map.of(hotId, 3L));
+        assertThat(outstandingInJournal()).isEmpty();
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Map<UUID, Long> outstandingInJournal() throws IOException {
+        try (StockJournal reader = new StockJournal(journalPath)) {
+            return reader.outstanding();
+        }
+    }
+}
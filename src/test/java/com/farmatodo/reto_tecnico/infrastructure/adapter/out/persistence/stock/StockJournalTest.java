@@ -0,0 +1,107 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for StockJournal.
+ * Tests replay arithmetic, torn records, compaction and reset.
+ */
+@DisplayName("StockJournal Tests")
+class StockJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should report sales minus cancellations minus flushed units per product")
+    void shouldComputeOutstandingUnits() throws IOException {
+        // Given
+        try (StockJournal journal = new StockJournal(tempDir.resolve("stock.journal"))) {
+            journal.appendAndSync(StockJournal.SALE, Map.of(first, 5, second, 2));
+            journal.appendAndSync(StockJournal.SALE, Map.of(first, 3));
+            journal.appendAndSync(StockJournal.CANCEL, Map.of(first, 1));
+            journal.appendAndSync(StockJournal.FLUSHED, Map.of(first, 4L, second, 2L));
+
+            // When
+            Map<UUID, Long> outstanding = journal.outstanding();
+
+            // Then: second is fully flushed and omitted
+            assertThat(outstanding).containsExactly(entry(first, 3L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should survive reopening and ignore a torn last record")
+    void shouldIgnoreTornRecordAfterReopen() throws IOException {
+        // Given: a crash left half a record at the end
+        Path path = tempDir.resolve("stock.journal");
+        try (StockJournal journal = new StockJournal(path)) {
+            journal.appendAndSync(StockJournal.SALE, Map.of(first, 2));
+        }
+        Files.writeString(path, "S " + second.toString().substring(0, 10), StandardCharsets.US_ASCII,
+                StandardOpenOption.APPEND);
+
+        // When
+        try (StockJournal reopened = new StockJournal(path)) {
+            // Then
+            assertThat(reopened.outstanding()).containsExactly(entry(first, 2L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep outstanding units and keep appending after compaction")
+    void shouldCompactToOutstandingUnits() throws IOException {
+        Path path = tempDir.resolve("stock.journal");
+        try (StockJournal journal = new StockJournal(path)) {
+            // Given: many flushed sales and one unflushed
+            for (int i = 0; i < 50; i++) {
+                journal.appendAndSync(StockJournal.SALE, Map.of(first, 1));
+                journal.appendAndSync(StockJournal.FLUSHED, Map.of(first, 1L));
+            }
+            journal.appendAndSync(StockJournal.SALE, Map.of(second, 4));
+            long before = journal.size();
+
+            // When
+            journal.compact();
+            journal.appendAndSync(StockJournal.CANCEL, Map.of(second, 1));
+
+            // Then
+            assertThat(journal.size()).isLessThan(before);
+            assertThat(journal.outstanding()).containsExactly(entry(second, 3L));
+        }
+        try (StockJournal reopened = new StockJournal(path)) {
+            assertThat(reopened.outstanding()).containsExactly(entry(second, 3L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should start empty after reset")
+    void shouldResetJournal() throws IOException {
+        try (StockJournal journal = new StockJournal(tempDir.resolve("nested/stock.journal"))) {
+            // Given
+            journal.appendAndSync(StockJournal.SALE, Map.of(first, 2));
+
+            // When
+            journal.reset();
+            journal.appendAndSync(StockJournal.SALE, Map.of(second, 1));
+
+            // Then
+            assertThat(journal.outstanding()).containsExactly(entry(second, 1L));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.farmatodo.reto_tecnico.infrastructure.adapter.out.persistence.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for StripedStockLedger.
+ * Tests all-or-nothing reservations across stripes and that concurrent buyers never oversell.
+ */
+@DisplayName("StripedStockLedger Tests")
+class StripedStockLedgerTest {
+
+    private final UUID productId = UUID.randomUUID();
+    private StripedStockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new StripedStockLedger(4);
+        ledger.load(productId, "Acetaminofén 500mg", 10);
+    }
+
+    @Test
+    @DisplayName("Should spread stock over stripes and report the total")
+    void shouldReportLoadedStock() {
+        assertThat(ledger.contains(productId)).isTrue();
+        assertThat(ledger.available(productId)).isEqualTo(10);
+        assertThat(ledger.productName(productId)).isEqualTo("Acetaminofén 500mg");
+    }
+
+    @Test
+    @DisplayName("Should gather a reservation larger than any single stripe")
+    void shouldGatherAcrossStripes() {
+        // When: 10 units over 4 stripes, no stripe holds more than 3
+        boolean granted = ledger.tryReserve(productId, 10);
+
+        // Then
+        assertThat(granted).isTrue();
+        assertThat(ledger.available(productId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a reservation above available stock without taking anything")
+    void shouldRejectWithoutPartialReservation() {
+        assertThat(ledger.tryReserve(productId, 11)).isFalse();
+        assertThat(ledger.available(productId)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should return released and restocked units")
+    void shouldReleaseAndRestock() {
+        // Given
+        ledger.tryReserve(productId, 4);
+
+        // When
+        ledger.release(productId, 4);
+        ledger.restock(productId, 5);
+
+        // Then
+        assertThat(ledger.available(productId)).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should drain committed units once and allow restoring them")
+    void shouldDrainCommittedUnits() {
+        // Given
+        ledger.commit(productId, 3);
+        ledger.commit(productId, 2);
+
+        // When
+        Map<UUID, Long> drained = ledger.drainCommitted();
+
+        // Then
+        assertThat(drained).containsExactly(entry(productId, 5L));
+        assertThat(ledger.drainCommitted()).isEmpty();
+
+        ledger.restoreCommitted(drained);
+        assertThat(ledger.unflushed()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject untracked products and non-positive quantities")
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> ledger.tryReserve(UUID.randomUUID(), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.tryReserve(productId, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should never grant more units than loaded under concurrent buyers")
+    void shouldNeverOversellUnderContention() throws InterruptedException {
+        // Given: 1000 units, 16 threads each trying to buy 2 units 200 times (6400 units wanted)
+        StripedStockLedger contended = new StripedStockLedger(8);
+        contended.load(productId, "Acetaminofén 500mg", 1_000);
+        AtomicInteger grantedUnits = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        for (int t = 0; t < 16; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (contended.tryReserve(productId, 2)) {
+                        grantedUnits.addAndGet(2);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Then: nothing oversold while contended...
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(grantedUnits.get() + contended.available(productId)).isEqualTo(1_000);
+
+        // ...and nothing lost: units left by racing gathers can still be bought
+        while (contended.tryReserve(productId, 2)) {
+            grantedUnits.addAndGet(2);
+        }
+        assertThat(grantedUnits.get()).isEqualTo(1_000);
+        assertThat(contended.available(productId)).isZero();
+    }
+}